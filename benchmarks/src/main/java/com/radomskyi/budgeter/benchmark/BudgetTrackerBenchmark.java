@@ -0,0 +1,98 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.service.BudgetTracker;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of evaluating budget limits for one expense write, i.e. what BudgetLimitService adds after
+ * every committed create or update. Every category and tag has a limit, so each write checks one
+ * category and two tag limits; {@code concurrentWrites} shows the cost under lock contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BudgetTrackerBenchmark {
+
+    private static final int ENTRIES = 1024;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private BudgetTracker tracker;
+    private LedgerEntry[] entries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        YearMonth month = YearMonth.now();
+        tracker = new BudgetTracker(month);
+
+        List<BudgetTracker.Limit> limits = new ArrayList<>();
+        long id = 0;
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            limits.add(BudgetTracker.Limit.of(++id, category, null, 100_000_00L, List.of(50, 80, 100)));
+        }
+        for (Tag tag : Tag.values()) {
+            limits.add(BudgetTracker.Limit.of(++id, null, tag, 10_000_00L, List.of(50, 80, 100)));
+        }
+        tracker.setLimits(limits);
+
+        SplittableRandom random = new SplittableRandom(42);
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        Tag[] tags = Tag.values();
+        entries = new LedgerEntry[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            entries[i] = new LedgerEntry(
+                    OwnerContext.DEFAULT_OWNER_ID,
+                    month.atDay(1 + random.nextInt(28)).atTime(12, 0),
+                    categories[random.nextInt(categories.length)],
+                    List.of(tags[random.nextInt(tags.length)], tags[random.nextInt(tags.length)]).stream()
+                            .distinct()
+                            .toList(),
+                    BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+        }
+    }
+
+    private LedgerEntry nextEntry() {
+        return entries[next.getAndIncrement() & (ENTRIES - 1)];
+    }
+
+    @Benchmark
+    public List<BudgetTracker.Crossing> create() {
+        return tracker.apply(null, nextEntry());
+    }
+
+    @Benchmark
+    public List<BudgetTracker.Crossing> update() {
+        LedgerEntry entry = nextEntry();
+        return tracker.apply(entry, entry);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<BudgetTracker.Crossing> concurrentWrites() {
+        return tracker.apply(null, nextEntry());
+    }
+}
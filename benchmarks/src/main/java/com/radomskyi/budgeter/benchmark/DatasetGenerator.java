@@ -0,0 +1,762 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.investment.AssetType;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentStyle;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransactionType;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.IntToDoubleFunction;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Fills a PostgreSQL database migrated by the application with a data set of a given number of
+ * ledger rows, e.g. 1M, 10M or 50M: 80% expenses, 10% incomes and 10% investment transactions, with
+ * the tags of the entries, the assets and investments the transactions belong to and the monthly
+ * rollups of the entries. Everything is drawn from a fixed seed, so a size always gives the same data.
+ *
+ * <p>The distributions are meant to look like the application's real use rather than uniform noise:
+ * <ul>
+ *   <li>owners: by default one per 10,000 rows, the r-th largest with a share proportional to
+ *       r^-0.6, so the largest owner has about 10 times the rows of the median one at 100 owners
+ *       (1M rows) and about 100 times at 5,000 owners (50M rows);
+ *   <li>time: the last {@code years} years up to now, monthly volume growing linearly from half to
+ *       one and a half times the average, entries clustered in the daytime hours;
+ *   <li>expenses: 20% FIXED, 45% NEEDS, 35% WANTS, each from a list of merchants of which the first
+ *       ones are the most frequent, with log-normal amounts around the merchant's typical amount, the
+ *       merchant's tag and for one in ten also TRAVEL, and a description for 30%;
+ *   <li>incomes: mostly salaries, then freelance invoices, dividends, bonuses, rent and benefits;
+ *   <li>investments: 2,000 tickers whose popularity follows their rank, each owner holding a number
+ *       of them that grows with the square root of their transactions (1 to 50), trading mostly the
+ *       first of them; 75% BUY, 15% SELL, 10% DIVIDEND, prices drifting upwards over the months.
+ * </ul>
+ *
+ * <p>Rows are bulk loaded with COPY, month by month and in the order of their created_at, with ids
+ * taken from the tables' sequences in the same order. A month without a partition yet is loaded into
+ * a new table that is attached as the partition afterwards, so its indexes are built once instead of
+ * maintained row by row. The owners start at {@link #FIRST_OWNER}; their earlier data is deleted
+ * first, so the generator can be run again. Run it against a scratch database while the application
+ * is stopped, as it takes ids from the sequences in blocks:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.radomskyi.budgeter.benchmark.DatasetGenerator 10M [owners] [years]
+ * </pre>
+ *
+ * <p>The database is the one of application.properties unless overridden with
+ * {@code -Dbudgeter.benchmark.url}, {@code .user} and {@code .password}.
+ */
+public class DatasetGenerator {
+
+    /** First owner id of the generated data, clear of the application's and the other benchmarks' owners */
+    public static final long FIRST_OWNER = 2_000_000_000L;
+
+    private static final long ROWS_PER_OWNER = 10_000;
+    private static final double OWNER_SKEW = 0.6;
+    private static final double EXPENSE_SHARE = 0.8;
+    private static final double INCOME_SHARE = 0.1;
+    private static final int TICKERS = 2_000;
+    private static final int MAX_HOLDINGS = 50;
+    private static final long SEED = 42;
+
+    // Relative number of entries per hour of the day
+    private static final int[] HOURS = {
+        1, 1, 1, 1, 1, 2, 4, 7, 9, 10, 11, 12, 13, 12, 11, 11, 12, 14, 15, 14, 11, 8, 5, 2
+    };
+
+    private static final List<Merchant> MERCHANTS = List.of(
+            new Merchant("Rent", ExpenseCategory.FIXED, 900, 0.3, Tag.HOUSING),
+            new Merchant("Electricity", ExpenseCategory.FIXED, 80, 0.3, Tag.UTILITIES),
+            new Merchant("Internet", ExpenseCategory.FIXED, 40, 0.2, Tag.UTILITIES),
+            new Merchant("Mobile plan", ExpenseCategory.FIXED, 25, 0.3, Tag.UTILITIES),
+            new Merchant("Health insurance", ExpenseCategory.FIXED, 120, 0.4, Tag.INSURANCE),
+            new Merchant("Streaming", ExpenseCategory.FIXED, 13, 0.3, Tag.SUBSCRIPTIONS),
+            new Merchant("Transit pass", ExpenseCategory.FIXED, 60, 0.2, Tag.TRANSPORT),
+            new Merchant("Gym membership", ExpenseCategory.FIXED, 35, 0.3, Tag.SPORTS_AND_HOBBIES),
+            new Merchant("Car insurance", ExpenseCategory.FIXED, 60, 0.4, Tag.INSURANCE),
+            new Merchant("Loan repayment", ExpenseCategory.FIXED, 250, 0.5, Tag.DEBT),
+            new Merchant("Lidl", ExpenseCategory.NEEDS, 25, 0.8, Tag.FOOD),
+            new Merchant("Rewe", ExpenseCategory.NEEDS, 30, 0.8, Tag.FOOD),
+            new Merchant("Aldi", ExpenseCategory.NEEDS, 22, 0.8, Tag.FOOD),
+            new Merchant("Bakery", ExpenseCategory.NEEDS, 6, 0.5, Tag.FOOD),
+            new Merchant("Edeka", ExpenseCategory.NEEDS, 28, 0.8, Tag.FOOD),
+            new Merchant("Drugstore", ExpenseCategory.NEEDS, 18, 0.7, Tag.PERSONAL_CARE),
+            new Merchant("Pharmacy", ExpenseCategory.NEEDS, 15, 0.9, Tag.HEALTH),
+            new Merchant("Fuel station", ExpenseCategory.NEEDS, 55, 0.4, Tag.TRANSPORT),
+            new Merchant("Doctor", ExpenseCategory.NEEDS, 40, 0.8, Tag.HEALTH),
+            new Merchant("Pet shop", ExpenseCategory.NEEDS, 25, 0.7, Tag.PETS),
+            new Merchant("Coffee shop", ExpenseCategory.WANTS, 4, 0.4, Tag.BARS_AND_RESTAURANTS),
+            new Merchant("Restaurant", ExpenseCategory.WANTS, 35, 0.7, Tag.BARS_AND_RESTAURANTS),
+            new Merchant("Amazon", ExpenseCategory.WANTS, 30, 1.1, Tag.SHOPPING),
+            new Merchant("Bar", ExpenseCategory.WANTS, 25, 0.8, Tag.BARS_AND_RESTAURANTS),
+            new Merchant("Zalando", ExpenseCategory.WANTS, 60, 0.8, Tag.CLOTHING),
+            new Merchant("Cinema", ExpenseCategory.WANTS, 14, 0.4, Tag.ENTERTAINMENT),
+            new Merchant("Bookstore", ExpenseCategory.WANTS, 20, 0.6, Tag.EDUCATION),
+            new Merchant("Gifts", ExpenseCategory.WANTS, 40, 0.9, Tag.GIFTS),
+            new Merchant("Tobacco shop", ExpenseCategory.WANTS, 10, 0.5, Tag.VICES),
+            new Merchant("Hotel", ExpenseCategory.WANTS, 120, 0.7, Tag.TRAVEL),
+            new Merchant("Flights", ExpenseCategory.WANTS, 180, 0.8, Tag.TRAVEL),
+            new Merchant("Charity", ExpenseCategory.WANTS, 20, 0.8, Tag.DONATIONS));
+
+    private static final List<Source> SOURCES = List.of(
+            new Source("Salary", IncomeCategory.SALARY, 55, 3200, 0.3, null),
+            new Source("Invoice", IncomeCategory.FREELANCE, 12, 800, 0.7, null),
+            new Source("Dividends", IncomeCategory.INVESTMENTS, 10, 60, 1.0, Tag.BANKING_AND_TAXES),
+            new Source("Bonus", IncomeCategory.GIFTS_AND_BONUSES, 6, 300, 0.9, Tag.GIFTS),
+            new Source("Shop revenue", IncomeCategory.BUSINESS, 5, 1500, 0.8, null),
+            new Source("Child benefit", IncomeCategory.GOVERNMENT_BENEFITS, 5, 250, 0.1, null),
+            new Source("Rent received", IncomeCategory.RENTAL, 4, 700, 0.3, Tag.HOUSING),
+            new Source("Refund", IncomeCategory.OTHER_INCOME, 3, 40, 1.0, Tag.SHOPPING));
+
+    /** Where expenses are spent, with their usual (median) amount and its spread */
+    private record Merchant(String name, ExpenseCategory category, double amount, double sigma, Tag tag) {}
+
+    /** Where incomes come from, with their share of all incomes in percent */
+    private record Source(String name, IncomeCategory category, int share, double amount, double sigma, Tag tag) {}
+
+    private final Connection connection;
+    private final Connection tagConnection;
+    private final SplittableRandom random = new SplittableRandom(SEED);
+    private final long rows;
+    private final int owners;
+    private final List<YearMonth> months;
+    private final double[] ownerWeights;
+    private final double[] merchantWeights;
+    private final double[] sourceWeights;
+    private final double[] tickerWeights;
+    private final double[] tickerPrices;
+
+    // Holdings of all owners, those of owner o from holdingStart[o] on: ticker and investment id
+    private int[] holdingStart;
+    private int[] holdingTickers;
+    private long firstInvestmentId;
+
+    DatasetGenerator(Connection connection, Connection tagConnection, long rows, int owners, int years) {
+        this.connection = connection;
+        this.tagConnection = tagConnection;
+        this.rows = rows;
+        this.owners = owners;
+
+        YearMonth last = YearMonth.now();
+        this.months = last.minusMonths(12L * years - 1)
+                .atDay(1)
+                .datesUntil(last.plusMonths(1).atDay(1), Period.ofMonths(1))
+                .map(YearMonth::from)
+                .toList();
+
+        this.ownerWeights = cumulative(owners, rank -> Math.pow(rank + 1, -OWNER_SKEW));
+        this.merchantWeights = cumulative(MERCHANTS.size(), i -> {
+            Merchant merchant = MERCHANTS.get(i);
+            int rank = MERCHANTS.stream()
+                    .filter(other -> other.category() == merchant.category())
+                    .toList()
+                    .indexOf(merchant);
+            double share =
+                    switch (merchant.category()) {
+                        case FIXED -> 0.20;
+                        case NEEDS -> 0.45;
+                        case WANTS -> 0.35;
+                    };
+            return share / (rank + 1);
+        });
+        this.sourceWeights = cumulative(SOURCES.size(), i -> SOURCES.get(i).share());
+        this.tickerWeights = cumulative(TICKERS, rank -> 1.0 / (rank + 1));
+        this.tickerPrices = new double[TICKERS];
+        SplittableRandom prices = new SplittableRandom(SEED + 1);
+        for (int i = 0; i < TICKERS; i++) {
+            tickerPrices[i] = logNormal(prices, 80, 1.0);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        long rows = parseRows(args.length > 0 ? args[0] : "1M");
+        int owners = args.length > 1 ? Integer.parseInt(args[1]) : (int) Math.max(1, rows / ROWS_PER_OWNER);
+        int years = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        try (Connection connection = connect();
+                Connection tagConnection = connect()) {
+            new DatasetGenerator(connection, tagConnection, rows, owners, years).generate();
+        }
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("budgeter.benchmark.url", "jdbc:postgresql://localhost:5432/budgeter"),
+                System.getProperty("budgeter.benchmark.user", "budgeter"),
+                System.getProperty("budgeter.benchmark.password", "password"));
+    }
+
+    private static long parseRows(String rows) {
+        String value = rows.trim().toUpperCase(Locale.ROOT);
+        if (value.endsWith("M")) {
+            return Long.parseLong(value.substring(0, value.length() - 1)) * 1_000_000;
+        }
+        if (value.endsWith("K")) {
+            return Long.parseLong(value.substring(0, value.length() - 1)) * 1_000;
+        }
+        return Long.parseLong(value);
+    }
+
+    void generate() throws SQLException {
+        long lastOwner = FIRST_OWNER + owners - 1;
+        System.out.printf(
+                "%,d rows for owners %d to %d over %s to %s%n",
+                rows, FIRST_OWNER, lastOwner, months.getFirst(), months.getLast());
+        long start = System.nanoTime();
+
+        deleteOwners(lastOwner);
+        long expenses = Math.round(rows * EXPENSE_SHARE);
+        long incomes = Math.round(rows * INCOME_SHARE);
+        long transactions = rows - expenses - incomes;
+
+        timed("expense", expenses, () -> generateExpenses(expenses));
+        timed("income", incomes, () -> generateIncomes(incomes));
+        generateHoldings(transactions);
+        timed("investment_transaction", transactions, () -> generateTransactions(transactions));
+
+        System.out.println("Updating positions and monthly rollups");
+        updatePositions(lastOwner);
+        rebuildRollups(lastOwner);
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of(
+                    "expense",
+                    "expense_tags",
+                    "income",
+                    "income_tags",
+                    "asset",
+                    "investment",
+                    "investment_transaction",
+                    "monthly_rollup")) {
+                statement.execute("VACUUM ANALYZE " + table);
+            }
+        }
+
+        System.out.printf(
+                "Done in %ds; heaviest owner is %d%n", (System.nanoTime() - start) / 1_000_000_000, FIRST_OWNER);
+    }
+
+    private void deleteOwners(long lastOwner) throws SQLException {
+        String owners = " BETWEEN " + FIRST_OWNER + " AND " + lastOwner;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                    "DELETE FROM expense_tags t USING expense e WHERE t.expense_id = e.id AND e.owner_id" + owners);
+            statement.executeUpdate("DELETE FROM expense WHERE owner_id" + owners);
+            statement.executeUpdate(
+                    "DELETE FROM income_tags t USING income i WHERE t.income_id = i.id AND i.owner_id" + owners);
+            statement.executeUpdate("DELETE FROM income WHERE owner_id" + owners);
+            statement.executeUpdate("DELETE FROM investment_transaction WHERE owner_id" + owners);
+            statement.executeUpdate("DELETE FROM investment WHERE owner_id" + owners);
+            statement.executeUpdate("DELETE FROM asset WHERE owner_id" + owners);
+            statement.executeUpdate("DELETE FROM monthly_rollup WHERE owner_id" + owners);
+        }
+    }
+
+    private void generateExpenses(long count) throws SQLException {
+        long id = reserveIds("expense", count);
+        long[] perMonth = perMonth(count);
+        StringBuilder row = new StringBuilder(128);
+
+        for (int m = 0; m < months.size(); m++) {
+            YearMonth month = months.get(m);
+            try (Copy copy = copyMonth(
+                            "expense", month, "id, owner_id, amount, name, description, created_at, category");
+                    Copy tags = new Copy(tagConnection, "COPY expense_tags (expense_id, tag) FROM STDIN")) {
+                for (LocalDateTime createdAt : timestamps(month, perMonth[m])) {
+                    Merchant merchant = MERCHANTS.get(pick(merchantWeights));
+                    row.setLength(0);
+                    row.append(id).append('\t').append(pickOwner()).append('\t');
+                    appendCents(row, logNormal(random, merchant.amount(), merchant.sigma()));
+                    row.append('\t').append(merchant.name()).append('\t');
+                    if (random.nextInt(10) < 3) {
+                        row.append("Card payment at ").append(merchant.name());
+                    } else {
+                        row.append("\\N");
+                    }
+                    row.append('\t').append(createdAt).append('\t').append(merchant.category());
+                    copy.row(row);
+
+                    tags.row(tagRow(row, id, merchant.tag()));
+                    if (merchant.tag() != Tag.TRAVEL && random.nextInt(10) == 0) {
+                        tags.row(tagRow(row, id, Tag.TRAVEL));
+                    }
+                    id++;
+                }
+            }
+        }
+    }
+
+    private void generateIncomes(long count) throws SQLException {
+        long id = reserveIds("income", count);
+        long[] perMonth = perMonth(count);
+        StringBuilder row = new StringBuilder(128);
+
+        for (int m = 0; m < months.size(); m++) {
+            YearMonth month = months.get(m);
+            try (Copy copy = copyMonth("income", month, "id, owner_id, amount, name, created_at, category");
+                    Copy tags = new Copy(tagConnection, "COPY income_tags (income_id, tag) FROM STDIN")) {
+                for (LocalDateTime createdAt : timestamps(month, perMonth[m])) {
+                    Source source = SOURCES.get(pick(sourceWeights));
+                    row.setLength(0);
+                    row.append(id).append('\t').append(pickOwner()).append('\t');
+                    appendCents(row, logNormal(random, source.amount(), source.sigma()));
+                    row.append('\t')
+                            .append(source.name())
+                            .append('\t')
+                            .append(createdAt)
+                            .append('\t')
+                            .append(source.category());
+                    copy.row(row);
+
+                    if (source.tag() != null) {
+                        tags.row(tagRow(row, id, source.tag()));
+                    }
+                    id++;
+                }
+            }
+        }
+    }
+
+    /** Assets and investments of every owner, more of them for owners with more transactions */
+    private void generateHoldings(long transactions) throws SQLException {
+        holdingStart = new int[owners + 1];
+        int[] counts = new int[owners];
+        double total = ownerWeights[owners - 1];
+        for (int o = 0; o < owners; o++) {
+            double share = (ownerWeights[o] - (o > 0 ? ownerWeights[o - 1] : 0)) / total;
+            counts[o] = (int) Math.clamp(Math.round(Math.sqrt(transactions * share)), 1, MAX_HOLDINGS);
+            holdingStart[o + 1] = holdingStart[o] + counts[o];
+        }
+
+        int holdings = holdingStart[owners];
+        holdingTickers = new int[holdings];
+        long firstAssetId = reserveIds("asset", holdings);
+        firstInvestmentId = reserveIds("investment", holdings);
+        StringBuilder row = new StringBuilder(128);
+
+        // Investments refer to their asset, so they are copied once the assets are in
+        StringBuilder investments = new StringBuilder();
+        try (Copy assets = new Copy(
+                connection, "COPY asset (id, owner_id, ticker, name, isin, asset_type, investment_style) FROM STDIN")) {
+            for (int o = 0; o < owners; o++) {
+                Set<Integer> tickers = new HashSet<>();
+                while (tickers.size() < counts[o]) {
+                    tickers.add(pick(tickerWeights));
+                }
+                int h = holdingStart[o];
+                for (int ticker : tickers.stream().sorted().toList()) {
+                    holdingTickers[h] = ticker;
+                    row.setLength(0);
+                    row.append(firstAssetId + h)
+                            .append('\t')
+                            .append(FIRST_OWNER + o)
+                            .append('\t')
+                            .append(ticker(ticker))
+                            .append('\t')
+                            .append("Asset ")
+                            .append(ticker(ticker))
+                            .append('\t')
+                            .append(String.format(Locale.ROOT, "US%010d", ticker))
+                            .append('\t')
+                            .append(assetType(ticker))
+                            .append('\t')
+                            .append(investmentStyle(ticker));
+                    assets.row(row);
+
+                    investments
+                            .append(firstInvestmentId + h)
+                            .append('\t')
+                            .append(FIRST_OWNER + o)
+                            .append('\t')
+                            .append(firstAssetId + h)
+                            .append("\t0\t0\t0\t")
+                            .append(currency(ticker))
+                            .append("\tTrading212\n");
+                    h++;
+                }
+            }
+        }
+        try (Copy copy = new Copy(
+                connection,
+                "COPY investment (id, owner_id, asset_id, total_cost, total_units, cost_basis, currency, brokerage) "
+                        + "FROM STDIN")) {
+            copy.rows(investments);
+        }
+    }
+
+    private void generateTransactions(long count) throws SQLException {
+        long id = reserveIds("investment_transaction", count);
+        long[] perMonth = perMonth(count);
+        StringBuilder row = new StringBuilder(192);
+
+        for (int m = 0; m < months.size(); m++) {
+            YearMonth month = months.get(m);
+            double drift = Math.exp(0.004 * m);
+            try (Copy copy = copyMonth(
+                    "investment_transaction",
+                    month,
+                    "id, owner_id, amount, name, created_at, transaction_type, investment_id, units, "
+                            + "price_per_unit, fees, currency, exchange_rate, realized_gain_loss")) {
+                for (LocalDateTime createdAt : timestamps(month, perMonth[m])) {
+                    int owner = pickOwner(random.nextDouble());
+                    int holdings = holdingStart[owner + 1] - holdingStart[owner];
+                    // Mostly the first positions of the portfolio
+                    int holding = holdingStart[owner] + (int) (holdings * Math.pow(random.nextDouble(), 2));
+                    int ticker = holdingTickers[holding];
+
+                    int draw = random.nextInt(100);
+                    InvestmentTransactionType type = draw < 75
+                            ? InvestmentTransactionType.BUY
+                            : draw < 90 ? InvestmentTransactionType.SELL : InvestmentTransactionType.DIVIDEND;
+                    double units = logNormal(random, 5, 1.2);
+                    double price = tickerPrices[ticker] * drift * Math.exp(0.1 * random.nextGaussian());
+                    if (type == InvestmentTransactionType.DIVIDEND) {
+                        price *= 0.01;
+                    }
+                    Currency currency = currency(ticker);
+                    double exchangeRate = currency == Currency.EUR ? 1 : 0.9 + 0.03 * random.nextGaussian();
+                    double fees = random.nextInt(10) < 3 ? 1 : 0;
+                    units = Math.round(units * 10_000) / 10_000.0;
+                    price = Math.round(price * 10_000) / 10_000.0;
+                    exchangeRate = Math.round(exchangeRate * 10_000) / 10_000.0;
+                    double amount = units * price * exchangeRate + fees;
+
+                    row.setLength(0);
+                    row.append(id++).append('\t').append(FIRST_OWNER + owner).append('\t');
+                    appendCents(row, amount);
+                    row.append('\t')
+                            .append("Asset ")
+                            .append(ticker(ticker))
+                            .append(' ')
+                            .append(ticker(ticker))
+                            .append('\t')
+                            .append(createdAt)
+                            .append('\t')
+                            .append(type)
+                            .append('\t')
+                            .append(firstInvestmentId + holding)
+                            .append('\t')
+                            .append(String.format(Locale.ROOT, "%.4f\t%.4f\t", units, price));
+                    appendCents(row, fees);
+                    row.append('\t').append(currency).append('\t');
+                    if (currency == Currency.EUR) {
+                        row.append("\\N");
+                    } else {
+                        row.append(String.format(Locale.ROOT, "%.4f", exchangeRate));
+                    }
+                    row.append('\t');
+                    if (type == InvestmentTransactionType.SELL) {
+                        appendCents(row, amount * (0.05 + 0.25 * random.nextGaussian()));
+                    } else {
+                        row.append("\\N");
+                    }
+                    copy.row(row);
+                }
+            }
+        }
+    }
+
+    /** Units, cost and last price of every generated investment from its transactions */
+    private void updatePositions(long lastOwner) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE investment i SET total_units = greatest(t.units, 0), total_cost = t.cost, "
+                        + "cost_basis = CASE WHEN t.bought > 0 THEN round(t.cost / t.bought, 8) ELSE 0 END, "
+                        + "latest_price = t.latest_price "
+                        + "FROM (SELECT investment_id, "
+                        + "sum(CASE transaction_type WHEN 'BUY' THEN units WHEN 'SELL' THEN -units ELSE 0 END) AS units, "
+                        + "coalesce(sum(amount) FILTER (WHERE transaction_type = 'BUY'), 0) AS cost, "
+                        + "coalesce(sum(units) FILTER (WHERE transaction_type = 'BUY'), 0) AS bought, "
+                        + "(array_agg(price_per_unit ORDER BY created_at DESC))[1] AS latest_price "
+                        + "FROM investment_transaction WHERE owner_id BETWEEN ? AND ? GROUP BY investment_id) t "
+                        + "WHERE i.id = t.investment_id")) {
+            statement.setLong(1, FIRST_OWNER);
+            statement.setLong(2, lastOwner);
+            statement.executeUpdate();
+        }
+    }
+
+    /** The monthly rollups of the generated owners, as the V3 migration backfilled them */
+    private void rebuildRollups(long lastOwner) throws SQLException {
+        for (String ledger : List.of("expense", "income")) {
+            String insert =
+                    "INSERT INTO monthly_rollup (owner_id, ledger, month_start, category, tag, total, entry_count) ";
+            String month = "date_trunc('month', e.created_at)::date";
+            String owners = " WHERE e.owner_id BETWEEN ? AND ? ";
+            for (String sql : List.of(
+                    insert + "SELECT e.owner_id, '" + ledger.toUpperCase(Locale.ROOT) + "', " + month
+                            + ", e.category, 'ALL', sum(e.amount), count(*) FROM " + ledger + " e" + owners
+                            + "GROUP BY e.owner_id, " + month + ", e.category",
+                    insert + "SELECT e.owner_id, '" + ledger.toUpperCase(Locale.ROOT) + "', " + month
+                            + ", e.category, t.tag, sum(e.amount), count(*) FROM " + ledger + " e JOIN " + ledger
+                            + "_tags t ON t." + ledger + "_id = e.id" + owners
+                            + "GROUP BY e.owner_id, " + month + ", e.category, t.tag")) {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setLong(1, FIRST_OWNER);
+                    statement.setLong(2, lastOwner);
+                    statement.executeUpdate();
+                }
+            }
+        }
+    }
+
+    /** Takes a block of ids from the table's sequence, returning the first */
+    private long reserveIds(String table, long count) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet first =
+                        statement.executeQuery("SELECT nextval(pg_get_serial_sequence('" + table + "', 'id'))")) {
+            first.next();
+            long id = first.getLong(1);
+            if (count > 1) {
+                statement.execute(
+                        "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + (id + count - 1) + ")");
+            }
+            return id;
+        }
+    }
+
+    /** Splits rows over the months, growing linearly from half to one and a half times the average */
+    private long[] perMonth(long count) {
+        int n = months.size();
+        long[] perMonth = new long[n];
+        long assigned = 0;
+        for (int m = 0; m < n; m++) {
+            double weight = n == 1 ? 1 : 0.5 + (double) m / (n - 1);
+            perMonth[m] = (long) (count * weight / n);
+            assigned += perMonth[m];
+        }
+        perMonth[n - 1] += count - assigned;
+        return perMonth;
+    }
+
+    /** Sorted creation times within a month, up to now for the current one */
+    private LocalDateTime[] timestamps(YearMonth month, long count) {
+        double[] hours = cumulative(HOURS.length, hour -> HOURS[hour]);
+        long first = month.atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long end = Math.min(
+                month.plusMonths(1).atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC),
+                LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+        int days = (int) Math.ceilDiv(end - first, 86_400L);
+
+        long[] seconds = new long[(int) count];
+        for (int i = 0; i < seconds.length; i++) {
+            do {
+                seconds[i] = first + random.nextInt(days) * 86_400L + pick(hours) * 3_600L + random.nextInt(3_600);
+            } while (seconds[i] >= end);
+        }
+        Arrays.sort(seconds);
+        LocalDateTime[] timestamps = new LocalDateTime[seconds.length];
+        for (int i = 0; i < seconds.length; i++) {
+            timestamps[i] = LocalDateTime.ofEpochSecond(seconds[i], 0, ZoneOffset.UTC);
+        }
+        return timestamps;
+    }
+
+    private long pickOwner() {
+        return FIRST_OWNER + pickOwner(random.nextDouble());
+    }
+
+    private int pickOwner(double draw) {
+        return index(ownerWeights, draw);
+    }
+
+    private int pick(double[] cumulativeWeights) {
+        return index(cumulativeWeights, random.nextDouble());
+    }
+
+    private static int index(double[] cumulativeWeights, double draw) {
+        int index = Arrays.binarySearch(cumulativeWeights, draw * cumulativeWeights[cumulativeWeights.length - 1]);
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    private static double[] cumulative(int size, IntToDoubleFunction weight) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += weight.applyAsDouble(i);
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    private static void appendCents(StringBuilder row, double amount) {
+        long cents = Math.clamp(Math.round(amount * 100), -9_999_999_999L, 9_999_999_999L);
+        if (cents < 0) {
+            row.append('-');
+            cents = -cents;
+        }
+        row.append(cents / 100).append('.');
+        if (cents % 100 < 10) {
+            row.append('0');
+        }
+        row.append(cents % 100);
+    }
+
+    private static StringBuilder tagRow(StringBuilder row, long id, Tag tag) {
+        row.setLength(0);
+        return row.append(id).append('\t').append(tag);
+    }
+
+    private static String ticker(int ticker) {
+        return "T" + ticker;
+    }
+
+    private static AssetType assetType(int ticker) {
+        if (ticker < 50) {
+            return AssetType.INDEX_ETF;
+        }
+        return switch (ticker % 20) {
+            case 0 -> AssetType.BOND;
+            case 1 -> AssetType.CRYPTO;
+            case 2 -> AssetType.COMMODITY;
+            default -> AssetType.STOCK;
+        };
+    }
+
+    private static InvestmentStyle investmentStyle(int ticker) {
+        return switch (assetType(ticker)) {
+            case BOND -> InvestmentStyle.FIXED_INCOME;
+            case CRYPTO, DERIVATIVE -> InvestmentStyle.SPECULATION;
+            default -> ticker % 3 == 0 ? InvestmentStyle.VALUE : InvestmentStyle.GROWTH;
+        };
+    }
+
+    private static Currency currency(int ticker) {
+        return ticker % 3 == 0 ? Currency.EUR : Currency.USD;
+    }
+
+    private interface Load {
+        void run() throws SQLException;
+    }
+
+    private static void timed(String table, long count, Load load) throws SQLException {
+        long start = System.nanoTime();
+        load.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-24s %,12d rows in %6.1fs (%,.0f rows/s)%n", table, count, seconds, count / seconds);
+    }
+
+    /** Rows in COPY text format, sent in chunks; values never contain tabs, newlines or backslashes */
+    private static final class Copy implements AutoCloseable {
+
+        private static final int CHUNK = 1 << 20;
+
+        private final CopyIn copy;
+        private final Load afterwards;
+        private final StringBuilder buffer = new StringBuilder(CHUNK + 1024);
+
+        Copy(Connection connection, String sql) throws SQLException {
+            this(connection, sql, null);
+        }
+
+        Copy(Connection connection, String sql, Load afterwards) throws SQLException {
+            this.copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            this.afterwards = afterwards;
+        }
+
+        void row(CharSequence row) throws SQLException {
+            rows(row);
+            buffer.append('\n');
+        }
+
+        /** Rows already ending in newlines */
+        void rows(CharSequence rows) throws SQLException {
+            if (buffer.length() >= CHUNK) {
+                flush();
+            }
+            buffer.append(rows);
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copy.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copy.endCopy();
+            } catch (SQLException | RuntimeException e) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw e;
+            }
+            if (afterwards != null) {
+                afterwards.run();
+            }
+        }
+    }
+
+    private String partitionName(String table, YearMonth month) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT monthly_partition_name(?, ?)")) {
+            statement.setString(1, table);
+            statement.setObject(2, month.atDay(1));
+            try (ResultSet name = statement.executeQuery()) {
+                name.next();
+                return name.getString(1);
+            }
+        }
+    }
+
+    /**
+     * COPY of one month of a ledger table: into the month's partition through the parent when it
+     * exists, hot or archived, otherwise into a new table that becomes the partition once it is
+     * filled, as create_monthly_partition() does with the rows of the default partition.
+     */
+    private Copy copyMonth(String table, YearMonth month, String columns) throws SQLException {
+        String partition = partitionName(table, month);
+        if (hasPartition(table, partition)) {
+            return new Copy(connection, "COPY " + table + " (" + columns + ") FROM STDIN", null);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + partition + " (LIKE " + table + " INCLUDING DEFAULTS)");
+        }
+        return new Copy(connection, "COPY " + partition + " (" + columns + ") FROM STDIN", () -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition + " FOR VALUES FROM ('"
+                        + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                statement.execute("SELECT create_hot_indexes('" + table + "', '" + partition + "')");
+            }
+        });
+    }
+
+    private boolean hasPartition(String table, String partition) throws SQLException {
+        try (PreparedStatement statement =
+                connection.prepareStatement("SELECT count(*) FROM pg_inherits h JOIN pg_class c ON c.oid = h.inhrelid "
+                        + "WHERE h.inhparent = ?::regclass AND c.relname = ?")) {
+            statement.setString(1, table);
+            statement.setString(2, partition);
+            try (ResultSet partitions = statement.executeQuery()) {
+                partitions.next();
+                return partitions.getLong(1) > 0;
+            }
+        }
+    }
+}
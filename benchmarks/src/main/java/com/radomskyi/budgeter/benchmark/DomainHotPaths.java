@@ -0,0 +1,31 @@
+package com.radomskyi.budgeter.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the domain hot-path benchmarks ({@link InvestmentBenchmark}, {@link ExpenseMappingBenchmark},
+ * {@link ImportRowBenchmark}) with the GC profiler, so each result comes with its allocation per
+ * operation ({@code gc.alloc.rate.norm}, B/op) next to the time (ns/op). Other JMH options are passed
+ * through, e.g. {@code -rf json -rff domain.json} to keep the results for comparison.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.radomskyi.budgeter.benchmark.DomainHotPaths [JMH options]
+ * </pre>
+ */
+public class DomainHotPaths {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(InvestmentBenchmark.class.getSimpleName())
+                .include(ExpenseMappingBenchmark.class.getSimpleName())
+                .include(ImportRowBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.radomskyi.budgeter.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.service.ExpenseService;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * The entity-to-DTO mapping of a page of expenses, i.e. ExpenseService.mapToResponse applied by
+ * {@code getAll} to each of {@code pageSize} expenses with two tags. The repository is a proxy
+ * returning the same loaded page and the service's logging is off, so what is left is the mapping
+ * and the page wrapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseMappingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ExpenseService expenseService;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory())
+                .getLogger(ExpenseService.class)
+                .setLevel(Level.OFF);
+
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 10, 7, 4, 5);
+        List<Expense> expenses = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Expense expense = new Expense(new BigDecimal("25.50"), ExpenseCategory.WANTS, "Lunch");
+            expense.setId((long) i);
+            expense.setDescription("Lunch at restaurant");
+            expense.setTags(new ArrayList<>(List.of(Tag.FOOD, Tag.BARS_AND_RESTAURANTS)));
+            expense.setCreatedAt(createdAt);
+            expense.setUpdatedAt(createdAt);
+            expenses.add(expense);
+        }
+        pageable = PageRequest.of(0, pageSize);
+        Page<Expense> page = new PageImpl<>(expenses, pageable, 1_000);
+
+        ExpenseRepository expenseRepository = (ExpenseRepository) Proxy.newProxyInstance(
+                ExpenseRepository.class.getClassLoader(),
+                new Class<?>[] {ExpenseRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && args != null && args.length == 1) {
+                        return page;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        expenseService = new ExpenseService(expenseRepository, null, null, null, null);
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> getAll() {
+        return expenseService.getAll(pageable);
+    }
+}
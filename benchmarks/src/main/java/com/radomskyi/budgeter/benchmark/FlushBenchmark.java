@@ -0,0 +1,124 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.radomskyi.budgeter.BudgeterApplication;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransaction;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Cost of flushing a persistence context that holds many entities, as a large Trading212 import does:
+ * {@code entities} investment transactions of {@link DatasetGenerator#FIRST_OWNER}, with their
+ * investments and assets, are loaded into one open transaction. {@code flush} finds nothing to write,
+ * {@code flushOneChange} writes one changed transaction, and {@code autoFlushQuery} runs a query on
+ * investment_transaction, which flushes first, like the asset and investment lookups of every
+ * imported row. The transaction is rolled back at the end.
+ *
+ * <p>Needs the data of {@link DatasetGenerator}; the database is the one of application.properties
+ * unless overridden with {@code -Dbudgeter.benchmark.url}, {@code .user} and {@code .password}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlushBenchmark {
+
+    @Param({"1000", "5000"})
+    private int entities;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private InvestmentTransaction changed;
+    private BigDecimal fees;
+    private long queried;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BudgeterApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url="
+                                + System.getProperty(
+                                        "budgeter.benchmark.url", "jdbc:postgresql://localhost:5432/budgeter"),
+                        "--spring.datasource.username=" + System.getProperty("budgeter.benchmark.user", "budgeter"),
+                        "--spring.datasource.password=" + System.getProperty("budgeter.benchmark.password", "password"),
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--management.tracing.enabled=false",
+                        "--budgeter.recurring.cron=-",
+                        "--budgeter.partitions.cron=-");
+
+        // The tenant of a session is resolved when it is opened
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = OwnerContext.callAs(DatasetGenerator.FIRST_OWNER, entityManagerFactory::createEntityManager);
+        entityManager.getTransaction().begin();
+
+        List<InvestmentTransaction> transactions = entityManager
+                .createQuery(
+                        "select t from InvestmentTransaction t join fetch t.investment i join fetch i.asset"
+                                + " order by t.id",
+                        InvestmentTransaction.class)
+                .setMaxResults(entities)
+                .getResultList();
+        if (transactions.size() < entities) {
+            throw new IllegalStateException("Owner " + DatasetGenerator.FIRST_OWNER + " has " + transactions.size()
+                    + " investment transactions, run DatasetGenerator first");
+        }
+        changed = transactions.get(0);
+        fees = changed.getFees() != null ? changed.getFees() : BigDecimal.ZERO;
+        queried = transactions.get(transactions.size() - 1).getId();
+        System.out.printf(
+                "%n%d investment transactions loaded, bytecode enhanced: %b%n",
+                transactions.size(), changed instanceof PersistentAttributeInterceptable);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void flush() {
+        entityManager.flush();
+    }
+
+    @Benchmark
+    public void flushOneChange() {
+        fees = fees.add(BigDecimal.ONE);
+        changed.setFees(fees);
+        entityManager.flush();
+    }
+
+    @Benchmark
+    public Long autoFlushQuery() {
+        return entityManager
+                .createQuery("select count(t) from InvestmentTransaction t where t.id = :id", Long.class)
+                .setParameter("id", queried)
+                .getSingleResult();
+    }
+}
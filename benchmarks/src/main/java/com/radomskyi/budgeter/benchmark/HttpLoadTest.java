@@ -0,0 +1,154 @@
+package com.radomskyi.budgeter.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running application: {@code clients} virtual threads each send
+ * the same GET request back to back for the given duration, after a warm-up of the same length
+ * divided by four. A client answered with 503 waits as long as its {@code Retry-After}, doubled on
+ * every further 503 in a row (up to {@link #MAX_BACKOFF}, with jitter), like a well-behaved API
+ * client; those responses are counted as shed, not as errors. Prints the throughput of answered
+ * requests, the shed and failed counts, and the latency percentiles of answered requests.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.radomskyi.budgeter.benchmark.HttpLoadTest \
+ *     http://localhost:8080/api/expense?size=20 2000 30 [owner id]
+ * </pre>
+ */
+public class HttpLoadTest {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(16);
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/expense?size=20");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        String owner = args.length > 3 ? args[3] : null;
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET();
+        if (owner != null) {
+            request.header("X-Owner-Id", owner);
+        }
+
+        System.out.printf("%d clients on %s%n", clients, uri);
+        run(request.build(), clients, duration.dividedBy(4));
+        Result result = run(request.build(), clients, duration);
+        System.out.printf(
+                "%d answered in %ds: %.0f req/s, %d shed, %d errors, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, "
+                        + "max %.1f ms%n",
+                result.latencies.length,
+                duration.toSeconds(),
+                result.latencies.length / (double) duration.toSeconds(),
+                result.shed,
+                result.errors(),
+                result.percentile(50),
+                result.percentile(99),
+                result.percentile(99.9),
+                result.percentile(100));
+        if (!result.errorsByCause.isEmpty()) {
+            System.out.printf("errors: %s%n", result.errorsByCause);
+        }
+    }
+
+    private static Result run(HttpRequest request, int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder shed = new LongAdder();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        // Latencies and request count of each client, only written by its own thread
+        long[][] perClient = new long[clients][];
+        int[] counts = new int[clients];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(executor)
+                        .build()) {
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < clients; i++) {
+                    int index = i;
+                    perClient[index] = new long[1 << 12];
+                    clientThreads.submit(() -> {
+                        int shedInARow = 0;
+                        while (System.nanoTime() < deadline) {
+                            long start = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response =
+                                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() == 503) {
+                                    shed.increment();
+                                    backOff(response, shedInARow++, deadline);
+                                    continue;
+                                }
+                                shedInARow = 0;
+                                if (response.statusCode() >= 400) {
+                                    errors.computeIfAbsent("HTTP " + response.statusCode(), cause -> new LongAdder())
+                                            .increment();
+                                }
+                            } catch (InterruptedException e) {
+                                return;
+                            } catch (Exception e) {
+                                errors.computeIfAbsent(e.getClass().getSimpleName(), cause -> new LongAdder())
+                                        .increment();
+                            }
+                            if (counts[index] == perClient[index].length) {
+                                perClient[index] = Arrays.copyOf(perClient[index], counts[index] * 2);
+                            }
+                            perClient[index][counts[index]++] = System.nanoTime() - start;
+                        }
+                    });
+                }
+            }
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < clients; i++) {
+            System.arraycopy(perClient[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        Map<String, Long> errorsByCause = new TreeMap<>();
+        errors.forEach((cause, count) -> errorsByCause.put(cause, count.sum()));
+        return new Result(all, shed.sum(), errorsByCause);
+    }
+
+    // Wait Retry-After (1s without one) times 2^attempt, capped and with up to 50% jitter, or until the deadline
+    private static void backOff(HttpResponse<?> response, int attempt, long deadline) throws InterruptedException {
+        long retryAfterMillis = response.headers()
+                        .firstValueAsLong("Retry-After")
+                        .orElse(1)
+                * 1000;
+        long backoff = Math.min(retryAfterMillis << Math.min(attempt, 10), MAX_BACKOFF.toMillis());
+        backoff += ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        long untilDeadline = (deadline - System.nanoTime()) / 1_000_000;
+        Thread.sleep(Math.max(0, Math.min(backoff, untilDeadline)));
+    }
+
+    private record Result(long[] latencies, long shed, Map<String, Long> errorsByCause) {
+
+        long errors() {
+            return errorsByCause.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
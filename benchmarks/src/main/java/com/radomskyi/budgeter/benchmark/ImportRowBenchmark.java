@@ -0,0 +1,107 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import com.radomskyi.budgeter.dto.InvestmentTransactionRequest;
+import com.radomskyi.budgeter.service.Trading212CsvImportService;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The CPU side of a Trading212 import, per row: splitting the CSV lines ({@code readCsv}) and turning
+ * the fields into a validated request ({@code parseRow}). The rows are market buys and sells of a few
+ * tickers in EUR and USD, some with a conversion fee.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportRowBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private static final String HEADER = "Action,Time,ISIN,Ticker,Name,ID,No. of shares,Price / share,"
+            + "Currency (Price / share),Exchange rate,Result,Currency (Result),Gross Total,Currency (Gross Total),"
+            + "Withholding tax,Currency (Withholding tax),Currency conversion fee,"
+            + "Currency (Currency conversion fee)";
+
+    private static final String[][] ASSETS = {
+        {"US0378331005", "AAPL", "Apple Inc.", "USD"},
+        {"US5949181045", "MSFT", "Microsoft Corporation", "USD"},
+        {"DE0007164600", "SAP", "SAP SE", "EUR"},
+        {"NL0010273215", "ASML", "ASML Holding N.V.", "EUR"}
+    };
+
+    private Trading212CsvImportService importService;
+    private String csv;
+    private String[][] rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, CsvException {
+        importService = new Trading212CsvImportService(null, null, null, null);
+
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder file = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < ROWS; i++) {
+            String[] asset = ASSETS[i % ASSETS.length];
+            boolean usd = asset[3].equals("USD");
+            String fee = usd ? String.format(Locale.ROOT, "%.2f", random.nextInt(1, 300) / 100.0) : "";
+            file.append(String.format(
+                            Locale.ROOT,
+                            "%s,2025-06-10 07:04:05.631,%s,%s,%s,EOF%011d,%.10f,%.10f,%s,%s,,EUR,%.2f,EUR,,,%s,%s%n",
+                            i % 3 == 2 ? "Market sell" : "Market buy",
+                            asset[0],
+                            asset[1],
+                            asset[2],
+                            i,
+                            random.nextInt(1, 1_000_000) / 10_000.0,
+                            random.nextInt(1_000, 50_000) / 100.0,
+                            asset[3],
+                            usd ? "1.08600000" : "1.00000000",
+                            random.nextInt(100, 100_000) / 100.0,
+                            fee,
+                            usd ? "EUR" : ""));
+        }
+        csv = file.toString();
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            List<String[]> all = reader.readAll();
+            rows = all.subList(1, all.size()).toArray(String[][]::new);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<String[]> readCsv() throws IOException, CsvException {
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            return reader.readAll();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseRow(Blackhole blackhole) {
+        for (String[] row : rows) {
+            InvestmentTransactionRequest request = importService.parseRow(row);
+            blackhole.consume(request);
+        }
+    }
+}
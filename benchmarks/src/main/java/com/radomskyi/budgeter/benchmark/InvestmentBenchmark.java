@@ -0,0 +1,120 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.radomskyi.budgeter.domain.entity.investment.Asset;
+import com.radomskyi.budgeter.domain.entity.investment.AssetType;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.entity.investment.Investment;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentStyle;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransaction;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransactionType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The investment arithmetic of every imported or created transaction: {@code addTransaction} replaying
+ * a history of {@code history} transactions into a new investment (per replay: divided by
+ * {@code history} it shows whether adding gets slower as the list grows), {@code getRealizedGainLoss}
+ * over that history,
+ * and {@code calculateAmount} of single transactions in EUR and USD, with and without fees. Either all
+ * buys or every third transaction a sell of at most what is held.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvestmentBenchmark {
+
+    public enum Mix {
+        BUY_ONLY,
+        BUY_SELL
+    }
+
+    @Param({"10", "1000"})
+    private int history;
+
+    @Param
+    private Mix mix;
+
+    private Asset asset;
+    private InvestmentTransaction[] transactions;
+    private Investment replayed;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        asset = Asset.builder()
+                .ticker("AAPL")
+                .name("Apple Inc.")
+                .isin("US0378331005")
+                .assetType(AssetType.STOCK)
+                .investmentStyle(InvestmentStyle.GROWTH)
+                .build();
+
+        transactions = new InvestmentTransaction[history];
+        BigDecimal held = BigDecimal.ZERO;
+        for (int i = 0; i < history; i++) {
+            // fractional shares as imported from the broker: up to 8 decimals, read back at column scale
+            BigDecimal units = BigDecimal.valueOf(random.nextLong(1_000_000, 10_000_000_000L), 8);
+            boolean sell = mix == Mix.BUY_SELL && i % 3 == 2 && held.signum() > 0;
+            if (sell) {
+                units = units.min(held);
+            }
+            held = sell ? held.subtract(units) : held.add(units);
+            boolean usd = i % 2 == 0;
+            transactions[i] = new InvestmentTransaction(
+                    sell ? InvestmentTransactionType.SELL : InvestmentTransactionType.BUY,
+                    null,
+                    units,
+                    BigDecimal.valueOf(random.nextLong(1_000, 50_000), 2).setScale(8, RoundingMode.UNNECESSARY),
+                    i % 4 == 0 ? BigDecimal.valueOf(random.nextLong(1, 500), 2) : null,
+                    usd ? Currency.USD : Currency.EUR,
+                    usd ? new BigDecimal("0.92000000") : null);
+        }
+
+        replayed = replay();
+    }
+
+    @Benchmark
+    public Investment addTransaction() {
+        return replay();
+    }
+
+    @Benchmark
+    public BigDecimal getRealizedGainLoss() {
+        return replayed.getRealizedGainLoss();
+    }
+
+    @Benchmark
+    public void calculateAmount(Blackhole blackhole) {
+        InvestmentTransaction transaction = transactions[next++ % history];
+        transaction.calculateAmount();
+        blackhole.consume(transaction.getAmount());
+    }
+
+    // The same transactions are added on every replay, each add overwriting what the last one set
+    private Investment replay() {
+        Investment investment = Investment.createNew(asset, Currency.USD, "Trading212");
+        for (InvestmentTransaction transaction : transactions) {
+            investment.addTransaction(transaction);
+        }
+        return investment;
+    }
+}
@@ -0,0 +1,129 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.money.Money;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Money} against plain {@link BigDecimal} for the arithmetic shapes of the aggregation and
+ * cost-basis code: summing cent amounts, and the multiply/add/subtract chain of
+ * Investment.addTransaction at the 8-digit scale of fractional units and cost bases. Run with
+ * {@code -prof gc} to compare allocation per operation.
+ *
+ * <p>The sum is where Money pays off; the cost-basis chain stays on BigDecimal in the application,
+ * because 8-digit x 8-digit products overflow a long and the fallback costs more than it saves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private List<BigDecimal> amounts;
+    private BigDecimal[] units;
+    private BigDecimal[] prices;
+    private BigDecimal[] fees;
+    private boolean[] sells;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new ArrayList<>(size);
+        units = new BigDecimal[size];
+        prices = new BigDecimal[size];
+        fees = new BigDecimal[size];
+        sells = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            amounts.add(BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2));
+            // fractional shares as imported from the broker: up to 8 decimals, read back at column scale
+            units[i] = BigDecimal.valueOf(random.nextLong(1_000_000, 10_000_000_000L), 8);
+            prices[i] = BigDecimal.valueOf(random.nextLong(1_000, 50_000), 2).setScale(8, RoundingMode.UNNECESSARY);
+            fees[i] = BigDecimal.valueOf(random.nextLong(0, 500), 2);
+            // every third transaction sells, never more than is held
+            sells[i] = i % 3 == 2;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        return amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money sumMoney() {
+        return Money.sum(amounts, amount -> amount, Currency.EUR);
+    }
+
+    @Benchmark
+    public BigDecimal costBasisBigDecimal() {
+        BigDecimal totalUnits = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal costBasis = BigDecimal.ZERO;
+        BigDecimal realized = BigDecimal.ZERO;
+
+        for (int i = 0; i < size; i++) {
+            BigDecimal sold = sells[i] ? units[i].min(totalUnits) : null;
+            if (sold == null) {
+                totalUnits = totalUnits.add(units[i]);
+                totalCost = totalCost.add(units[i].multiply(prices[i])).add(fees[i]);
+            } else {
+                BigDecimal costOfSoldUnits = sold.multiply(costBasis);
+                realized = realized.add(sold.multiply(prices[i]).subtract(costOfSoldUnits).subtract(fees[i]));
+                totalUnits = totalUnits.subtract(sold);
+                totalCost = totalCost.subtract(costOfSoldUnits);
+            }
+            costBasis = totalUnits.signum() > 0 ? totalCost.divide(totalUnits, 8, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        }
+        return realized.add(totalCost);
+    }
+
+    @Benchmark
+    public Money costBasisMoney() {
+        BigDecimal totalUnits = BigDecimal.ZERO;
+        Money totalCost = Money.zero(Currency.USD);
+        Money costBasis = Money.zero(Currency.USD);
+        Money realized = Money.zero(Currency.USD);
+
+        for (int i = 0; i < size; i++) {
+            BigDecimal sold = sells[i] ? units[i].min(totalUnits) : null;
+            Money price = Money.of(prices[i], Currency.USD);
+            Money fee = Money.of(fees[i], Currency.USD);
+            if (sold == null) {
+                totalUnits = totalUnits.add(units[i]);
+                totalCost = totalCost.plus(price.times(units[i])).plus(fee);
+            } else {
+                Money costOfSoldUnits = costBasis.times(sold);
+                realized = realized.plus(price.times(sold).minus(costOfSoldUnits).minus(fee));
+                totalUnits = totalUnits.subtract(sold);
+                totalCost = totalCost.minus(costOfSoldUnits);
+            }
+            costBasis = totalUnits.signum() > 0
+                    ? Money.of(totalCost.toBigDecimal().divide(totalUnits, 8, RoundingMode.HALF_UP), Currency.USD)
+                    : Money.zero(Currency.USD);
+        }
+        return realized.plus(totalCost);
+    }
+}
@@ -0,0 +1,143 @@
+package com.radomskyi.budgeter.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of one owner's expense queries as the number of owners in the database grows. Every trial
+ * adds {@code owners} owners with {@link #ENTRIES_PER_OWNER} expenses each to the expense table, whose
+ * indexes lead with owner_id (V7 and V8 migrations), and queries a random one of them with the SQL
+ * the application runs: the monthly time series of LedgerTimeSeriesRepository, the newest entries of
+ * a date range and a name search. The per-owner times should not grow with {@code owners}.
+ *
+ * <p>Runs against a PostgreSQL database migrated by the application, by default the one of
+ * application.properties; override with {@code -Dbudgeter.benchmark.url}, {@code .user} and
+ * {@code .password}. The benchmark owners use ids from {@link #FIRST_OWNER} and are removed after
+ * each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OwnerScalingBenchmark {
+
+    private static final long FIRST_OWNER = 1_000_000_000L;
+    private static final int ENTRIES_PER_OWNER = 2_000;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+
+    private static final String TIME_SERIES = "SELECT date_trunc('month', e.created_at) AS bucket_start, "
+            + "sum(e.amount) AS total, count(*) AS entry_count FROM expense e "
+            + "WHERE e.owner_id = ? AND date_trunc('month', e.created_at) BETWEEN ? AND ? "
+            + "AND e.created_at >= ? AND e.created_at < ? GROUP BY 1 ORDER BY 1";
+    private static final String RECENT = "SELECT e.id, e.amount, e.name, e.created_at FROM expense e "
+            + "WHERE e.owner_id = ? AND e.created_at BETWEEN ? AND ? ORDER BY e.created_at DESC LIMIT 20";
+    private static final String NAME_SEARCH = "SELECT e.id, e.amount FROM expense e "
+            + "WHERE e.owner_id = ? AND upper(e.name) LIKE upper(?)";
+
+    @Param({"1", "10", "100", "1000"})
+    private int owners;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Connection connection;
+    private PreparedStatement timeSeries;
+    private PreparedStatement recent;
+    private PreparedStatement nameSearch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("budgeter.benchmark.url", "jdbc:postgresql://localhost:5432/budgeter"),
+                System.getProperty("budgeter.benchmark.user", "budgeter"),
+                System.getProperty("budgeter.benchmark.password", "password"));
+
+        try (Statement statement = connection.createStatement()) {
+            deleteOwners(statement);
+            // Two years of entries per owner, spread over the categories, with 100 distinct names
+            statement.executeUpdate("INSERT INTO expense (owner_id, amount, name, created_at, updated_at, category) "
+                    + "SELECT o, (i % 9000 + 100) / 100.0, 'Shop ' || (i % 100), "
+                    + "timestamp '" + FROM + "' + (i % 730) * interval '1 day' + (i % 86400) * interval '1 second', "
+                    + "now(), (ARRAY['NEEDS', 'WANTS', 'FIXED'])[i % 3 + 1] "
+                    + "FROM generate_series(" + FIRST_OWNER + ", " + (FIRST_OWNER + owners - 1) + ") o, "
+                    + "generate_series(1, " + ENTRIES_PER_OWNER + ") i");
+            statement.execute("ANALYZE expense");
+        }
+
+        timeSeries = connection.prepareStatement(TIME_SERIES);
+        recent = connection.prepareStatement(RECENT);
+        nameSearch = connection.prepareStatement(NAME_SEARCH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            deleteOwners(statement);
+        }
+        connection.close();
+    }
+
+    private static void deleteOwners(Statement statement) throws SQLException {
+        statement.executeUpdate("DELETE FROM expense WHERE owner_id >= " + FIRST_OWNER);
+    }
+
+    private long randomOwner() {
+        return FIRST_OWNER + random.nextInt(owners);
+    }
+
+    @Benchmark
+    public long monthlyTimeSeries() throws SQLException {
+        timeSeries.setLong(1, randomOwner());
+        timeSeries.setTimestamp(2, Timestamp.valueOf(FROM.atStartOfDay()));
+        timeSeries.setTimestamp(3, Timestamp.valueOf(FROM.plusMonths(11).atStartOfDay()));
+        timeSeries.setTimestamp(4, Timestamp.valueOf(FROM.atStartOfDay()));
+        timeSeries.setTimestamp(5, Timestamp.valueOf(FROM.plusMonths(12).atStartOfDay()));
+        return consume(timeSeries);
+    }
+
+    @Benchmark
+    public long recentEntries() throws SQLException {
+        recent.setLong(1, randomOwner());
+        recent.setTimestamp(2, Timestamp.valueOf(FROM.atStartOfDay()));
+        recent.setTimestamp(3, Timestamp.valueOf(FROM.plusMonths(6).atStartOfDay()));
+        return consume(recent);
+    }
+
+    @Benchmark
+    public long nameSearch() throws SQLException {
+        nameSearch.setLong(1, randomOwner());
+        nameSearch.setString(2, "%shop 42%");
+        return consume(nameSearch);
+    }
+
+    private static long consume(PreparedStatement statement) throws SQLException {
+        long rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows += resultSet.getLong(2);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,490 @@
+package com.radomskyi.budgeter.benchmark;
+
+import com.radomskyi.budgeter.BudgeterApplication;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.investment.Asset;
+import com.radomskyi.budgeter.domain.entity.investment.AssetType;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.entity.investment.Investment;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentStyle;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransactionType;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.IncomeRepository;
+import com.radomskyi.budgeter.repository.InvestmentRepository;
+import com.radomskyi.budgeter.repository.InvestmentTransactionRepository;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Latency and plan of every query method of {@link ExpenseRepository}, {@link IncomeRepository},
+ * {@link InvestmentRepository} and {@link InvestmentTransactionRepository}, to find the ones that do
+ * not hold up at the data sizes of {@link DatasetGenerator}. Starts the application without its web
+ * server and scheduled jobs and calls every method a repository declares, plus findById,
+ * findAll(Pageable) and count, as one owner: by default {@link DatasetGenerator#FIRST_OWNER}, the one
+ * with the most data. The arguments come from that owner's data: last month for date ranges, 500
+ * and 510 for amounts, the name of the newest entry for searches, the owner's most used tags, the
+ * newest entry for ids and the investment with the most transactions.
+ *
+ * <p>Every method is called {@code budgeter.benchmark.warmup} (2) times and then timed
+ * {@code budgeter.benchmark.calls} (5) times, or timed once if its first call took more than a
+ * second. Every distinct statement of its last call is then run again under EXPLAIN (ANALYZE,
+ * BUFFERS) with the parameters it was executed with. Statements are cancelled after
+ * {@code budgeter.benchmark.statement-timeout} (30s), which shows up as a failed method. The report
+ * lists the methods slowest first with the scans of their plans and the rows the plans read and
+ * filtered out, in bold where that is far more than they returned; the plans follow below.
+ *
+ * <pre>
+ * java -Xmx2g -cp target/benchmarks.jar com.radomskyi.budgeter.benchmark.RepositoryQueryBenchmark \
+ *     [report file, repository-queries.md] [owner id]
+ * </pre>
+ *
+ * <p>The database is the one of application.properties unless overridden with
+ * {@code -Dbudgeter.benchmark.url}, {@code .user} and {@code .password}.
+ */
+public class RepositoryQueryBenchmark {
+
+    private static final Duration SLOW = Duration.ofSeconds(1);
+
+    private static final Map<Class<?>, String> REPOSITORIES = Map.of(
+            ExpenseRepository.class, "expense",
+            IncomeRepository.class, "income",
+            InvestmentRepository.class, "investment",
+            InvestmentTransactionRepository.class, "investment_transaction");
+
+    private static final Map<Class<?>, Object> ENUM_ARGUMENTS = Map.of(
+            ExpenseCategory.class, ExpenseCategory.NEEDS,
+            IncomeCategory.class, IncomeCategory.SALARY,
+            Currency.class, Currency.USD,
+            AssetType.class, AssetType.STOCK,
+            InvestmentStyle.class, InvestmentStyle.GROWTH,
+            InvestmentTransactionType.class, InvestmentTransactionType.SELL);
+
+    private static final Pattern SCAN = Pattern.compile("((?:Parallel )?(?:Seq|Index Only|Index|Bitmap Heap) Scan)");
+    private static final Pattern FILTERED = Pattern.compile("Rows Removed by (?:Filter|Index Recheck): (\\d+)");
+
+    private static final ThreadLocal<List<Executed>> RECORDING = new ThreadLocal<>();
+
+    /** A statement with the parameters it was executed with */
+    private record Executed(String sql, List<Parameter> parameters) {}
+
+    /** A {@code PreparedStatement.setXxx} call */
+    private record Parameter(Method setter, Object[] args) {}
+
+    /** Timings of the calls of one method and the statements of the last one */
+    private record Result(String method, long[] nanos, long rows, List<Executed> statements, String error) {
+
+        double medianMillis() {
+            return nanos.length == 0 ? 0 : nanos[nanos.length / 2] / 1e6;
+        }
+
+        double maxMillis() {
+            return nanos.length == 0 ? 0 : nanos[nanos.length - 1] / 1e6;
+        }
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final Connection connection;
+    private final long owner;
+    private final int warmup = Integer.getInteger("budgeter.benchmark.warmup", 2);
+    private final int calls = Integer.getInteger("budgeter.benchmark.calls", 5);
+
+    RepositoryQueryBenchmark(ConfigurableApplicationContext context, Connection connection, long owner) {
+        this.context = context;
+        this.connection = connection;
+        this.owner = owner;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args.length > 0 ? args[0] : "repository-queries.md");
+        long owner = args.length > 1 ? Long.parseLong(args[1]) : DatasetGenerator.FIRST_OWNER;
+        Duration timeout =
+                DurationStyle.detectAndParse(System.getProperty("budgeter.benchmark.statement-timeout", "30s"));
+
+        String[] properties = {
+            "--spring.datasource.url="
+                    + System.getProperty("budgeter.benchmark.url", "jdbc:postgresql://localhost:5432/budgeter"),
+            "--spring.datasource.username=" + System.getProperty("budgeter.benchmark.user", "budgeter"),
+            "--spring.datasource.password=" + System.getProperty("budgeter.benchmark.password", "password"),
+            "--spring.datasource.hikari.connection-init-sql=SET statement_timeout = " + timeout.toMillis(),
+            "--spring.flyway.enabled=false",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--management.tracing.enabled=false",
+            "--budgeter.recurring.cron=-",
+            "--budgeter.partitions.cron=-"
+        };
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                                BudgeterApplication.class, StatementRecorder.class)
+                        .web(WebApplicationType.NONE)
+                        .run(properties);
+                Connection connection = DatasetGenerator.connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET statement_timeout = " + timeout.toMillis());
+            }
+            new RepositoryQueryBenchmark(context, connection, owner).run(report);
+        }
+    }
+
+    void run(Path report) throws SQLException, IOException, NoSuchMethodException {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (String table : REPOSITORIES.values().stream().sorted().toList()) {
+            sizes.put(table, queryLong("SELECT count(*) FROM " + table + " WHERE owner_id = ?"));
+        }
+        System.out.printf("Owner %d: %s%n", owner, sizes);
+
+        List<Result> results = new ArrayList<>();
+        for (var repository : REPOSITORIES.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .toList()) {
+            Object bean = context.getBean(repository.getKey());
+            Map<Class<?>, Object> arguments = arguments(repository.getKey(), repository.getValue());
+            for (Method method : methods(repository.getKey())) {
+                Result result = measure(repository.getKey().getSimpleName(), bean, method, arguments);
+                System.out.printf(
+                        "%-110s %10.1f ms %10.1f ms %10d rows%n",
+                        result.method(), result.medianMillis(), result.maxMillis(), result.rows());
+                results.add(result);
+            }
+        }
+
+        results.sort(Comparator.comparingDouble(Result::medianMillis).reversed());
+        write(report, sizes, results);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    /** The declared methods of a repository and the inherited ones the services use */
+    private static List<Method> methods(Class<?> repository) throws NoSuchMethodException {
+        List<Method> methods = new ArrayList<>(Arrays.stream(repository.getDeclaredMethods())
+                .sorted(Comparator.comparing(Method::toGenericString))
+                .toList());
+        methods.add(CrudRepository.class.getMethod("findById", Object.class));
+        methods.add(PagingAndSortingRepository.class.getMethod("findAll", Pageable.class));
+        methods.add(CrudRepository.class.getMethod("count"));
+        return methods;
+    }
+
+    /** Arguments by parameter type; the second LocalDateTime or BigDecimal is the end of a range */
+    private Map<Class<?>, Object> arguments(Class<?> repository, String table) throws SQLException {
+        Map<Class<?>, Object> arguments = new LinkedHashMap<>(ENUM_ARGUMENTS);
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        arguments.put(
+                LocalDateTime.class,
+                List.of(
+                        lastMonth.atDay(1).atStartOfDay(),
+                        lastMonth.atEndOfMonth().atTime(23, 59, 59)));
+        arguments.put(BigDecimal.class, List.of(new BigDecimal("500.00"), new BigDecimal("510.00")));
+        arguments.put(Pageable.class, PageRequest.of(0, 20));
+        arguments.put(Object.class, queryLong("SELECT max(id) FROM " + table + " WHERE owner_id = ?"));
+        if (table.equals("expense") || table.equals("income")) {
+            String name =
+                    queryString("SELECT name FROM " + table + " WHERE owner_id = ? ORDER BY created_at DESC LIMIT 1");
+            arguments.put(String.class, name != null ? name.toLowerCase(Locale.ROOT) : "shop");
+
+            // The owner's two most used tags
+            List<Tag> tags = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT t.tag FROM " + table + "_tags t "
+                    + "JOIN " + table + " e ON e.id = t." + table + "_id WHERE e.owner_id = ? "
+                    + "GROUP BY t.tag ORDER BY count(*) DESC LIMIT 2")) {
+                statement.setLong(1, owner);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        tags.add(Tag.valueOf(resultSet.getString(1)));
+                    }
+                }
+            }
+            if (!tags.isEmpty()) {
+                arguments.put(Tag.class, tags.getFirst());
+                arguments.put(List.class, tags);
+            }
+        }
+
+        Long investmentId = queryLong("SELECT investment_id FROM investment_transaction WHERE owner_id = ? "
+                + "GROUP BY investment_id ORDER BY count(*) DESC LIMIT 1");
+        if (investmentId != null) {
+            Investment investment = OwnerContext.callAs(owner, () -> context.getBean(InvestmentRepository.class)
+                    .findById(investmentId)
+                    .orElseThrow());
+            arguments.put(Investment.class, investment);
+            arguments.put(Asset.class, investment.getAsset());
+        }
+        return arguments;
+    }
+
+    private Result measure(String repository, Object bean, Method method, Map<Class<?>, Object> arguments) {
+        String name = repository + "." + method.getName()
+                + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(", ", "(", ")"));
+
+        Object[] args = new Object[method.getParameterCount()];
+        Map<Class<?>, Integer> used = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            Class<?> type = method.getParameterTypes()[i];
+            Object argument = arguments.get(type);
+            if (argument instanceof List<?> values && type != List.class) {
+                argument = values.get(used.merge(type, 1, Integer::sum) - 1);
+            }
+            if (argument == null) {
+                return new Result(name, new long[0], 0, List.of(), "no argument of type " + type.getSimpleName());
+            }
+            args[i] = argument;
+        }
+
+        try {
+            List<Long> nanos = new ArrayList<>();
+            long first = time(bean, method, args, null);
+            int repetitions = Duration.ofNanos(first).compareTo(SLOW) > 0 ? 0 : warmup - 1 + calls;
+            for (int i = 0; i < repetitions - 1; i++) {
+                long elapsed = time(bean, method, args, null);
+                if (i >= warmup - 1) {
+                    nanos.add(elapsed);
+                }
+            }
+
+            List<Executed> statements = new ArrayList<>();
+            long[] rows = new long[1];
+            nanos.add(time(bean, method, args, statements, rows));
+            return new Result(
+                    name, nanos.stream().mapToLong(Long::longValue).sorted().toArray(), rows[0], statements, null);
+        } catch (Exception e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            return new Result(name, new long[0], 0, List.of(), cause.toString());
+        }
+    }
+
+    private long time(Object bean, Method method, Object[] args, List<Executed> statements) throws Exception {
+        return time(bean, method, args, statements, new long[1]);
+    }
+
+    /** Calls the method as the owner, returning the elapsed nanos; records the statements if given a list */
+    private long time(Object bean, Method method, Object[] args, List<Executed> statements, long[] rows)
+            throws Exception {
+        RECORDING.set(statements);
+        try {
+            long start = System.nanoTime();
+            Object result = OwnerContext.callAs(owner, () -> {
+                try {
+                    return method.invoke(bean, args);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            long elapsed = System.nanoTime() - start;
+            rows[0] = switch (result) {
+                case Page<?> page -> page.getNumberOfElements();
+                case Collection<?> collection -> collection.size();
+                case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+                case null -> 0;
+                default -> 1;
+            };
+            return elapsed;
+        } catch (IllegalStateException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            RECORDING.remove();
+        }
+    }
+
+    private void write(Path report, Map<String, Long> sizes, List<Result> results) throws IOException, SQLException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report))) {
+            out.println("# Repository queries");
+            out.println();
+            out.printf("Owner %d, %s. Times are per repository call, entities included.%n", owner, sizes);
+            out.println();
+            out.println("| Method | Median ms | Max ms | Rows | Statements | Filtered out | Plan |");
+            out.println("|---|---:|---:|---:|---:|---:|---|");
+
+            Map<String, List<String>> plans = new LinkedHashMap<>();
+            for (Result result : results) {
+                List<String> explained = new ArrayList<>();
+                Map<String, Executed> distinct = new LinkedHashMap<>();
+                result.statements().forEach(statement -> distinct.putIfAbsent(statement.sql(), statement));
+                for (Executed statement : distinct.values()) {
+                    explained.add(statement.sql() + "\n\n" + explain(statement));
+                }
+                plans.put(result.method(), explained);
+
+                String plan =
+                        result.error() != null ? "failed: " + result.error().replace('|', '/') : scans(explained);
+                long filtered = explained.stream()
+                        .flatMap(String::lines)
+                        .map(FILTERED::matcher)
+                        .filter(Matcher::find)
+                        .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+                        .sum();
+                // Reading far more rows than returned is what stops scaling with the data
+                boolean wasteful = filtered > Math.max(10_000, 10 * result.rows());
+                out.printf(
+                        Locale.ROOT,
+                        "| %s | %.1f | %.1f | %d | %d | %s | %s |%n",
+                        result.method(),
+                        result.medianMillis(),
+                        result.maxMillis(),
+                        result.rows(),
+                        result.statements().size(),
+                        wasteful ? "**" + filtered + "**" : filtered,
+                        plan);
+            }
+
+            plans.forEach((method, explained) -> {
+                if (explained.isEmpty()) {
+                    return;
+                }
+                out.println();
+                out.println("## " + method);
+                for (String plan : explained) {
+                    out.println();
+                    out.println("```");
+                    out.println(plan);
+                    out.println("```");
+                }
+            });
+        }
+    }
+
+    /** Scan nodes of the plans by kind, e.g. "60 Seq Scan, 2 Index Scan" */
+    private static String scans(List<String> plans) {
+        Map<String, Long> scans = plans.stream()
+                .flatMap(String::lines)
+                .map(SCAN::matcher)
+                .filter(Matcher::find)
+                .collect(Collectors.groupingBy(matcher -> matcher.group(1), TreeMap::new, Collectors.counting()));
+        return scans.entrySet().stream()
+                .map(scan -> scan.getValue() + " " + scan.getKey())
+                .collect(Collectors.joining(", "));
+    }
+
+    /** The statement under EXPLAIN (ANALYZE, BUFFERS), with its parameters bound again */
+    private String explain(Executed statement) {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + statement.sql())) {
+            for (Parameter parameter : statement.parameters()) {
+                parameter.setter().invoke(explain, parameter.args());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet lines = explain.executeQuery()) {
+                while (lines.next()) {
+                    plan.append(lines.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().stripTrailing();
+        } catch (SQLException | ReflectiveOperationException e) {
+            return "EXPLAIN failed: " + e;
+        }
+    }
+
+    private Long queryLong(String sql) throws SQLException {
+        String value = queryString(sql);
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, owner);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    /** Wraps the application data source, recording the statements of the calls being measured */
+    static class StatementRecorder implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return recording(super.getConnection());
+                    }
+                };
+            }
+            return bean;
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = method.invoke(connection, args);
+                return method.getName().equals("prepareStatement")
+                        ? recording((PreparedStatement) result, (String) args[0])
+                        : result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            List<Parameter> parameters = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.add(new Parameter(method, args));
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && RECORDING.get() != null) {
+                    RECORDING.get().add(new Executed(sql, List.copyOf(parameters)));
+                }
+                return method.invoke(statement, args);
+            });
+        }
+
+        private interface Call {
+            Object invoke(Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Call call) {
+            return type.cast(
+                    Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                        try {
+                            return call.invoke(method, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.radomskyi.budgeter.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.dto.ExpenseRequest;
+import com.radomskyi.budgeter.logging.LogSampling;
+import com.radomskyi.budgeter.logging.SampledOutTurboFilter;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * The log lines of one create-expense request (the controller logging the request DTO, the service
+ * logging before and after saving) from several threads at once, in the logging setups of
+ * {@code logback-spring.xml}: the default synchronous text console, synchronous JSON, JSON through
+ * the asynchronous appender, and the latter with requests sampled at 5%. Lines are written to
+ * {@code /dev/null}, which keeps the write call of a console but not the cost of whatever reads it.
+ *
+ * <p>The asynchronous appender never blocks: once its queue is 80% full it drops INFO lines, so
+ * under sustained overload part of its throughput is lines that were never written.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    public enum LogSetup {
+        TEXT,
+        JSON,
+        ASYNC_JSON,
+        ASYNC_JSON_SAMPLED
+    }
+
+    private static final double SAMPLE_RATE = 0.05;
+
+    @Param
+    private LogSetup setup;
+
+    private LoggerContext context;
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private ExpenseRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        context.addTurboFilter(new SampledOutTurboFilter());
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(setup == LogSetup.TEXT ? textEncoder() : jsonEncoder());
+        console.setOutputStream(new FileOutputStream("/dev/null"));
+        console.start();
+
+        Appender<ILoggingEvent> appender = console;
+        if (setup == LogSetup.ASYNC_JSON || setup == LogSetup.ASYNC_JSON_SAMPLED) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        controllerLog = context.getLogger("com.radomskyi.budgeter.controller.ExpenseController");
+        serviceLog = context.getLogger("com.radomskyi.budgeter.service.ExpenseService");
+
+        request = ExpenseRequest.builder()
+                .name("Lunch")
+                .amount(new BigDecimal("25.50"))
+                .category(ExpenseCategory.WANTS)
+                .description("Lunch at restaurant")
+                .tags(List.of(Tag.FOOD, Tag.BARS_AND_RESTAURANTS))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void createExpense() {
+        boolean sampledOut =
+                setup == LogSetup.ASYNC_JSON_SAMPLED && ThreadLocalRandom.current().nextDouble() >= SAMPLE_RATE;
+        LogSampling.run(sampledOut, () -> {
+            controllerLog.info("Received request to create expense: {}", request);
+            serviceLog.info(
+                    "Creating new expense with amount: {} and category: {}",
+                    request.getAmount(),
+                    request.getCategory());
+            serviceLog.info("Successfully created expense with id: {}", 42L);
+        });
+    }
+
+    private Encoder<ILoggingEvent> textEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+        return encoder;
+    }
+}
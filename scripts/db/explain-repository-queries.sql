@@ -0,0 +1,159 @@
+-- Access-path check for the repository queries against a migrated schema (V8+).
+--
+-- Fills the tables with 10M expenses / incomes / investment transactions of 100 owners and prints the
+-- plan of every repository query shape, so it is visible which index each one uses. Hibernate adds
+-- owner_id = <current owner> to every query, so every plan should use an index leading with owner_id,
+-- and queries with a date range should only touch the month partitions of the range (V8+), and within
+-- each month only the owner partition of the current owner (V14+).
+-- Run against a scratch database only:
+--
+--   psql -d budgeter_bench -f scripts/db/explain-repository-queries.sql
+--
+-- Every plan is expected to show an Index Scan, Index Only Scan or Bitmap Index Scan.
+
+TRUNCATE expense_tags, expense, income_tags, income, investment_transaction, investment, asset RESTART IDENTITY CASCADE;
+
+INSERT INTO asset (owner_id, ticker, name, isin, asset_type, investment_style)
+SELECT 1 + g % 100, 'T' || g, 'Asset ' || g, 'US' || lpad(g::text, 10, '0'),
+       (ARRAY['INDEX_ETF','STOCK','BOND','COMMODITY','CRYPTO','DERIVATIVE'])[1 + g % 6],
+       (ARRAY['GROWTH','VALUE','SPECULATION','FIXED_INCOME'])[1 + g % 4]
+FROM generate_series(1, 20000) g;
+
+INSERT INTO investment (owner_id, asset_id, total_cost, total_units, cost_basis, latest_price, currency, brokerage)
+SELECT 1 + g % 100, g, 1000, CASE WHEN g % 10 = 0 THEN 10 ELSE 0 END, 100, 100, 'EUR', 'Trading212'
+FROM generate_series(1, 20000) g;
+
+INSERT INTO expense (owner_id, amount, name, description, created_at, updated_at, category)
+SELECT 1 + g % 100, round((random() * 500)::numeric, 2), 'Expense ' || g, 'Generated expense ' || g,
+       timestamp '2015-01-01' + (g * interval '31 seconds'), NULL,
+       (ARRAY['FIXED','NEEDS','WANTS'])[1 + g % 3]
+FROM generate_series(1, 10000000) g;
+
+INSERT INTO expense_tags (expense_id, tag)
+SELECT g, (ARRAY['FOOD','TRANSPORT','HOUSING','UTILITIES','TRAVEL','OTHER'])[1 + g % 6]
+FROM generate_series(1, 10000000) g;
+
+INSERT INTO income (owner_id, amount, name, description, created_at, updated_at, category)
+SELECT 1 + g % 100, round((random() * 5000)::numeric, 2), 'Income ' || g, 'Generated income ' || g,
+       timestamp '2015-01-01' + (g * interval '31 seconds'), NULL,
+       (ARRAY['SALARY','FREELANCE','INVESTMENTS','BUSINESS','GIFTS_AND_BONUSES','RENTAL','GOVERNMENT_BENEFITS','OTHER_INCOME'])[1 + g % 8]
+FROM generate_series(1, 10000000) g;
+
+INSERT INTO income_tags (income_id, tag)
+SELECT g, (ARRAY['OTHER','BANKING_AND_TAXES'])[1 + g % 2]
+FROM generate_series(1, 10000000) g;
+
+INSERT INTO investment_transaction (owner_id, amount, name, description, created_at, updated_at, transaction_type,
+                                    investment_id, units, price_per_unit, fees, currency, exchange_rate,
+                                    realized_gain_loss)
+-- every transaction belongs to the owner of its investment
+SELECT 1 + (1 + g % 20000) % 100, 1000, 'Trade ' || g, NULL, timestamp '2015-01-01' + (g * interval '31 seconds'), NULL,
+       (ARRAY['BUY','BUY','SELL','DIVIDEND'])[1 + g % 4], 1 + g % 20000, 10, 100, 1, 'EUR', NULL,
+       CASE WHEN g % 4 = 2 THEN 5 END
+FROM generate_series(1, 10000000) g;
+
+VACUUM ANALYZE;
+
+-- ExpenseRepository (IncomeRepository queries have the same shapes) -------------------------
+
+-- findByCategory(category, pageable)
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND e.category = 'WANTS' ORDER BY e.created_at DESC LIMIT 20;
+
+-- findByCreatedAtBetween
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND e.created_at BETWEEN '2020-01-01' AND '2020-01-31';
+
+-- findByCategoryAndCreatedAtBetween
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND e.category = 'NEEDS' AND e.created_at BETWEEN '2020-01-01' AND '2020-01-31';
+
+-- findByAmountGreaterThan
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND e.amount > 499.90;
+
+-- findByAmountBetween
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND e.amount BETWEEN 100.00 AND 100.10;
+
+-- findByNameContainingIgnoreCase
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND upper(e.name) LIKE upper('%pense 12300%');
+
+-- findByDescriptionContainingIgnoreCase
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 AND upper(e.description) LIKE upper('%expense 99900%');
+
+-- findByTag
+EXPLAIN SELECT e.* FROM expense e WHERE e.owner_id = 1 AND 'TRAVEL' IN (SELECT t.tag FROM expense_tags t WHERE t.expense_id = e.id) AND e.created_at > '2023-12-01';
+
+-- findByTagsIn
+EXPLAIN SELECT DISTINCT e.* FROM expense e JOIN expense_tags t ON t.expense_id = e.id WHERE e.owner_id = 1 AND t.tag IN ('TRAVEL', 'HOUSING') AND e.created_at > '2023-12-01';
+
+-- sumByCategory
+EXPLAIN SELECT sum(e.amount) FROM expense e WHERE e.owner_id = 1 AND e.category = 'FIXED';
+
+-- sumByCategoryAndDateRange
+EXPLAIN SELECT sum(e.amount) FROM expense e WHERE e.owner_id = 1 AND e.category = 'FIXED' AND e.created_at BETWEEN '2020-01-01' AND '2020-12-31';
+
+-- sumByDateRange
+EXPLAIN SELECT sum(e.amount) FROM expense e WHERE e.owner_id = 1 AND e.created_at BETWEEN '2020-01-01' AND '2020-12-31';
+
+-- findAllByOrderByCreatedAtDesc(pageable)
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 ORDER BY e.created_at DESC LIMIT 20;
+
+-- findAllByOrderByAmountDesc(pageable)
+EXPLAIN SELECT * FROM expense e WHERE e.owner_id = 1 ORDER BY e.amount DESC LIMIT 20;
+
+-- loading Expense.tags
+EXPLAIN SELECT t.tag FROM expense_tags t WHERE t.expense_id = 4200;
+
+-- AssetRepository --------------------------------------------------------------------------
+
+-- findByTicker / existsByTicker
+EXPLAIN SELECT * FROM asset a WHERE a.owner_id = 1 AND a.ticker = 'T4200';
+
+-- findByIsin / existsByIsin
+EXPLAIN SELECT * FROM asset a WHERE a.owner_id = 1 AND a.isin = 'US0000004200';
+
+-- findByTickerOrName
+EXPLAIN SELECT * FROM asset a WHERE a.owner_id = 1 AND (a.ticker = 'T4200' OR a.name = 'Asset 1700');
+
+-- findByNameContainingIgnoreCase
+EXPLAIN SELECT * FROM asset a WHERE a.owner_id = 1 AND upper(a.name) LIKE upper('%set 4200%');
+
+-- InvestmentRepository ---------------------------------------------------------------------
+
+-- findByAsset
+EXPLAIN SELECT * FROM investment i WHERE i.owner_id = 1 AND i.asset_id = 4200;
+
+-- findActiveInvestments
+EXPLAIN SELECT * FROM investment i WHERE i.owner_id = 1 AND i.total_units > 0;
+
+-- InvestmentTransactionRepository ----------------------------------------------------------
+
+-- findByInvestmentOrderByCreatedAtAsc
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200 ORDER BY it.created_at;
+
+-- findByInvestmentAndTransactionTypeOrderByCreatedAtDesc
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200 AND it.transaction_type = 'SELL' ORDER BY it.created_at DESC;
+
+-- findByInvestmentAndTransactionTypeAndCreatedAtBetween
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200 AND it.transaction_type = 'BUY' AND it.created_at BETWEEN '2018-01-01' AND '2019-01-01';
+
+-- findByInvestmentAndCreatedAtBetween
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200 AND it.created_at BETWEEN '2018-01-01' AND '2019-01-01';
+
+-- getTotalUnitsForInvestment
+EXPLAIN SELECT coalesce(sum(CASE WHEN it.transaction_type = 'BUY' THEN it.units ELSE -it.units END), 0) FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200;
+
+-- getTotalCostBasisForInvestment
+EXPLAIN SELECT coalesce(sum(it.amount), 0) FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200 AND it.transaction_type = 'BUY';
+
+-- getTotalRealizedGainsForInvestment
+EXPLAIN SELECT coalesce(sum(it.realized_gain_loss), 0) FROM investment_transaction it WHERE it.owner_id = 1 AND it.investment_id = 4200 AND it.transaction_type = 'SELL' AND it.realized_gain_loss IS NOT NULL;
+
+-- findByCreatedAtBetween
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 AND it.created_at BETWEEN '2020-01-01' AND '2020-01-31';
+
+-- findByCreatedAtBetweenAndTransactionType
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 AND it.created_at BETWEEN '2020-01-01' AND '2020-12-31' AND it.transaction_type = 'SELL';
+
+-- countByTransactionType
+EXPLAIN SELECT count(*) FROM investment_transaction it WHERE it.owner_id = 1 AND it.transaction_type = 'DIVIDEND';
+
+-- findAllByOrderByCreatedAtDesc(pageable)
+EXPLAIN SELECT * FROM investment_transaction it WHERE it.owner_id = 1 ORDER BY it.created_at DESC LIMIT 20;
@@ -0,0 +1,104 @@
+package com.radomskyi.budgeter.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that adapts to latency, after TCP Vegas: the lowest response time seen is taken
+ * as the time without queueing, and {@code limit * (1 - noLoadTime / responseTime)} estimates how many
+ * requests are queued (for connections, CPU or locks) rather than being worked on. The limit grows
+ * while that queue is short and shrinks when it grows or a request fails, between a minimum and a
+ * maximum. It only grows while at least half of it is in use, and the no-load time is measured again
+ * every {@value #PROBE_MULTIPLIER} times the limit samples, so it follows slower queries as the data
+ * grows.
+ */
+public class ConcurrencyLimit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadTime;
+    private long probeSamples;
+
+    public ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max, were "
+                    + minLimit + ", " + initialLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Start a request if the limit allows one more.
+     *
+     * @return the requests in flight including this one, or -1 when it is rejected
+     */
+    public int tryAcquire() {
+        int current = inflight.incrementAndGet();
+        if (current > limit) {
+            inflight.decrementAndGet();
+            return -1;
+        }
+        return current;
+    }
+
+    /**
+     * End a request started by {@link #tryAcquire()} and adjust the limit to how long it took.
+     *
+     * @param inflight what {@code tryAcquire} returned for it
+     * @param responseTime its duration in nanoseconds
+     * @param failed whether it failed, which lowers the limit whatever the duration
+     */
+    public void release(int inflight, long responseTime, boolean failed) {
+        this.inflight.decrementAndGet();
+        update(inflight, Math.max(1, responseTime), failed);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(int inflight, long responseTime, boolean failed) {
+        if (++probeSamples >= PROBE_MULTIPLIER * estimatedLimit) {
+            probeSamples = 0;
+            noLoadTime = responseTime;
+            return;
+        }
+        if (noLoadTime == 0 || responseTime < noLoadTime) {
+            noLoadTime = responseTime;
+            return;
+        }
+
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        double queued = Math.ceil(estimatedLimit * (1 - (double) noLoadTime / responseTime));
+        double updated;
+        if (failed) {
+            updated = estimatedLimit - step;
+        } else if (inflight * 2 < estimatedLimit) {
+            // Too little traffic to tell whether a higher limit would queue
+            return;
+        } else if (queued <= step) {
+            updated = estimatedLimit + 6 * step;
+        } else if (queued < 3 * step) {
+            updated = estimatedLimit + step;
+        } else if (queued > 6 * step) {
+            updated = estimatedLimit - step;
+        } else {
+            return;
+        }
+
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, updated));
+        limit = (int) estimatedLimit;
+    }
+}
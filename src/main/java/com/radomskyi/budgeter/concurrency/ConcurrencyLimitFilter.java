@@ -0,0 +1,133 @@
+package com.radomskyi.budgeter.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds API requests beyond an adaptive {@link ConcurrencyLimit}, one each for reads, writes and
+ * imports, so a burst is answered at once with 503 and {@code Retry-After} instead of queueing for
+ * database connections until every request times out. Requests outside {@code /api} (actuator, API
+ * documentation) are never limited. The limits are published as {@code budgeter.concurrency.limit},
+ * the requests in flight as {@code budgeter.concurrency.inflight} and the rejections as
+ * {@code budgeter.concurrency.rejected}, each tagged with the traffic class.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 4)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /** Traffic classes with a limit of their own */
+    public enum Traffic {
+        READ,
+        WRITE,
+        IMPORT
+    }
+
+    private static final String API = "/api/";
+    private static final String IMPORT_API = "/api/import/";
+
+    private final boolean enabled;
+    private final String retryAfter;
+    private final Map<Traffic, ConcurrencyLimit> limits = new EnumMap<>(Traffic.class);
+    private final Map<Traffic, Counter> rejected = new EnumMap<>(Traffic.class);
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${budgeter.concurrency.enabled:true}") boolean enabled,
+            @Value("${budgeter.concurrency.retry-after:1s}") Duration retryAfter,
+            @Value("${budgeter.concurrency.min-limit:2}") int minLimit,
+            @Value("${budgeter.concurrency.read.initial-limit:20}") int readInitialLimit,
+            @Value("${budgeter.concurrency.read.max-limit:200}") int readMaxLimit,
+            @Value("${budgeter.concurrency.write.initial-limit:10}") int writeInitialLimit,
+            @Value("${budgeter.concurrency.write.max-limit:100}") int writeMaxLimit,
+            @Value("${budgeter.concurrency.import.initial-limit:2}") int importInitialLimit,
+            @Value("${budgeter.concurrency.import.max-limit:4}") int importMaxLimit) {
+        this.enabled = enabled;
+        this.retryAfter = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        limits.put(Traffic.READ, new ConcurrencyLimit(readInitialLimit, minLimit, readMaxLimit));
+        limits.put(Traffic.WRITE, new ConcurrencyLimit(writeInitialLimit, minLimit, writeMaxLimit));
+        limits.put(
+                Traffic.IMPORT,
+                new ConcurrencyLimit(importInitialLimit, Math.min(minLimit, importInitialLimit), importMaxLimit));
+
+        limits.forEach((traffic, limit) -> {
+            String tag = traffic.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("budgeter.concurrency.limit", limit, ConcurrencyLimit::getLimit)
+                    .tag("traffic", tag)
+                    .register(meterRegistry);
+            Gauge.builder("budgeter.concurrency.inflight", limit, ConcurrencyLimit::getInflight)
+                    .tag("traffic", tag)
+                    .register(meterRegistry);
+            rejected.put(
+                    traffic,
+                    Counter.builder("budgeter.concurrency.rejected")
+                            .tag("traffic", tag)
+                            .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Traffic traffic = trafficOf(request.getMethod(), request.getRequestURI());
+        ConcurrencyLimit limit = limits.get(traffic);
+        int inflight = limit.tryAcquire();
+        if (inflight < 0) {
+            rejected.get(traffic).increment();
+            log.debug(
+                    "Rejected {} {}, {} limit of {} reached",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    traffic,
+                    limit.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.sendError(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Too many concurrent requests, retry after " + retryAfter + "s");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(inflight, System.nanoTime() - start, failed);
+        }
+    }
+
+    public ConcurrencyLimit getLimit(Traffic traffic) {
+        return limits.get(traffic);
+    }
+
+    static Traffic trafficOf(String method, String path) {
+        if (path.startsWith(IMPORT_API)) {
+            return Traffic.IMPORT;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? Traffic.READ : Traffic.WRITE;
+    }
+}
@@ -0,0 +1,87 @@
+package com.radomskyi.budgeter.controller;
+
+import com.radomskyi.budgeter.domain.controller.BudgetLimitControllerInterface;
+import com.radomskyi.budgeter.dto.BudgetAlertResponse;
+import com.radomskyi.budgeter.dto.BudgetLimitRequest;
+import com.radomskyi.budgeter.dto.BudgetLimitResponse;
+import com.radomskyi.budgeter.dto.BudgetStatusResponse;
+import com.radomskyi.budgeter.service.BudgetLimitService;
+import jakarta.validation.Valid;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/budget-limit")
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetLimitController implements BudgetLimitControllerInterface {
+
+    private final BudgetLimitService budgetLimitService;
+
+    @PostMapping
+    @Override
+    public ResponseEntity<BudgetLimitResponse> create(@Valid @RequestBody BudgetLimitRequest request) {
+        log.info("Received request to create budget limit: {}", request);
+        BudgetLimitResponse response = budgetLimitService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Override
+    public ResponseEntity<BudgetLimitResponse> getById(@PathVariable Long id) {
+        log.info("Received request to get budget limit with id: {}", id);
+        BudgetLimitResponse response = budgetLimitService.getById(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    @Override
+    public ResponseEntity<Page<BudgetLimitResponse>> getAll(@PageableDefault(size = 20) Pageable pageable) {
+        log.info("Received request to get all budget limits with pagination: {}", pageable);
+        Page<BudgetLimitResponse> response = budgetLimitService.getAll(pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}")
+    @Override
+    public ResponseEntity<BudgetLimitResponse> update(
+            @PathVariable Long id, @Valid @RequestBody BudgetLimitRequest request) {
+        log.info("Received request to update budget limit with id: {} and data: {}", id, request);
+        BudgetLimitResponse response = budgetLimitService.update(id, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    @Override
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        log.info("Received request to delete budget limit with id: {}", id);
+        budgetLimitService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/status")
+    @Override
+    public ResponseEntity<List<BudgetStatusResponse>> getStatus(@RequestParam(required = false) YearMonth month) {
+        YearMonth reportedMonth = month != null ? month : YearMonth.now();
+        log.info("Received request to get budget status for {}", reportedMonth);
+        List<BudgetStatusResponse> response = budgetLimitService.getStatus(reportedMonth);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/alerts")
+    @Override
+    public ResponseEntity<List<BudgetAlertResponse>> getAlerts(@RequestParam(required = false) YearMonth month) {
+        YearMonth reportedMonth = month != null ? month : YearMonth.now();
+        log.info("Received request to get budget alerts for {}", reportedMonth);
+        List<BudgetAlertResponse> response = budgetLimitService.getAlerts(reportedMonth);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,15 +1,27 @@
 package com.radomskyi.budgeter.controller;
 
 import com.radomskyi.budgeter.domain.controller.ExpenseControllerInterface;
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.ExpenseRequest;
 import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
 import com.radomskyi.budgeter.service.ExpenseService;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -61,4 +73,49 @@ public class ExpenseController implements ExpenseControllerInterface {
         expenseService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/stats/summary")
+    @Override
+    public ResponseEntity<List<MonthlyRollupResponse>> getMonthlySummary(
+            @RequestParam YearMonth from, @RequestParam YearMonth to) {
+        log.info("Received request to get monthly expense summary from {} to {}", from, to);
+        List<MonthlyRollupResponse> response = expenseService.getMonthlySummary(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/stats/timeseries")
+    @Override
+    public ResponseEntity<List<TimeSeriesPointResponse>> getTimeSeries(
+            @RequestParam TimeBucket bucket,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "NONE") TimeSeriesGrouping groupBy) {
+        log.info(
+                "Received request to get expense time series by {} from {} to {} grouped by {}",
+                bucket,
+                from,
+                to,
+                groupBy);
+        List<TimeSeriesPointResponse> response = expenseService.getTimeSeries(bucket, groupBy, from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/stats/cube")
+    @Override
+    public ResponseEntity<List<CubeCellResponse>> getCube(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(required = false) ExpenseCategory category,
+            @RequestParam(required = false) Tag tag,
+            @RequestParam(defaultValue = "NONE") CubeDimension drillDown) {
+        log.info(
+                "Received request to query expense cube from {} to {} for category {} and tag {} by {}",
+                from,
+                to,
+                category,
+                tag,
+                drillDown);
+        List<CubeCellResponse> response = expenseService.getCube(from, to, category, tag, drillDown);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,65 @@
+package com.radomskyi.budgeter.controller;
+
+import com.radomskyi.budgeter.domain.controller.RecurringTemplateControllerInterface;
+import com.radomskyi.budgeter.dto.RecurringTemplateRequest;
+import com.radomskyi.budgeter.dto.RecurringTemplateResponse;
+import com.radomskyi.budgeter.service.RecurringTemplateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/recurring-template")
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringTemplateController implements RecurringTemplateControllerInterface {
+
+    private final RecurringTemplateService recurringTemplateService;
+
+    @PostMapping
+    @Override
+    public ResponseEntity<RecurringTemplateResponse> create(@Valid @RequestBody RecurringTemplateRequest request) {
+        log.info("Received request to create recurring template: {}", request);
+        RecurringTemplateResponse response = recurringTemplateService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Override
+    public ResponseEntity<RecurringTemplateResponse> getById(@PathVariable Long id) {
+        log.info("Received request to get recurring template with id: {}", id);
+        RecurringTemplateResponse response = recurringTemplateService.getById(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    @Override
+    public ResponseEntity<Page<RecurringTemplateResponse>> getAll(@PageableDefault(size = 20) Pageable pageable) {
+        log.info("Received request to get all recurring templates with pagination: {}", pageable);
+        Page<RecurringTemplateResponse> response = recurringTemplateService.getAll(pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}")
+    @Override
+    public ResponseEntity<RecurringTemplateResponse> update(
+            @PathVariable Long id, @Valid @RequestBody RecurringTemplateRequest request) {
+        log.info("Received request to update recurring template with id: {} and data: {}", id, request);
+        RecurringTemplateResponse response = recurringTemplateService.update(id, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    @Override
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        log.info("Received request to delete recurring template with id: {}", id);
+        recurringTemplateService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.radomskyi.budgeter.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.Objects;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps each connection pool in a {@link ConcurrencyLimitingDataSource} allowing as many connections
+ * at once as the pool holds, at most {@code budgeter.jdbc.max-concurrency} (0 leaves them unwrapped),
+ * so requests on virtual threads wait for a permit rather than for the pool. The auto-configured pool
+ * is wrapped here; the primary and replica pools behind a {@link ReplicaRoutingDataSource} are wrapped
+ * by {@link ReplicaDataSourceConfiguration}, below the LazyConnectionDataSourceProxy, so a permit is
+ * only taken with a physical connection. Runs first among the data source post processors, so its
+ * wrapper is the innermost.
+ */
+@Component
+@Slf4j
+public class JdbcConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+
+    public JdbcConcurrencyLimiter(
+            @Value("${budgeter.jdbc.max-concurrency:10}") int maxConcurrency,
+            @Value("${budgeter.jdbc.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof HikariDataSource pool) {
+            return limit(pool);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /** The pool with its connections limited, or the pool itself when limiting is disabled */
+    public DataSource limit(HikariDataSource pool) {
+        if (maxConcurrency <= 0) {
+            return pool;
+        }
+        int permits = Math.min(maxConcurrency, pool.getMaximumPoolSize());
+        log.info(
+                "Limiting JDBC to {} concurrent connections of pool {}, waiting up to {}",
+                permits,
+                Objects.requireNonNullElse(pool.getPoolName(), DATA_SOURCE_BEAN),
+                acquireTimeout);
+        return new ConcurrencyLimitingDataSource(pool, permits, acquireTimeout);
+    }
+}
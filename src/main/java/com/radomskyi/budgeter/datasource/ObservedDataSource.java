@@ -0,0 +1,55 @@
+package com.radomskyi.budgeter.datasource;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Locale;
+import javax.sql.DataSource;
+
+/**
+ * Observes every statement executed inside an observation (a request, a service call, an import
+ * stage) as {@code budgeter.jdbc}: a span named after the SQL operation with the statement as its
+ * {@code db.statement} attribute, and a timer by {@code db.operation}. Statements run outside any
+ * observation, like those of startup and schedulers, are not observed, so they do not start traces
+ * of their own.
+ */
+public class ObservedDataSource extends StatementInterceptingDataSource {
+
+    public static final String OBSERVATION = "budgeter.jdbc";
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedDataSource(DataSource target, ObservationRegistry observationRegistry) {
+        super(target);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected Object execute(String sql, Call execution) throws Throwable {
+        if (observationRegistry.getCurrentObservation() == null) {
+            return execution.proceed();
+        }
+        String operation = operation(sql);
+        Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .contextualName("jdbc " + operation)
+                .lowCardinalityKeyValue("db.operation", operation)
+                .highCardinalityKeyValue("db.statement", sql)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return execution.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end > 0 ? trimmed.substring(0, end).toLowerCase(Locale.ROOT) : "batch";
+    }
+}
@@ -0,0 +1,79 @@
+package com.radomskyi.budgeter.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to replicas when {@code budgeter.datasource.replica-urls} is set.
+ * The application data source becomes a LazyConnectionDataSourceProxy over the primary pool (the
+ * usual {@code spring.datasource.*} settings) with the replica pools as its read-only data source:
+ * a transaction gets a physical connection on its first statement, from a replica if the transaction
+ * is read-only and from the primary otherwise. Each pool has its own connection limit from the
+ * {@link JdbcConcurrencyLimiter}. Without replica URLs the single auto-configured pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty("budgeter.datasource.replica-urls")
+@Slf4j
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            JdbcConcurrencyLimiter jdbcConcurrencyLimiter,
+            @Value("${budgeter.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${budgeter.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${budgeter.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${budgeter.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${budgeter.datasource.read-your-writes:5s}") Duration readYourWrites) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(jdbcConcurrencyLimiter.limit(replica));
+        }
+        log.info(
+                "Routing read-only transactions to {} replicas, read-your-writes for {}",
+                replicas.size(),
+                readYourWrites);
+        return new ReplicaRoutingDataSource(jdbcConcurrencyLimiter.limit(primaryDataSource), replicas, readYourWrites);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(replicaDataSource.recordingWrites());
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
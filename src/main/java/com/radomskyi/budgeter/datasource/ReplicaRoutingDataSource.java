@@ -0,0 +1,132 @@
+package com.radomskyi.budgeter.datasource;
+
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Connections for read-only transactions, taken from the replica pools in turn. Plugged in as the
+ * read-only data source of a LazyConnectionDataSourceProxy (see {@link ReplicaDataSourceConfiguration}),
+ * which fetches a physical connection only once the transaction is known to be read-only.
+ *
+ * <p>Replicas lag behind the primary, so with a non-zero {@code stickyFor} an owner that committed a
+ * write recently keeps reading from the primary for that long (read-your-writes). The primary returned
+ * from {@link #recordingWrites} records the write once a read-write transaction commits, so reads
+ * before the commit and after a rollback still go to the replicas. The last writes are kept in memory:
+ * stickiness holds per owner on this instance only, and an owner's next read served by another
+ * instance may still come from a lagging replica. The system context is never sticky.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // Expired entries are only swept once this many owners wrote within one window
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long stickyForNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration stickyFor) {
+        this(primary, replicas, stickyFor, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(
+            DataSource primary, List<DataSource> replicas, Duration stickyFor, LongSupplier nanoClock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.stickyForNanos = stickyFor.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    /** The primary, wrapped to record a write for the current owner when a read-write transaction commits */
+    public DataSource recordingWrites() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (TransactionSynchronizationManager.isSynchronizationActive()
+                        && TransactionSynchronizationManager.isActualTransactionActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    Long ownerId = OwnerContext.isSystem() ? null : OwnerContext.currentOwnerId();
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            if (ownerId != null) {
+                                recordWrite(ownerId);
+                            }
+                        }
+                    });
+                }
+                return super.getConnection();
+            }
+        };
+    }
+
+    /** Close the replica pools, unwrapping them if needed; the primary is closed by its own bean */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica.isWrapperFor(AutoCloseable.class)) {
+                replica.unwrap(AutoCloseable.class).close();
+            }
+        }
+    }
+
+    DataSource determineTarget() {
+        if (isSticky()) {
+            return primary;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    void recordWrite() {
+        if (!OwnerContext.isSystem()) {
+            recordWrite(OwnerContext.currentOwnerId());
+        }
+    }
+
+    // The owner is taken when the connection is fetched, in case the commit runs outside its context
+    private void recordWrite(long ownerId) {
+        if (stickyForNanos == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        lastWrites.put(ownerId, now);
+        if (lastWrites.size() > SWEEP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= stickyForNanos);
+        }
+    }
+
+    private boolean isSticky() {
+        if (stickyForNanos == 0 || OwnerContext.isSystem()) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(OwnerContext.currentOwnerId());
+        return writtenAt != null && nanoClock.getAsLong() - writtenAt < stickyForNanos;
+    }
+}
@@ -0,0 +1,84 @@
+package com.radomskyi.budgeter.datasource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements, fetched rows and JDBC time of a unit of work on the current thread, usually an HTTP
+ * request ({@link SqlStatisticsFilter}), as counted by {@link StatementCountingDataSource}. Scopes
+ * nest: a statement counts in the innermost scope and all the scopes around it. Not thread-safe, as
+ * a scope only sees the statements of its own thread.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatistics outer;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlStatistics(SqlStatistics outer) {
+        this.outer = outer;
+    }
+
+    /** Start counting on the current thread until {@link #stop} */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** The innermost scope of the current thread, or null when nothing is counted */
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /** End this scope, making the scope it was started in current again */
+    public void stop() {
+        if (outer != null) {
+            CURRENT.set(outer);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /** Statements executed more than {@code threshold} times, most repeated first */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    void recordStatement(String sql, long nanos) {
+        for (SqlStatistics scope = this; scope != null; scope = scope.outer) {
+            scope.statements++;
+            scope.jdbcNanos += nanos;
+            scope.executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        for (SqlStatistics scope = this; scope != null; scope = scope.outer) {
+            scope.rows++;
+        }
+    }
+}
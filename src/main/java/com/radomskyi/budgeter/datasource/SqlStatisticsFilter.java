@@ -0,0 +1,143 @@
+package com.radomskyi.budgeter.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL of every request outside production. The counts go to the {@code X-Sql-Statements},
+ * {@code X-Sql-Rows} and {@code X-Sql-Time-Ms} response headers (as of the moment the response body
+ * is started) and to the {@code budgeter.http.sql.*} metrics by method and URI pattern. A request
+ * running the same statement more than {@code budgeter.sql-stats.repeat-threshold} times logs a
+ * warning, as that usually is a lazy association loaded one entity at a time (N+1).
+ */
+@Component
+@Profile("!production")
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+
+    public SqlStatisticsFilter(
+            MeterRegistry meterRegistry, @Value("${budgeter.sql-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        StatisticsHeaders headers = new StatisticsHeaders(response, statistics);
+        try {
+            chain.doFilter(request, headers);
+        } finally {
+            statistics.stop();
+            headers.write();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+        DistributionSummary.builder("budgeter.http.sql.statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("budgeter.http.sql.rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        meterRegistry.timer("budgeter.http.sql.time", tags).record(statistics.getJdbcTime());
+
+        Map<String, Integer> repeated = statistics.repeatedStatements(repeatThreshold);
+        repeated.forEach((sql, count) -> log.warn(
+                "Possible N+1: {} {} ran the same statement {} times: {}",
+                request.getMethod(),
+                request.getRequestURI(),
+                count,
+                sql));
+    }
+
+    /** Adds the headers just before the response is committed, once the handler has run its queries */
+    private static final class StatisticsHeaders extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean written;
+
+        StatisticsHeaders(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void write() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(statistics.getStatements()));
+            setHeader(ROWS_HEADER, Long.toString(statistics.getRows()));
+            setHeader(TIME_HEADER, Long.toString(statistics.getJdbcTime().toMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            write();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            write();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            write();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            write();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            write();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            write();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.radomskyi.budgeter.datasource;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application data source in a {@link StatementCountingDataSource} outside production, so
+ * requests and tests can see the statements they run. Wraps the connection limit and is wrapped by
+ * the {@link StatementObserver}.
+ */
+@Component
+@Profile("!production")
+public class StatementCounter implements BeanPostProcessor, Ordered {
+
+    static final int ORDER = JdbcConcurrencyLimiter.ORDER + 1;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,43 @@
+package com.radomskyi.budgeter.datasource;
+
+import java.sql.ResultSet;
+import javax.sql.DataSource;
+
+/**
+ * Counts the statements executed, the rows read from their result sets and the time spent executing
+ * them into the {@link SqlStatistics} of the current thread, if any.
+ */
+public class StatementCountingDataSource extends StatementInterceptingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    protected Object execute(String sql, Call execution) throws Throwable {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return execution.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return execution.proceed();
+        } finally {
+            statistics.recordStatement(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected ResultSet resultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args, call) -> {
+            Object result = call.proceed();
+            if (result == Boolean.TRUE && method.getName().equals("next")) {
+                SqlStatistics statistics = SqlStatistics.current();
+                if (statistics != null) {
+                    statistics.recordRow();
+                }
+            }
+            return result;
+        });
+    }
+}
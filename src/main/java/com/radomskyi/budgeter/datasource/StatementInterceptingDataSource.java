@@ -0,0 +1,108 @@
+package com.radomskyi.budgeter.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Base of the data sources that see every statement executed on their connections. Statements are
+ * told apart by their SQL: prepared statements as written, plain ones with their literals replaced
+ * by {@code ?}, so a statement repeated with other values is still recognized. A JDBC batch executes
+ * once.
+ */
+abstract class StatementInterceptingDataSource extends DelegatingDataSource {
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    StatementInterceptingDataSource(DataSource target) {
+        super(target);
+    }
+
+    /** Runs the execution of a statement, returning its result */
+    protected abstract Object execute(String sql, Call execution) throws Throwable;
+
+    /** Wraps the result sets of statements; returns them as they are by default */
+    protected ResultSet resultSet(ResultSet resultSet) {
+        return resultSet;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return intercepting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return intercepting(super.getConnection(username, password));
+    }
+
+    private Connection intercepting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, call) -> {
+            Object result = call.proceed();
+            return switch (method.getName()) {
+                case "createStatement" -> intercepting(Statement.class, (Statement) result, null);
+                case "prepareStatement" ->
+                    intercepting(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" ->
+                    intercepting(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S intercepting(Class<S> type, S statement, String preparedSql) {
+        return proxy(type, statement, (method, args, call) -> {
+            Object result = method.getName().startsWith("execute")
+                    ? execute(executedSql(preparedSql, args), call)
+                    : call.proceed();
+            return result instanceof ResultSet resultSet ? resultSet(resultSet) : result;
+        });
+    }
+
+    private static String executedSql(String preparedSql, Object[] args) {
+        if (preparedSql != null) {
+            return preparedSql;
+        }
+        return args != null && args.length > 0 && args[0] instanceof String sql
+                ? LITERALS.matcher(sql).replaceAll("?")
+                : "batch";
+    }
+
+    /** A JDBC call in progress */
+    protected interface Call {
+        Object proceed() throws Throwable;
+    }
+
+    protected interface Interceptor {
+        Object invoke(Method method, Object[] args, Call call) throws Throwable;
+    }
+
+    /** A proxy of a JDBC object passing its calls through the interceptor, equal only to itself */
+    protected static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return interceptor.invoke(method, args, () -> {
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+            }
+        }));
+    }
+}
@@ -0,0 +1,41 @@
+package com.radomskyi.budgeter.datasource;
+
+import io.micrometer.observation.ObservationRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application data source in an {@link ObservedDataSource}, tracing its statements. Runs
+ * last among the data source post processors, so its spans include waiting for a connection permit.
+ */
+@Component
+public class StatementObserver implements BeanPostProcessor, Ordered {
+
+    static final int ORDER = StatementCounter.ORDER + 1;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Resolved once the data source is created, so the registry is not created among the post processors
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public StatementObserver(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+            return new ObservedDataSource(
+                    dataSource, observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,57 @@
+package com.radomskyi.budgeter.domain.controller;
+
+import com.radomskyi.budgeter.dto.BudgetAlertResponse;
+import com.radomskyi.budgeter.dto.BudgetLimitRequest;
+import com.radomskyi.budgeter.dto.BudgetLimitResponse;
+import com.radomskyi.budgeter.dto.BudgetStatusResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.YearMonth;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Interface defining operations for budget limit management. Provides REST API endpoints for
+ * creating, reading, updating, and deleting monthly limits per expense category or tag, and for
+ * reading the spending against them and the alerts they raised.
+ */
+@Tag(name = "Budget Limits", description = "API for managing monthly budget limits and their alerts")
+public interface BudgetLimitControllerInterface extends BaseController<BudgetLimitRequest, BudgetLimitResponse> {
+
+    // This interface inherits all CRUD operations from BaseController
+    // with BudgetLimitRequest and BudgetLimitResponse as type parameters
+
+    /**
+     * Retrieves the spending of a month against every budget limit.
+     *
+     * @param month Month to report, defaults to the current month
+     * @return ResponseEntity containing one entry per budget limit
+     */
+    @Operation(
+            summary = "Get budget status",
+            description =
+                    "Returns the spending of a month against every budget limit. Answered from memory for the tracked months")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Month is not tracked")
+            })
+    ResponseEntity<List<BudgetStatusResponse>> getStatus(
+            @Parameter(description = "Month to report, defaults to the current month", example = "2025-01")
+                    YearMonth month);
+
+    /**
+     * Retrieves the thresholds crossed in a month.
+     *
+     * @param month Month to report, defaults to the current month
+     * @return ResponseEntity containing the alerts in the order they were raised
+     */
+    @Operation(summary = "Get budget alerts", description = "Returns the budget limit thresholds crossed in a month")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Alerts retrieved successfully")})
+    ResponseEntity<List<BudgetAlertResponse>> getAlerts(
+            @Parameter(description = "Month to report, defaults to the current month", example = "2025-01")
+                    YearMonth month);
+}
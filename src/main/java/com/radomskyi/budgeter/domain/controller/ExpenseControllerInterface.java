@@ -1,8 +1,23 @@
 package com.radomskyi.budgeter.domain.controller;
 
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.ExpenseRequest;
 import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
 
 /**
  * Interface defining operations for Expense management. Provides REST API endpoints for creating,
@@ -14,4 +29,76 @@ public interface ExpenseControllerInterface extends BaseController<ExpenseReques
     // This interface inherits all CRUD operations from BaseController
     // with ExpenseRequest and ExpenseResponse as type parameters
     // The @Tag annotation provides specific documentation for expense operations
+
+    /**
+     * Retrieves monthly expense totals per category and per category and tag.
+     *
+     * @param from First month of the range (inclusive)
+     * @param to Last month of the range (inclusive)
+     * @return ResponseEntity containing the monthly totals
+     */
+    @Operation(
+            summary = "Get monthly expense summary",
+            description =
+                    "Returns pre-aggregated expense totals and counts per month and category, and per month, category and tag")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Invalid month range")
+            })
+    ResponseEntity<List<MonthlyRollupResponse>> getMonthlySummary(
+            @Parameter(description = "First month of the range (inclusive)", example = "2025-01") YearMonth from,
+            @Parameter(description = "Last month of the range (inclusive)", example = "2025-12") YearMonth to);
+
+    /**
+     * Retrieves expense totals per day, week, month or year.
+     *
+     * @param bucket Bucket size
+     * @param from Any date inside the first bucket
+     * @param to Any date inside the last bucket
+     * @param groupBy Optional split of every bucket by category or tag
+     * @return ResponseEntity containing one point per non-empty bucket
+     */
+    @Operation(
+            summary = "Get expense time series",
+            description = "Returns expense totals and counts per time bucket, optionally split by category or tag")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Time series retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Invalid date range")
+            })
+    ResponseEntity<List<TimeSeriesPointResponse>> getTimeSeries(
+            @Parameter(description = "Bucket size", example = "MONTH") TimeBucket bucket,
+            @Parameter(description = "Any date inside the first bucket", example = "2025-01-01") LocalDate from,
+            @Parameter(description = "Any date inside the last bucket", example = "2025-12-31") LocalDate to,
+            @Parameter(description = "Optional split of every bucket", example = "CATEGORY")
+                    TimeSeriesGrouping groupBy);
+
+    /**
+     * Rolls up or drills down expense totals from the in-memory cube.
+     *
+     * @param from First month of the range (inclusive)
+     * @param to Last month of the range (inclusive)
+     * @param category Optional category filter
+     * @param tag Optional tag filter
+     * @param drillDown Dimension to break the totals down by
+     * @return ResponseEntity containing one cell per value of the drill-down dimension
+     */
+    @Operation(
+            summary = "Query the expense cube",
+            description =
+                    "Returns expense totals and counts for a month range, optionally filtered by category and tag and broken down by month, category or tag. Answered from memory without querying the database")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Cube cells retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Invalid month range")
+            })
+    ResponseEntity<List<CubeCellResponse>> getCube(
+            @Parameter(description = "First month of the range (inclusive)", example = "2025-01") YearMonth from,
+            @Parameter(description = "Last month of the range (inclusive)", example = "2025-12") YearMonth to,
+            @Parameter(description = "Only include entries of this category") ExpenseCategory category,
+            @Parameter(description = "Only include entries with this tag")
+                    com.radomskyi.budgeter.domain.entity.budgeting.Tag tag,
+            @Parameter(description = "Dimension to break the totals down by", example = "CATEGORY")
+                    CubeDimension drillDown);
 }
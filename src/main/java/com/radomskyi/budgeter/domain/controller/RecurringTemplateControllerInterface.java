@@ -0,0 +1,19 @@
+package com.radomskyi.budgeter.domain.controller;
+
+import com.radomskyi.budgeter.dto.RecurringTemplateRequest;
+import com.radomskyi.budgeter.dto.RecurringTemplateResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Interface defining operations for recurring template management. Provides REST API endpoints for
+ * creating, reading, updating, and deleting templates of recurring FIXED expenses and SALARY
+ * incomes. Entries are generated from the templates by a scheduled job.
+ */
+@Tag(name = "Recurring Templates", description = "API for managing recurring fixed expenses and salaries")
+public interface RecurringTemplateControllerInterface
+        extends BaseController<RecurringTemplateRequest, RecurringTemplateResponse> {
+
+    // This interface inherits all CRUD operations from BaseController
+    // with RecurringTemplateRequest and RecurringTemplateResponse as type parameters
+    // The @Tag annotation provides specific documentation for recurring template operations
+}
@@ -0,0 +1,64 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Record of a budget limit threshold being crossed in a month. The limit's category, tag and amount
+ * are copied, so the history survives changes to or deletion of the limit.
+ */
+@Entity
+@Table(name = "budget_alert")
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner of the row, set from the OwnerContext on insert; every query is filtered on it
+    @TenantId
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
+    @Column(name = "budget_limit_id", nullable = false)
+    private Long budgetLimitId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 20)
+    private ExpenseCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tag", length = 30)
+    private Tag tag;
+
+    // First day of the month the threshold was crossed in
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "threshold_percent", nullable = false)
+    private int thresholdPercent;
+
+    @Column(name = "monthly_limit", nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    @Column(name = "spent", nullable = false, precision = 19, scale = 2)
+    private BigDecimal spent;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
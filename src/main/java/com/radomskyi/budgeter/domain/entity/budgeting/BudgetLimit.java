@@ -0,0 +1,55 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * Monthly spending limit for one expense category or one tag, with the percentages of the limit at
+ * which an alert is raised. Exactly one of category and tag is set.
+ */
+@Entity
+@Table(name = "budget_limit")
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetLimit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner of the row, set from the OwnerContext on insert; every query is filtered on it
+    @TenantId
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 20)
+    private ExpenseCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tag", length = 30)
+    private Tag tag;
+
+    @NotNull
+    @Positive
+    @Column(name = "monthly_limit", nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "budget_limit_thresholds", joinColumns = @JoinColumn(name = "budget_limit_id"))
+    @Column(name = "threshold_percent", nullable = false)
+    @Builder.Default
+    private List<Integer> thresholds = new ArrayList<>();
+}
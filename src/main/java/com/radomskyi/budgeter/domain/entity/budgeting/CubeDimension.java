@@ -0,0 +1,18 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Dimensions of the in-memory ledger cube a query can be broken down by")
+public enum CubeDimension {
+    @Schema(description = "No breakdown, a single roll-up cell")
+    NONE,
+
+    @Schema(description = "One cell per month")
+    MONTH,
+
+    @Schema(description = "One cell per category")
+    CATEGORY,
+
+    @Schema(description = "One cell per tag; entries with several tags count under each of them")
+    TAG
+}
@@ -0,0 +1,12 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Budgeting ledgers that hold categorized entries")
+public enum LedgerType {
+    @Schema(description = "Expenses, categorized by ExpenseCategory")
+    EXPENSE,
+
+    @Schema(description = "Incomes, categorized by IncomeCategory")
+    INCOME
+}
@@ -0,0 +1,33 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import com.radomskyi.budgeter.domain.money.LedgerMoneyConverter;
+import com.radomskyi.budgeter.domain.money.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Pre-aggregated sum and count of the expenses or incomes of one month, category and tag. The row
+ * with tag {@link MonthlyRollupId#ALL_TAGS} holds the category total, so entries with several tags
+ * are not counted twice. Maintained by MonthlyRollupService in the same transaction as the write.
+ */
+@Entity
+@Table(name = "monthly_rollup")
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup {
+
+    @EmbeddedId
+    private MonthlyRollupId id;
+
+    @Convert(converter = LedgerMoneyConverter.class)
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private Money total;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+}
@@ -0,0 +1,39 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollupId implements Serializable {
+
+    /** Tag value of the row that aggregates every entry of a month and category, tagged or not */
+    public static final String ALL_TAGS = "ALL";
+
+    // Part of the key rather than a tenant id, so jobs running across owners can address any row
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ledger", nullable = false, length = 10)
+    private LedgerType ledger;
+
+    // First day of the aggregated month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "category", nullable = false, length = 20)
+    private String category;
+
+    @Column(name = "tag", nullable = false, length = 30)
+    private String tag;
+}
@@ -0,0 +1,34 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+@Schema(description = "How often a recurring template generates an entry")
+public enum RecurrenceFrequency {
+    @Schema(description = "Every week on the weekday of the start date")
+    WEEKLY,
+
+    @Schema(description = "Every month on the day of the start date, or the last day of shorter months")
+    MONTHLY,
+
+    @Schema(description = "Every three months on the day of the start date")
+    QUARTERLY,
+
+    @Schema(description = "Every year on the date of the start date")
+    YEARLY;
+
+    /**
+     * Date of an occurrence, counted from the start date rather than from the previous occurrence,
+     * so a template starting on the 31st returns to the 31st after February.
+     *
+     * @param index zero-based number of the occurrence; 0 is the start date
+     */
+    public LocalDate occurrence(LocalDate start, int index) {
+        return switch (this) {
+            case WEEKLY -> start.plusWeeks(index);
+            case MONTHLY -> start.plusMonths(index);
+            case QUARTERLY -> start.plusMonths(3L * index);
+            case YEARLY -> start.plusYears(index);
+        };
+    }
+}
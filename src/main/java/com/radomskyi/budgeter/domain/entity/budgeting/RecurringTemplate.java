@@ -0,0 +1,116 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * Template of a recurring ledger entry. Expense templates generate FIXED expenses and income
+ * templates SALARY incomes, one per occurrence from the start date until the optional end date.
+ * {@code nextOccurrence} is the date of the first occurrence not generated yet, and null once the
+ * end date has passed.
+ */
+@Entity
+@Table(name = "recurring_template")
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner of the row, set from the OwnerContext on insert; every query is filtered on it
+    @TenantId
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ledger", nullable = false, length = 10)
+    private LedgerType ledger;
+
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "description", length = 200)
+    private String description;
+
+    @NotNull
+    @Positive
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    // Loaded for a whole partition of templates at once by the generator
+    @ElementCollection(targetClass = Tag.class)
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "recurring_template_tags", joinColumns = @JoinColumn(name = "recurring_template_id"))
+    @Column(name = "tag", length = 30)
+    @BatchSize(size = 500)
+    private List<Tag> tags;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 10)
+    private RecurrenceFrequency frequency;
+
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    // Index of nextOccurrence in the schedule; every earlier occurrence has been generated or skipped
+    @Column(name = "occurrence_index", nullable = false)
+    private int occurrenceIndex;
+
+    /** Category of the generated entries */
+    public Enum<?> getCategory() {
+        return ledger == LedgerType.EXPENSE ? ExpenseCategory.FIXED : IncomeCategory.SALARY;
+    }
+
+    /** Move to the next occurrence, or finish the template when it would fall after the end date */
+    public void advance() {
+        occurrenceIndex++;
+        updateNextOccurrence();
+    }
+
+    /**
+     * Change the schedule. Occurrences of the new schedule on or before the last one already generated
+     * are skipped, so changing a schedule never generates a period twice.
+     */
+    public void reschedule(RecurrenceFrequency frequency, LocalDate startDate, LocalDate endDate) {
+        LocalDate lastGenerated =
+                occurrenceIndex > 0 ? this.frequency.occurrence(this.startDate, occurrenceIndex - 1) : null;
+
+        this.frequency = frequency;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        occurrenceIndex = 0;
+        while (lastGenerated != null
+                && !frequency.occurrence(startDate, occurrenceIndex).isAfter(lastGenerated)) {
+            occurrenceIndex++;
+        }
+        updateNextOccurrence();
+    }
+
+    private void updateNextOccurrence() {
+        LocalDate next = frequency.occurrence(startDate, occurrenceIndex);
+        nextOccurrence = endDate != null && next.isAfter(endDate) ? null : next;
+    }
+}
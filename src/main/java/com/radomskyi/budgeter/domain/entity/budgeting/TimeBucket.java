@@ -0,0 +1,51 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+@Schema(description = "Bucket sizes for time series aggregation")
+public enum TimeBucket {
+    @Schema(description = "Calendar day")
+    DAY("day"),
+
+    @Schema(description = "ISO week, starting on Monday")
+    WEEK("week"),
+
+    @Schema(description = "Calendar month")
+    MONTH("month"),
+
+    @Schema(description = "Calendar year")
+    YEAR("year");
+
+    private final String sqlUnit;
+
+    TimeBucket(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    /** Unit name understood by PostgreSQL's date_trunc */
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+
+    /** Start of the bucket containing the given date, same semantics as date_trunc */
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /** Start of the bucket following the one starting at the given date */
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Optional second dimension of a time series")
+public enum TimeSeriesGrouping {
+    @Schema(description = "One point per bucket")
+    NONE,
+
+    @Schema(description = "One point per bucket and category")
+    CATEGORY,
+
+    @Schema(description = "One point per bucket and tag; entries with several tags appear under each of them")
+    TAG
+}
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,6 +26,11 @@ public abstract class Transaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     protected Long id;
 
+    // Owner of the row, set from the OwnerContext on insert; every query is filtered on it
+    @TenantId
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    protected Long ownerId;
+
     @NotNull
     @Positive
     @Column(nullable = false, precision = 10, scale = 2)
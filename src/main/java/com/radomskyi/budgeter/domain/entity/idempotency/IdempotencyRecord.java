@@ -0,0 +1,57 @@
+package com.radomskyi.budgeter.domain.entity.idempotency;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * A create request sent with an {@code Idempotency-Key} header and, once it has finished, its
+ * response, which is replayed to retries with the same key. The request hash tells a retry from a
+ * different request reusing the key.
+ */
+@Entity
+@Table(
+        name = "idempotency_record",
+        uniqueConstraints =
+                @UniqueConstraint(
+                        name = "uk_idempotency_record_owner_key",
+                        columnNames = {"owner_id", "idempotency_key"}))
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner of the row, set from the OwnerContext on insert; every query is filtered on it
+    @TenantId
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
+    @Column(name = "idempotency_key", nullable = false, updatable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of the method, path and body, hex encoded
+    @Column(name = "request_hash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    // Null while the request is in progress
+    @Column(name = "status")
+    private Integer status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "body", length = 1048576)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.radomskyi.budgeter.domain.entity.investment;
 
+import com.radomskyi.budgeter.domain.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.TenantId;
 
 @Entity
 @Table(name = "investment")
@@ -24,6 +26,11 @@ public class Investment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owner of the row, set from the OwnerContext on insert; every query is filtered on it
+    @TenantId
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "asset_id", nullable = false)
@@ -64,17 +71,19 @@ public class Investment {
      * Calculates total realized gain/loss by summing up all SELL transaction gains/losses.
      * This is a computed field that aggregates data from the transactions list.
      *
-     * @return The total realized gain/loss across all SELL transactions
+     * @return The total realized gain/loss across all SELL transactions, in EUR
      */
     public BigDecimal getRealizedGainLoss() {
         if (transactions == null || transactions.isEmpty()) {
             return BigDecimal.ZERO;
         }
 
-        return transactions.stream()
-                .filter(t -> t.getRealizedGainLoss() != null)
-                .map(InvestmentTransaction::getRealizedGainLoss)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Each gain is in its transaction currency, so convert it with that transaction's exchange rate
+        return Money.sum(
+                        transactions,
+                        transaction -> transaction.getRealizedGainLossInEur().toBigDecimal(),
+                        Money.LEDGER_CURRENCY)
+                .toBigDecimal();
     }
 
     /**
@@ -119,27 +128,32 @@ public class Investment {
         transactions.add(transaction);
         transaction.setInvestment(this);
 
-        BigDecimal fees = transaction.getFees() != null ? transaction.getFees() : BigDecimal.ZERO;
+        // Totals are kept in the currency the asset is traded in; fees are converted into it
+        Currency tradeCurrency = transaction.getCurrency();
+        Money fees = transaction.getFeesInTransactionCurrency();
 
         // Update total units and total cost based on transaction type
         if (transaction.getTransactionType() == InvestmentTransactionType.BUY) {
             totalUnits = totalUnits.add(transaction.getUnits());
             // Total cost includes purchase price plus fees
-            BigDecimal purchaseCost = transaction.getUnits().multiply(transaction.getPricePerUnit());
-            totalCost = totalCost.add(purchaseCost).add(fees);
+            Money purchaseCost = transaction.getGrossValue();
+            totalCost = Money.of(totalCost, tradeCurrency)
+                    .plus(purchaseCost)
+                    .plus(fees)
+                    .toBigDecimal();
         } else if (transaction.getTransactionType() == InvestmentTransactionType.SELL) {
             // Calculate realized gain/loss before updating totals
-            BigDecimal saleProceeds = transaction.getUnits().multiply(transaction.getPricePerUnit());
-            BigDecimal costOfSoldUnits = transaction.getUnits().multiply(costBasis);
-            BigDecimal transactionGainLoss =
-                    saleProceeds.subtract(costOfSoldUnits).subtract(fees);
+            Money saleProceeds = transaction.getGrossValue();
+            Money costOfSoldUnits = Money.of(costBasis, tradeCurrency).times(transaction.getUnits());
+            Money transactionGainLoss = saleProceeds.minus(costOfSoldUnits).minus(fees);
 
             // Set the realized gain/loss on the transaction
-            transaction.setRealizedGainLoss(transactionGainLoss);
+            transaction.setRealizedGainLoss(transactionGainLoss.toBigDecimal());
 
             // Update totals
             totalUnits = totalUnits.subtract(transaction.getUnits());
-            totalCost = totalCost.subtract(costOfSoldUnits);
+            totalCost =
+                    Money.of(totalCost, tradeCurrency).minus(costOfSoldUnits).toBigDecimal();
         }
 
         // Update cost basis
@@ -1,11 +1,13 @@
 package com.radomskyi.budgeter.domain.entity.investment;
 
 import com.radomskyi.budgeter.domain.entity.budgeting.Transaction;
+import com.radomskyi.budgeter.domain.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -54,8 +56,8 @@ public class InvestmentTransaction extends Transaction {
     @Column(name = "exchange_rate", precision = 15, scale = 8)
     private BigDecimal exchangeRate;
 
-    // Calculated field for EUR amount (amount already represents EUR value)
-    // For portfolio tracking and German tax calculations
+    // Calculated on SELL, in the transaction currency like the price per unit
+    // For portfolio tracking and German tax calculations (see Investment.getRealizedGainLoss for EUR)
     @Column(name = "realized_gain_loss", precision = 15, scale = 2)
     private BigDecimal realizedGainLoss;
 
@@ -97,19 +99,48 @@ public class InvestmentTransaction extends Transaction {
     @PrePersist
     @PreUpdate
     public void calculateAmount() {
-        BigDecimal grossAmount = units.multiply(pricePerUnit);
+        Money grossAmount = getGrossValue();
 
         // Convert to EUR if currency is not EUR
         if (currency != Currency.EUR && exchangeRate != null) {
-            grossAmount = grossAmount.multiply(exchangeRate);
+            grossAmount = grossAmount.exchange(exchangeRate, Currency.EUR);
         }
 
-        // Add fees (fees are always in EUR)
+        // Add fees (fees are always in EUR; without an exchange rate the amount stays in the transaction currency)
         if (fees != null) {
-            super.amount = grossAmount.add(fees);
-        } else {
-            super.amount = grossAmount;
+            grossAmount = grossAmount.plus(Money.of(fees, grossAmount.getCurrency()));
         }
+        super.amount = grossAmount.toBigDecimal();
+    }
+
+    /** Units times price per unit, in the transaction currency */
+    public Money getGrossValue() {
+        return Money.of(pricePerUnit, currency).times(units);
+    }
+
+    /**
+     * Fees in the transaction currency. Fees are paid in EUR and converted back with the exchange rate;
+     * without one they are taken as they are.
+     */
+    public Money getFeesInTransactionCurrency() {
+        if (fees == null) {
+            return Money.zero(currency);
+        }
+        if (currency == Currency.EUR || exchangeRate == null) {
+            return Money.of(fees, currency);
+        }
+        return Money.of(fees.divide(exchangeRate, 8, RoundingMode.HALF_UP), currency);
+    }
+
+    /** Realized gain/loss converted to EUR with the exchange rate, or as it is when there is none */
+    public Money getRealizedGainLossInEur() {
+        if (realizedGainLoss == null) {
+            return Money.zero(Money.LEDGER_CURRENCY);
+        }
+        if (currency == Money.LEDGER_CURRENCY || exchangeRate == null) {
+            return Money.of(realizedGainLoss, Money.LEDGER_CURRENCY);
+        }
+        return Money.of(realizedGainLoss, currency).exchange(exchangeRate, Money.LEDGER_CURRENCY);
     }
 
     /**
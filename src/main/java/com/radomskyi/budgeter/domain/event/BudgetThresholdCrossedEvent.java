@@ -0,0 +1,30 @@
+package com.radomskyi.budgeter.domain.event;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Published when a committed expense write takes the spending of a month from below to at or above a
+ * threshold of a budget limit. Raised once per write and threshold; spending that drops below and
+ * crosses again raises it again.
+ *
+ * @param ownerId owner of the limit and the spending
+ * @param budgetLimitId id of the limit
+ * @param category the limited category, null for a tag limit
+ * @param tag the limited tag, null for a category limit
+ * @param month the month the spending belongs to
+ * @param thresholdPercent the crossed threshold, in percent of the limit
+ * @param monthlyLimit the limit amount
+ * @param spent the spending of the month after the write
+ */
+public record BudgetThresholdCrossedEvent(
+        long ownerId,
+        long budgetLimitId,
+        ExpenseCategory category,
+        Tag tag,
+        YearMonth month,
+        int thresholdPercent,
+        BigDecimal monthlyLimit,
+        BigDecimal spent) {}
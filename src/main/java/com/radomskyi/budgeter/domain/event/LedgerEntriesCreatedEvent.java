@@ -0,0 +1,14 @@
+package com.radomskyi.budgeter.domain.event;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import java.util.List;
+
+/**
+ * Published once for a batch of expenses or incomes inserted together, such as the occurrences
+ * generated from recurring templates. Listeners receive it synchronously inside the writing
+ * transaction and should apply the batch as a whole rather than entry by entry.
+ *
+ * @param ledger the ledger the entries belong to
+ * @param entries the inserted entries
+ */
+public record LedgerEntriesCreatedEvent(LedgerType ledger, List<LedgerEntry> entries) {}
@@ -0,0 +1,56 @@
+package com.radomskyi.budgeter.domain.event;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.Income;
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurringTemplate;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the fields of an expense or income that aggregates depend on. Taken before
+ * and after a write, so listeners can apply the difference without reloading the entity.
+ *
+ * @param ownerId owner of the entry
+ * @param createdAt when the entry was created; decides the month it is aggregated into
+ * @param category the ExpenseCategory or IncomeCategory of the entry
+ * @param tags distinct tags of the entry, never null
+ * @param amount the entry amount
+ */
+public record LedgerEntry(long ownerId, LocalDateTime createdAt, Enum<?> category, List<Tag> tags, BigDecimal amount) {
+
+    public static LedgerEntry of(Expense expense) {
+        return new LedgerEntry(
+                expense.getOwnerId(),
+                expense.getCreatedAt(),
+                expense.getCategory(),
+                copyTags(expense.getTags()),
+                expense.getAmount());
+    }
+
+    public static LedgerEntry of(Income income) {
+        return new LedgerEntry(
+                income.getOwnerId(),
+                income.getCreatedAt(),
+                income.getCategory(),
+                copyTags(income.getTags()),
+                income.getAmount());
+    }
+
+    public static LedgerEntry of(RecurringTemplate template, LocalDateTime createdAt) {
+        return new LedgerEntry(
+                template.getOwnerId(),
+                createdAt,
+                template.getCategory(),
+                copyTags(template.getTags()),
+                template.getAmount());
+    }
+
+    private static List<Tag> copyTags(List<Tag> tags) {
+        return tags == null
+                ? List.of()
+                : tags.stream().filter(Objects::nonNull).distinct().toList();
+    }
+}
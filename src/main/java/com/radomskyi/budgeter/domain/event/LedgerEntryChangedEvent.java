@@ -0,0 +1,26 @@
+package com.radomskyi.budgeter.domain.event;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+
+/**
+ * Published by the budgeting services whenever an expense or income is created, updated or deleted.
+ * Listeners receive it synchronously inside the writing transaction.
+ *
+ * @param ledger the ledger the entry belongs to
+ * @param previous state before the write, null on create
+ * @param current state after the write, null on delete
+ */
+public record LedgerEntryChangedEvent(LedgerType ledger, LedgerEntry previous, LedgerEntry current) {
+
+    public static LedgerEntryChangedEvent created(LedgerType ledger, LedgerEntry entry) {
+        return new LedgerEntryChangedEvent(ledger, null, entry);
+    }
+
+    public static LedgerEntryChangedEvent updated(LedgerType ledger, LedgerEntry previous, LedgerEntry current) {
+        return new LedgerEntryChangedEvent(ledger, previous, current);
+    }
+
+    public static LedgerEntryChangedEvent deleted(LedgerType ledger, LedgerEntry entry) {
+        return new LedgerEntryChangedEvent(ledger, entry, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.radomskyi.budgeter.domain.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * Maps a {@link Money} attribute to a NUMERIC column of a ledger table. The ledgers have no currency
+ * column, their amounts are always in {@link Money#LEDGER_CURRENCY}.
+ */
+@Converter
+public class LedgerMoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount, Money.LEDGER_CURRENCY);
+    }
+}
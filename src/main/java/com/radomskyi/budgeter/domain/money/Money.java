@@ -0,0 +1,281 @@
+package com.radomskyi.budgeter.domain.money;
+
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable amount of money in one currency. The value is held as a long unscaled amount and a
+ * decimal scale (cents at scale 2), so additions, subtractions and multiplications are exact primitive
+ * arithmetic. A result that no longer fits in a long falls back to a {@link BigDecimal}, so no
+ * operation ever loses precision or overflows silently.
+ *
+ * <p>Sums of amounts keep their running total in a long (see {@link #sum}). Products of two 8-digit
+ * values, as in the cost basis of fractional shares, often need more than 64 bits and then go through
+ * BigDecimal (see MoneyBenchmark in the benchmarks project for what that costs).
+ *
+ * <p>Arithmetic is exact like {@link BigDecimal#add} and {@link BigDecimal#multiply}. The scale of a
+ * sum is the larger of the two scales; products drop trailing zeros beyond that (see {@link
+ * #times}). Equality is numerical, so 1.5 EUR equals 1.50 EUR.
+ */
+public final class Money implements Comparable<Money> {
+
+    /** Currency of the budgeting ledgers; expenses, incomes and realized gain totals are booked in EUR */
+    public static final Currency LEDGER_CURRENCY = Currency.EUR;
+
+    /** Scale of the minor unit (cents) of every supported currency */
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    private static final int MAX_COMPACT_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_COMPACT_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long unscaled;
+    private final int scale;
+    private final Currency currency;
+    // Only set when the value does not fit in unscaled/scale
+    private final BigDecimal inflated;
+
+    private Money(long unscaled, int scale, Currency currency) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.currency = currency;
+        this.inflated = null;
+    }
+
+    private Money(BigDecimal inflated, Currency currency) {
+        this.unscaled = 0;
+        this.scale = 0;
+        this.currency = currency;
+        this.inflated = inflated;
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, 0, Objects.requireNonNull(currency, "currency"));
+    }
+
+    /** Amount in minor units (cents) */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, MINOR_UNIT_SCALE, Objects.requireNonNull(currency, "currency"));
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "amount");
+        Objects.requireNonNull(currency, "currency");
+
+        int scale = amount.scale();
+        if (scale >= 0 && scale <= MAX_COMPACT_SCALE && amount.precision() <= MAX_COMPACT_SCALE) {
+            return new Money(amount.unscaledValue().longValue(), scale, currency);
+        }
+        return new Money(amount, currency);
+    }
+
+    /**
+     * Sum a property of every element, skipping null values. The running total is a primitive long,
+     * so only the result is allocated unless the total overflows.
+     */
+    public static <T> Money sum(Iterable<T> elements, Function<? super T, BigDecimal> amount, Currency currency) {
+        long total = 0;
+        int totalScale = 0;
+        BigDecimal overflow = null;
+
+        for (T element : elements) {
+            BigDecimal value = amount.apply(element);
+            if (value == null) {
+                continue;
+            }
+            if (overflow == null) {
+                int scale = value.scale();
+                if (scale >= 0 && scale <= MAX_COMPACT_SCALE && value.precision() <= MAX_COMPACT_SCALE) {
+                    int common = Math.max(totalScale, scale);
+                    long addend = value.unscaledValue().longValue();
+                    if (fitsRescaled(total, totalScale, common) && fitsRescaled(addend, scale, common)) {
+                        long a = rescale(total, totalScale, common);
+                        long b = rescale(addend, scale, common);
+                        long result = a + b;
+                        if (!addOverflows(a, b, result)) {
+                            total = result;
+                            totalScale = common;
+                            continue;
+                        }
+                    }
+                }
+                overflow = BigDecimal.valueOf(total, totalScale);
+            }
+            overflow = overflow.add(value);
+        }
+
+        return overflow != null ? of(overflow, currency) : new Money(total, totalScale, currency);
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        if (inflated == null && other.inflated == null) {
+            int common = Math.max(scale, other.scale);
+            if (fitsRescaled(unscaled, scale, common) && fitsRescaled(other.unscaled, other.scale, common)) {
+                long a = rescale(unscaled, scale, common);
+                long b = rescale(other.unscaled, other.scale, common);
+                long sum = a + b;
+                if (!addOverflows(a, b, sum)) {
+                    return new Money(sum, common, currency);
+                }
+            }
+        }
+        return of(toBigDecimal().add(other.toBigDecimal()), currency);
+    }
+
+    public Money minus(Money other) {
+        return plus(other.negate());
+    }
+
+    /**
+     * Multiply by a dimensionless factor such as a number of units or an exchange rate. The result is
+     * exact; its scale is the larger of the two scales unless more digits are needed, so that the
+     * 8-digit values of the investment code (150.00000000 x 10.00000000) stay within a long.
+     */
+    public Money times(BigDecimal factor) {
+        int factorScale = factor.scale();
+        if (inflated == null
+                && factorScale >= 0
+                && factorScale <= MAX_COMPACT_SCALE
+                && factor.precision() <= MAX_COMPACT_SCALE) {
+            long a = unscaled;
+            int aScale = scale;
+            while (aScale > 0 && a != 0 && a % 10 == 0) {
+                a /= 10;
+                aScale--;
+            }
+            long b = factor.unscaledValue().longValue();
+            int bScale = factorScale;
+            while (bScale > 0 && b != 0 && b % 10 == 0) {
+                b /= 10;
+                bScale--;
+            }
+
+            if (!multiplyOverflows(a, b)) {
+                long product = a * b;
+                int productScale = aScale + bScale;
+                int targetScale = Math.max(scale, factorScale);
+                if (productScale < targetScale && fitsRescaled(product, productScale, targetScale)) {
+                    product = rescale(product, productScale, targetScale);
+                    productScale = targetScale;
+                }
+                while (productScale > targetScale && product % 10 == 0) {
+                    product /= 10;
+                    productScale--;
+                }
+                if (productScale <= MAX_COMPACT_SCALE) {
+                    return new Money(product, productScale, currency);
+                }
+            }
+        }
+        return of(toBigDecimal().multiply(factor), currency);
+    }
+
+    /** Convert into another currency at the given rate (units of the target currency per unit) */
+    public Money exchange(BigDecimal rate, Currency target) {
+        Money converted = times(rate);
+        return converted.inflated != null
+                ? new Money(converted.inflated, target)
+                : new Money(converted.unscaled, converted.scale, target);
+    }
+
+    public Money negate() {
+        if (inflated == null && unscaled != Long.MIN_VALUE) {
+            return new Money(-unscaled, scale, currency);
+        }
+        return of(toBigDecimal().negate(), currency);
+    }
+
+    public int signum() {
+        return inflated != null ? inflated.signum() : Long.signum(unscaled);
+    }
+
+    public boolean isZero() {
+        return signum() == 0;
+    }
+
+    /** Round to minor units (cents), half up */
+    public long toMinorUnits() {
+        if (inflated == null && scale <= MINOR_UNIT_SCALE) {
+            return Math.multiplyExact(unscaled, POWERS_OF_TEN[MINOR_UNIT_SCALE - scale]);
+        }
+        return toBigDecimal()
+                .setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    public BigDecimal toBigDecimal() {
+        return inflated != null ? inflated : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        if (inflated == null && other.inflated == null) {
+            int common = Math.max(scale, other.scale);
+            if (fitsRescaled(unscaled, scale, common) && fitsRescaled(other.unscaled, other.scale, common)) {
+                return Long.compare(rescale(unscaled, scale, common), rescale(other.unscaled, other.scale, common));
+            }
+        }
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Money other && currency == other.currency && compareTo(other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(toBigDecimal().stripTrailingZeros(), currency);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (currency != other.currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    // Overflow is detected with plain comparisons; Math.*Exact would throw, and filling in the stack
+    // trace of the exception costs far more than falling back to BigDecimal
+
+    private static boolean fitsRescaled(long value, int scale, int targetScale) {
+        return scale == targetScale || !multiplyOverflows(value, POWERS_OF_TEN[targetScale - scale]);
+    }
+
+    private static long rescale(long value, int scale, int targetScale) {
+        return scale == targetScale ? value : value * POWERS_OF_TEN[targetScale - scale];
+    }
+
+    private static boolean multiplyOverflows(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return (high != 0 || low < 0) && (high != -1 || low >= 0);
+    }
+
+    private static boolean addOverflows(long a, long b, long sum) {
+        return ((a ^ sum) & (b ^ sum)) < 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.radomskyi.budgeter.domain.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.springframework.boot.jackson.JsonComponent;
+
+/**
+ * Jackson support for {@link Money}. Written as {@code {"amount": 12.50, "currency": "EUR"}}; a bare
+ * number is also accepted on input and read in {@link Money#LEDGER_CURRENCY}.
+ */
+@JsonComponent
+public class MoneyJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money money, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("amount", money.toBigDecimal());
+            generator.writeStringField("currency", money.getCurrency().name());
+            generator.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            // Read numbers as BigDecimal straight from the parser, so no double rounding sneaks in
+            if (parser.currentToken().isNumeric()) {
+                return Money.of(parser.getDecimalValue(), Money.LEDGER_CURRENCY);
+            }
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return (Money) context.handleUnexpectedToken(Money.class, parser);
+            }
+
+            BigDecimal amount = null;
+            Currency currency = Money.LEDGER_CURRENCY;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "amount" -> amount = parser.getDecimalValue();
+                    case "currency" -> currency = Currency.valueOf(parser.getText());
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (amount == null) {
+                return context.reportInputMismatch(Money.class, "Money requires an amount");
+            }
+            return Money.of(amount, currency);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.radomskyi.budgeter.domain.owner;
+
+import java.util.function.Supplier;
+
+/**
+ * The owner (household) whose books the current thread works on. Every entity carries an owner id
+ * that Hibernate fills in on insert and filters on in every query (see {@link OwnerTenantResolver}),
+ * so code running as one owner only sees and changes that owner's entries.
+ *
+ * <p>Requests run as the owner of their {@code X-Owner-Id} header ({@link OwnerFilter}), which is not
+ * authenticated here: it is only as trustworthy as the proxy in front of the application. Threads
+ * without an owner, like tests and the CLI, run as {@link #DEFAULT_OWNER_ID}, which also owns the
+ * rows that existed before owners were introduced. Background jobs and startup loaders that work
+ * across owners run as the system, which sees every owner and must set owner ids explicitly.
+ */
+public final class OwnerContext {
+
+    /** Owner of requests without an owner and of the data that predates owners */
+    public static final long DEFAULT_OWNER_ID = 1L;
+
+    /** Tenant identifier of the system context; never stored */
+    static final long SYSTEM_OWNER_ID = 0L;
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private OwnerContext() {}
+
+    /** The owner of the current thread; fails in the system context, which has no single owner */
+    public static long currentOwnerId() {
+        long ownerId = tenantId();
+        if (ownerId == SYSTEM_OWNER_ID) {
+            throw new IllegalStateException("No owner in the system context");
+        }
+        return ownerId;
+    }
+
+    public static boolean isSystem() {
+        return tenantId() == SYSTEM_OWNER_ID;
+    }
+
+    /** Run as an owner; the previous context is restored afterwards */
+    public static <T> T callAs(long ownerId, Supplier<T> action) {
+        if (ownerId <= 0) {
+            throw new IllegalArgumentException("Owner id must be positive, was " + ownerId);
+        }
+        return call(ownerId, action);
+    }
+
+    public static void runAs(long ownerId, Runnable action) {
+        callAs(ownerId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /** Run across all owners; the previous context is restored afterwards */
+    public static <T> T callAsSystem(Supplier<T> action) {
+        return call(SYSTEM_OWNER_ID, action);
+    }
+
+    public static void runAsSystem(Runnable action) {
+        callAsSystem(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static long tenantId() {
+        Long ownerId = CURRENT.get();
+        return ownerId != null ? ownerId : DEFAULT_OWNER_ID;
+    }
+
+    /** Switch the current thread to an owner, returning the previous context for {@link #restore} */
+    static Long enter(long ownerId) {
+        Long previous = CURRENT.get();
+        CURRENT.set(ownerId);
+        return previous;
+    }
+
+    static void restore(Long previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    private static <T> T call(long ownerId, Supplier<T> action) {
+        Long previous = enter(ownerId);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
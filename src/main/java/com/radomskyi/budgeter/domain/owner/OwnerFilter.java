@@ -0,0 +1,54 @@
+package com.radomskyi.budgeter.domain.owner;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Runs every request as the owner named by its {@code X-Owner-Id} header, or as
+ * {@link OwnerContext#DEFAULT_OWNER_ID} without one. Ordered first, so the owner is set before any
+ * session is opened for the request.
+ *
+ * <p>The header is taken as is, without authentication. It must be set by a trusted proxy that
+ * authenticates the caller and replaces any {@code X-Owner-Id} the client sent; a client reaching the
+ * application directly can act as any owner.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OwnerFilter extends OncePerRequestFilter {
+
+    public static final String OWNER_HEADER = "X-Owner-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(OWNER_HEADER);
+        long ownerId = OwnerContext.DEFAULT_OWNER_ID;
+        if (header != null) {
+            try {
+                ownerId = Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                ownerId = -1;
+            }
+            if (ownerId <= 0) {
+                response.sendError(
+                        HttpStatus.BAD_REQUEST.value(), OWNER_HEADER + " must be a positive number, was " + header);
+                return;
+            }
+        }
+
+        Long previous = OwnerContext.enter(ownerId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            OwnerContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.radomskyi.budgeter.domain.owner;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Resolves the Hibernate tenant of a session from the {@link OwnerContext} of the thread that opens
+ * it. Registered with {@code hibernate.tenant_identifier_resolver}; the tenant is fixed for the
+ * lifetime of the session, so the owner has to be set before the transaction starts.
+ */
+public class OwnerTenantResolver implements CurrentTenantIdentifierResolver<Long> {
+
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        return OwnerContext.tenantId();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    // The system context is not filtered and keeps owner ids set on new entities
+    @Override
+    public boolean isRoot(Long tenantId) {
+        return tenantId == OwnerContext.SYSTEM_OWNER_ID;
+    }
+}
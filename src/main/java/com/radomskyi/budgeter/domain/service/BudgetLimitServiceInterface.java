@@ -0,0 +1,34 @@
+package com.radomskyi.budgeter.domain.service;
+
+import com.radomskyi.budgeter.dto.BudgetAlertResponse;
+import com.radomskyi.budgeter.dto.BudgetLimitRequest;
+import com.radomskyi.budgeter.dto.BudgetLimitResponse;
+import com.radomskyi.budgeter.dto.BudgetStatusResponse;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Interface defining operations for budget limit management. Provides business logic methods for
+ * creating, reading, updating, and deleting limits, and for reading their spending and alerts.
+ */
+public interface BudgetLimitServiceInterface extends BaseService<BudgetLimitRequest, BudgetLimitResponse> {
+
+    // This interface inherits all CRUD operations from BaseService
+    // with BudgetLimitRequest and BudgetLimitResponse as type parameters
+
+    /**
+     * Retrieves the spending of a month against every budget limit.
+     *
+     * @param month Month to report, must be one of the tracked months
+     * @return One entry per budget limit
+     */
+    List<BudgetStatusResponse> getStatus(YearMonth month);
+
+    /**
+     * Retrieves the thresholds crossed in a month.
+     *
+     * @param month Month to report
+     * @return Alerts in the order they were raised
+     */
+    List<BudgetAlertResponse> getAlerts(YearMonth month);
+}
@@ -1,7 +1,18 @@
 package com.radomskyi.budgeter.domain.service;
 
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.ExpenseRequest;
 import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
 /**
  * Interface defining operations for Expense management. Provides business logic methods for
@@ -11,4 +22,38 @@ public interface ExpenseServiceInterface extends BaseService<ExpenseRequest, Exp
 
     // This interface inherits all CRUD operations from BaseService
     // with ExpenseRequest and ExpenseResponse as type parameters
+
+    /**
+     * Retrieves the pre-aggregated expense totals for a range of months.
+     *
+     * @param from First month of the range (inclusive)
+     * @param to Last month of the range (inclusive)
+     * @return One entry per month and category, plus one per month, category and tag
+     */
+    List<MonthlyRollupResponse> getMonthlySummary(YearMonth from, YearMonth to);
+
+    /**
+     * Aggregates expenses into time buckets.
+     *
+     * @param bucket Bucket size
+     * @param grouping Optional split of every bucket by category or tag
+     * @param from Any date inside the first bucket
+     * @param to Any date inside the last bucket
+     * @return One point per non-empty bucket (and group), ordered by bucket
+     */
+    List<TimeSeriesPointResponse> getTimeSeries(
+            TimeBucket bucket, TimeSeriesGrouping grouping, LocalDate from, LocalDate to);
+
+    /**
+     * Rolls up expenses from the in-memory cube.
+     *
+     * @param from First month of the range (inclusive)
+     * @param to Last month of the range (inclusive)
+     * @param category Category to filter on, or null for all categories
+     * @param tag Tag to filter on, or null for all expenses
+     * @param drillDown Dimension to break the totals down by
+     * @return One cell per non-empty value of the drill-down dimension, or a single cell for NONE
+     */
+    List<CubeCellResponse> getCube(
+            YearMonth from, YearMonth to, ExpenseCategory category, Tag tag, CubeDimension drillDown);
 }
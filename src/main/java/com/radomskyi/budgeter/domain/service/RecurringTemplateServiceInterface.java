@@ -0,0 +1,16 @@
+package com.radomskyi.budgeter.domain.service;
+
+import com.radomskyi.budgeter.dto.RecurringTemplateRequest;
+import com.radomskyi.budgeter.dto.RecurringTemplateResponse;
+
+/**
+ * Interface defining operations for recurring template management. Provides business logic methods
+ * for creating, reading, updating, and deleting templates of recurring FIXED expenses and SALARY
+ * incomes.
+ */
+public interface RecurringTemplateServiceInterface
+        extends BaseService<RecurringTemplateRequest, RecurringTemplateResponse> {
+
+    // This interface inherits all CRUD operations from BaseService
+    // with RecurringTemplateRequest and RecurringTemplateResponse as type parameters
+}
@@ -0,0 +1,47 @@
+package com.radomskyi.budgeter.dto;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for a crossed budget limit threshold")
+public class BudgetAlertResponse {
+
+    @Schema(description = "Budget alert ID", example = "1")
+    private Long id;
+
+    @Schema(description = "ID of the budget limit", example = "1")
+    private Long budgetLimitId;
+
+    @Schema(description = "Limited expense category, absent for a tag limit")
+    private ExpenseCategory category;
+
+    @Schema(description = "Limited tag, absent for a category limit")
+    private Tag tag;
+
+    @Schema(description = "Month the threshold was crossed in", example = "2025-01", type = "string")
+    private YearMonth month;
+
+    @Schema(description = "Crossed threshold in percent of the limit", example = "80")
+    private int thresholdPercent;
+
+    @Schema(description = "Limit at the time of the alert", example = "400.00")
+    private BigDecimal monthlyLimit;
+
+    @Schema(description = "Spending of the month when the threshold was crossed", example = "320.00")
+    private BigDecimal spent;
+
+    @Schema(description = "When the threshold was crossed")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,51 @@
+package com.radomskyi.budgeter.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for creating or updating a monthly budget limit")
+public class BudgetLimitRequest {
+
+    @Schema(description = "Expense category the limit applies to; set either category or tag")
+    private ExpenseCategory category;
+
+    @Schema(description = "Tag the limit applies to; set either category or tag")
+    private Tag tag;
+
+    @NotNull(message = "Monthly limit is required")
+    @Positive(message = "Monthly limit must be positive")
+    @Schema(description = "Maximum spending per month", example = "400.00")
+    private BigDecimal monthlyLimit;
+
+    @Schema(
+            description = "Percentages of the limit at which an alert is raised, defaults to 80 and 100",
+            example = "[50, 80, 100]")
+    private List<
+                    @NotNull(message = "Threshold is required")
+                    @Min(value = 1, message = "Threshold must be at least 1")
+                    @Max(value = 1000, message = "Threshold must not exceed 1000") Integer>
+            thresholds;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of category and tag must be set")
+    public boolean isCategoryOrTag() {
+        return (category == null) != (tag == null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.radomskyi.budgeter.dto;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for a monthly budget limit")
+public class BudgetLimitResponse {
+
+    @Schema(description = "Budget limit ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Limited expense category, absent for a tag limit")
+    private ExpenseCategory category;
+
+    @Schema(description = "Limited tag, absent for a category limit")
+    private Tag tag;
+
+    @Schema(description = "Maximum spending per month", example = "400.00")
+    private BigDecimal monthlyLimit;
+
+    @Schema(description = "Alert thresholds in percent of the limit", example = "[80, 100]")
+    private List<Integer> thresholds;
+}
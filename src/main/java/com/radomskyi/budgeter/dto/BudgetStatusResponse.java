@@ -0,0 +1,40 @@
+package com.radomskyi.budgeter.dto;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for the spending of a month against one budget limit")
+public class BudgetStatusResponse {
+
+    @Schema(description = "Budget limit ID", example = "1")
+    private Long budgetLimitId;
+
+    @Schema(description = "Limited expense category, absent for a tag limit")
+    private ExpenseCategory category;
+
+    @Schema(description = "Limited tag, absent for a category limit")
+    private Tag tag;
+
+    @Schema(description = "Month", example = "2025-01", type = "string")
+    private YearMonth month;
+
+    @Schema(description = "Maximum spending per month", example = "400.00")
+    private BigDecimal monthlyLimit;
+
+    @Schema(description = "Spending of the month so far", example = "312.40")
+    private BigDecimal spent;
+
+    @Schema(description = "Spending in percent of the limit", example = "78.1")
+    private BigDecimal percentUsed;
+}
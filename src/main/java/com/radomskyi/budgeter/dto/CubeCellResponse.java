@@ -0,0 +1,33 @@
+package com.radomskyi.budgeter.dto;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for one cell of a ledger cube query; dimensions that were rolled up are absent")
+public class CubeCellResponse {
+
+    @Schema(description = "Month of the cell when drilling down by month", example = "2025-01", type = "string")
+    private YearMonth month;
+
+    @Schema(description = "Category of the cell when drilling down by category", example = "WANTS")
+    private String category;
+
+    @Schema(description = "Tag of the cell when drilling down by tag")
+    private Tag tag;
+
+    @Schema(description = "Sum of the entry amounts", example = "1250.40")
+    private BigDecimal total;
+
+    @Schema(description = "Number of entries", example = "42")
+    private long count;
+}
@@ -3,6 +3,7 @@ package com.radomskyi.budgeter.dto;
 import com.radomskyi.budgeter.domain.entity.investment.Currency;
 import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransaction;
 import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransactionType;
+import com.radomskyi.budgeter.domain.money.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -48,8 +49,10 @@ public class InvestmentTransactionResponse {
     @Schema(description = "Exchange rate for currency conversion", example = "1.15")
     private BigDecimal exchangeRate;
 
-    @Schema(description = "Realized gain/loss amount", example = "25.50")
-    private BigDecimal realizedGainLoss;
+    @Schema(
+            description = "Realized gain/loss in the transaction currency, written as {\"amount\", \"currency\"}",
+            example = "{\"amount\": 25.50, \"currency\": \"USD\"}")
+    private Money realizedGainLoss;
 
     @Schema(description = "Transaction amount in EUR", example = "1577.63")
     private BigDecimal amount;
@@ -82,7 +85,10 @@ public class InvestmentTransactionResponse {
                 .fees(transaction.getFees())
                 .currency(transaction.getCurrency())
                 .exchangeRate(transaction.getExchangeRate())
-                .realizedGainLoss(transaction.getRealizedGainLoss())
+                .realizedGainLoss(
+                        transaction.getRealizedGainLoss() != null
+                                ? Money.of(transaction.getRealizedGainLoss(), transaction.getCurrency())
+                                : null)
                 .amount(transaction.getAmount())
                 .name(transaction.getName())
                 .description(transaction.getDescription())
@@ -0,0 +1,33 @@
+package com.radomskyi.budgeter.dto;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for the aggregated entries of one month and category, optionally narrowed to a tag")
+public class MonthlyRollupResponse {
+
+    @Schema(description = "Aggregated month", example = "2025-01", type = "string")
+    private YearMonth month;
+
+    @Schema(description = "Expense or income category", example = "WANTS")
+    private String category;
+
+    @Schema(description = "Tag the totals are narrowed to, absent for the category total")
+    private Tag tag;
+
+    @Schema(description = "Sum of the entry amounts", example = "1250.40")
+    private BigDecimal total;
+
+    @Schema(description = "Number of entries", example = "42")
+    private long count;
+}
@@ -0,0 +1,64 @@
+package com.radomskyi.budgeter.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurrenceFrequency;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for creating or updating a recurring FIXED expense or SALARY income")
+public class RecurringTemplateRequest {
+
+    @NotNull(message = "Ledger is required")
+    @Schema(description = "EXPENSE generates FIXED expenses, INCOME generates SALARY incomes", example = "EXPENSE")
+    private LedgerType ledger;
+
+    @NotNull(message = "Name is required")
+    @Size(max = 50, message = "Name must not exceed 50 characters")
+    @Schema(description = "Name of the generated entries", example = "Rent", maxLength = 50)
+    private String name;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Schema(description = "Amount of the generated entries", example = "950.00")
+    private BigDecimal amount;
+
+    @Size(max = 200, message = "Description must not exceed 200 characters")
+    @Schema(description = "Description of the generated entries", example = "Monthly rent", maxLength = 200)
+    private String description;
+
+    @Schema(description = "Tags of the generated entries")
+    private List<Tag> tags;
+
+    @NotNull(message = "Frequency is required")
+    @Schema(description = "How often an entry is generated", example = "MONTHLY")
+    private RecurrenceFrequency frequency;
+
+    @NotNull(message = "Start date is required")
+    @Schema(description = "Date of the first occurrence; past dates are caught up", example = "2025-01-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date an occurrence may fall on, open-ended when absent", example = "2025-12-31")
+    private LocalDate endDate;
+
+    @JsonIgnore
+    @AssertTrue(message = "End date must not be before start date")
+    public boolean isEndDateValid() {
+        return endDate == null || startDate == null || !endDate.isBefore(startDate);
+    }
+}
@@ -0,0 +1,56 @@
+package com.radomskyi.budgeter.dto;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurrenceFrequency;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for a recurring template")
+public class RecurringTemplateResponse {
+
+    @Schema(description = "Recurring template ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Ledger the entries are generated in", example = "EXPENSE")
+    private LedgerType ledger;
+
+    @Schema(description = "Category of the generated entries", example = "FIXED")
+    private String category;
+
+    @Schema(description = "Name of the generated entries", example = "Rent")
+    private String name;
+
+    @Schema(description = "Amount of the generated entries", example = "950.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Description of the generated entries", example = "Monthly rent")
+    private String description;
+
+    @Schema(description = "Tags of the generated entries")
+    private List<Tag> tags;
+
+    @Schema(description = "How often an entry is generated", example = "MONTHLY")
+    private RecurrenceFrequency frequency;
+
+    @Schema(description = "Date of the first occurrence", example = "2025-01-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date an occurrence may fall on", example = "2025-12-31")
+    private LocalDate endDate;
+
+    @Schema(
+            description = "Date of the next entry to generate, absent once the end date has passed",
+            example = "2025-02-01")
+    private LocalDate nextOccurrence;
+}
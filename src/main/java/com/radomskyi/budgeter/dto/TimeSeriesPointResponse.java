@@ -0,0 +1,29 @@
+package com.radomskyi.budgeter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for one point of a time series")
+public class TimeSeriesPointResponse {
+
+    @Schema(description = "First day of the bucket", example = "2025-01-01")
+    private LocalDate bucketStart;
+
+    @Schema(description = "Category or tag of the point, absent when the series is not grouped", example = "WANTS")
+    private String group;
+
+    @Schema(description = "Sum of the entry amounts in the bucket", example = "1250.40")
+    private BigDecimal total;
+
+    @Schema(description = "Number of entries in the bucket", example = "42")
+    private long count;
+}
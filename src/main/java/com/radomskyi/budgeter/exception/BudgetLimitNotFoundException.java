@@ -0,0 +1,12 @@
+package com.radomskyi.budgeter.exception;
+
+public class BudgetLimitNotFoundException extends RuntimeException {
+
+    public BudgetLimitNotFoundException(String message) {
+        super(message);
+    }
+
+    public BudgetLimitNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.radomskyi.budgeter.exception;
+
+public class RecurringTemplateNotFoundException extends RuntimeException {
+
+    public RecurringTemplateNotFoundException(String message) {
+        super(message);
+    }
+
+    public RecurringTemplateNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,268 @@
+package com.radomskyi.budgeter.idempotency;
+
+import com.radomskyi.budgeter.domain.entity.idempotency.IdempotencyRecord;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes the create requests of {@code budgeter.idempotency.paths} safe to retry: a POST with an
+ * {@code Idempotency-Key} header runs once per owner and key, and its response is stored
+ * ({@link IdempotencyStore}) and replayed to every retry with the same key, marked with
+ * {@code Idempotent-Replayed: true}, without reaching the controller. Duplicates arriving while the
+ * first request runs on this instance wait for its response; on another instance they get 409 with
+ * {@code Retry-After}. A key reused for a different request gets 422. Server errors are not stored:
+ * duplicates waiting for a request that failed get 409 too, and retrying runs the request again.
+ * Request bodies are buffered for hashing, up to {@code budgeter.idempotency.max-request-size}; larger
+ * ones get 413. Ordered before the {@code ConcurrencyLimitFilter}, so replays and waiting duplicates
+ * do not take up the write limit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final List<String> paths;
+    private final long maxRequestSize;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Value("${budgeter.idempotency.paths:/api/expense,/api/income}") List<String> paths,
+            @Value("${budgeter.idempotency.max-request-size:1MB}") DataSize maxRequestSize) {
+        this.idempotencyStore = idempotencyStore;
+        this.paths = paths;
+        this.maxRequestSize = maxRequestSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(
+                    HttpStatus.BAD_REQUEST.value(),
+                    IDEMPOTENCY_KEY_HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        if (request.getContentLengthLong() > maxRequestSize) {
+            tooLarge(response);
+            return;
+        }
+        // Chunked requests have no length up front
+        BufferedRequest buffered = new BufferedRequest(request, maxRequestSize);
+        if (buffered.body.length > maxRequestSize) {
+            tooLarge(response);
+            return;
+        }
+        String requestHash = hash(request.getMethod(), request.getRequestURI(), buffered.body);
+
+        // Single flight: concurrent duplicates on this instance wait for the first one
+        CompletableFuture<IdempotencyRecord> flight = new CompletableFuture<>();
+        String flightKey = OwnerContext.currentOwnerId() + ":" + key;
+        CompletableFuture<IdempotencyRecord> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            Optional<IdempotencyRecord> first = awaitResponse(leader);
+            if (first.isPresent()) {
+                replay(first.get(), requestHash, response);
+            } else {
+                inProgress(response);
+            }
+            return;
+        }
+
+        try {
+            Optional<IdempotencyRecord> earlier = idempotencyStore.claim(key, requestHash);
+            if (earlier.isPresent()) {
+                flight.complete(earlier.get());
+                replay(earlier.get(), requestHash, response);
+            } else {
+                IdempotencyRecord record = execute(key, requestHash, buffered, response, chain);
+                if (record != null) {
+                    flight.complete(record);
+                } else {
+                    flight.completeExceptionally(new IllegalStateException("The request failed with a server error"));
+                }
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    // Run the request and store its response; returns null for a server error, which gives up the key
+    private IdempotencyRecord execute(
+            String key, String requestHash, BufferedRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, captured);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+
+        int status = captured.getStatus();
+        String contentType = captured.getContentType();
+        byte[] body = captured.getContentAsByteArray();
+        captured.copyBodyToResponse();
+        if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            idempotencyStore.release(key);
+            return null;
+        }
+        return idempotencyStore.complete(key, requestHash, status, contentType, body);
+    }
+
+    private static Optional<IdempotencyRecord> awaitResponse(CompletableFuture<IdempotencyRecord> leader)
+            throws IOException {
+        try {
+            return Optional.of(leader.get());
+        } catch (ExecutionException e) {
+            // The first request failed and gave up its key; the duplicate is told to retry
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the first request with the same key", e);
+        }
+    }
+
+    private static void replay(IdempotencyRecord record, String requestHash, HttpServletResponse response)
+            throws IOException {
+        if (!record.getRequestHash().equals(requestHash)) {
+            response.sendError(
+                    HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+        if (record.getStatus() == null) {
+            inProgress(response);
+            return;
+        }
+        log.debug("Replaying the response to {} {}", IDEMPOTENCY_KEY_HEADER, record.getIdempotencyKey());
+        response.setStatus(record.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getBody() != null) {
+            response.setContentLength(record.getBody().length);
+            response.getOutputStream().write(record.getBody());
+        }
+    }
+
+    private static void inProgress(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(
+                HttpStatus.CONFLICT.value(), "A request with the same " + IDEMPOTENCY_KEY_HEADER + " is in progress");
+    }
+
+    private void tooLarge(HttpServletResponse response) throws IOException {
+        response.sendError(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                "Requests with an " + IDEMPOTENCY_KEY_HEADER + " are limited to " + maxRequestSize + " bytes");
+    }
+
+    static String hash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The request with its body read up front, for hashing, and read again by the controller */
+    private static class BufferedRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        // Reads up to one byte more than maxSize, so a longer body can be told apart
+        BufferedRequest(HttpServletRequest request, long maxSize) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes((int) Math.min(maxSize + 1, Integer.MAX_VALUE - 8));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(
+                    getInputStream(), encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+    }
+}
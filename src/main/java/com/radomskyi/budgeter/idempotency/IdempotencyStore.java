@@ -0,0 +1,135 @@
+package com.radomskyi.budgeter.idempotency;
+
+import com.radomskyi.budgeter.domain.entity.idempotency.IdempotencyRecord;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The requests sent with an {@code Idempotency-Key}, kept in the {@code idempotency_record} table for
+ * {@code budgeter.idempotency.retention}. The most recently used {@code budgeter.idempotency.cache-size}
+ * finished ones are also held in memory, so replaying a retry usually needs no query. A key is claimed
+ * by inserting its row before the request runs; the unique index on owner and key makes sure only one
+ * instance runs it. A claim that has not finished within {@code budgeter.idempotency.lease}, because
+ * its instance stopped or failed to give it up, is taken over by the next request with the key.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration retention;
+    private final Duration lease;
+    private final Map<String, IdempotencyRecord> cache;
+
+    public IdempotencyStore(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${budgeter.idempotency.retention:24h}") Duration retention,
+            @Value("${budgeter.idempotency.lease:60s}") Duration lease,
+            @Value("${budgeter.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.retention = retention;
+        this.lease = lease;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Claim a key of the current owner for a request.
+     *
+     * @return empty when the key is claimed for this request, or the request that claimed it before
+     */
+    public Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        IdempotencyRecord cached = cache.get(cacheKey(key));
+        if (cached != null && cached.getCreatedAt().isAfter(cutoff())) {
+            return Optional.of(cached);
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByIdempotencyKey(key);
+        if (stored.isPresent() && stored.get().getStatus() == null) {
+            // A claim past its lease is taken over by one request; the update is conditional, so two
+            // requests taking it over at once cannot both succeed
+            LocalDateTime now = LocalDateTime.now();
+            if (!stored.get().getCreatedAt().isBefore(now.minus(lease))) {
+                return stored;
+            }
+            if (idempotencyRecordRepository.takeOverStale(key, requestHash, now, now.minus(lease)) == 1) {
+                log.warn(
+                        "Took over {} {}, claimed at {} and never finished",
+                        IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+                        key,
+                        stored.get().getCreatedAt());
+                return Optional.empty();
+            }
+            // Taken over or finished since the lookup
+            return idempotencyRecordRepository.findByIdempotencyKey(key);
+        }
+        if (stored.isPresent() && stored.get().getCreatedAt().isAfter(cutoff())) {
+            return stored;
+        }
+        try {
+            // An expired request that was not deleted yet gives up its key
+            stored.ifPresent(idempotencyRecordRepository::delete);
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            // Claimed by another instance since the lookup
+            return idempotencyRecordRepository.findByIdempotencyKey(key);
+        }
+    }
+
+    /** Store the response of a claimed request, to be replayed to its retries */
+    public IdempotencyRecord complete(String key, String requestHash, int status, String contentType, byte[] body) {
+        idempotencyRecordRepository.complete(key, status, contentType, body);
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .status(status)
+                .contentType(contentType)
+                .body(body)
+                .createdAt(LocalDateTime.now())
+                .build();
+        cache.put(cacheKey(key), record);
+        return record;
+    }
+
+    /** Give up a claimed key, so a retry runs the request again */
+    public void release(String key) {
+        idempotencyRecordRepository.deleteByIdempotencyKey(key);
+    }
+
+    /** Delete the requests older than the retention */
+    @Scheduled(cron = "${budgeter.idempotency.cleanup-cron:0 30 * * * *}")
+    public void deleteExpired() {
+        int deleted = OwnerContext.callAsSystem(() -> idempotencyRecordRepository.deleteCreatedBefore(cutoff()));
+        if (deleted > 0) {
+            log.info("Deleted {} idempotency records older than {}", deleted, retention);
+        }
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(retention);
+    }
+
+    private static String cacheKey(String key) {
+        return OwnerContext.currentOwnerId() + ":" + key;
+    }
+}
@@ -0,0 +1,42 @@
+package com.radomskyi.budgeter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/** A sum over a range of the expense or income ledger: time series, monthly rollup or cube query */
+@Name("budgeter.AggregateQuery")
+@Label("Aggregate Query")
+@Category({"Budgeter", "Query"})
+@Description("A roll-up of a ledger over a range of dates, from the database or the in-memory cubes")
+@StackTrace(false)
+@Setter
+public class AggregateQueryEvent extends Event {
+
+    @Label("Query")
+    @Description("time-series, monthly-rollup or cube")
+    private String query;
+
+    @Label("Ledger")
+    private String ledger;
+
+    @Label("Owner Id")
+    private long ownerId;
+
+    @Label("Grouping")
+    @Description("Bucket and grouping of a time series, drill-down dimension of a cube query")
+    private String grouping;
+
+    @Label("From")
+    private String from;
+
+    @Label("To")
+    private String to;
+
+    @Label("Rows")
+    private int rows;
+}
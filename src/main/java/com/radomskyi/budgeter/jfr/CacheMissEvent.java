@@ -0,0 +1,28 @@
+package com.radomskyi.budgeter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/** A lookup in one of the in-memory structures (ledger cubes, budget trackers) that found nothing */
+@Name("budgeter.CacheMiss")
+@Label("Cache Miss")
+@Category({"Budgeter", "Cache"})
+@Description("An in-memory lookup that found no entry for the owner, served with an empty result")
+@StackTrace(false)
+@Setter
+public class CacheMissEvent extends Event {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Owner Id")
+    private long ownerId;
+
+    @Label("Key")
+    private String key;
+}
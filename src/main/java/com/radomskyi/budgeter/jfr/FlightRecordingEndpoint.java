@@ -0,0 +1,138 @@
+package com.radomskyi.budgeter.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * On-demand JDK Flight Recorder recordings at {@code /actuator/jfr}: POST starts one (a JSON body of
+ * {@code {}} or e.g. {@code {"duration": "30s"}}, at most {@code budgeter.jfr.max-duration}), GET shows
+ * its state, DELETE stops it and streams the {@code .jfr} file back. One recording at a time, kept on disk up to
+ * {@code budgeter.jfr.max-size}, with the {@code budgeter.jfr.settings} configuration plus the
+ * application's events ({@code budgeter.*}). Starting a new recording discards a stopped one that was
+ * never downloaded.
+ *
+ * <p>The environment variables, system properties and JVM arguments events are switched off, since
+ * they would carry the database credentials into the file.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class FlightRecordingEndpoint {
+
+    private static final Map<String, String> OVERRIDES = Map.of(
+            "jdk.InitialEnvironmentVariable#enabled", "false",
+            "jdk.InitialSystemProperty#enabled", "false",
+            "jdk.JVMInformation#enabled", "false",
+            "budgeter.RowImported#enabled", "true",
+            "budgeter.InvestmentRecalculated#enabled", "true",
+            "budgeter.CacheMiss#enabled", "true",
+            "budgeter.AggregateQuery#enabled", "true");
+
+    private final String settings;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(
+            @Value("${budgeter.jfr.settings:profile}") String settings,
+            @Value("${budgeter.jfr.max-duration:10m}") Duration maxDuration,
+            @Value("${budgeter.jfr.max-size:100MB}") DataSize maxSize) {
+        this.settings = settings;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /** State of the current or last recording */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState());
+        status.put("settings", settings);
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    /** Start a recording, stopping by itself after the given or the maximum duration */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        close();
+
+        Map<String, String> recordingSettings =
+                new LinkedHashMap<>(Configuration.getConfiguration(settings).getSettings());
+        recordingSettings.putAll(OVERRIDES);
+
+        recording = new Recording(recordingSettings);
+        recording.setName("budgeter");
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        recording.start();
+        log.info("Started a flight recording for {} with the {} settings", recording.getDuration(), settings);
+        return new WebEndpointResponse<>(status());
+    }
+
+    /** Stop the recording and download it */
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Resource> stop() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        Path file = Files.createTempFile("budgeter-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            close();
+        }
+        log.info("Stopped the flight recording ({} bytes)", Files.size(file));
+        // The file is gone once the response has been written
+        return new WebEndpointResponse<>(
+                new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
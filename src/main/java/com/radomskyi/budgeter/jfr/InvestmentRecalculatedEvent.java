@@ -0,0 +1,32 @@
+package com.radomskyi.budgeter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/** An investment's units, cost and cost basis recalculated for a new transaction */
+@Name("budgeter.InvestmentRecalculated")
+@Label("Investment Recalculated")
+@Category({"Budgeter", "Investment"})
+@Description("Totals and cost basis of an investment updated with a new transaction")
+@StackTrace(false)
+@Setter
+public class InvestmentRecalculatedEvent extends Event {
+
+    @Label("Investment Id")
+    private long investmentId;
+
+    @Label("Ticker")
+    private String ticker;
+
+    @Label("Transaction Type")
+    private String transactionType;
+
+    @Label("Transactions")
+    @Description("Transactions of the investment, including the new one")
+    private int transactions;
+}
@@ -0,0 +1,36 @@
+package com.radomskyi.budgeter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/** One row of a broker CSV file, from parsing to the saved investment transaction */
+@Name("budgeter.RowImported")
+@Label("Row Imported")
+@Category({"Budgeter", "Import"})
+@Description("A row of a broker CSV file imported as an investment transaction, skipped or failed")
+@StackTrace(false)
+@Setter
+public class RowImportedEvent extends Event {
+
+    @Label("Broker")
+    private String broker;
+
+    @Label("Row")
+    @Description("Line number in the file, the header being 0")
+    private int row;
+
+    @Label("Action")
+    private String action;
+
+    @Label("Ticker")
+    private String ticker;
+
+    @Label("Result")
+    @Description("imported, skipped or failed")
+    private String result;
+}
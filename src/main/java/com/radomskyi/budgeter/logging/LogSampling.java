@@ -0,0 +1,43 @@
+package com.radomskyi.budgeter.logging;
+
+/**
+ * Whether the request on the current thread was sampled out of the logs. Decided once per request
+ * by {@link RequestLogSamplingFilter}; {@link SampledOutTurboFilter} then drops its INFO, DEBUG and
+ * TRACE lines before the message or its arguments are rendered. Threads outside a request are
+ * always logged.
+ */
+public final class LogSampling {
+
+    private static final ThreadLocal<Boolean> SAMPLED_OUT = new ThreadLocal<>();
+
+    private LogSampling() {}
+
+    public static boolean isSampledOut() {
+        return SAMPLED_OUT.get() == Boolean.TRUE;
+    }
+
+    /** Run with the current thread sampled in or out; the previous state is restored afterwards */
+    public static void run(boolean sampledOut, Runnable action) {
+        Boolean previous = enter(sampledOut);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Mark the current thread, returning the previous state for {@link #restore} */
+    static Boolean enter(boolean sampledOut) {
+        Boolean previous = SAMPLED_OUT.get();
+        SAMPLED_OUT.set(sampledOut);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous != null) {
+            SAMPLED_OUT.set(previous);
+        } else {
+            SAMPLED_OUT.remove();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.radomskyi.budgeter.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Samples requests for logging: a request is logged with the rate of the first rule in
+ * {@code budgeter.logging.sample-rates} matching it, or {@code budgeter.logging.sample-rate} without
+ * one. A rule is {@code [METHOD ]path-pattern=rate}, for example {@code GET /api/expense/**=0.05}.
+ * Requests sampled out still log their warnings and errors.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final double defaultRate;
+    private final List<Rule> rules;
+
+    public RequestLogSamplingFilter(
+            @Value("${budgeter.logging.sample-rate:1.0}") double defaultRate,
+            @Value("${budgeter.logging.sample-rates:}") List<String> rules) {
+        this.defaultRate = checkRate(defaultRate, "budgeter.logging.sample-rate");
+        this.rules = rules.stream()
+                .filter(rule -> !rule.isBlank())
+                .map(RequestLogSamplingFilter::parse)
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        double rate = rateOf(request.getMethod(), request.getRequestURI());
+        boolean sampledOut = rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate;
+
+        Boolean previous = LogSampling.enter(sampledOut);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            LogSampling.restore(previous);
+        }
+    }
+
+    double rateOf(String method, String path) {
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && PATHS.match(rule.pattern(), path)) {
+                return rule.rate();
+            }
+        }
+        return defaultRate;
+    }
+
+    private static Rule parse(String rule) {
+        int equals = rule.lastIndexOf('=');
+        if (equals < 0) {
+            throw new IllegalArgumentException("Sample rate rule must be [METHOD ]pattern=rate, was " + rule);
+        }
+        String[] endpoint = rule.substring(0, equals).trim().split("\\s+", 2);
+        double rate = checkRate(Double.parseDouble(rule.substring(equals + 1).trim()), rule);
+        return endpoint.length == 2 ? new Rule(endpoint[0], endpoint[1], rate) : new Rule(null, endpoint[0], rate);
+    }
+
+    private static double checkRate(double rate, String source) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1, was " + rate + " in " + source);
+        }
+        return rate;
+    }
+
+    private record Rule(String method, String pattern, double rate) {}
+}
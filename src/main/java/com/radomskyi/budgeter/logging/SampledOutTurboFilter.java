@@ -0,0 +1,23 @@
+package com.radomskyi.budgeter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Denies INFO and lower on threads serving a request that was sampled out (see {@link LogSampling}).
+ * Turbo filters run before the logging event is created, so the denied lines never format their
+ * message nor call {@code toString} on their arguments. Registered in {@code logback-spring.xml}.
+ */
+public class SampledOutTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != null && !level.isGreaterOrEqual(Level.WARN) && LogSampling.isSampledOut()) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
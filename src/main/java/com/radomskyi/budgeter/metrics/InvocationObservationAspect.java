@@ -0,0 +1,65 @@
+package com.radomskyi.budgeter.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes every public method of the application's services and JDBC repositories: a timer tagged
+ * with the class, the method, the outcome ({@code SUCCESS} or {@code ERROR}) and the exception
+ * thrown, and a span named after {@code Class#method} (lower-hyphenated by Micrometer, e.g.
+ * {@code expense-service#create}). Spring Data repositories are timed by Spring Boot
+ * as {@code spring.data.repository.invocations} with the same kind of tags. Histograms are enabled
+ * per timer in application.properties.
+ *
+ * <p>Only calls through the proxy are observed, so a service calling its own methods counts once.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class InvocationObservationAspect {
+
+    public static final String SERVICE_TIMER = "budgeter.service.invocations";
+    public static final String REPOSITORY_TIMER = "budgeter.repository.invocations";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("@within(org.springframework.stereotype.Service) && within(com.radomskyi.budgeter..*)"
+            + " && execution(public * *(..))")
+    public Object observeService(ProceedingJoinPoint invocation) throws Throwable {
+        return observe(SERVICE_TIMER, invocation);
+    }
+
+    @Around("@within(org.springframework.stereotype.Repository) && within(com.radomskyi.budgeter..*)"
+            + " && execution(public * *(..))")
+    public Object observeRepository(ProceedingJoinPoint invocation) throws Throwable {
+        return observe(REPOSITORY_TIMER, invocation);
+    }
+
+    private Object observe(String name, ProceedingJoinPoint invocation) throws Throwable {
+        String className = invocation.getSignature().getDeclaringType().getSimpleName();
+        String method = invocation.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(className + "#" + method)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = invocation.proceed();
+            observation.lowCardinalityKeyValue("outcome", "SUCCESS").lowCardinalityKeyValue("exception", "none");
+            return result;
+        } catch (Throwable e) {
+            observation
+                    .lowCardinalityKeyValue("outcome", "ERROR")
+                    .lowCardinalityKeyValue("exception", e.getClass().getSimpleName())
+                    .error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.BudgetAlert;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    // Find the alerts of a month in the order they were raised
+    List<BudgetAlert> findByMonthOrderByCreatedAtAsc(LocalDate month);
+}
@@ -0,0 +1,21 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.BudgetLimit;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BudgetLimitRepository extends JpaRepository<BudgetLimit, Long> {
+
+    // Find the limits of an owner; also usable from the system context, which sees every owner
+    List<BudgetLimit> findByOwnerId(Long ownerId);
+
+    // Check whether a category already has a limit, other than the given one
+    boolean existsByCategoryAndIdNot(ExpenseCategory category, Long id);
+
+    // Check whether a tag already has a limit, other than the given one
+    boolean existsByTagAndIdNot(Tag tag, Long id);
+}
@@ -79,6 +79,18 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.createdAt BETWEEN :startDate AND :endDate")
     BigDecimal sumByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
+    // Calculate total expenses per owner, month and category since a date: {owner, year, month, category, sum}
+    @Query("SELECT e.ownerId, YEAR(e.createdAt), MONTH(e.createdAt), e.category, SUM(e.amount) FROM Expense e "
+            + "WHERE e.createdAt >= :startDate "
+            + "GROUP BY e.ownerId, YEAR(e.createdAt), MONTH(e.createdAt), e.category")
+    List<Object[]> sumByMonthAndCategorySince(@Param("startDate") LocalDateTime startDate);
+
+    // Calculate total expenses per owner, month and tag since a date: {owner, year, month, tag, sum}
+    @Query("SELECT e.ownerId, YEAR(e.createdAt), MONTH(e.createdAt), t, SUM(e.amount) FROM Expense e "
+            + "JOIN e.tags t WHERE e.createdAt >= :startDate "
+            + "GROUP BY e.ownerId, YEAR(e.createdAt), MONTH(e.createdAt), t")
+    List<Object[]> sumByMonthAndTagSince(@Param("startDate") LocalDateTime startDate);
+
     // Find expenses ordered by creation date (newest first)
     List<Expense> findAllByOrderByCreatedAtDesc();
 
@@ -0,0 +1,52 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.idempotency.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    // Find the request of the current owner sent with a key
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    // Take over the current owner's key from a request that claimed it before leaseCutoff and never finished
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.requestHash = :requestHash, r.createdAt = :createdAt"
+            + " where r.idempotencyKey = :idempotencyKey and r.status is null and r.createdAt < :leaseCutoff")
+    int takeOverStale(
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("requestHash") String requestHash,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("leaseCutoff") LocalDateTime leaseCutoff);
+
+    // Store the response of the current owner's request sent with a key
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.status = :status, r.contentType = :contentType, r.body = :body"
+            + " where r.idempotencyKey = :idempotencyKey")
+    int complete(
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("status") int status,
+            @Param("contentType") String contentType,
+            @Param("body") byte[] body);
+
+    // Delete the current owner's request sent with a key
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :idempotencyKey")
+    int deleteByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    // Delete the requests older than the retention, of every owner when run as the system
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,117 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Inserts expenses or incomes in JDBC batches, bypassing the persistence context. Used for entries
+ * generated in bulk, which need an explicit creation date (auditing would set the current time) and
+ * would otherwise cost one round trip per row and per tag with IDENTITY ids.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerEntryBatchRepository {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * An entry to insert.
+     *
+     * @param entry owner, creation date, category, tags and amount of the entry
+     */
+    public record NewEntry(String name, String description, LedgerEntry entry) {}
+
+    // Insert the entries and their tags, with owner_id and created_at taken from the entries and updated_at
+    // set to now
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertAll(LedgerType ledger, List<NewEntry> entries) {
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<NewEntry> batch = entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()));
+            List<Long> ids = insertEntries(ledger, batch);
+            insertTags(ledger, batch, ids);
+        }
+    }
+
+    private List<Long> insertEntries(LedgerType ledger, List<NewEntry> batch) {
+        // One multi-row INSERT per batch: drivers return generated keys of a JDBC batch row by row
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(table(ledger))
+                .append(" (owner_id, amount, name, description, created_at, updated_at, category) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?)");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString(), new String[] {"id"})) {
+                int parameter = 1;
+                for (NewEntry newEntry : batch) {
+                    LedgerEntry entry = newEntry.entry();
+                    statement.setLong(parameter++, entry.ownerId());
+                    statement.setBigDecimal(parameter++, entry.amount());
+                    statement.setString(parameter++, newEntry.name());
+                    statement.setString(parameter++, newEntry.description());
+                    statement.setTimestamp(parameter++, Timestamp.valueOf(entry.createdAt()));
+                    statement.setTimestamp(parameter++, now);
+                    statement.setString(parameter++, entry.category().name());
+                }
+                statement.executeUpdate();
+
+                List<Long> generated = new ArrayList<>(batch.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        generated.add(keys.getLong(1));
+                    }
+                }
+                return generated;
+            }
+        });
+
+        if (ids == null || ids.size() != batch.size()) {
+            throw new IllegalStateException("Expected " + batch.size() + " generated ids for " + ledger + " batch, got "
+                    + (ids == null ? 0 : ids.size()));
+        }
+        return ids;
+    }
+
+    private void insertTags(LedgerType ledger, List<NewEntry> batch, List<Long> ids) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            for (Tag tag : batch.get(i).entry().tags()) {
+                rows.add(new Object[] {ids.get(i), tag.name()});
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String sql =
+                switch (ledger) {
+                    case EXPENSE -> "INSERT INTO expense_tags (expense_id, tag) VALUES (?, ?)";
+                    case INCOME -> "INSERT INTO income_tags (income_id, tag) VALUES (?, ?)";
+                };
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    private static String table(LedgerType ledger) {
+        return switch (ledger) {
+            case EXPENSE -> "expense";
+            case INCOME -> "income";
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams every expense or income as a {@link LedgerEntry} in a single pass, for building in-memory
+ * aggregates. Entries and their tags are read with one ordered outer join and a server-side cursor, so
+ * memory use does not depend on the size of the table.
+ */
+@Repository
+public class LedgerEntryStreamRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerEntryStreamRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL only uses a cursor with a fetch size inside a transaction
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    // Pass every entry of the ledger, of all owners, to the consumer, in owner and id order
+    @Transactional(readOnly = true)
+    public void forEachEntry(LedgerType ledger, Consumer<LedgerEntry> consumer) {
+        String sql =
+                switch (ledger) {
+                    case EXPENSE ->
+                        "SELECT e.owner_id, e.id, e.created_at, e.category, e.amount, t.tag FROM expense e "
+                                + "LEFT JOIN expense_tags t ON t.expense_id = e.id ORDER BY e.owner_id, e.id";
+                    case INCOME ->
+                        "SELECT e.owner_id, e.id, e.created_at, e.category, e.amount, t.tag FROM income e "
+                                + "LEFT JOIN income_tags t ON t.income_id = e.id ORDER BY e.owner_id, e.id";
+                };
+
+        EntryAssembler assembler = new EntryAssembler(ledger, consumer);
+        jdbcTemplate.query(sql, rs -> {
+            String tag = rs.getString("tag");
+            assembler.accept(
+                    rs.getLong("owner_id"),
+                    rs.getLong("id"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getString("category"),
+                    rs.getBigDecimal("amount"),
+                    tag == null ? null : Tag.valueOf(tag));
+        });
+        assembler.flush();
+    }
+
+    /** Folds the one-row-per-tag result of the join back into one entry per id */
+    private static final class EntryAssembler {
+        private final LedgerType ledger;
+        private final Consumer<LedgerEntry> consumer;
+
+        private long ownerId;
+        private long id = -1;
+        private LocalDateTime createdAt;
+        private Enum<?> category;
+        private BigDecimal amount;
+        private final List<Tag> tags = new ArrayList<>();
+
+        EntryAssembler(LedgerType ledger, Consumer<LedgerEntry> consumer) {
+            this.ledger = ledger;
+            this.consumer = consumer;
+        }
+
+        void accept(
+                long rowOwnerId,
+                long rowId,
+                LocalDateTime rowCreatedAt,
+                String rowCategory,
+                BigDecimal rowAmount,
+                Tag tag) {
+            if (rowId != id) {
+                flush();
+                ownerId = rowOwnerId;
+                id = rowId;
+                createdAt = rowCreatedAt;
+                category = ledger == LedgerType.EXPENSE
+                        ? ExpenseCategory.valueOf(rowCategory)
+                        : IncomeCategory.valueOf(rowCategory);
+                amount = rowAmount;
+            }
+            if (tag != null && !tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+
+        void flush() {
+            if (id != -1) {
+                consumer.accept(new LedgerEntry(ownerId, createdAt, category, List.copyOf(tags), amount));
+                id = -1;
+                tags.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.radomskyi.budgeter.repository;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Monthly partitions of the ledger tables, which are partitioned by range of created_at on PostgreSQL
+ * (V8 migration). Partitions are named {@code <table>_yYYYYmMM} and are split into 16 partitions by hash
+ * of owner_id (V14 migration); rows of months without a partition are kept in {@code <table>_default}.
+ * Old months are moved to the archive schema (V9 migration) but stay partitions of their table, so reads
+ * cover them without knowing about the archive until they are detached. Other databases (H2 in tests)
+ * have plain tables and no partitions to maintain.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerPartitionRepository {
+
+    /** Tables partitioned by month */
+    public static final List<String> PARTITIONED_TABLES = List.of("expense", "income", "investment_transaction");
+
+    private static final Pattern PARTITION_MONTH = Pattern.compile("_y(\\d{4})m(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    // Whether the ledger tables are partitioned, i.e. the database is PostgreSQL
+    public boolean isPartitioned() {
+        if (postgres == null) {
+            String product = Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<String>)
+                    connection -> connection.getMetaData().getDatabaseProductName()));
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+            log.info("Ledger tables are {} on {}", postgres ? "partitioned by month" : "not partitioned", product);
+        }
+        return postgres;
+    }
+
+    // Create the partition of a month unless it exists, moving the rows of the month out of the default
+    // partition; returns whether it was created. Serialized per partition in the database (V12 migration),
+    // so instances running this at the same time create it once
+    public boolean createMonthlyPartition(String table, YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT create_monthly_partition(?, ?)", Boolean.class, checkTable(table), firstDay(month)));
+    }
+
+    // Months with rows in the default partition, which arrived before the partition of their month existed
+    public List<YearMonth> findMonthsInDefaultPartition(String table) {
+        return jdbcTemplate.query(
+                "SELECT DISTINCT date_trunc('month', created_at) AS month FROM " + checkTable(table) + "_default",
+                (resultSet, rowNum) ->
+                        YearMonth.from(resultSet.getTimestamp("month").toLocalDateTime()));
+    }
+
+    // Months whose partition has not been archived yet, oldest first
+    public List<YearMonth> findHotMonths(String table) {
+        return findMonths(table, "public");
+    }
+
+    // Months whose partition has been archived and is still attached, oldest first
+    public List<YearMonth> findArchivedMonths(String table) {
+        return findMonths(table, "archive");
+    }
+
+    // Move the partition of a month to the archive schema and drop its hot-only indexes, giving up after
+    // lockTimeout rather than queueing queries of the table behind the lock; returns whether it was moved
+    @Transactional
+    public boolean archiveMonthlyPartition(String table, YearMonth month, Duration lockTimeout) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeout.toMillis());
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT archive_monthly_partition(?, ?)", Boolean.class, checkTable(table), firstDay(month)));
+    }
+
+    // Detach the archived partition of a month from its table, giving up after lockTimeout like archiving;
+    // returns whether it was detached. Its rows leave every query of the table but stay in the archive
+    // schema as a plain table, to be dumped and dropped, and the month is never created again
+    @Transactional
+    public boolean detachMonthlyPartition(String table, YearMonth month, Duration lockTimeout) {
+        if (!findArchivedMonths(table).contains(month)) {
+            return false;
+        }
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT monthly_partition_name(?, ?)", String.class, table, firstDay(month));
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeout.toMillis());
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION archive." + partition);
+        return true;
+    }
+
+    private List<YearMonth> findMonths(String table, String schema) {
+        return jdbcTemplate
+                .queryForList(
+                        "SELECT c.relname FROM pg_inherits h JOIN pg_class c ON c.oid = h.inhrelid "
+                                + "JOIN pg_namespace n ON n.oid = c.relnamespace "
+                                + "WHERE h.inhparent = CAST(? AS regclass) AND n.nspname = ?",
+                        String.class,
+                        checkTable(table),
+                        schema)
+                .stream()
+                .map(PARTITION_MONTH::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    private static String checkTable(String table) {
+        if (!PARTITIONED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not a partitioned table: " + table);
+        }
+        return table;
+    }
+
+    private static Date firstDay(YearMonth month) {
+        return Date.valueOf(month.atDay(1));
+    }
+}
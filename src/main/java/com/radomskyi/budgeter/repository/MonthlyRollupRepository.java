@@ -0,0 +1,24 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollup;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollupId;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    // Find all rollup rows of an owner's ledger for a range of months (inclusive)
+    @Query("SELECT r FROM MonthlyRollup r WHERE r.id.ownerId = :ownerId AND r.id.ledger = :ledger "
+            + "AND r.id.month BETWEEN :fromMonth AND :toMonth ORDER BY r.id.month, r.id.category, r.id.tag")
+    List<MonthlyRollup> findByLedgerAndMonthRange(
+            @Param("ownerId") long ownerId,
+            @Param("ledger") LedgerType ledger,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth);
+}
@@ -0,0 +1,99 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollup;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollupId;
+import com.radomskyi.budgeter.domain.money.Money;
+import jakarta.persistence.EntityManager;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adds to the monthly_rollup rows in JDBC batches, bypassing the persistence context. A row is
+ * created or added to in one statement: on PostgreSQL an INSERT ... ON CONFLICT DO UPDATE, which
+ * either locks the existing row or inserts it, so concurrent writers creating the same row never fail
+ * on its key; other databases (H2 in tests) use a standard MERGE. Rows already loaded into the
+ * persistence context are detached, so later reads in the same transaction see the new totals.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupWriteRepository {
+
+    private static final String UPSERT_POSTGRES = "INSERT INTO monthly_rollup "
+            + "(owner_id, ledger, month_start, category, tag, total, entry_count) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (owner_id, ledger, month_start, category, tag) DO UPDATE SET "
+            + "total = monthly_rollup.total + EXCLUDED.total, "
+            + "entry_count = monthly_rollup.entry_count + EXCLUDED.entry_count";
+
+    private static final String UPSERT_STANDARD = "MERGE INTO monthly_rollup r USING (VALUES (CAST(? AS BIGINT), "
+            + "CAST(? AS VARCHAR(10)), CAST(? AS DATE), CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(30)), "
+            + "CAST(? AS NUMERIC(19, 2)), CAST(? AS BIGINT))) "
+            + "AS s (owner_id, ledger, month_start, category, tag, total, entry_count) "
+            + "ON r.owner_id = s.owner_id AND r.ledger = s.ledger AND r.month_start = s.month_start "
+            + "AND r.category = s.category AND r.tag = s.tag "
+            + "WHEN MATCHED THEN UPDATE SET total = r.total + s.total, entry_count = r.entry_count + s.entry_count "
+            + "WHEN NOT MATCHED THEN INSERT (owner_id, ledger, month_start, category, tag, total, entry_count) "
+            + "VALUES (s.owner_id, s.ledger, s.month_start, s.category, s.tag, s.total, s.entry_count)";
+
+    private static final String DELETE_EMPTY = "DELETE FROM monthly_rollup WHERE owner_id = ? AND ledger = ? "
+            + "AND month_start = ? AND category = ? AND tag = ? AND entry_count <= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    /** An amount and a number of entries to add to a rollup row; negative to subtract */
+    public record Change(MonthlyRollupId id, Money total, long count) {}
+
+    // Add the changes to their rows, in the order given, which is the order the rows are locked in; rows
+    // left without entries are deleted
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(isPostgres() ? UPSERT_POSTGRES : UPSERT_STANDARD, changes, changes.size(), (ps, c) -> {
+            setId(ps, c.id());
+            ps.setBigDecimal(6, c.total().toBigDecimal());
+            ps.setLong(7, c.count());
+        });
+
+        // Only rows that lost entries can be left empty
+        List<Change> shrunk = changes.stream().filter(c -> c.count() < 0).toList();
+        if (!shrunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY, shrunk, shrunk.size(), (ps, c) -> setId(ps, c.id()));
+        }
+
+        // getReference returns a row loaded earlier, or an uninitialized proxy without a query
+        changes.forEach(c -> entityManager.detach(entityManager.getReference(MonthlyRollup.class, c.id())));
+    }
+
+    private static void setId(PreparedStatement ps, MonthlyRollupId id) throws SQLException {
+        ps.setLong(1, id.getOwnerId());
+        ps.setString(2, id.getLedger().name());
+        ps.setDate(3, Date.valueOf(id.getMonth()));
+        ps.setString(4, id.getCategory());
+        ps.setString(5, id.getTag());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<String>)
+                    connection -> connection.getMetaData().getDatabaseProductName()));
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+            log.info("Monthly rollups are upserted with {} on {}", postgres ? "ON CONFLICT" : "MERGE", product);
+        }
+        return postgres;
+    }
+}
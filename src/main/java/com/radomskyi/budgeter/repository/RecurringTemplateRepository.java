@@ -0,0 +1,25 @@
+package com.radomskyi.budgeter.repository;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurringTemplate;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecurringTemplateRepository extends JpaRepository<RecurringTemplate, Long> {
+
+    // Find the IDs of templates with an occurrence due on or before a date, in a stable order for partitioning
+    @Query("SELECT t.id FROM RecurringTemplate t WHERE t.nextOccurrence <= :date ORDER BY t.id")
+    List<Long> findDueIds(@Param("date") LocalDate date);
+
+    // Find templates by ID and lock them for the rest of the transaction (concurrent generator runs)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RecurringTemplate t WHERE t.id IN :ids ORDER BY t.id")
+    List<RecurringTemplate> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
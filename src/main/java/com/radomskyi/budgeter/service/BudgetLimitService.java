@@ -0,0 +1,461 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.BudgetAlert;
+import com.radomskyi.budgeter.domain.entity.budgeting.BudgetLimit;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.BudgetThresholdCrossedEvent;
+import com.radomskyi.budgeter.domain.event.LedgerEntriesCreatedEvent;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.money.Money;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.domain.service.BudgetLimitServiceInterface;
+import com.radomskyi.budgeter.dto.BudgetAlertResponse;
+import com.radomskyi.budgeter.dto.BudgetLimitRequest;
+import com.radomskyi.budgeter.dto.BudgetLimitResponse;
+import com.radomskyi.budgeter.dto.BudgetStatusResponse;
+import com.radomskyi.budgeter.exception.BudgetLimitNotFoundException;
+import com.radomskyi.budgeter.jfr.CacheMissEvent;
+import com.radomskyi.budgeter.repository.BudgetAlertRepository;
+import com.radomskyi.budgeter.repository.BudgetLimitRepository;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Manages monthly budget limits and raises alerts when spending crosses their thresholds. Spending
+ * of the tracked months is loaded into a {@link BudgetTracker} per owner before the web server starts
+ * and kept current from the expense change events once the writing transaction has committed, so
+ * evaluating a write never queries the database. The tracked months move forward daily, so the
+ * trackers hold {@code budgeter.budget.tracked-months} months at most. Crossings are published as
+ * {@link BudgetThresholdCrossedEvent} and stored as {@link BudgetAlert} on the task executor, off the
+ * request thread.
+ *
+ * <p>The trackers live in the memory of each instance and the change events only reach the instance
+ * that made the write. With a single instance they are exact; with several, each one misses the
+ * writes and limit changes of the others until the spending and limits are reloaded on the
+ * {@code budgeter.budget.reconcile-cron} schedule. A threshold crossed by those writes is then raised
+ * by the reconciliation: late, and once by every instance, but never lost. Writes committed while the
+ * reload runs may be counted twice or not at all until the next one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BudgetLimitService implements BudgetLimitServiceInterface, SmartInitializingSingleton {
+
+    private static final List<Integer> DEFAULT_THRESHOLDS = List.of(80, 100);
+
+    private final BudgetLimitRepository budgetLimitRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${budgeter.budget.tracked-months:3}")
+    private int trackedMonths = 3;
+
+    private final Map<Long, BudgetTracker> trackers = new ConcurrentHashMap<>();
+
+    private volatile YearMonth trackedFrom;
+
+    /**
+     * Load the spending of the tracked months and the limits of every owner, before any request can
+     * modify them
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        trackedFrom = YearMonth.now().minusMonths(trackedMonths - 1L);
+        trackers.putAll(load(trackedFrom));
+
+        log.info(
+                "Loaded budget spending of {} owners since {} in {} ms",
+                trackers.size(),
+                trackedFrom,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Move the tracked months forward once a month has passed, dropping the spending of the oldest */
+    @Scheduled(cron = "${budgeter.budget.advance-cron:0 0 0 * * *}")
+    public void advanceTrackedMonths() {
+        YearMonth from = YearMonth.now().minusMonths(trackedMonths - 1L);
+        boolean moved = from.isAfter(trackedFrom);
+        trackedFrom = moved ? from : trackedFrom;
+        // Every tracker, also those created with the old window while it moved
+        trackers.values().forEach(tracker -> tracker.advanceTo(trackedFrom));
+        if (moved) {
+            log.info("Tracking budget spending of {} owners since {}", trackers.size(), from);
+        }
+    }
+
+    /**
+     * Reload the spending and limits of every owner, taking in the writes and limit changes made on
+     * other instances, and publish the thresholds they crossed
+     */
+    @Scheduled(cron = "${budgeter.budget.reconcile-cron:0 */5 * * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcile() {
+        long start = System.nanoTime();
+        Map<Long, BudgetTracker> loaded = load(trackedFrom);
+        Set<Long> ownerIds = new HashSet<>(trackers.keySet());
+        ownerIds.addAll(loaded.keySet());
+
+        int crossed = 0;
+        for (long ownerId : ownerIds) {
+            BudgetTracker current = tracker(ownerId);
+            BudgetTracker reloaded = loaded.getOrDefault(ownerId, new BudgetTracker(trackedFrom));
+            current.setLimits(reloaded.getLimits());
+            List<BudgetTracker.Crossing> crossings = current.reconcile(reloaded);
+            publishCrossings(ownerId, crossings);
+            crossed += crossings.size();
+        }
+
+        log.debug(
+                "Reconciled budget spending of {} owners, {} thresholds crossed, in {} ms",
+                ownerIds.size(),
+                crossed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Create a new budget limit */
+    @Override
+    @Transactional
+    public BudgetLimitResponse create(BudgetLimitRequest request) {
+        log.info(
+                "Creating new budget limit of {} for category: {} and tag: {}",
+                request.getMonthlyLimit(),
+                request.getCategory(),
+                request.getTag());
+        checkUnique(request, -1L);
+
+        BudgetLimit budgetLimit = BudgetLimit.builder()
+                .category(request.getCategory())
+                .tag(request.getTag())
+                .monthlyLimit(request.getMonthlyLimit())
+                .thresholds(thresholds(request))
+                .build();
+
+        BudgetLimit savedBudgetLimit = budgetLimitRepository.save(budgetLimit);
+        refreshLimitsAfterCommit();
+        log.info("Successfully created budget limit with id: {}", savedBudgetLimit.getId());
+
+        return mapToResponse(savedBudgetLimit);
+    }
+
+    /** Get budget limit by ID */
+    @Override
+    public BudgetLimitResponse getById(Long id) {
+        log.info("Fetching budget limit with id: {}", id);
+
+        return mapToResponse(findById(id));
+    }
+
+    /** Get all budget limits with pagination */
+    @Override
+    public Page<BudgetLimitResponse> getAll(Pageable pageable) {
+        log.info("Fetching all budget limits with pagination: {}", pageable);
+
+        return budgetLimitRepository.findAll(pageable).map(this::mapToResponse);
+    }
+
+    /** Update an existing budget limit */
+    @Override
+    @Transactional
+    public BudgetLimitResponse update(Long id, BudgetLimitRequest request) {
+        log.info("Updating budget limit with id: {}", id);
+
+        BudgetLimit existingBudgetLimit = findById(id);
+        checkUnique(request, id);
+
+        existingBudgetLimit.setCategory(request.getCategory());
+        existingBudgetLimit.setTag(request.getTag());
+        existingBudgetLimit.setMonthlyLimit(request.getMonthlyLimit());
+        existingBudgetLimit.setThresholds(thresholds(request));
+
+        BudgetLimit updatedBudgetLimit = budgetLimitRepository.save(existingBudgetLimit);
+        refreshLimitsAfterCommit();
+        log.info("Successfully updated budget limit with id: {}", updatedBudgetLimit.getId());
+
+        return mapToResponse(updatedBudgetLimit);
+    }
+
+    /** Delete a budget limit by ID */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        log.info("Deleting budget limit with id: {}", id);
+
+        budgetLimitRepository.delete(findById(id));
+        refreshLimitsAfterCommit();
+        log.info("Successfully deleted budget limit with id: {}", id);
+    }
+
+    /** Get the spending of a month against every budget limit of the current owner */
+    @Override
+    public List<BudgetStatusResponse> getStatus(YearMonth month) {
+        long ownerId = OwnerContext.currentOwnerId();
+        BudgetTracker current = trackers.get(ownerId);
+        if (current == null) {
+            current = new BudgetTracker(trackedFrom);
+            CacheMissEvent miss = new CacheMissEvent();
+            if (miss.shouldCommit()) {
+                miss.setCache("budget-tracker");
+                miss.setOwnerId(ownerId);
+                miss.setKey(month.toString());
+                miss.commit();
+            }
+        }
+        if (month.isBefore(current.getTrackedFrom())) {
+            throw new IllegalArgumentException(
+                    "Month " + month + " is before the first tracked month " + current.getTrackedFrom());
+        }
+
+        BudgetTracker tracker = current;
+        return tracker.getLimits().stream()
+                .sorted(Comparator.comparingLong(BudgetTracker.Limit::id))
+                .map(limit -> mapToStatus(limit, month, tracker.getSpent(month, limit)))
+                .toList();
+    }
+
+    /** Get the thresholds crossed in a month */
+    @Override
+    public List<BudgetAlertResponse> getAlerts(YearMonth month) {
+        return budgetAlertRepository.findByMonthOrderByCreatedAtAsc(month.atDay(1)).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    /** Apply a committed expense write to the running totals and publish the crossed thresholds */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onLedgerEntryChanged(LedgerEntryChangedEvent event) {
+        if (event.ledger() != LedgerType.EXPENSE) {
+            return;
+        }
+
+        // An entry never changes owner, so both states belong to the same tracker
+        long ownerId = event.current() != null
+                ? event.current().ownerId()
+                : event.previous().ownerId();
+        publishCrossings(ownerId, tracker(ownerId).apply(event.previous(), event.current()));
+    }
+
+    /** Apply a committed batch of inserted expenses to the running totals */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onLedgerEntriesCreated(LedgerEntriesCreatedEvent event) {
+        if (event.ledger() != LedgerType.EXPENSE) {
+            return;
+        }
+
+        for (LedgerEntry entry : event.entries()) {
+            publishCrossings(entry.ownerId(), tracker(entry.ownerId()).apply(null, entry));
+        }
+    }
+
+    /** Store a crossed threshold as an alert, on the task executor so the write that crossed it does not wait */
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        log.warn(
+                "Budget limit {} ({}) crossed {}% in {}: spent {} of {}",
+                event.budgetLimitId(),
+                event.category() != null ? event.category() : event.tag(),
+                event.thresholdPercent(),
+                event.month(),
+                event.spent(),
+                event.monthlyLimit());
+
+        // The executor thread has no owner of its own
+        OwnerContext.runAs(event.ownerId(), () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> budgetAlertRepository.save(BudgetAlert.builder()
+                        .ownerId(event.ownerId())
+                        .budgetLimitId(event.budgetLimitId())
+                        .category(event.category())
+                        .tag(event.tag())
+                        .month(event.month().atDay(1))
+                        .thresholdPercent(event.thresholdPercent())
+                        .monthlyLimit(event.monthlyLimit())
+                        .spent(event.spent())
+                        .build())));
+    }
+
+    private void publishCrossings(long ownerId, List<BudgetTracker.Crossing> crossings) {
+        for (BudgetTracker.Crossing crossing : crossings) {
+            BudgetTracker.Limit limit = crossing.limit();
+            eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(
+                    ownerId,
+                    limit.id(),
+                    limit.category(),
+                    limit.tag(),
+                    crossing.month(),
+                    crossing.thresholdPercent(),
+                    toAmount(limit.minorUnits()),
+                    toAmount(crossing.spent())));
+        }
+    }
+
+    private BudgetLimit findById(Long id) {
+        return budgetLimitRepository
+                .findById(id)
+                .orElseThrow(() -> new BudgetLimitNotFoundException("Budget limit not found with id: " + id));
+    }
+
+    private void checkUnique(BudgetLimitRequest request, Long id) {
+        if (request.getCategory() != null
+                && budgetLimitRepository.existsByCategoryAndIdNot(request.getCategory(), id)) {
+            throw new IllegalArgumentException("A budget limit already exists for category " + request.getCategory());
+        }
+        if (request.getTag() != null && budgetLimitRepository.existsByTagAndIdNot(request.getTag(), id)) {
+            throw new IllegalArgumentException("A budget limit already exists for tag " + request.getTag());
+        }
+    }
+
+    private static List<Integer> thresholds(BudgetLimitRequest request) {
+        List<Integer> thresholds =
+                request.getThresholds() == null || request.getThresholds().isEmpty()
+                        ? DEFAULT_THRESHOLDS
+                        : request.getThresholds();
+        return new ArrayList<>(thresholds.stream().distinct().sorted().toList());
+    }
+
+    // The tracker must not see a limit that is rolled back, so it is reloaded once the write commits
+    private void refreshLimitsAfterCommit() {
+        long ownerId = OwnerContext.currentOwnerId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshLimits(ownerId);
+                }
+            });
+        } else {
+            refreshLimits(ownerId);
+        }
+    }
+
+    private void refreshLimits(long ownerId) {
+        tracker(ownerId).setLimits(toLimits(budgetLimitRepository.findByOwnerId(ownerId)));
+    }
+
+    // The spending since a month and the limits of every owner, in new trackers
+    private Map<Long, BudgetTracker> load(YearMonth from) {
+        Map<Long, BudgetTracker> loaded = new HashMap<>();
+        var since = from.atDay(1).atStartOfDay();
+
+        OwnerContext.runAsSystem(() -> {
+            for (Object[] row : expenseRepository.sumByMonthAndCategorySince(since)) {
+                loaded.computeIfAbsent((Long) row[0], key -> new BudgetTracker(from))
+                        .add(month(row), (ExpenseCategory) row[3], null, minorUnits(row[4]));
+            }
+            for (Object[] row : expenseRepository.sumByMonthAndTagSince(since)) {
+                loaded.computeIfAbsent((Long) row[0], key -> new BudgetTracker(from))
+                        .add(month(row), null, (Tag) row[3], minorUnits(row[4]));
+            }
+
+            Map<Long, List<BudgetLimit>> limitsByOwner =
+                    budgetLimitRepository.findAll().stream().collect(Collectors.groupingBy(BudgetLimit::getOwnerId));
+            limitsByOwner.forEach((ownerId, limits) -> loaded.computeIfAbsent(ownerId, key -> new BudgetTracker(from))
+                    .setLimits(toLimits(limits)));
+        });
+        return loaded;
+    }
+
+    private BudgetTracker tracker(long ownerId) {
+        return trackers.computeIfAbsent(ownerId, key -> new BudgetTracker(trackedFrom));
+    }
+
+    private static List<BudgetTracker.Limit> toLimits(List<BudgetLimit> budgetLimits) {
+        return budgetLimits.stream()
+                .map(budgetLimit -> BudgetTracker.Limit.of(
+                        budgetLimit.getId(),
+                        budgetLimit.getCategory(),
+                        budgetLimit.getTag(),
+                        Money.of(budgetLimit.getMonthlyLimit(), Money.LEDGER_CURRENCY)
+                                .toMinorUnits(),
+                        budgetLimit.getThresholds()))
+                .toList();
+    }
+
+    private static YearMonth month(Object[] row) {
+        return YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+    }
+
+    private static long minorUnits(Object sum) {
+        return Money.of((BigDecimal) sum, Money.LEDGER_CURRENCY).toMinorUnits();
+    }
+
+    private static BigDecimal toAmount(long minorUnits) {
+        return Money.ofMinor(minorUnits, Money.LEDGER_CURRENCY).toBigDecimal();
+    }
+
+    private BudgetLimitResponse mapToResponse(BudgetLimit budgetLimit) {
+        return BudgetLimitResponse.builder()
+                .id(budgetLimit.getId())
+                .category(budgetLimit.getCategory())
+                .tag(budgetLimit.getTag())
+                .monthlyLimit(budgetLimit.getMonthlyLimit())
+                .thresholds(List.copyOf(budgetLimit.getThresholds()))
+                .build();
+    }
+
+    private BudgetStatusResponse mapToStatus(BudgetTracker.Limit limit, YearMonth month, long spent) {
+        return BudgetStatusResponse.builder()
+                .budgetLimitId(limit.id())
+                .category(limit.category())
+                .tag(limit.tag())
+                .month(month)
+                .monthlyLimit(toAmount(limit.minorUnits()))
+                .spent(toAmount(spent))
+                .percentUsed(BigDecimal.valueOf(spent * 100)
+                        .divide(BigDecimal.valueOf(limit.minorUnits()), 1, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    private BudgetAlertResponse mapToResponse(BudgetAlert budgetAlert) {
+        return BudgetAlertResponse.builder()
+                .id(budgetAlert.getId())
+                .budgetLimitId(budgetAlert.getBudgetLimitId())
+                .category(budgetAlert.getCategory())
+                .tag(budgetAlert.getTag())
+                .month(YearMonth.from(budgetAlert.getMonth()))
+                .thresholdPercent(budgetAlert.getThresholdPercent())
+                .monthlyLimit(budgetAlert.getMonthlyLimit())
+                .spent(budgetAlert.getSpent())
+                .createdAt(budgetAlert.getCreatedAt())
+                .build();
+    }
+}
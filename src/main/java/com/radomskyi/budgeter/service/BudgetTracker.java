@@ -0,0 +1,223 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.money.Money;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Running monthly expense totals per category and per tag, in minor units, with the budget limits
+ * that apply to them. Every expense write is applied as a delta and checked against the thresholds
+ * of the limits it touches, which costs a few array updates instead of a SUM query per write.
+ *
+ * <p>Months before {@code trackedFrom} are not tracked; writes to them are ignored. The window moves
+ * forward with {@link #advanceTo}, which drops the months that left it, and {@link #reconcile} replaces
+ * the totals with those loaded from the database. Not a Spring bean; owned by {@link BudgetLimitService}.
+ */
+public final class BudgetTracker {
+
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final int SLOTS = CATEGORIES.length + Tag.values().length;
+
+    private volatile YearMonth trackedFrom;
+    private final Map<YearMonth, long[]> spent = new HashMap<>();
+    private volatile Limit[] limits = new Limit[SLOTS];
+
+    public BudgetTracker(YearMonth trackedFrom) {
+        this.trackedFrom = trackedFrom;
+    }
+
+    public YearMonth getTrackedFrom() {
+        return trackedFrom;
+    }
+
+    /** Stop tracking the months before a month and drop their totals */
+    public synchronized void advanceTo(YearMonth from) {
+        if (from.isAfter(trackedFrom)) {
+            trackedFrom = from;
+            spent.keySet().removeIf(month -> month.isBefore(from));
+        }
+    }
+
+    /** Add spending without evaluating limits, for loading the totals at startup */
+    public synchronized void add(YearMonth month, ExpenseCategory category, Tag tag, long minorUnits) {
+        if (!month.isBefore(trackedFrom)) {
+            totals(month)[category != null ? slot(category) : slot(tag)] += minorUnits;
+        }
+    }
+
+    /** Replace the limits; at most one per category and one per tag */
+    public void setLimits(List<Limit> newLimits) {
+        Limit[] bySlot = new Limit[SLOTS];
+        for (Limit limit : newLimits) {
+            bySlot[limit.category() != null ? slot(limit.category()) : slot(limit.tag())] = limit;
+        }
+        limits = bySlot;
+    }
+
+    public List<Limit> getLimits() {
+        return Arrays.stream(limits).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Apply a write and return the thresholds it crossed upwards. Crossings can only happen in the
+     * month of the current state, since that is the only place spending grows.
+     *
+     * @param previous state before the write, null on create
+     * @param current state after the write, null on delete
+     */
+    public List<Crossing> apply(LedgerEntry previous, LedgerEntry current) {
+        long previousAmount = previous != null ? minorUnits(previous) : 0;
+        long currentAmount = current != null ? minorUnits(current) : 0;
+        YearMonth previousMonth = previous != null ? YearMonth.from(previous.createdAt()) : null;
+        YearMonth currentMonth = current != null ? YearMonth.from(current.createdAt()) : null;
+        Limit[] snapshot = limits;
+        List<Crossing> crossings = List.of();
+
+        synchronized (this) {
+            if (previous != null && !previousMonth.isBefore(trackedFrom)) {
+                add(totals(previousMonth), previous, -previousAmount);
+            }
+            if (current == null || currentMonth.isBefore(trackedFrom)) {
+                return crossings;
+            }
+
+            long[] totals = totals(currentMonth);
+            add(totals, current, currentAmount);
+
+            boolean sameMonth = currentMonth.equals(previousMonth);
+            int categorySlot = slot((ExpenseCategory) current.category());
+            crossings = check(
+                    crossings,
+                    snapshot[categorySlot],
+                    currentMonth,
+                    totals[categorySlot],
+                    currentAmount - (sameMonth && previous.category() == current.category() ? previousAmount : 0));
+            for (Tag tag : current.tags()) {
+                int tagSlot = slot(tag);
+                crossings = check(
+                        crossings,
+                        snapshot[tagSlot],
+                        currentMonth,
+                        totals[tagSlot],
+                        currentAmount - (sameMonth && previous.tags().contains(tag) ? previousAmount : 0));
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * Replace the totals with those of a tracker loaded from the database, which include writes this
+     * tracker never saw, and return the thresholds the replacement crossed upwards.
+     */
+    public List<Crossing> reconcile(BudgetTracker loaded) {
+        Map<YearMonth, long[]> replacement = new HashMap<>();
+        synchronized (loaded) {
+            loaded.spent.forEach((month, totals) -> replacement.put(month, totals.clone()));
+        }
+        Limit[] snapshot = limits;
+        List<Crossing> crossings = List.of();
+
+        synchronized (this) {
+            replacement.keySet().removeIf(month -> month.isBefore(trackedFrom));
+            for (Map.Entry<YearMonth, long[]> month : replacement.entrySet()) {
+                long[] before = spent.get(month.getKey());
+                long[] after = month.getValue();
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    long delta = after[slot] - (before != null ? before[slot] : 0);
+                    crossings = check(crossings, snapshot[slot], month.getKey(), after[slot], delta);
+                }
+            }
+            spent.clear();
+            spent.putAll(replacement);
+        }
+        return crossings;
+    }
+
+    /** Spending of a month for the category or tag of a limit, in minor units */
+    public synchronized long getSpent(YearMonth month, Limit limit) {
+        long[] totals = spent.get(month);
+        if (totals == null) {
+            return 0;
+        }
+        return totals[limit.category() != null ? slot(limit.category()) : slot(limit.tag())];
+    }
+
+    private static List<Crossing> check(
+            List<Crossing> crossings, Limit limit, YearMonth month, long after, long delta) {
+        if (limit == null || delta <= 0) {
+            return crossings;
+        }
+        long before = after - delta;
+        long[] thresholdAmounts = limit.thresholdAmounts();
+        for (int i = 0; i < thresholdAmounts.length; i++) {
+            if (before < thresholdAmounts[i] && after >= thresholdAmounts[i]) {
+                if (crossings.isEmpty()) {
+                    crossings = new ArrayList<>();
+                }
+                crossings.add(new Crossing(limit, month, limit.thresholds()[i], after));
+            }
+        }
+        return crossings;
+    }
+
+    private void add(long[] totals, LedgerEntry entry, long amount) {
+        totals[slot((ExpenseCategory) entry.category())] += amount;
+        for (Tag tag : entry.tags()) {
+            totals[slot(tag)] += amount;
+        }
+    }
+
+    private long[] totals(YearMonth month) {
+        return spent.computeIfAbsent(month, key -> new long[SLOTS]);
+    }
+
+    private static long minorUnits(LedgerEntry entry) {
+        return Money.of(entry.amount(), Money.LEDGER_CURRENCY).toMinorUnits();
+    }
+
+    private static int slot(ExpenseCategory category) {
+        return category.ordinal();
+    }
+
+    private static int slot(Tag tag) {
+        return CATEGORIES.length + tag.ordinal();
+    }
+
+    /**
+     * A budget limit as evaluated by the tracker.
+     *
+     * @param thresholds alert thresholds in percent, ascending
+     * @param thresholdAmounts the spending in minor units at which each threshold is reached
+     */
+    public record Limit(
+            long id, ExpenseCategory category, Tag tag, long minorUnits, int[] thresholds, long[] thresholdAmounts) {
+
+        public static Limit of(long id, ExpenseCategory category, Tag tag, long minorUnits, List<Integer> thresholds) {
+            int[] sorted = thresholds.stream()
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .sorted()
+                    .toArray();
+            long[] amounts = Arrays.stream(sorted)
+                    // round up, so 80% of 10.01 is reached at 8.01 and not at 8.00
+                    .mapToLong(percent -> Math.ceilDiv(Math.multiplyExact(minorUnits, percent), 100L))
+                    .toArray();
+            return new Limit(id, category, tag, minorUnits, sorted, amounts);
+        }
+    }
+
+    /**
+     * A threshold crossed by a write.
+     *
+     * @param spent spending of the month after the write, in minor units
+     */
+    public record Crossing(Limit limit, YearMonth month, int thresholdPercent, long spent) {}
+}
@@ -1,13 +1,31 @@
 package com.radomskyi.budgeter.service;
 
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
 import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
 import com.radomskyi.budgeter.domain.service.ExpenseServiceInterface;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.ExpenseRequest;
 import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
 import com.radomskyi.budgeter.exception.ExpenseNotFoundException;
 import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.LedgerTimeSeriesRepository;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,6 +38,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class ExpenseService implements ExpenseServiceInterface {
 
     private final ExpenseRepository expenseRepository;
+    private final LedgerTimeSeriesRepository ledgerTimeSeriesRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final LedgerCubeService ledgerCubeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** Create a new expense */
     @Override
@@ -36,6 +58,7 @@ public class ExpenseService implements ExpenseServiceInterface {
                 .build();
 
         Expense savedExpense = expenseRepository.save(expense);
+        eventPublisher.publishEvent(LedgerEntryChangedEvent.created(LedgerType.EXPENSE, LedgerEntry.of(savedExpense)));
         log.info("Successfully created expense with id: {}", savedExpense.getId());
 
         return mapToResponse(savedExpense);
@@ -71,6 +94,7 @@ public class ExpenseService implements ExpenseServiceInterface {
         Expense existingExpense = expenseRepository
                 .findById(id)
                 .orElseThrow(() -> new ExpenseNotFoundException("Expense not found with id: " + id));
+        LedgerEntry previous = LedgerEntry.of(existingExpense);
 
         existingExpense.setAmount(request.getAmount());
         existingExpense.setName(request.getName());
@@ -79,6 +103,8 @@ public class ExpenseService implements ExpenseServiceInterface {
         existingExpense.setTags(request.getTags());
 
         Expense updatedExpense = expenseRepository.save(existingExpense);
+        eventPublisher.publishEvent(
+                LedgerEntryChangedEvent.updated(LedgerType.EXPENSE, previous, LedgerEntry.of(updatedExpense)));
         log.info("Successfully updated expense with id: {}", updatedExpense.getId());
 
         return mapToResponse(updatedExpense);
@@ -90,14 +116,43 @@ public class ExpenseService implements ExpenseServiceInterface {
     public void delete(Long id) {
         log.info("Deleting expense with id: {}", id);
 
-        if (!expenseRepository.existsById(id)) {
-            throw new ExpenseNotFoundException("Expense not found with id: " + id);
-        }
+        Expense expense = expenseRepository
+                .findById(id)
+                .orElseThrow(() -> new ExpenseNotFoundException("Expense not found with id: " + id));
 
-        expenseRepository.deleteById(id);
+        LedgerEntry previous = LedgerEntry.of(expense);
+
+        expenseRepository.delete(expense);
+        eventPublisher.publishEvent(LedgerEntryChangedEvent.deleted(LedgerType.EXPENSE, previous));
         log.info("Successfully deleted expense with id: {}", id);
     }
 
+    /** Get monthly expense totals per category and tag for a range of months */
+    @Override
+    public List<MonthlyRollupResponse> getMonthlySummary(YearMonth from, YearMonth to) {
+        return monthlyRollupService.getSummary(LedgerType.EXPENSE, from, to);
+    }
+
+    /** Get expense totals per time bucket, optionally split by category or tag */
+    @Override
+    public List<TimeSeriesPointResponse> getTimeSeries(
+            TimeBucket bucket, TimeSeriesGrouping grouping, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date " + from + " is after end date " + to);
+        }
+
+        log.info("Fetching expense time series by {} grouped by {} from {} to {}", bucket, grouping, from, to);
+        return ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.currentOwnerId(), LedgerType.EXPENSE, bucket, grouping, from, to);
+    }
+
+    /** Roll up or drill down expenses from the in-memory cube */
+    @Override
+    public List<CubeCellResponse> getCube(
+            YearMonth from, YearMonth to, ExpenseCategory category, Tag tag, CubeDimension drillDown) {
+        return ledgerCubeService.query(LedgerType.EXPENSE, from, to, category, tag, drillDown);
+    }
+
     /** Map Expense entity to ExpenseResponse DTO */
     private ExpenseResponse mapToResponse(Expense expense) {
         return ExpenseResponse.builder()
@@ -106,7 +161,7 @@ public class ExpenseService implements ExpenseServiceInterface {
                 .amount(expense.getAmount())
                 .category(expense.getCategory())
                 .description(expense.getDescription())
-                .tags(expense.getTags())
+                .tags(expense.getTags() == null ? null : new ArrayList<>(expense.getTags()))
                 .createdAt(expense.getCreatedAt())
                 .updatedAt(expense.getUpdatedAt())
                 .build();
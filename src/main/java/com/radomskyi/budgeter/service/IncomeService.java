@@ -1,13 +1,31 @@
 package com.radomskyi.budgeter.service;
 
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
 import com.radomskyi.budgeter.domain.entity.budgeting.Income;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
 import com.radomskyi.budgeter.domain.service.IncomeServiceInterface;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.IncomeRequest;
 import com.radomskyi.budgeter.dto.IncomeResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
 import com.radomskyi.budgeter.exception.IncomeNotFoundException;
 import com.radomskyi.budgeter.repository.IncomeRepository;
+import com.radomskyi.budgeter.repository.LedgerTimeSeriesRepository;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,6 +38,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class IncomeService implements IncomeServiceInterface {
 
     private final IncomeRepository incomeRepository;
+    private final LedgerTimeSeriesRepository ledgerTimeSeriesRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final LedgerCubeService ledgerCubeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** Create a new income */
     @Override
@@ -36,6 +58,7 @@ public class IncomeService implements IncomeServiceInterface {
                 .build();
 
         Income savedIncome = incomeRepository.save(income);
+        eventPublisher.publishEvent(LedgerEntryChangedEvent.created(LedgerType.INCOME, LedgerEntry.of(savedIncome)));
         log.info("Successfully created income with id: {}", savedIncome.getId());
 
         return mapToResponse(savedIncome);
@@ -71,6 +94,7 @@ public class IncomeService implements IncomeServiceInterface {
         Income existingIncome = incomeRepository
                 .findById(id)
                 .orElseThrow(() -> new IncomeNotFoundException("Income not found with id: " + id));
+        LedgerEntry previous = LedgerEntry.of(existingIncome);
 
         existingIncome.setAmount(request.getAmount());
         existingIncome.setName(request.getName());
@@ -79,6 +103,8 @@ public class IncomeService implements IncomeServiceInterface {
         existingIncome.setTags(request.getTags());
 
         Income updatedIncome = incomeRepository.save(existingIncome);
+        eventPublisher.publishEvent(
+                LedgerEntryChangedEvent.updated(LedgerType.INCOME, previous, LedgerEntry.of(updatedIncome)));
         log.info("Successfully updated income with id: {}", updatedIncome.getId());
 
         return mapToResponse(updatedIncome);
@@ -90,14 +116,43 @@ public class IncomeService implements IncomeServiceInterface {
     public void delete(Long id) {
         log.info("Deleting income with id: {}", id);
 
-        if (!incomeRepository.existsById(id)) {
-            throw new IncomeNotFoundException("Income not found with id: " + id);
-        }
+        Income income = incomeRepository
+                .findById(id)
+                .orElseThrow(() -> new IncomeNotFoundException("Income not found with id: " + id));
 
-        incomeRepository.deleteById(id);
+        LedgerEntry previous = LedgerEntry.of(income);
+
+        incomeRepository.delete(income);
+        eventPublisher.publishEvent(LedgerEntryChangedEvent.deleted(LedgerType.INCOME, previous));
         log.info("Successfully deleted income with id: {}", id);
     }
 
+    /** Get monthly income totals per category and tag for a range of months */
+    @Override
+    public List<MonthlyRollupResponse> getMonthlySummary(YearMonth from, YearMonth to) {
+        return monthlyRollupService.getSummary(LedgerType.INCOME, from, to);
+    }
+
+    /** Get income totals per time bucket, optionally split by category or tag */
+    @Override
+    public List<TimeSeriesPointResponse> getTimeSeries(
+            TimeBucket bucket, TimeSeriesGrouping grouping, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date " + from + " is after end date " + to);
+        }
+
+        log.info("Fetching income time series by {} grouped by {} from {} to {}", bucket, grouping, from, to);
+        return ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.currentOwnerId(), LedgerType.INCOME, bucket, grouping, from, to);
+    }
+
+    /** Roll up or drill down incomes from the in-memory cube */
+    @Override
+    public List<CubeCellResponse> getCube(
+            YearMonth from, YearMonth to, IncomeCategory category, Tag tag, CubeDimension drillDown) {
+        return ledgerCubeService.query(LedgerType.INCOME, from, to, category, tag, drillDown);
+    }
+
     /** Map Income entity to IncomeResponse DTO */
     private IncomeResponse mapToResponse(Income income) {
         return IncomeResponse.builder()
@@ -106,7 +161,7 @@ public class IncomeService implements IncomeServiceInterface {
                 .amount(income.getAmount())
                 .category(income.getCategory())
                 .description(income.getDescription())
-                .tags(income.getTags())
+                .tags(income.getTags() == null ? null : new ArrayList<>(income.getTags()))
                 .createdAt(income.getCreatedAt())
                 .updatedAt(income.getUpdatedAt())
                 .build();
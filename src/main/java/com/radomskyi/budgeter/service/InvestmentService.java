@@ -4,9 +4,13 @@ import com.radomskyi.budgeter.domain.entity.investment.*;
 import com.radomskyi.budgeter.domain.service.InvestmentServiceInterface;
 import com.radomskyi.budgeter.dto.InvestmentTransactionRequest;
 import com.radomskyi.budgeter.exception.InvestmentTransactionNotFoundException;
+import com.radomskyi.budgeter.jfr.InvestmentRecalculatedEvent;
 import com.radomskyi.budgeter.repository.AssetRepository;
 import com.radomskyi.budgeter.repository.InvestmentRepository;
 import com.radomskyi.budgeter.repository.InvestmentTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,9 +24,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class InvestmentService implements InvestmentServiceInterface {
 
+    /** Assets created for transactions of an unknown asset, tagged with the transaction's brokerage */
+    public static final String ASSETS_CREATED_COUNTER = "budgeter.assets.created";
+
+    /** Stages of creating a transaction (find-or-create-asset, add-transaction), as timers and spans */
+    public static final String STAGE_OBSERVATION = "budgeter.investment.stage";
+
     private final InvestmentTransactionRepository investmentTransactionRepository;
     private final InvestmentRepository investmentRepository;
     private final AssetRepository assetRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
 
     /** Create a new investment transaction */
     @Override
@@ -34,7 +46,7 @@ public class InvestmentService implements InvestmentServiceInterface {
                 request.getUnits().multiply(request.getPricePerUnit()));
 
         // Find or create asset
-        Asset asset = findOrCreateAsset(request);
+        Asset asset = stage("find-or-create-asset").observe(() -> findOrCreateAsset(request));
 
         // Find or create investment for this asset
         Investment investment = investmentRepository.findByAsset(asset).orElseGet(() -> {
@@ -56,7 +68,17 @@ public class InvestmentService implements InvestmentServiceInterface {
                 .build();
 
         // Add transaction to investment (this updates all metrics)
-        investment.addTransaction(transaction);
+        InvestmentRecalculatedEvent recalculated = new InvestmentRecalculatedEvent();
+        recalculated.begin();
+        stage("add-transaction").observe(() -> investment.addTransaction(transaction));
+        recalculated.end();
+        if (recalculated.shouldCommit()) {
+            recalculated.setInvestmentId(investment.getId() != null ? investment.getId() : 0);
+            recalculated.setTicker(asset.getTicker());
+            recalculated.setTransactionType(transaction.getTransactionType().name());
+            recalculated.setTransactions(investment.getTransactions().size());
+            recalculated.commit();
+        }
 
         // Save the investment (which cascades to save the transaction)
         Investment savedInvestment = investmentRepository.save(investment);
@@ -156,6 +178,12 @@ public class InvestmentService implements InvestmentServiceInterface {
         log.info("Successfully deleted investment transaction with id: {}", id);
     }
 
+    private Observation stage(String stage) {
+        return Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+                .contextualName("investment " + stage)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+
     /** Find existing asset or create a new one */
     private Asset findOrCreateAsset(InvestmentTransactionRequest request) {
         Asset asset = null;
@@ -184,6 +212,12 @@ public class InvestmentService implements InvestmentServiceInterface {
 
             asset = assetRepository.save(asset);
             log.info("Created new asset: {} ({})", asset.getName(), asset.getTicker());
+            meterRegistry
+                    .counter(
+                            ASSETS_CREATED_COUNTER,
+                            "brokerage",
+                            request.getBrokerage() != null ? request.getBrokerage() : "none")
+                    .increment();
         }
 
         return asset;
@@ -0,0 +1,209 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntriesCreatedEvent;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.money.Money;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
+import com.radomskyi.budgeter.jfr.AggregateQueryEvent;
+import com.radomskyi.budgeter.jfr.CacheMissEvent;
+import com.radomskyi.budgeter.repository.LedgerEntryStreamRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serves roll-up and drill-down queries over expenses and incomes from an in-memory {@link LedgerCube}
+ * per owner and ledger. The cubes are built with one streaming pass over each table before the web
+ * server starts, and kept current from the ledger change events once the writing transaction has
+ * committed. Their total size is published as the {@code budgeter.cube.memory} gauge on the actuator
+ * metrics endpoint.
+ *
+ * <p>Assumes a single instance: the change events only reach the instance that made the write, so with
+ * several instances each cube misses the writes of the others. Set {@code budgeter.cube.rebuild-cron}
+ * to rebuild the cubes from the database on a schedule, which bounds how stale they get; a write
+ * committed while a rebuild streams may be counted twice or not at all until the next one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerCubeService implements SmartInitializingSingleton, MeterBinder {
+
+    private final LedgerEntryStreamRepository ledgerEntryStreamRepository;
+
+    private final Map<Long, Map<LedgerType, LedgerCube>> cubes = new HashMap<>();
+
+    /** Build the cubes from the database, before any request can modify the ledgers */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /** Rebuild the cubes of every owner from the database, replacing those kept current from events */
+    @Scheduled(cron = "${budgeter.cube.rebuild-cron:-}")
+    public void rebuild() {
+        for (LedgerType ledger : LedgerType.values()) {
+            long start = System.nanoTime();
+            AtomicLong entries = new AtomicLong();
+            Map<Long, LedgerCube> loaded = new HashMap<>();
+
+            ledgerEntryStreamRepository.forEachEntry(ledger, entry -> {
+                loaded.computeIfAbsent(entry.ownerId(), ownerId -> new LedgerCube(categoryType(ledger)))
+                        .apply(entry, 1);
+                entries.incrementAndGet();
+            });
+
+            synchronized (cubes) {
+                // Owners whose entries were all deleted since have no cube any more
+                cubes.values().forEach(ledgers -> ledgers.remove(ledger));
+                loaded.forEach((ownerId, cube) -> ledgers(ownerId).put(ledger, cube));
+            }
+            log.info(
+                    "Loaded {} {} entries of {} owners into the ledger cubes in {} ms ({} bytes)",
+                    entries.get(),
+                    ledger,
+                    loaded.size(),
+                    (System.nanoTime() - start) / 1_000_000,
+                    loaded.values().stream().mapToLong(LedgerCube::memoryBytes).sum());
+        }
+    }
+
+    /** Apply a committed ledger write to the cube */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerEntryChanged(LedgerEntryChangedEvent event) {
+        if (event.previous() != null) {
+            cube(event.previous().ownerId(), event.ledger()).apply(event.previous(), -1);
+        }
+        if (event.current() != null) {
+            cube(event.current().ownerId(), event.ledger()).apply(event.current(), 1);
+        }
+    }
+
+    /** Apply a committed batch of inserted entries to the cube */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerEntriesCreated(LedgerEntriesCreatedEvent event) {
+        event.entries().forEach(entry -> cube(entry.ownerId(), event.ledger()).apply(entry, 1));
+    }
+
+    /**
+     * Sum the entries of a ledger of the current owner for a range of months (inclusive), optionally
+     * filtered by category and tag, broken down by one dimension.
+     */
+    public List<CubeCellResponse> query(
+            LedgerType ledger, YearMonth from, YearMonth to, Enum<?> category, Tag tag, CubeDimension drillDown) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start month " + from + " is after end month " + to);
+        }
+
+        long ownerId = OwnerContext.currentOwnerId();
+        LedgerCube cube;
+        synchronized (cubes) {
+            cube = cubes.getOrDefault(ownerId, Map.of()).get(ledger);
+        }
+        if (cube == null) {
+            // Owners without entries in a ledger have no cube until their first write
+            CacheMissEvent miss = new CacheMissEvent();
+            if (miss.shouldCommit()) {
+                miss.setCache("ledger-cube");
+                miss.setOwnerId(ownerId);
+                miss.setKey(ledger.name());
+                miss.commit();
+            }
+            return List.of();
+        }
+
+        AggregateQueryEvent event = new AggregateQueryEvent();
+        event.begin();
+        List<CubeCellResponse> cells =
+                cube.query(from, to, category == null ? -1 : category.ordinal(), tag, drillDown).stream()
+                        .map(this::mapToResponse)
+                        .toList();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setQuery("cube");
+            event.setLedger(ledger.name());
+            event.setOwnerId(ownerId);
+            event.setGrouping(drillDown == null ? null : drillDown.name());
+            event.setFrom(from.toString());
+            event.setTo(to.toString());
+            event.setRows(cells.size());
+            event.commit();
+        }
+        return cells;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (LedgerType ledger : LedgerType.values()) {
+            Gauge.builder("budgeter.cube.memory", this, service -> service.sum(ledger, LedgerCube::memoryBytes))
+                    .description("Heap held by the in-memory ledger cubes of all owners")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("ledger", ledger.name())
+                    .register(registry);
+            Gauge.builder("budgeter.cube.months", this, service -> service.sum(ledger, LedgerCube::monthCapacity))
+                    .description("Months covered by the in-memory ledger cubes, summed over all owners")
+                    .tag("ledger", ledger.name())
+                    .register(registry);
+        }
+    }
+
+    private LedgerCube cube(long ownerId, LedgerType ledger) {
+        synchronized (cubes) {
+            return ledgers(ownerId).computeIfAbsent(ledger, key -> new LedgerCube(categoryType(key)));
+        }
+    }
+
+    // Callers hold the lock on cubes
+    private Map<LedgerType, LedgerCube> ledgers(long ownerId) {
+        return cubes.computeIfAbsent(ownerId, key -> new EnumMap<>(LedgerType.class));
+    }
+
+    private long sum(LedgerType ledger, ToLongFunction<LedgerCube> metric) {
+        synchronized (cubes) {
+            return cubes.values().stream()
+                    .map(ledgers -> ledgers.get(ledger))
+                    .filter(Objects::nonNull)
+                    .mapToLong(metric)
+                    .sum();
+        }
+    }
+
+    private static Class<? extends Enum<?>> categoryType(LedgerType ledger) {
+        return switch (ledger) {
+            case EXPENSE -> ExpenseCategory.class;
+            case INCOME -> IncomeCategory.class;
+        };
+    }
+
+    /** Map a cube cell to CubeCellResponse DTO */
+    private CubeCellResponse mapToResponse(LedgerCube.Cell cell) {
+        return CubeCellResponse.builder()
+                .month(cell.month())
+                .category(cell.category() == null ? null : cell.category().name())
+                .tag(cell.tag())
+                .total(Money.ofMinor(cell.total(), Money.LEDGER_CURRENCY).toBigDecimal())
+                .count(cell.count())
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.repository.LedgerPartitionRepository;
+import java.time.Duration;
+import java.time.YearMonth;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the monthly partitions of the ledger tables ahead of time. Runs daily and once at startup,
+ * creating the partitions of the current month and the next {@code budgeter.partitions.months-ahead}
+ * months, so entries never land in the default partition in normal operation. Entries dated in months
+ * without a partition (old imports, far future dates) do, and are moved to a partition of their own on
+ * the next run, which keeps date range queries pruned to the months they cover.
+ *
+ * <p>Each run also moves the partitions older than {@code budgeter.archive.after-months} to the
+ * archive, at most {@code budgeter.archive.months-per-run} of them, each in its own short transaction.
+ * A month whose partition cannot be locked within {@code budgeter.archive.lock-timeout} is left for
+ * the next run, so archiving never makes queries wait on it for longer.
+ *
+ * <p>Archived months older than {@code budgeter.archive.detach-after-months} (off by default) are
+ * detached from their table, taking their entries out of every query at the cost of one DETACH instead
+ * of a DELETE of the month's rows. The detached tables stay in the archive schema to be dumped and
+ * dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerPartitionScheduler {
+
+    private final LedgerPartitionRepository ledgerPartitionRepository;
+
+    @Value("${budgeter.partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${budgeter.archive.after-months:24}")
+    private int archiveAfterMonths = 24;
+
+    @Value("${budgeter.archive.months-per-run:12}")
+    private int archiveMonthsPerRun = 12;
+
+    @Value("${budgeter.archive.detach-after-months:0}")
+    private int detachAfterMonths = 0;
+
+    @Value("${budgeter.archive.lock-timeout:500ms}")
+    private Duration archiveLockTimeout = Duration.ofMillis(500);
+
+    /** Create and archive the partitions that came due while the application was down */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    /** Create the partitions of the coming months and archive the old ones */
+    @Scheduled(cron = "${budgeter.partitions.cron:0 0 1 * * *}")
+    public void maintainScheduled() {
+        maintain();
+    }
+
+    // A failed run is logged and left for the next one; the default partitions take any entries meanwhile
+    private void maintain() {
+        YearMonth current = YearMonth.now();
+        try {
+            ensurePartitions(current);
+        } catch (DataAccessException e) {
+            log.warn("Could not create the monthly ledger partitions, retrying on the next run", e);
+        }
+        try {
+            archivePartitions(current);
+        } catch (DataAccessException e) {
+            log.warn("Could not archive the monthly ledger partitions, retrying on the next run", e);
+        }
+        try {
+            detachPartitions(current);
+        } catch (DataAccessException e) {
+            log.warn("Could not detach the archived ledger partitions, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Create the missing partitions from a month up to {@code months-ahead} months later, and those of
+     * the months found in the default partitions.
+     *
+     * @return the number of created partitions
+     */
+    public int ensurePartitions(YearMonth current) {
+        if (!ledgerPartitionRepository.isPartitioned()) {
+            return 0;
+        }
+
+        int created = 0;
+        for (String table : LedgerPartitionRepository.PARTITIONED_TABLES) {
+            for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+                if (ledgerPartitionRepository.createMonthlyPartition(table, current.plusMonths(ahead))) {
+                    created++;
+                }
+            }
+            for (YearMonth month : ledgerPartitionRepository.findMonthsInDefaultPartition(table)) {
+                if (ledgerPartitionRepository.createMonthlyPartition(table, month)) {
+                    log.info("Moved the {} entries of {} out of the default partition", table, month);
+                    created++;
+                }
+            }
+        }
+
+        if (created > 0) {
+            log.info("Created {} monthly ledger partitions up to {}", created, current.plusMonths(monthsAhead));
+        }
+        return created;
+    }
+
+    /**
+     * Move the partitions of the months more than {@code after-months} before a month to the archive,
+     * oldest first and at most {@code months-per-run} of them.
+     *
+     * @return the number of archived partitions
+     */
+    public int archivePartitions(YearMonth current) {
+        if (archiveAfterMonths <= 0 || !ledgerPartitionRepository.isPartitioned()) {
+            return 0;
+        }
+
+        YearMonth boundary = current.minusMonths(archiveAfterMonths);
+        int archived = 0;
+        for (String table : LedgerPartitionRepository.PARTITIONED_TABLES) {
+            if (archived == archiveMonthsPerRun) {
+                break;
+            }
+            for (YearMonth month : ledgerPartitionRepository.findHotMonths(table)) {
+                if (!month.isBefore(boundary) || archived == archiveMonthsPerRun) {
+                    break;
+                }
+                try {
+                    if (ledgerPartitionRepository.archiveMonthlyPartition(table, month, archiveLockTimeout)) {
+                        archived++;
+                    }
+                } catch (PessimisticLockingFailureException e) {
+                    log.warn("Partition of {} {} is in use, archiving it on the next run", table, month);
+                }
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} monthly ledger partitions before {}", archived, boundary);
+        }
+        return archived;
+    }
+
+    /**
+     * Detach the archived partitions of the months more than {@code detach-after-months} before a month
+     * from their tables, oldest first and at most {@code months-per-run} of them.
+     *
+     * @return the number of detached partitions
+     */
+    public int detachPartitions(YearMonth current) {
+        if (detachAfterMonths <= 0 || !ledgerPartitionRepository.isPartitioned()) {
+            return 0;
+        }
+
+        YearMonth boundary = current.minusMonths(detachAfterMonths);
+        int detached = 0;
+        for (String table : LedgerPartitionRepository.PARTITIONED_TABLES) {
+            for (YearMonth month : ledgerPartitionRepository.findArchivedMonths(table)) {
+                if (!month.isBefore(boundary) || detached == archiveMonthsPerRun) {
+                    break;
+                }
+                try {
+                    if (ledgerPartitionRepository.detachMonthlyPartition(table, month, archiveLockTimeout)) {
+                        detached++;
+                    }
+                } catch (PessimisticLockingFailureException e) {
+                    log.warn("Table {} is in use, detaching {} on the next run", table, month);
+                }
+            }
+        }
+
+        if (detached > 0) {
+            log.info("Detached {} archived ledger partitions before {}", detached, boundary);
+        }
+        return detached;
+    }
+}
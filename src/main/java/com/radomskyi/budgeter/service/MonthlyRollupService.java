@@ -0,0 +1,172 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollup;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollupId;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntriesCreatedEvent;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.money.Money;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.jfr.AggregateQueryEvent;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupWriteRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupWriteRepository.Change;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the monthly_rollup table in step with the expense and income tables. Every write applies
+ * the difference between the previous and current state of the entry to the affected (month,
+ * category, tag) rows, so summaries are read from O(months x categories) rows instead of
+ * aggregating the raw entries. Rows are added to with upserts in key order
+ * ({@link MonthlyRollupWriteRepository}), so concurrent writes neither deadlock nor collide when
+ * creating a row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class MonthlyRollupService {
+
+    private static final Comparator<MonthlyRollupId> ROLLUP_ORDER = Comparator.comparing(MonthlyRollupId::getOwnerId)
+            .thenComparing(MonthlyRollupId::getLedger)
+            .thenComparing(MonthlyRollupId::getMonth)
+            .thenComparing(MonthlyRollupId::getCategory)
+            .thenComparing(MonthlyRollupId::getTag);
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MonthlyRollupWriteRepository monthlyRollupWriteRepository;
+
+    /**
+     * Apply a ledger write to the rollup rows, inside the transaction of the write. The previous and
+     * current state of the entry are netted per row, so an update that keeps the month, category and
+     * tags writes each row once and an update that changes nothing they count writes none.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLedgerEntryChanged(LedgerEntryChangedEvent event) {
+        Map<MonthlyRollupId, Delta> deltas = new TreeMap<>(ROLLUP_ORDER);
+        if (event.previous() != null) {
+            Delta delta = new Delta(
+                    Money.of(event.previous().amount(), Money.LEDGER_CURRENCY).negate(), -1);
+            for (MonthlyRollupId id : rollupIds(event.ledger(), event.previous())) {
+                deltas.merge(id, delta, Delta::plus);
+            }
+        }
+        if (event.current() != null) {
+            Delta delta = new Delta(Money.of(event.current().amount(), Money.LEDGER_CURRENCY), 1);
+            for (MonthlyRollupId id : rollupIds(event.ledger(), event.current())) {
+                deltas.merge(id, delta, Delta::plus);
+            }
+        }
+
+        write(deltas);
+    }
+
+    /**
+     * Apply a batch of inserted entries to the rollup rows, inside the transaction of the write. The
+     * batch is netted per row first, so every row is locked and written once, and rows are locked in
+     * a fixed order so concurrent batches cannot deadlock.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLedgerEntriesCreated(LedgerEntriesCreatedEvent event) {
+        Map<MonthlyRollupId, Delta> deltas = new TreeMap<>(ROLLUP_ORDER);
+        for (LedgerEntry entry : event.entries()) {
+            Delta delta = new Delta(Money.of(entry.amount(), Money.LEDGER_CURRENCY), 1);
+            for (MonthlyRollupId id : rollupIds(event.ledger(), entry)) {
+                deltas.merge(id, delta, Delta::plus);
+            }
+        }
+
+        write(deltas);
+    }
+
+    /** Get the rollup rows of a ledger of the current owner for a range of months (inclusive) */
+    public List<MonthlyRollupResponse> getSummary(LedgerType ledger, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start month " + from + " is after end month " + to);
+        }
+
+        log.info("Fetching {} monthly summary from {} to {}", ledger, from, to);
+
+        AggregateQueryEvent event = new AggregateQueryEvent();
+        event.begin();
+        long ownerId = OwnerContext.currentOwnerId();
+        List<MonthlyRollupResponse> summary =
+                monthlyRollupRepository.findByLedgerAndMonthRange(ownerId, ledger, from.atDay(1), to.atDay(1)).stream()
+                        .map(this::mapToResponse)
+                        .toList();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setQuery("monthly-rollup");
+            event.setLedger(ledger.name());
+            event.setOwnerId(ownerId);
+            event.setFrom(from.toString());
+            event.setTo(to.toString());
+            event.setRows(summary.size());
+            event.commit();
+        }
+        return summary;
+    }
+
+    private static List<MonthlyRollupId> rollupIds(LedgerType ledger, LedgerEntry entry) {
+        LocalDate month = YearMonth.from(entry.createdAt()).atDay(1);
+        String category = entry.category().name();
+
+        List<MonthlyRollupId> ids = new ArrayList<>(entry.tags().size() + 1);
+        ids.add(new MonthlyRollupId(entry.ownerId(), ledger, month, category, MonthlyRollupId.ALL_TAGS));
+        entry.tags().forEach(tag -> ids.add(new MonthlyRollupId(entry.ownerId(), ledger, month, category, tag.name())));
+        return ids;
+    }
+
+    // Write the netted rows in key order, which is the order they are locked in; rows that did not change
+    // are skipped
+    private void write(Map<MonthlyRollupId, Delta> deltas) {
+        List<Change> changes = deltas.entrySet().stream()
+                .filter(delta -> !delta.getValue().isZero())
+                .map(delta -> new Change(
+                        delta.getKey(),
+                        delta.getValue().total(),
+                        delta.getValue().count()))
+                .toList();
+        monthlyRollupWriteRepository.addAll(changes);
+    }
+
+    private record Delta(Money total, int count) {
+
+        Delta plus(Delta other) {
+            return new Delta(total.plus(other.total), count + other.count);
+        }
+
+        boolean isZero() {
+            return total.isZero() && count == 0;
+        }
+    }
+
+    /** Map MonthlyRollup entity to MonthlyRollupResponse DTO */
+    private MonthlyRollupResponse mapToResponse(MonthlyRollup rollup) {
+        MonthlyRollupId id = rollup.getId();
+        return MonthlyRollupResponse.builder()
+                .month(YearMonth.from(id.getMonth()))
+                .category(id.getCategory())
+                .tag(MonthlyRollupId.ALL_TAGS.equals(id.getTag()) ? null : Tag.valueOf(id.getTag()))
+                .total(rollup.getTotal().toBigDecimal())
+                .count(rollup.getEntryCount())
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurringTemplate;
+import com.radomskyi.budgeter.domain.event.LedgerEntriesCreatedEvent;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.repository.LedgerEntryBatchRepository;
+import com.radomskyi.budgeter.repository.LedgerEntryBatchRepository.NewEntry;
+import com.radomskyi.budgeter.repository.RecurringTemplateRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates the due occurrences of recurring templates as expenses and incomes. Runs daily and once
+ * at startup, so every period missed while the application was down is caught up, each entry dated
+ * on its own occurrence.
+ *
+ * <p>Due templates are split into partitions of {@code budgeter.recurring.partition-size}. Every
+ * partition runs on its own virtual thread and in its own transaction: it locks its templates,
+ * inserts their entries in JDBC batches and advances the templates. A failed partition is rolled
+ * back and retried on the next run without affecting the others, and the row locks make concurrent
+ * runs generate every occurrence once. The number of partitions in flight is bounded by the
+ * connection pool.
+ *
+ * <p>Runs in the system owner context: templates of every owner are generated together, and each
+ * entry is written for the owner of its template.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringEntryScheduler {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final RecurringTemplateRepository recurringTemplateRepository;
+    private final LedgerEntryBatchRepository ledgerEntryBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    @Value("${budgeter.recurring.partition-size:200}")
+    private int partitionSize = 200;
+
+    /** Catch up on the occurrences that fell due while the application was down */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        generateDue(LocalDate.now());
+    }
+
+    /** Generate the occurrences of the day */
+    @Scheduled(cron = "${budgeter.recurring.cron:0 5 0 * * *}")
+    public void generateScheduled() {
+        generateDue(LocalDate.now());
+    }
+
+    /**
+     * Generate every occurrence due on or before a date, for all owners.
+     *
+     * @return the number of generated entries
+     */
+    public int generateDue(LocalDate date) {
+        return OwnerContext.callAsSystem(() -> generateDueAsSystem(date));
+    }
+
+    private int generateDueAsSystem(LocalDate date) {
+        long start = System.nanoTime();
+        List<Long> dueIds = recurringTemplateRepository.findDueIds(date);
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Future<Integer>> partitions = new ArrayList<>();
+        // Partitions continue the trace of the run that started them
+        try (ExecutorService executor = ContextExecutorService.wrap(
+                Executors.newVirtualThreadPerTaskExecutor(),
+                () -> ContextSnapshotFactory.builder().build().captureAll())) {
+            for (int from = 0; from < dueIds.size(); from += partitionSize) {
+                List<Long> ids = dueIds.subList(from, Math.min(from + partitionSize, dueIds.size()));
+                partitions.add(executor.submit(() ->
+                        OwnerContext.callAsSystem(() -> generatePartitionWithRetry(transactionTemplate, ids, date))));
+            }
+        }
+
+        int generated = 0;
+        int failed = 0;
+        for (Future<Integer> partition : partitions) {
+            try {
+                generated += partition.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.error(
+                        "Failed to generate a partition of recurring entries, retrying on the next run", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating recurring entries", e);
+            }
+        }
+
+        log.info(
+                "Generated {} recurring entries due by {} from {} templates in {} partitions ({} failed) in {} ms",
+                generated,
+                date,
+                dueIds.size(),
+                partitions.size(),
+                failed,
+                (System.nanoTime() - start) / 1_000_000);
+        return generated;
+    }
+
+    // Partitions that start the same month run into each other creating its rollup rows; the loser is
+    // rolled back and, once the winner has committed, finds the rows on the next attempt
+    private int generatePartitionWithRetry(TransactionTemplate transactionTemplate, List<Long> ids, LocalDate date) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> generatePartition(ids, date));
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Conflict generating a partition of recurring entries, attempt {}", attempt, e);
+            }
+        }
+    }
+
+    private int generatePartition(List<Long> ids, LocalDate date) {
+        Map<LedgerType, List<NewEntry>> entries = new EnumMap<>(LedgerType.class);
+
+        // Re-checked under the lock: a concurrent run may have advanced the template since findDueIds
+        for (RecurringTemplate template : recurringTemplateRepository.findAllByIdForUpdate(ids)) {
+            while (template.getNextOccurrence() != null
+                    && !template.getNextOccurrence().isAfter(date)) {
+                LedgerEntry entry =
+                        LedgerEntry.of(template, template.getNextOccurrence().atStartOfDay());
+                entries.computeIfAbsent(template.getLedger(), ledger -> new ArrayList<>())
+                        .add(new NewEntry(template.getName(), template.getDescription(), entry));
+                template.advance();
+            }
+        }
+
+        // Write the advanced templates and drop them from the persistence context, so the rollup
+        // queries of the batch event do not dirty-check the whole partition before each query
+        entityManager.flush();
+        entityManager.clear();
+
+        int generated = 0;
+        for (Map.Entry<LedgerType, List<NewEntry>> ledgerEntries : entries.entrySet()) {
+            List<NewEntry> newEntries = ledgerEntries.getValue();
+            ledgerEntryBatchRepository.insertAll(ledgerEntries.getKey(), newEntries);
+            eventPublisher.publishEvent(new LedgerEntriesCreatedEvent(
+                    ledgerEntries.getKey(),
+                    newEntries.stream().map(NewEntry::entry).toList()));
+            generated += newEntries.size();
+        }
+        return generated;
+    }
+}
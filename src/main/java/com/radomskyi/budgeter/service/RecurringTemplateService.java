@@ -0,0 +1,125 @@
+package com.radomskyi.budgeter.service;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurringTemplate;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.service.RecurringTemplateServiceInterface;
+import com.radomskyi.budgeter.dto.RecurringTemplateRequest;
+import com.radomskyi.budgeter.dto.RecurringTemplateResponse;
+import com.radomskyi.budgeter.exception.RecurringTemplateNotFoundException;
+import com.radomskyi.budgeter.repository.RecurringTemplateRepository;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RecurringTemplateService implements RecurringTemplateServiceInterface {
+
+    private final RecurringTemplateRepository recurringTemplateRepository;
+
+    /** Create a new recurring template; occurrences in the past are generated by the next scheduler run */
+    @Override
+    @Transactional
+    public RecurringTemplateResponse create(RecurringTemplateRequest request) {
+        log.info(
+                "Creating new {} recurring template with amount: {} and frequency: {}",
+                request.getLedger(),
+                request.getAmount(),
+                request.getFrequency());
+
+        RecurringTemplate template = RecurringTemplate.builder()
+                .ledger(request.getLedger())
+                .name(request.getName())
+                .amount(request.getAmount())
+                .description(request.getDescription())
+                .tags(copyTags(request))
+                .build();
+        template.reschedule(request.getFrequency(), request.getStartDate(), request.getEndDate());
+
+        RecurringTemplate savedTemplate = recurringTemplateRepository.save(template);
+        log.info("Successfully created recurring template with id: {}", savedTemplate.getId());
+
+        return mapToResponse(savedTemplate);
+    }
+
+    /** Get recurring template by ID */
+    @Override
+    public RecurringTemplateResponse getById(Long id) {
+        log.info("Fetching recurring template with id: {}", id);
+
+        return mapToResponse(findById(id));
+    }
+
+    /** Get all recurring templates with pagination */
+    @Override
+    public Page<RecurringTemplateResponse> getAll(Pageable pageable) {
+        log.info("Fetching all recurring templates with pagination: {}", pageable);
+
+        return recurringTemplateRepository.findAll(pageable).map(this::mapToResponse);
+    }
+
+    /** Update an existing recurring template; entries generated so far are left unchanged */
+    @Override
+    @Transactional
+    public RecurringTemplateResponse update(Long id, RecurringTemplateRequest request) {
+        log.info("Updating recurring template with id: {}", id);
+
+        RecurringTemplate existingTemplate = findById(id);
+
+        existingTemplate.setLedger(request.getLedger());
+        existingTemplate.setName(request.getName());
+        existingTemplate.setAmount(request.getAmount());
+        existingTemplate.setDescription(request.getDescription());
+        existingTemplate.setTags(copyTags(request));
+        existingTemplate.reschedule(request.getFrequency(), request.getStartDate(), request.getEndDate());
+
+        RecurringTemplate updatedTemplate = recurringTemplateRepository.save(existingTemplate);
+        log.info("Successfully updated recurring template with id: {}", updatedTemplate.getId());
+
+        return mapToResponse(updatedTemplate);
+    }
+
+    /** Delete a recurring template by ID; entries generated so far are kept */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        log.info("Deleting recurring template with id: {}", id);
+
+        recurringTemplateRepository.delete(findById(id));
+        log.info("Successfully deleted recurring template with id: {}", id);
+    }
+
+    private RecurringTemplate findById(Long id) {
+        return recurringTemplateRepository
+                .findById(id)
+                .orElseThrow(
+                        () -> new RecurringTemplateNotFoundException("Recurring template not found with id: " + id));
+    }
+
+    private static List<Tag> copyTags(RecurringTemplateRequest request) {
+        return request.getTags() == null ? new ArrayList<>() : new ArrayList<>(request.getTags());
+    }
+
+    private RecurringTemplateResponse mapToResponse(RecurringTemplate template) {
+        return RecurringTemplateResponse.builder()
+                .id(template.getId())
+                .ledger(template.getLedger())
+                .category(template.getCategory().name())
+                .name(template.getName())
+                .amount(template.getAmount())
+                .description(template.getDescription())
+                .tags(template.getTags() == null ? null : new ArrayList<>(template.getTags()))
+                .frequency(template.getFrequency())
+                .startDate(template.getStartDate())
+                .endDate(template.getEndDate())
+                .nextOccurrence(template.getNextOccurrence())
+                .build();
+    }
+}
@@ -6,6 +6,11 @@ import com.radomskyi.budgeter.domain.entity.investment.Currency;
 import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransaction;
 import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransactionType;
 import com.radomskyi.budgeter.dto.InvestmentTransactionRequest;
+import com.radomskyi.budgeter.jfr.RowImportedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
@@ -24,7 +29,16 @@ import org.springframework.web.multipart.MultipartFile;
 @Transactional(readOnly = true)
 public class Trading212CsvImportService {
 
+    /** Imported rows, tagged with the result: imported, skipped (too few columns) or failed */
+    public static final String ROWS_COUNTER = "budgeter.import.rows";
+
+    /** Import stages (parse, row, flush), as timers and spans */
+    public static final String STAGE_OBSERVATION = "budgeter.import.stage";
+
     private final InvestmentService investmentService;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final EntityManager entityManager;
 
     // CSV column indices (0-based)
     private static final int ACTION_INDEX = 0;
@@ -55,88 +69,100 @@ public class Trading212CsvImportService {
         log.info("Starting CSV import for file: {}", file.getOriginalFilename());
 
         List<InvestmentTransaction> importedTransactions = new ArrayList<>();
+        int skipped = 0;
+        int failed = 0;
+
+        List<String[]> rows;
+        Observation parse = stage("parse").start();
+        try (Observation.Scope scope = parse.openScope();
+                CSVReader csvReader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
+            rows = csvReader.readAll();
+        } catch (IOException | CsvException | RuntimeException e) {
+            parse.error(e);
+            throw e;
+        } finally {
+            parse.stop();
+        }
 
-        try (CSVReader csvReader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-            List<String[]> rows = csvReader.readAll();
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
 
-            if (rows.isEmpty()) {
-                throw new IllegalArgumentException("CSV file is empty");
-            }
+        // Skip header row
+        for (int i = 1; i < rows.size(); i++) {
+            String[] row = rows.get(i);
 
-            // Skip header row
-            for (int i = 1; i < rows.size(); i++) {
-                String[] row = rows.get(i);
+            RowImportedEvent event = new RowImportedEvent();
+            event.begin();
+            String result;
 
-                if (row.length < 18) {
-                    log.warn("Skipping row {}: insufficient columns", i);
-                    continue;
-                }
+            if (row.length < 18) {
+                log.warn("Skipping row {}: insufficient columns", i);
+                skipped++;
+                commit(event, i, row, "skipped");
+                continue;
+            }
 
-                try {
-                    InvestmentTransaction transaction = processCsvRow(row);
-                    if (transaction != null) {
-                        importedTransactions.add(transaction);
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing row {}: {}", i, e.getMessage());
-                    // Continue processing other rows
+            try {
+                InvestmentTransaction transaction = stage("row")
+                        .highCardinalityKeyValue("row", Integer.toString(i))
+                        .observe(() -> processCsvRow(row));
+                if (transaction != null) {
+                    importedTransactions.add(transaction);
+                    result = "imported";
+                } else {
+                    skipped++;
+                    result = "skipped";
                 }
+            } catch (Exception e) {
+                log.error("Error processing row {}: {}", i, e.getMessage());
+                failed++;
+                result = "failed";
+                // Continue processing other rows
             }
+            commit(event, i, row, result);
         }
 
+        // Flushed here rather than on commit, so the writes show up as a stage of their own
+        stage("flush").observe(entityManager::flush);
+
+        countRows("imported", importedTransactions.size());
+        countRows("skipped", skipped);
+        countRows("failed", failed);
         log.info("Successfully imported {} transactions from CSV file", importedTransactions.size());
         return importedTransactions;
     }
 
+    private Observation stage(String stage) {
+        return Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+                .contextualName("import " + stage)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+
+    // The attributes are only read from the row when the event is recorded
+    private static void commit(RowImportedEvent event, int rowNumber, String[] row, String result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setBroker("trading212");
+            event.setRow(rowNumber);
+            event.setAction(row.length > ACTION_INDEX ? row[ACTION_INDEX] : null);
+            event.setTicker(row.length > TICKER_INDEX ? row[TICKER_INDEX] : null);
+            event.setResult(result);
+            event.commit();
+        }
+    }
+
+    private void countRows(String result, int rows) {
+        meterRegistry
+                .counter(ROWS_COUNTER, "broker", "trading212", "result", result)
+                .increment(rows);
+    }
+
     /** Process a single CSV row and create an investment transaction */
     private InvestmentTransaction processCsvRow(String[] row) {
         try {
-            // Parse basic transaction data
-            String action = row[ACTION_INDEX].trim();
-            String ticker = row[TICKER_INDEX].trim();
-            String name = row[NAME_INDEX].trim();
-            String isin = row[ISIN_INDEX].trim();
-
-            // Parse numerical values
-            BigDecimal units = parseBigDecimal(row[UNITS_INDEX]);
-            BigDecimal pricePerUnit = parseBigDecimal(row[PRICE_PER_UNIT_INDEX]);
-            BigDecimal exchangeRate = parseBigDecimal(row[EXCHANGE_RATE_INDEX]);
-            BigDecimal grossTotal = parseBigDecimal(row[GROSS_TOTAL_INDEX]);
-
-            // Parse currency
-            String currencyStr = row[CURRENCY_GROSS_TOTAL_INDEX].trim();
-            Currency currency = parseCurrency(currencyStr);
-
-            // Parse fees (withholding tax + currency conversion fee)
-            BigDecimal withholdingTax = parseBigDecimal(row[WITHHOLDING_TAX_INDEX]);
-            BigDecimal conversionFee = parseBigDecimal(row[CURRENCY_CONVERSION_FEE_INDEX]);
-            BigDecimal totalFees = (withholdingTax != null ? withholdingTax : BigDecimal.ZERO)
-                    .add(conversionFee != null ? conversionFee : BigDecimal.ZERO);
-
-            // Determine transaction type
-            InvestmentTransactionType transactionType = determineTransactionType(action);
-
-            // Create request DTO
-            InvestmentTransactionRequest request = InvestmentTransactionRequest.builder()
-                    .transactionType(transactionType)
-                    .assetTicker(ticker)
-                    .assetName(name)
-                    .assetIsin(isin)
-                    .units(units)
-                    .pricePerUnit(pricePerUnit)
-                    .fees(totalFees.compareTo(BigDecimal.ZERO) > 0 ? totalFees : null)
-                    .currency(currency)
-                    .exchangeRate(exchangeRate)
-                    .name(name + " " + ticker)
-                    .description("Imported from Trading212 CSV: " + action)
-                    .brokerage("Trading212")
-                    .build();
-
-            // Validate required fields
-            validateTransactionData(request);
-
             // Create transaction using investment service
-            return investmentService.create(request);
+            return investmentService.create(parseRow(row));
 
         } catch (Exception e) {
             log.error("Error processing CSV row: {}", e.getMessage());
@@ -144,6 +170,55 @@ public class Trading212CsvImportService {
         }
     }
 
+    /** Parse a CSV row into a validated investment transaction request */
+    public InvestmentTransactionRequest parseRow(String[] row) {
+        // Parse basic transaction data
+        String action = row[ACTION_INDEX].trim();
+        String ticker = row[TICKER_INDEX].trim();
+        String name = row[NAME_INDEX].trim();
+        String isin = row[ISIN_INDEX].trim();
+
+        // Parse numerical values
+        BigDecimal units = parseBigDecimal(row[UNITS_INDEX]);
+        BigDecimal pricePerUnit = parseBigDecimal(row[PRICE_PER_UNIT_INDEX]);
+        BigDecimal exchangeRate = parseBigDecimal(row[EXCHANGE_RATE_INDEX]);
+        BigDecimal grossTotal = parseBigDecimal(row[GROSS_TOTAL_INDEX]);
+
+        // Parse currency
+        String currencyStr = row[CURRENCY_GROSS_TOTAL_INDEX].trim();
+        Currency currency = parseCurrency(currencyStr);
+
+        // Parse fees (withholding tax + currency conversion fee)
+        BigDecimal withholdingTax = parseBigDecimal(row[WITHHOLDING_TAX_INDEX]);
+        BigDecimal conversionFee = parseBigDecimal(row[CURRENCY_CONVERSION_FEE_INDEX]);
+        BigDecimal totalFees = (withholdingTax != null ? withholdingTax : BigDecimal.ZERO)
+                .add(conversionFee != null ? conversionFee : BigDecimal.ZERO);
+
+        // Determine transaction type
+        InvestmentTransactionType transactionType = determineTransactionType(action);
+
+        // Create request DTO
+        InvestmentTransactionRequest request = InvestmentTransactionRequest.builder()
+                .transactionType(transactionType)
+                .assetTicker(ticker)
+                .assetName(name)
+                .assetIsin(isin)
+                .units(units)
+                .pricePerUnit(pricePerUnit)
+                .fees(totalFees.compareTo(BigDecimal.ZERO) > 0 ? totalFees : null)
+                .currency(currency)
+                .exchangeRate(exchangeRate)
+                .name(name + " " + ticker)
+                .description("Imported from Trading212 CSV: " + action)
+                .brokerage("Trading212")
+                .build();
+
+        // Validate required fields
+        validateTransactionData(request);
+
+        return request;
+    }
+
     /** Parse BigDecimal from string, handling empty/null values */
     private BigDecimal parseBigDecimal(String value) {
         if (value == null || value.trim().isEmpty() || "null".equalsIgnoreCase(value.trim())) {
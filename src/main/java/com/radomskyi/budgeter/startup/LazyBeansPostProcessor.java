@@ -0,0 +1,71 @@
+package com.radomskyi.budgeter.startup;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leaves the beans of the classes or packages listed in {@code budgeter.startup.lazy-beans} to be
+ * created when first needed instead of during startup, e.g. the API documentation or a controller
+ * (and the dependencies only it has) on its first request. Beans declared by {@code @Bean} methods
+ * match on the class declaring the method. Beans that are injected into eager ones are still created
+ * at startup.
+ */
+@Component
+@Slf4j
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private List<String> lazyBeans = List.of();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        lazyBeans = List.of(environment.getProperty("budgeter.startup.lazy-beans", String[].class, new String[0]));
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (lazyBeans.isEmpty()) {
+            return;
+        }
+        int count = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            String className = className(definition);
+            if (className != null
+                    && !definition.isLazyInit()
+                    && lazyBeans.stream().anyMatch(lazy -> matches(className, lazy))) {
+                definition.setLazyInit(true);
+                count++;
+            }
+        }
+        // With AOT the definitions were already marked when the jar was built
+        if (count > 0) {
+            log.info("Initializing {} beans of {} lazily", count, lazyBeans);
+        }
+    }
+
+    private static String className(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+
+    // The class itself, its nested classes or a package below
+    private static boolean matches(String className, String lazy) {
+        return className.startsWith(lazy)
+                && (className.length() == lazy.length()
+                        || className.charAt(lazy.length()) == '.'
+                        || className.charAt(lazy.length()) == '$');
+    }
+}
@@ -0,0 +1,129 @@
+package com.radomskyi.budgeter.startup;
+
+import com.radomskyi.budgeter.domain.entity.investment.Asset;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.domain.owner.OwnerFilter;
+import com.radomskyi.budgeter.repository.AssetRepository;
+import com.radomskyi.budgeter.repository.InvestmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Runs the main read paths before the application reports that it accepts traffic, so the first
+ * requests after a deploy do not pay for interpreted code, empty Hibernate query plan caches and cold
+ * connections. Spring Boot only turns the readiness state to {@code ACCEPTING_TRAFFIC} once the
+ * {@link ApplicationReadyEvent} listeners have returned; this one sends {@code budgeter.warmup.rounds}
+ * rounds of listing and aggregate requests as {@code budgeter.warmup.owner-id} to its own port and
+ * looks up that owner's assets the way imports do, for at most {@code budgeter.warmup.timeout}. A
+ * warm-up that takes longer is interrupted and the application becomes ready anyway.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmUp {
+
+    private static final int ASSETS = 50;
+
+    private final AssetRepository assetRepository;
+    private final InvestmentRepository investmentRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${budgeter.warmup.rounds:50}")
+    private int rounds = 50;
+
+    @Value("${budgeter.warmup.timeout:60s}")
+    private Duration timeout = Duration.ofSeconds(60);
+
+    @Value("${budgeter.warmup.owner-id:" + OwnerContext.DEFAULT_OWNER_ID + "}")
+    private long ownerId = OwnerContext.DEFAULT_OWNER_ID;
+
+    /** Warm up before the readiness state changes, which happens right after this listener returns */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) throws InterruptedException {
+        if (rounds <= 0 || !(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            return;
+        }
+
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + web.getWebServer().getPort())
+                .defaultHeader(OwnerFilter.OWNER_HEADER, String.valueOf(ownerId))
+                .build();
+        long start = System.nanoTime();
+        Thread warmUp = Thread.ofVirtual().name("warm-up").start(() -> warmUp(client));
+        boolean completed = warmUp.join(timeout);
+        if (!completed) {
+            warmUp.interrupt();
+        }
+
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        meterRegistry
+                .timer("budgeter.startup.warmup", "outcome", completed ? "completed" : "timed-out")
+                .record(took);
+        if (completed) {
+            log.info("Warmed up with {} rounds in {} ms", rounds, took.toMillis());
+        } else {
+            log.warn("Warm-up did not finish within {}, accepting traffic anyway", timeout);
+        }
+    }
+
+    private void warmUp(RestClient client) {
+        List<String> paths = paths(LocalDate.now());
+        for (int round = 0; round < rounds && !Thread.currentThread().isInterrupted(); round++) {
+            for (String path : paths) {
+                try {
+                    client.get().uri(path).retrieve().toBodilessEntity();
+                } catch (RestClientException e) {
+                    // Interrupted on timeout, or an endpoint failing for this owner
+                    log.debug("Warm-up request {} failed: {}", path, e.getMessage());
+                }
+            }
+            try {
+                OwnerContext.runAs(ownerId, this::lookUpAssets);
+            } catch (DataAccessException e) {
+                log.debug("Warm-up asset lookups failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // The Trading212 import resolves every row's asset by ISIN, then ticker, then its investment
+    private void lookUpAssets() {
+        for (Asset asset : assetRepository.findAll(PageRequest.of(0, ASSETS))) {
+            assetRepository.findByIsin(asset.getIsin());
+            assetRepository.findByTicker(asset.getTicker());
+            investmentRepository.findByAsset(asset);
+        }
+    }
+
+    private static List<String> paths(LocalDate today) {
+        YearMonth to = YearMonth.from(today);
+        YearMonth from = to.minusMonths(11);
+        String months = "from=" + from + "&to=" + to;
+        String days = "from=" + from.atDay(1) + "&to=" + today;
+        return List.of(
+                "/api/expense?page=0&size=20",
+                "/api/income?page=0&size=20",
+                "/api/expense/stats/summary?" + months,
+                "/api/income/stats/summary?" + months,
+                "/api/expense/stats/timeseries?bucket=MONTH&" + days,
+                "/api/expense/stats/timeseries?bucket=WEEK&groupBy=CATEGORY&" + days,
+                "/api/expense/stats/cube?drillDown=CATEGORY&" + months,
+                "/api/income/stats/cube?" + months);
+    }
+}
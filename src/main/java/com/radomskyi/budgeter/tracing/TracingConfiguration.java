@@ -0,0 +1,63 @@
+package com.radomskyi.budgeter.tracing;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Tracing without a collector: with {@code budgeter.tracing.exporter=otlp-json} finished spans are
+ * logged as OTLP JSON, one batch per line, to {@code budgeter.tracing.file} rather than the console.
+ * The file is only created with that exporter. The spans themselves come from Micrometer observations
+ * bridged to OpenTelemetry.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "budgeter.tracing.exporter", havingValue = "otlp-json")
+    SpanExporter otlpJsonSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    // The exporter logs every batch as one INFO line of this logger, written here with nothing around it
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "budgeter.tracing.exporter", havingValue = "otlp-json")
+    FileAppender<ILoggingEvent> tracesFileAppender(@Value("${budgeter.tracing.file:traces.jsonl}") String file) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setName("TRACES");
+        appender.setFile(file);
+        appender.setEncoder(encoder);
+        appender.start();
+
+        Logger logger = context.getLogger(OtlpJsonLoggingSpanExporter.class.getPackageName());
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    // Applied by Spring Boot to its task executor and scheduler, so @Async and @Scheduled work continues
+    // the trace (and any other thread-local context) it was started from
+    @Bean
+    ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -0,0 +1,19 @@
+-- Responses of create requests sent with an Idempotency-Key header, replayed to retries with the same key.
+-- A row without a status is a request still in progress.
+
+CREATE TABLE idempotency_record (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id        BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(100),
+    body            BYTEA,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+-- One request per key and owner; also serves findByIdempotencyKey
+CREATE UNIQUE INDEX uk_idempotency_record_owner_key ON idempotency_record (owner_id, idempotency_key);
+
+-- deleteCreatedBefore
+CREATE INDEX idx_idempotency_record_created_at ON idempotency_record (created_at);
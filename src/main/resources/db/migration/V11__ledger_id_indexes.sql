@@ -0,0 +1,9 @@
+-- Hibernate updates and deletes ledger entries by id alone (WHERE id = ?) and loads them by id and
+-- owner_id. Neither carries created_at, so no partition is pruned, and no index of V8 starts with id:
+-- every statement scanned every monthly partition. An index on the parent is created on every
+-- partition, including those attached later, and kept when a partition is archived, so each of these
+-- statements becomes one index probe per partition.
+
+CREATE INDEX idx_expense_id ON expense (id);
+CREATE INDEX idx_income_id ON income (id);
+CREATE INDEX idx_investment_transaction_id ON investment_transaction (id);
@@ -0,0 +1,33 @@
+-- create_monthly_partition checked for the partition and then created and attached it, so two
+-- instances starting at once could both pass the check and one failed on CREATE TABLE, and an entry
+-- inserted into the default partition between moving the month out of it and ATTACH made the ATTACH
+-- fail. The check now runs under a transaction-level advisory lock per partition, and the table is
+-- locked against writes (not reads) until the month is attached, so an entry written meanwhile is
+-- routed to the new partition once the lock is released. Writes wait for the copy of the month's
+-- rows out of the default partition, which is empty for the months created ahead of time.
+
+-- As in V9, serialized per partition and with the table locked against writes while rows move
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', month);
+    month_end   DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition   TEXT := monthly_partition_name(parent, date_trunc('month', month)::DATE);
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(partition));
+    IF to_regclass('public.' || partition) IS NOT NULL OR to_regclass('archive.' || partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', parent);
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition, parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved',
+                   parent || '_default', month_start, month_end, partition);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition, month_start, month_end);
+    PERFORM create_hot_indexes(parent, partition);
+    RETURN TRUE;
+END
+$$;
@@ -0,0 +1,34 @@
+-- The tag tables lost their foreign keys in V7: a foreign key has to reference a unique key, and on a
+-- partitioned table every unique key includes the partition key, which expense_tags and income_tags
+-- do not carry. Hibernate deletes the tags of an entry before the entry itself, but a plain DELETE on
+-- the ledger tables (scripts, benchmarks) left its tags behind. The tags now follow their entries in
+-- a statement trigger, which removes the tags of every deleted row in one join; rows the application
+-- already cleared cost an index probe each.
+
+CREATE FUNCTION delete_expense_tags() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM expense_tags t USING deleted d WHERE t.expense_id = d.id;
+    RETURN NULL;
+END
+$$;
+
+CREATE FUNCTION delete_income_tags() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM income_tags t USING deleted d WHERE t.income_id = d.id;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER expense_delete_tags AFTER DELETE ON expense
+    REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION delete_expense_tags();
+
+CREATE TRIGGER income_delete_tags AFTER DELETE ON income
+    REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION delete_income_tags();
+
+-- Tags left behind before the triggers existed
+DELETE FROM expense_tags t WHERE NOT EXISTS (SELECT 1 FROM expense e WHERE e.id = t.expense_id);
+DELETE FROM income_tags t WHERE NOT EXISTS (SELECT 1 FROM income i WHERE i.id = t.income_id);
@@ -0,0 +1,124 @@
+-- V8 rebuilt the ledger tables as monthly range partitions and with that dropped the HASH (owner_id)
+-- partitioning of V7, so one owner's queries were pruned by month but still read the month partition
+-- shared with every other owner. Every month partition is now itself partitioned by HASH (owner_id)
+-- into 16 partitions (<table>_yYYYYmMM_hNN), as the tables were in V7: a query with owner_id and a
+-- date range, which is every query Hibernate sends, is pruned on both keys.
+--
+-- Indexes on the parents and the hot-only indexes of a month cascade to its owner partitions, and
+-- archiving a month moves its owner partitions along with it. The default partition is not split; it
+-- only holds rows until the partition of their month is created.
+
+CREATE FUNCTION create_owner_partitions(partition_schema TEXT, partition TEXT) RETURNS VOID
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    owner_partitions CONSTANT INT := 16;
+BEGIN
+    FOR remainder IN 0 .. owner_partitions - 1 LOOP
+        EXECUTE format('CREATE TABLE %I.%I PARTITION OF %I.%I FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       partition_schema, partition || '_h' || to_char(remainder, 'FM00'),
+                       partition_schema, partition, owner_partitions, remainder);
+    END LOOP;
+END
+$$;
+
+-- As in V12, and the month is created partitioned by owner
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', month);
+    month_end   DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition   TEXT := monthly_partition_name(parent, date_trunc('month', month)::DATE);
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(partition));
+    IF to_regclass('public.' || partition) IS NOT NULL OR to_regclass('archive.' || partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', parent);
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS) PARTITION BY HASH (owner_id)', partition, parent);
+    PERFORM create_owner_partitions('public', partition);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved',
+                   parent || '_default', month_start, month_end, partition);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition, month_start, month_end);
+    PERFORM create_hot_indexes(parent, partition);
+    RETURN TRUE;
+END
+$$;
+
+-- As in V9, and the owner partitions of the month move to the archive with it
+CREATE OR REPLACE FUNCTION archive_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition       TEXT := monthly_partition_name(parent, date_trunc('month', month)::DATE);
+    hot_index       REGCLASS;
+    owner_partition TEXT;
+BEGIN
+    IF to_regclass('public.' || partition) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Dropping the index of the month drops it on the owner partitions as well
+    FOR hot_index IN
+        SELECT i.indexrelid::REGCLASS
+        FROM pg_index i
+        WHERE i.indrelid = ('public.' || partition)::REGCLASS
+          AND NOT EXISTS (SELECT 1 FROM pg_inherits h WHERE h.inhrelid = i.indexrelid)
+    LOOP
+        EXECUTE format('DROP INDEX %s', hot_index);
+    END LOOP;
+
+    FOR owner_partition IN
+        SELECT c.relname
+        FROM pg_inherits h
+            JOIN pg_class c ON c.oid = h.inhrelid
+        WHERE h.inhparent = ('public.' || partition)::REGCLASS
+    LOOP
+        EXECUTE format('ALTER TABLE public.%I SET SCHEMA archive', owner_partition);
+    END LOOP;
+    EXECUTE format('ALTER TABLE public.%I SET SCHEMA archive', partition);
+    RETURN TRUE;
+END
+$$;
+
+-- Existing month partitions, hot and archived, are rebuilt partitioned by owner and attached again
+DO $$
+DECLARE
+    parent           TEXT;
+    partition_schema TEXT;
+    partition        TEXT;
+    bound            TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['expense', 'income', 'investment_transaction'] LOOP
+        FOR partition_schema, partition, bound IN
+            SELECT n.nspname, c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits h
+                JOIN pg_class c ON c.oid = h.inhrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE h.inhparent = parent::REGCLASS
+              AND c.relname <> parent || '_default'
+              AND c.relkind = 'r'
+        LOOP
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I.%I', parent, partition_schema, partition);
+            EXECUTE format('ALTER TABLE %I.%I RENAME TO %I', partition_schema, partition, partition || '_unsplit');
+            EXECUTE format('CREATE TABLE %I.%I (LIKE %I INCLUDING DEFAULTS) PARTITION BY HASH (owner_id)',
+                           partition_schema, partition, parent);
+            PERFORM create_owner_partitions(partition_schema, partition);
+            EXECUTE format('INSERT INTO %I.%I SELECT * FROM %I.%I',
+                           partition_schema, partition, partition_schema, partition || '_unsplit');
+            EXECUTE format('DROP TABLE %I.%I', partition_schema, partition || '_unsplit');
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I.%I %s', parent, partition_schema, partition, bound);
+            IF partition_schema = 'public' THEN
+                PERFORM create_hot_indexes(parent, partition);
+            END IF;
+        END LOOP;
+    END LOOP;
+END $$;
+
+ANALYZE expense;
+ANALYZE income;
+ANALYZE investment_transaction;
@@ -0,0 +1,70 @@
+-- Baseline schema matching the JPA entity mappings.
+-- Databases that were previously created by ddl-auto=update are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs against empty schemas.
+
+CREATE TABLE asset (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ticker           VARCHAR(10)  NOT NULL,
+    name             VARCHAR(100) NOT NULL,
+    isin             VARCHAR(12),
+    asset_type       VARCHAR(20)  NOT NULL,
+    investment_style VARCHAR(20)  NOT NULL
+);
+
+CREATE TABLE expense (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount      NUMERIC(10, 2) NOT NULL,
+    name        VARCHAR(50),
+    description VARCHAR(200),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    category    VARCHAR(20)    NOT NULL
+);
+
+CREATE TABLE expense_tags (
+    expense_id BIGINT NOT NULL REFERENCES expense (id),
+    tag        VARCHAR(30)
+);
+
+CREATE TABLE income (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount      NUMERIC(10, 2) NOT NULL,
+    name        VARCHAR(50),
+    description VARCHAR(200),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    category    VARCHAR(20)    NOT NULL
+);
+
+CREATE TABLE income_tags (
+    income_id BIGINT NOT NULL REFERENCES income (id),
+    tag       VARCHAR(30)
+);
+
+CREATE TABLE investment (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    asset_id     BIGINT         NOT NULL REFERENCES asset (id),
+    total_cost   NUMERIC(15, 2) NOT NULL,
+    total_units  NUMERIC(15, 8) NOT NULL,
+    cost_basis   NUMERIC(15, 8) NOT NULL,
+    latest_price NUMERIC(15, 8),
+    currency     VARCHAR(3)     NOT NULL,
+    brokerage    VARCHAR(100)
+);
+
+CREATE TABLE investment_transaction (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount             NUMERIC(10, 2) NOT NULL,
+    name               VARCHAR(50),
+    description        VARCHAR(200),
+    created_at         TIMESTAMP(6)   NOT NULL,
+    updated_at         TIMESTAMP(6),
+    transaction_type   VARCHAR(10)    NOT NULL,
+    investment_id      BIGINT         NOT NULL REFERENCES investment (id),
+    units              NUMERIC(15, 8) NOT NULL,
+    price_per_unit     NUMERIC(15, 8) NOT NULL,
+    fees               NUMERIC(10, 2),
+    currency           VARCHAR(3)     NOT NULL,
+    exchange_rate      NUMERIC(15, 8),
+    realized_gain_loss NUMERIC(15, 2)
+);
@@ -0,0 +1,85 @@
+-- Indexes derived from the query shapes in the Spring Data repositories.
+-- Each index lists the repository methods it serves; equality columns come first,
+-- the range/sort column (created_at, amount) last, and aggregated columns are INCLUDEd
+-- so SUM queries can be answered with index-only scans.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- expense / income -------------------------------------------------------------------------
+
+-- findByCategory, findByCategoryAndCreatedAtBetween, sumByCategory, sumByCategoryAndDateRange
+CREATE INDEX idx_expense_category_created_at ON expense (category, created_at) INCLUDE (amount);
+CREATE INDEX idx_income_category_created_at ON income (category, created_at) INCLUDE (amount);
+
+-- findByCreatedAtBetween, sumByDateRange, findAllByOrderByCreatedAtDesc
+CREATE INDEX idx_expense_created_at ON expense (created_at) INCLUDE (amount);
+CREATE INDEX idx_income_created_at ON income (created_at) INCLUDE (amount);
+
+-- findByAmountGreaterThan, findByAmountBetween, findAllByOrderByAmountDesc
+CREATE INDEX idx_expense_amount ON expense (amount);
+CREATE INDEX idx_income_amount ON income (amount);
+
+-- findByNameContainingIgnoreCase, findByDescriptionContainingIgnoreCase (upper(x) LIKE upper('%..%'))
+CREATE INDEX idx_expense_name_trgm ON expense USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_expense_description_trgm ON expense USING gin (upper(description) gin_trgm_ops);
+CREATE INDEX idx_income_name_trgm ON income USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_income_description_trgm ON income USING gin (upper(description) gin_trgm_ops);
+
+-- findByTag, findByTagsIn (tag lookup), and loading the tags collection of an entry
+CREATE INDEX idx_expense_tags_tag ON expense_tags (tag, expense_id);
+CREATE INDEX idx_expense_tags_expense_id ON expense_tags (expense_id);
+CREATE INDEX idx_income_tags_tag ON income_tags (tag, income_id);
+CREATE INDEX idx_income_tags_income_id ON income_tags (income_id);
+
+-- asset ------------------------------------------------------------------------------------
+
+-- findByTicker, existsByTicker, findByTickerOrName; findOrCreateAsset relies on tickers being unique
+CREATE UNIQUE INDEX uk_asset_ticker ON asset (ticker);
+
+-- findByIsin, existsByIsin; ISIN is optional, so only present values must be unique
+CREATE UNIQUE INDEX uk_asset_isin ON asset (isin) WHERE isin IS NOT NULL;
+
+-- findByNameContainingIgnoreCase, findByTickerOrName
+CREATE INDEX idx_asset_name_trgm ON asset USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_asset_name ON asset (name);
+
+-- findByAssetType, findByInvestmentStyle and the portfolio GROUP BY queries
+CREATE INDEX idx_asset_asset_type ON asset (asset_type);
+CREATE INDEX idx_asset_investment_style ON asset (investment_style);
+
+-- investment -------------------------------------------------------------------------------
+
+-- findByAsset
+CREATE INDEX idx_investment_asset_id ON investment (asset_id);
+
+-- findByCurrency
+CREATE INDEX idx_investment_currency ON investment (currency);
+
+-- findActiveInvestments: only open positions are indexed, so the index stays small
+CREATE INDEX idx_investment_active ON investment (id) WHERE total_units > 0;
+
+-- investment_transaction -------------------------------------------------------------------
+
+-- findByInvestmentAndTransactionTypeOrderByCreatedAt{Asc,Desc},
+-- findByInvestmentAndTransactionTypeAndCreatedAtBetween, getTotalCostBasisForInvestment,
+-- getTotalRealizedGainsForInvestment
+CREATE INDEX idx_investment_transaction_investment_type_created_at
+    ON investment_transaction (investment_id, transaction_type, created_at)
+    INCLUDE (amount, realized_gain_loss);
+
+-- findByInvestment, findByInvestmentOrderByCreatedAtAsc, findByInvestmentAndCreatedAtBetween,
+-- getTotalUnitsForInvestment
+CREATE INDEX idx_investment_transaction_investment_created_at
+    ON investment_transaction (investment_id, created_at)
+    INCLUDE (transaction_type, units);
+
+-- findByCreatedAtBetweenAndTransactionType, countByTransactionType, portfolio value by type/style
+CREATE INDEX idx_investment_transaction_type_created_at
+    ON investment_transaction (transaction_type, created_at)
+    INCLUDE (amount);
+
+-- findByCreatedAtBetween, findAllByOrderByCreatedAtDesc
+CREATE INDEX idx_investment_transaction_created_at ON investment_transaction (created_at);
+
+-- findByCurrency
+CREATE INDEX idx_investment_transaction_currency ON investment_transaction (currency);
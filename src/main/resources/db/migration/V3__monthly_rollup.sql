@@ -0,0 +1,36 @@
+-- Pre-aggregated monthly totals per ledger, category and tag, maintained by MonthlyRollupService.
+-- tag = 'ALL' holds the category total, so entries with several tags are only counted once there.
+
+CREATE TABLE monthly_rollup (
+    ledger      VARCHAR(10)    NOT NULL,
+    month_start DATE           NOT NULL,
+    category    VARCHAR(20)    NOT NULL,
+    tag         VARCHAR(30)    NOT NULL,
+    total       NUMERIC(19, 2) NOT NULL,
+    entry_count BIGINT         NOT NULL,
+    PRIMARY KEY (ledger, month_start, category, tag)
+);
+
+-- Backfill from the existing entries
+
+INSERT INTO monthly_rollup (ledger, month_start, category, tag, total, entry_count)
+SELECT 'EXPENSE', date_trunc('month', e.created_at)::date, e.category, 'ALL', sum(e.amount), count(*)
+FROM expense e
+GROUP BY date_trunc('month', e.created_at)::date, e.category;
+
+INSERT INTO monthly_rollup (ledger, month_start, category, tag, total, entry_count)
+SELECT 'EXPENSE', date_trunc('month', e.created_at)::date, e.category, t.tag, sum(e.amount), count(*)
+FROM expense e
+JOIN (SELECT DISTINCT expense_id, tag FROM expense_tags WHERE tag IS NOT NULL) t ON t.expense_id = e.id
+GROUP BY date_trunc('month', e.created_at)::date, e.category, t.tag;
+
+INSERT INTO monthly_rollup (ledger, month_start, category, tag, total, entry_count)
+SELECT 'INCOME', date_trunc('month', i.created_at)::date, i.category, 'ALL', sum(i.amount), count(*)
+FROM income i
+GROUP BY date_trunc('month', i.created_at)::date, i.category;
+
+INSERT INTO monthly_rollup (ledger, month_start, category, tag, total, entry_count)
+SELECT 'INCOME', date_trunc('month', i.created_at)::date, i.category, t.tag, sum(i.amount), count(*)
+FROM income i
+JOIN (SELECT DISTINCT income_id, tag FROM income_tags WHERE tag IS NOT NULL) t ON t.income_id = i.id
+GROUP BY date_trunc('month', i.created_at)::date, i.category, t.tag;
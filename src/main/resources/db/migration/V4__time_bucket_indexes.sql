@@ -0,0 +1,14 @@
+-- Expression indexes for the time series endpoints (LedgerTimeSeriesRepository).
+-- The queries filter and group on date_trunc('<unit>', created_at) with the unit inlined, so each
+-- bucket size is answered by an index-only scan in bucket order without sorting.
+-- date_trunc on TIMESTAMP (without time zone) is immutable, so it can be indexed.
+
+CREATE INDEX idx_expense_bucket_day ON expense (date_trunc('day', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_week ON expense (date_trunc('week', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_month ON expense (date_trunc('month', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_year ON expense (date_trunc('year', created_at), category) INCLUDE (amount);
+
+CREATE INDEX idx_income_bucket_day ON income (date_trunc('day', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_week ON income (date_trunc('week', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_month ON income (date_trunc('month', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_year ON income (date_trunc('year', created_at), category) INCLUDE (amount);
@@ -0,0 +1,36 @@
+-- Monthly budget limits per expense category or tag, and the history of crossed alert thresholds.
+
+CREATE TABLE budget_limit (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category      VARCHAR(20),
+    tag           VARCHAR(30),
+    monthly_limit NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT ck_budget_limit_category_or_tag CHECK ((category IS NULL) <> (tag IS NULL))
+);
+
+-- At most one limit per category and one per tag
+CREATE UNIQUE INDEX uk_budget_limit_category ON budget_limit (category) WHERE category IS NOT NULL;
+CREATE UNIQUE INDEX uk_budget_limit_tag ON budget_limit (tag) WHERE tag IS NOT NULL;
+
+CREATE TABLE budget_limit_thresholds (
+    budget_limit_id   BIGINT  NOT NULL REFERENCES budget_limit (id) ON DELETE CASCADE,
+    threshold_percent INTEGER NOT NULL
+);
+
+CREATE INDEX idx_budget_limit_thresholds_budget_limit_id ON budget_limit_thresholds (budget_limit_id);
+
+-- No foreign key to budget_limit: alerts are kept after their limit is deleted
+CREATE TABLE budget_alert (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    budget_limit_id   BIGINT         NOT NULL,
+    category          VARCHAR(20),
+    tag               VARCHAR(30),
+    month_start       DATE           NOT NULL,
+    threshold_percent INTEGER        NOT NULL,
+    monthly_limit     NUMERIC(19, 2) NOT NULL,
+    spent             NUMERIC(19, 2) NOT NULL,
+    created_at        TIMESTAMP(6)   NOT NULL
+);
+
+-- findByMonthOrderByCreatedAtAsc
+CREATE INDEX idx_budget_alert_month_start_created_at ON budget_alert (month_start, created_at);
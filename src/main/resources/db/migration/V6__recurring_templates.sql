@@ -0,0 +1,26 @@
+-- Templates of recurring FIXED expenses and SALARY incomes, materialized by the recurring entry scheduler.
+
+CREATE TABLE recurring_template (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ledger           VARCHAR(10)    NOT NULL,
+    name             VARCHAR(50),
+    description      VARCHAR(200),
+    amount           NUMERIC(10, 2) NOT NULL,
+    frequency        VARCHAR(10)    NOT NULL,
+    start_date       DATE           NOT NULL,
+    end_date         DATE,
+    next_occurrence  DATE,
+    occurrence_index INTEGER        NOT NULL
+);
+
+CREATE TABLE recurring_template_tags (
+    recurring_template_id BIGINT NOT NULL REFERENCES recurring_template (id) ON DELETE CASCADE,
+    tag                   VARCHAR(30)
+);
+
+-- findDueIds: finished templates (next_occurrence IS NULL) are left out of the index
+CREATE INDEX idx_recurring_template_next_occurrence
+    ON recurring_template (next_occurrence, id) WHERE next_occurrence IS NOT NULL;
+
+-- Loading the tags collection of a partition of templates
+CREATE INDEX idx_recurring_template_tags_template_id ON recurring_template_tags (recurring_template_id);
@@ -0,0 +1,199 @@
+-- Per-owner ledgers. Every table gets an owner_id; existing rows belong to owner 1, the default owner
+-- of requests without an X-Owner-Id header. The ledger tables (expense, income, investment_transaction)
+-- are rebuilt as PARTITION BY HASH (owner_id), so every owner's queries, which Hibernate always filters
+-- on owner_id, are pruned to one of 16 partitions and do not slow down as owners are added.
+--
+-- Partitioned tables need the partition key in the primary key, so their key becomes (owner_id, id).
+-- Ids still come from one sequence per table and stay unique across owners, so the tag tables keep
+-- joining on the id alone; their foreign keys are dropped, as they cannot reference a partitioned
+-- table without the owner_id column.
+
+-- small tables ----------------------------------------------------------------------------------
+
+ALTER TABLE asset ADD COLUMN owner_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE asset ALTER COLUMN owner_id DROP DEFAULT;
+ALTER TABLE investment ADD COLUMN owner_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE investment ALTER COLUMN owner_id DROP DEFAULT;
+ALTER TABLE budget_limit ADD COLUMN owner_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE budget_limit ALTER COLUMN owner_id DROP DEFAULT;
+ALTER TABLE budget_alert ADD COLUMN owner_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE budget_alert ALTER COLUMN owner_id DROP DEFAULT;
+ALTER TABLE recurring_template ADD COLUMN owner_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE recurring_template ALTER COLUMN owner_id DROP DEFAULT;
+
+-- Tickers, ISINs and limits are unique per owner
+DROP INDEX uk_asset_ticker;
+DROP INDEX uk_asset_isin;
+CREATE UNIQUE INDEX uk_asset_ticker ON asset (owner_id, ticker);
+CREATE UNIQUE INDEX uk_asset_isin ON asset (owner_id, isin) WHERE isin IS NOT NULL;
+
+DROP INDEX idx_asset_asset_type;
+DROP INDEX idx_asset_investment_style;
+CREATE INDEX idx_asset_asset_type ON asset (owner_id, asset_type);
+CREATE INDEX idx_asset_investment_style ON asset (owner_id, investment_style);
+
+DROP INDEX idx_investment_currency;
+DROP INDEX idx_investment_active;
+CREATE INDEX idx_investment_currency ON investment (owner_id, currency);
+CREATE INDEX idx_investment_active ON investment (owner_id, id) WHERE total_units > 0;
+
+DROP INDEX uk_budget_limit_category;
+DROP INDEX uk_budget_limit_tag;
+CREATE UNIQUE INDEX uk_budget_limit_category ON budget_limit (owner_id, category) WHERE category IS NOT NULL;
+CREATE UNIQUE INDEX uk_budget_limit_tag ON budget_limit (owner_id, tag) WHERE tag IS NOT NULL;
+
+DROP INDEX idx_budget_alert_month_start_created_at;
+CREATE INDEX idx_budget_alert_month_start_created_at ON budget_alert (owner_id, month_start, created_at);
+
+-- Listing an owner's templates; findDueIds runs across owners and keeps its index
+CREATE INDEX idx_recurring_template_owner_id ON recurring_template (owner_id, id);
+
+-- monthly_rollup is keyed by owner ----------------------------------------------------------------
+
+ALTER TABLE monthly_rollup ADD COLUMN owner_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE monthly_rollup ALTER COLUMN owner_id DROP DEFAULT;
+ALTER TABLE monthly_rollup DROP CONSTRAINT monthly_rollup_pkey;
+ALTER TABLE monthly_rollup ADD PRIMARY KEY (owner_id, ledger, month_start, category, tag);
+
+-- ledger tables, rebuilt as hash partitioned tables ----------------------------------------------
+
+-- The old tables keep their identity sequences until they are dropped, so those are renamed out of the way
+ALTER TABLE expense RENAME TO expense_unpartitioned;
+ALTER SEQUENCE expense_id_seq RENAME TO expense_unpartitioned_id_seq;
+ALTER TABLE income RENAME TO income_unpartitioned;
+ALTER SEQUENCE income_id_seq RENAME TO income_unpartitioned_id_seq;
+ALTER TABLE investment_transaction RENAME TO investment_transaction_unpartitioned;
+ALTER SEQUENCE investment_transaction_id_seq RENAME TO investment_transaction_unpartitioned_id_seq;
+
+-- Identity columns are not supported on partitioned tables; a sequence default works the same for inserts
+CREATE SEQUENCE expense_id_seq AS BIGINT;
+CREATE SEQUENCE income_id_seq AS BIGINT;
+CREATE SEQUENCE investment_transaction_id_seq AS BIGINT;
+
+CREATE TABLE expense (
+    id          BIGINT         NOT NULL DEFAULT nextval('expense_id_seq'),
+    owner_id    BIGINT         NOT NULL,
+    amount      NUMERIC(10, 2) NOT NULL,
+    name        VARCHAR(50),
+    description VARCHAR(200),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    category    VARCHAR(20)    NOT NULL,
+    PRIMARY KEY (owner_id, id)
+) PARTITION BY HASH (owner_id);
+
+CREATE TABLE income (
+    id          BIGINT         NOT NULL DEFAULT nextval('income_id_seq'),
+    owner_id    BIGINT         NOT NULL,
+    amount      NUMERIC(10, 2) NOT NULL,
+    name        VARCHAR(50),
+    description VARCHAR(200),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    category    VARCHAR(20)    NOT NULL,
+    PRIMARY KEY (owner_id, id)
+) PARTITION BY HASH (owner_id);
+
+CREATE TABLE investment_transaction (
+    id                 BIGINT         NOT NULL DEFAULT nextval('investment_transaction_id_seq'),
+    owner_id           BIGINT         NOT NULL,
+    amount             NUMERIC(10, 2) NOT NULL,
+    name               VARCHAR(50),
+    description        VARCHAR(200),
+    created_at         TIMESTAMP(6)   NOT NULL,
+    updated_at         TIMESTAMP(6),
+    transaction_type   VARCHAR(10)    NOT NULL,
+    investment_id      BIGINT         NOT NULL REFERENCES investment (id),
+    units              NUMERIC(15, 8) NOT NULL,
+    price_per_unit     NUMERIC(15, 8) NOT NULL,
+    fees               NUMERIC(10, 2),
+    currency           VARCHAR(3)     NOT NULL,
+    exchange_rate      NUMERIC(15, 8),
+    realized_gain_loss NUMERIC(15, 2),
+    PRIMARY KEY (owner_id, id)
+) PARTITION BY HASH (owner_id);
+
+ALTER SEQUENCE expense_id_seq OWNED BY expense.id;
+ALTER SEQUENCE income_id_seq OWNED BY income.id;
+ALTER SEQUENCE investment_transaction_id_seq OWNED BY investment_transaction.id;
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE expense_p%s PARTITION OF expense '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', remainder, remainder);
+        EXECUTE format('CREATE TABLE income_p%s PARTITION OF income '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', remainder, remainder);
+        EXECUTE format('CREATE TABLE investment_transaction_p%s PARTITION OF investment_transaction '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', remainder, remainder);
+    END LOOP;
+END $$;
+
+INSERT INTO expense (id, owner_id, amount, name, description, created_at, updated_at, category)
+SELECT id, 1, amount, name, description, created_at, updated_at, category
+FROM expense_unpartitioned;
+
+INSERT INTO income (id, owner_id, amount, name, description, created_at, updated_at, category)
+SELECT id, 1, amount, name, description, created_at, updated_at, category
+FROM income_unpartitioned;
+
+INSERT INTO investment_transaction (id, owner_id, amount, name, description, created_at, updated_at,
+                                    transaction_type, investment_id, units, price_per_unit, fees, currency,
+                                    exchange_rate, realized_gain_loss)
+SELECT id, 1, amount, name, description, created_at, updated_at, transaction_type, investment_id, units,
+       price_per_unit, fees, currency, exchange_rate, realized_gain_loss
+FROM investment_transaction_unpartitioned;
+
+SELECT setval('expense_id_seq', COALESCE((SELECT max(id) FROM expense), 0) + 1, false);
+SELECT setval('income_id_seq', COALESCE((SELECT max(id) FROM income), 0) + 1, false);
+SELECT setval('investment_transaction_id_seq', COALESCE((SELECT max(id) FROM investment_transaction), 0) + 1, false);
+
+-- CASCADE drops the foreign keys of the tag tables, whatever they were named by ddl-auto=update
+DROP TABLE expense_unpartitioned CASCADE;
+DROP TABLE income_unpartitioned CASCADE;
+DROP TABLE investment_transaction_unpartitioned CASCADE;
+
+-- Indexes of V2 and V4, recreated on the partitioned tables with owner_id leading. An index on the
+-- parent is created on every partition. The trigram indexes cannot lead with owner_id; partition
+-- pruning already limits them to the owner's partition.
+
+CREATE INDEX idx_expense_category_created_at ON expense (owner_id, category, created_at) INCLUDE (amount);
+CREATE INDEX idx_income_category_created_at ON income (owner_id, category, created_at) INCLUDE (amount);
+
+CREATE INDEX idx_expense_created_at ON expense (owner_id, created_at) INCLUDE (amount);
+CREATE INDEX idx_income_created_at ON income (owner_id, created_at) INCLUDE (amount);
+
+CREATE INDEX idx_expense_amount ON expense (owner_id, amount);
+CREATE INDEX idx_income_amount ON income (owner_id, amount);
+
+CREATE INDEX idx_expense_name_trgm ON expense USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_expense_description_trgm ON expense USING gin (upper(description) gin_trgm_ops);
+CREATE INDEX idx_income_name_trgm ON income USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_income_description_trgm ON income USING gin (upper(description) gin_trgm_ops);
+
+CREATE INDEX idx_expense_bucket_day ON expense (owner_id, date_trunc('day', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_week ON expense (owner_id, date_trunc('week', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_month ON expense (owner_id, date_trunc('month', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_year ON expense (owner_id, date_trunc('year', created_at), category) INCLUDE (amount);
+
+CREATE INDEX idx_income_bucket_day ON income (owner_id, date_trunc('day', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_week ON income (owner_id, date_trunc('week', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_month ON income (owner_id, date_trunc('month', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_year ON income (owner_id, date_trunc('year', created_at), category) INCLUDE (amount);
+
+-- Transactions of an investment: the investment already belongs to a single owner
+CREATE INDEX idx_investment_transaction_investment_type_created_at
+    ON investment_transaction (investment_id, transaction_type, created_at)
+    INCLUDE (amount, realized_gain_loss);
+
+CREATE INDEX idx_investment_transaction_investment_created_at
+    ON investment_transaction (investment_id, created_at)
+    INCLUDE (transaction_type, units);
+
+CREATE INDEX idx_investment_transaction_type_created_at
+    ON investment_transaction (owner_id, transaction_type, created_at)
+    INCLUDE (amount);
+
+CREATE INDEX idx_investment_transaction_created_at ON investment_transaction (owner_id, created_at);
+
+CREATE INDEX idx_investment_transaction_currency ON investment_transaction (owner_id, currency);
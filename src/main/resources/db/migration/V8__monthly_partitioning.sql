@@ -0,0 +1,194 @@
+-- Monthly range partitions for the ledger tables. Nearly every query filters on created_at, so
+-- expense, income and investment_transaction are rebuilt as PARTITION BY RANGE (created_at) with one
+-- partition per month (<table>_yYYYYmMM): date range queries are pruned to the months they cover, and
+-- taking an old month out of a table is a DETACH PARTITION instead of a DELETE.
+--
+-- This replaces the HASH (owner_id) partitioning of V7. Sub-partitioning every month by owner would
+-- mean 16 tables per month and table; the owner_id leading indexes keep one owner's queries within a
+-- month partition just as selective.
+--
+-- The primary key has to include the partition key and becomes (owner_id, id, created_at); ids still
+-- come from one sequence per table. Partitions are created ahead of time by LedgerPartitionScheduler
+-- through create_monthly_partition(). Rows of months without a partition go to <table>_default and
+-- are moved to their partition when it is created.
+
+-- partition helpers ------------------------------------------------------------------------------
+
+CREATE FUNCTION monthly_partition_name(parent TEXT, month DATE) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE AS
+$$ SELECT parent || '_y' || to_char(month, 'YYYY"m"MM') $$;
+
+-- Create the partition of the month containing a date unless it exists; returns whether it was created
+CREATE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', month);
+    month_end   DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition   TEXT := monthly_partition_name(parent, date_trunc('month', month)::DATE);
+BEGIN
+    IF to_regclass(partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Filled and then attached, as a partition cannot be created while the default partition holds
+    -- rows of its range; ATTACH creates the indexes and foreign keys of the parent on it
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition, parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved',
+                   parent || '_default', month_start, month_end, partition);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition, month_start, month_end);
+    RETURN TRUE;
+END
+$$;
+
+-- ledger tables, rebuilt as range partitioned tables ---------------------------------------------
+
+ALTER TABLE expense RENAME TO expense_by_owner;
+ALTER TABLE income RENAME TO income_by_owner;
+ALTER TABLE investment_transaction RENAME TO investment_transaction_by_owner;
+
+-- The id sequences move over to the new tables
+ALTER SEQUENCE expense_id_seq OWNED BY NONE;
+ALTER SEQUENCE income_id_seq OWNED BY NONE;
+ALTER SEQUENCE investment_transaction_id_seq OWNED BY NONE;
+
+CREATE TABLE expense (
+    id          BIGINT         NOT NULL DEFAULT nextval('expense_id_seq'),
+    owner_id    BIGINT         NOT NULL,
+    amount      NUMERIC(10, 2) NOT NULL,
+    name        VARCHAR(50),
+    description VARCHAR(200),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    category    VARCHAR(20)    NOT NULL,
+    PRIMARY KEY (owner_id, id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE income (
+    id          BIGINT         NOT NULL DEFAULT nextval('income_id_seq'),
+    owner_id    BIGINT         NOT NULL,
+    amount      NUMERIC(10, 2) NOT NULL,
+    name        VARCHAR(50),
+    description VARCHAR(200),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    category    VARCHAR(20)    NOT NULL,
+    PRIMARY KEY (owner_id, id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE investment_transaction (
+    id                 BIGINT         NOT NULL DEFAULT nextval('investment_transaction_id_seq'),
+    owner_id           BIGINT         NOT NULL,
+    amount             NUMERIC(10, 2) NOT NULL,
+    name               VARCHAR(50),
+    description        VARCHAR(200),
+    created_at         TIMESTAMP(6)   NOT NULL,
+    updated_at         TIMESTAMP(6),
+    transaction_type   VARCHAR(10)    NOT NULL,
+    investment_id      BIGINT         NOT NULL REFERENCES investment (id),
+    units              NUMERIC(15, 8) NOT NULL,
+    price_per_unit     NUMERIC(15, 8) NOT NULL,
+    fees               NUMERIC(10, 2),
+    currency           VARCHAR(3)     NOT NULL,
+    exchange_rate      NUMERIC(15, 8),
+    realized_gain_loss NUMERIC(15, 2),
+    PRIMARY KEY (owner_id, id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE expense_id_seq OWNED BY expense.id;
+ALTER SEQUENCE income_id_seq OWNED BY income.id;
+ALTER SEQUENCE investment_transaction_id_seq OWNED BY investment_transaction.id;
+
+CREATE TABLE expense_default PARTITION OF expense DEFAULT;
+CREATE TABLE income_default PARTITION OF income DEFAULT;
+CREATE TABLE investment_transaction_default PARTITION OF investment_transaction DEFAULT;
+
+-- One partition per month from the oldest entry up to three months ahead, before any row is copied
+DO $$
+DECLARE
+    first_month DATE;
+    month       DATE;
+BEGIN
+    SELECT date_trunc('month', least(
+               (SELECT min(created_at) FROM expense_by_owner),
+               (SELECT min(created_at) FROM income_by_owner),
+               (SELECT min(created_at) FROM investment_transaction_by_owner),
+               now()))
+    INTO first_month;
+
+    FOR month IN SELECT generate_series(first_month, date_trunc('month', now()) + INTERVAL '3 months',
+                                        INTERVAL '1 month')::DATE
+    LOOP
+        PERFORM create_monthly_partition('expense', month);
+        PERFORM create_monthly_partition('income', month);
+        PERFORM create_monthly_partition('investment_transaction', month);
+    END LOOP;
+END $$;
+
+INSERT INTO expense (id, owner_id, amount, name, description, created_at, updated_at, category)
+SELECT id, owner_id, amount, name, description, created_at, updated_at, category
+FROM expense_by_owner;
+
+INSERT INTO income (id, owner_id, amount, name, description, created_at, updated_at, category)
+SELECT id, owner_id, amount, name, description, created_at, updated_at, category
+FROM income_by_owner;
+
+INSERT INTO investment_transaction (id, owner_id, amount, name, description, created_at, updated_at,
+                                    transaction_type, investment_id, units, price_per_unit, fees, currency,
+                                    exchange_rate, realized_gain_loss)
+SELECT id, owner_id, amount, name, description, created_at, updated_at, transaction_type, investment_id, units,
+       price_per_unit, fees, currency, exchange_rate, realized_gain_loss
+FROM investment_transaction_by_owner;
+
+DROP TABLE expense_by_owner;
+DROP TABLE income_by_owner;
+DROP TABLE investment_transaction_by_owner;
+
+-- Indexes of V7 on the new tables; an index on the parent is created on every partition, including
+-- the ones attached later. Within a month partition they serve the same owner_id leading lookups.
+
+CREATE INDEX idx_expense_category_created_at ON expense (owner_id, category, created_at) INCLUDE (amount);
+CREATE INDEX idx_income_category_created_at ON income (owner_id, category, created_at) INCLUDE (amount);
+
+CREATE INDEX idx_expense_created_at ON expense (owner_id, created_at) INCLUDE (amount);
+CREATE INDEX idx_income_created_at ON income (owner_id, created_at) INCLUDE (amount);
+
+CREATE INDEX idx_expense_amount ON expense (owner_id, amount);
+CREATE INDEX idx_income_amount ON income (owner_id, amount);
+
+CREATE INDEX idx_expense_name_trgm ON expense USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_expense_description_trgm ON expense USING gin (upper(description) gin_trgm_ops);
+CREATE INDEX idx_income_name_trgm ON income USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_income_description_trgm ON income USING gin (upper(description) gin_trgm_ops);
+
+CREATE INDEX idx_expense_bucket_day ON expense (owner_id, date_trunc('day', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_week ON expense (owner_id, date_trunc('week', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_month ON expense (owner_id, date_trunc('month', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_expense_bucket_year ON expense (owner_id, date_trunc('year', created_at), category) INCLUDE (amount);
+
+CREATE INDEX idx_income_bucket_day ON income (owner_id, date_trunc('day', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_week ON income (owner_id, date_trunc('week', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_month ON income (owner_id, date_trunc('month', created_at), category) INCLUDE (amount);
+CREATE INDEX idx_income_bucket_year ON income (owner_id, date_trunc('year', created_at), category) INCLUDE (amount);
+
+CREATE INDEX idx_investment_transaction_investment_type_created_at
+    ON investment_transaction (investment_id, transaction_type, created_at)
+    INCLUDE (amount, realized_gain_loss);
+
+CREATE INDEX idx_investment_transaction_investment_created_at
+    ON investment_transaction (investment_id, created_at)
+    INCLUDE (transaction_type, units);
+
+CREATE INDEX idx_investment_transaction_type_created_at
+    ON investment_transaction (owner_id, transaction_type, created_at)
+    INCLUDE (amount);
+
+CREATE INDEX idx_investment_transaction_created_at ON investment_transaction (owner_id, created_at);
+
+CREATE INDEX idx_investment_transaction_currency ON investment_transaction (owner_id, currency);
+
+ANALYZE expense;
+ANALYZE income;
+ANALYZE investment_transaction;
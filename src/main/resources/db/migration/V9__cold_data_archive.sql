@@ -0,0 +1,136 @@
+-- Archive tier for the ledger tables. Month partitions older than budgeter.archive.after-months are
+-- moved to the archive schema by LedgerPartitionScheduler, one month per transaction, and lose the
+-- indexes that only serve interactive queries (search, buckets, categories). They stay attached to
+-- their parent table, so every query on expense, income and investment_transaction still covers hot
+-- and archived months alike: partition pruning skips the archive for recent ranges and takes it in
+-- when a range crosses the boundary. Backups can treat the archive separately, e.g. with
+-- pg_dump --exclude-table-data 'archive.*' next to a one-off dump of the archive.
+--
+-- Indexes that every month keeps (the primary keys, owner_id + created_at for date ranges and sums,
+-- and the investment_id indexes behind the position and gain calculations) stay on the parents. The
+-- hot-only ones are dropped from the parents and created per partition by create_hot_indexes().
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+DROP INDEX idx_expense_category_created_at;
+DROP INDEX idx_expense_amount;
+DROP INDEX idx_expense_name_trgm;
+DROP INDEX idx_expense_description_trgm;
+DROP INDEX idx_expense_bucket_day;
+DROP INDEX idx_expense_bucket_week;
+DROP INDEX idx_expense_bucket_month;
+DROP INDEX idx_expense_bucket_year;
+
+DROP INDEX idx_income_category_created_at;
+DROP INDEX idx_income_amount;
+DROP INDEX idx_income_name_trgm;
+DROP INDEX idx_income_description_trgm;
+DROP INDEX idx_income_bucket_day;
+DROP INDEX idx_income_bucket_week;
+DROP INDEX idx_income_bucket_month;
+DROP INDEX idx_income_bucket_year;
+
+DROP INDEX idx_investment_transaction_type_created_at;
+DROP INDEX idx_investment_transaction_currency;
+
+-- Create the hot-only indexes of a ledger table on one of its partitions unless they exist
+CREATE FUNCTION create_hot_indexes(parent TEXT, partition TEXT) RETURNS VOID
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    definition TEXT;
+    definitions TEXT[];
+BEGIN
+    IF parent IN ('expense', 'income') THEN
+        definitions := ARRAY[
+            'category_created_at_idx ON %I (owner_id, category, created_at) INCLUDE (amount)',
+            'amount_idx ON %I (owner_id, amount)',
+            'name_trgm_idx ON %I USING gin (upper(name) gin_trgm_ops)',
+            'description_trgm_idx ON %I USING gin (upper(description) gin_trgm_ops)',
+            'bucket_day_idx ON %I (owner_id, date_trunc(''day'', created_at), category) INCLUDE (amount)',
+            'bucket_week_idx ON %I (owner_id, date_trunc(''week'', created_at), category) INCLUDE (amount)',
+            'bucket_month_idx ON %I (owner_id, date_trunc(''month'', created_at), category) INCLUDE (amount)',
+            'bucket_year_idx ON %I (owner_id, date_trunc(''year'', created_at), category) INCLUDE (amount)'];
+    ELSIF parent = 'investment_transaction' THEN
+        definitions := ARRAY[
+            'type_created_at_idx ON %I (owner_id, transaction_type, created_at) INCLUDE (amount)',
+            'currency_idx ON %I (owner_id, currency)'];
+    ELSE
+        RAISE EXCEPTION 'Not a ledger table: %', parent;
+    END IF;
+
+    FOREACH definition IN ARRAY definitions LOOP
+        EXECUTE format('CREATE INDEX IF NOT EXISTS ' || partition || '_' || definition, partition);
+    END LOOP;
+END
+$$;
+
+-- As in V8, and the partition gets the hot-only indexes; an archived month is never recreated
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', month);
+    month_end   DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition   TEXT := monthly_partition_name(parent, date_trunc('month', month)::DATE);
+BEGIN
+    IF to_regclass('public.' || partition) IS NOT NULL OR to_regclass('archive.' || partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition, parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved',
+                   parent || '_default', month_start, month_end, partition);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition, month_start, month_end);
+    PERFORM create_hot_indexes(parent, partition);
+    RETURN TRUE;
+END
+$$;
+
+-- Move the partition of a month to the archive: drop the indexes it does not share with its parent
+-- and change its schema. Only takes locks on the partition itself; returns whether it was moved.
+CREATE FUNCTION archive_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition TEXT := monthly_partition_name(parent, date_trunc('month', month)::DATE);
+    hot_index REGCLASS;
+BEGIN
+    IF to_regclass('public.' || partition) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    FOR hot_index IN
+        SELECT i.indexrelid::REGCLASS
+        FROM pg_index i
+        WHERE i.indrelid = ('public.' || partition)::REGCLASS
+          AND NOT EXISTS (SELECT 1 FROM pg_inherits h WHERE h.inhrelid = i.indexrelid)
+    LOOP
+        EXECUTE format('DROP INDEX %s', hot_index);
+    END LOOP;
+
+    EXECUTE format('ALTER TABLE public.%I SET SCHEMA archive', partition);
+    RETURN TRUE;
+END
+$$;
+
+-- Hot-only indexes on the existing month partitions; LedgerPartitionScheduler archives the old ones
+DO $$
+DECLARE
+    parent    TEXT;
+    partition TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['expense', 'income', 'investment_transaction'] LOOP
+        FOR partition IN
+            SELECT c.relname
+            FROM pg_inherits h
+                JOIN pg_class c ON c.oid = h.inhrelid
+            WHERE h.inhparent = parent::REGCLASS
+              AND c.relname <> parent || '_default'
+        LOOP
+            PERFORM create_hot_indexes(parent, partition);
+        END LOOP;
+    END LOOP;
+END $$;
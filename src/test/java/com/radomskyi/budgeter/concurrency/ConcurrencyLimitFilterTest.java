@@ -0,0 +1,70 @@
+package com.radomskyi.budgeter.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radomskyi.budgeter.concurrency.ConcurrencyLimitFilter.Traffic;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(meterRegistry, true, Duration.ofMillis(1500), 2, 2, 20, 3, 10, 1, 2);
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response;
+    }
+
+    private double meter(String name, Traffic traffic) {
+        String tag = traffic.name().toLowerCase();
+        return name.endsWith("rejected")
+                ? meterRegistry.get(name).tag("traffic", tag).counter().count()
+                : meterRegistry.get(name).tag("traffic", tag).gauge().value();
+    }
+
+    @Test
+    void doFilter_ShouldRejectWithRetryAfter_WhenTheLimitOfTheTrafficIsReached() throws Exception {
+        ConcurrencyLimit reads = filter.getLimit(Traffic.READ);
+        reads.tryAcquire();
+        reads.tryAcquire();
+
+        MockHttpServletResponse rejected = perform("GET", "/api/expense");
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meter("budgeter.concurrency.rejected", Traffic.READ)).isEqualTo(1);
+
+        assertThat(perform("POST", "/api/expense").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/actuator/health").getStatus()).isEqualTo(200);
+        assertThat(meter("budgeter.concurrency.rejected", Traffic.WRITE)).isZero();
+    }
+
+    @Test
+    void doFilter_ShouldReleaseThePermit_WhenTheRequestEnds() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("POST", "/api/import/import-trading212-orders-csv")
+                            .getStatus())
+                    .isEqualTo(200);
+        }
+
+        assertThat(meter("budgeter.concurrency.inflight", Traffic.IMPORT)).isZero();
+        assertThat(meter("budgeter.concurrency.limit", Traffic.IMPORT)).isBetween(1.0, 2.0);
+        assertThat(meter("budgeter.concurrency.limit", Traffic.READ)).isEqualTo(2);
+    }
+
+    @Test
+    void trafficOf_ShouldSeparateReadsWritesAndImports() {
+        assertThat(ConcurrencyLimitFilter.trafficOf("GET", "/api/expense/stats/cube"))
+                .isEqualTo(Traffic.READ);
+        assertThat(ConcurrencyLimitFilter.trafficOf("DELETE", "/api/expense/1")).isEqualTo(Traffic.WRITE);
+        assertThat(ConcurrencyLimitFilter.trafficOf("POST", "/api/import/import-trading212-orders-csv"))
+                .isEqualTo(Traffic.IMPORT);
+    }
+}
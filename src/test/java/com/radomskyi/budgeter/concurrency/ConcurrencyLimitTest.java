@@ -0,0 +1,85 @@
+package com.radomskyi.budgeter.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitTest {
+
+    private static final long NO_LOAD = Duration.ofMillis(10).toNanos();
+
+    private final ConcurrencyLimit limit = new ConcurrencyLimit(10, 2, 40);
+
+    private void sample(long responseTime, boolean failed) {
+        int inflight = limit.getLimit();
+        limit.release(inflight, responseTime, failed);
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectRequestsBeyondTheLimit() {
+        ConcurrencyLimit small = new ConcurrencyLimit(2, 1, 2);
+
+        assertThat(small.tryAcquire()).isEqualTo(1);
+        assertThat(small.tryAcquire()).isEqualTo(2);
+        assertThat(small.tryAcquire()).isEqualTo(-1);
+        assertThat(small.getInflight()).isEqualTo(2);
+
+        small.release(2, NO_LOAD, false);
+        assertThat(small.tryAcquire()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldRaiseTheLimitUpToTheMaximum_WhileResponseTimesStayAtNoLoad() {
+        sample(NO_LOAD, false);
+        sample(NO_LOAD, false);
+        assertThat(limit.getLimit()).isEqualTo(16);
+
+        for (int i = 0; i < 20; i++) {
+            sample(NO_LOAD, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void release_ShouldLowerTheLimit_UntilFewRequestsQueue() {
+        sample(NO_LOAD, false);
+        sample(10 * NO_LOAD, false);
+        assertThat(limit.getLimit()).isEqualTo(9);
+
+        // At 6 the estimated queue of 6 requests is within the tolerated range
+        for (int i = 0; i < 20; i++) {
+            sample(10 * NO_LOAD, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void release_ShouldLowerTheLimitDownToTheMinimum_WhenRequestsFail() {
+        sample(NO_LOAD, false);
+        sample(NO_LOAD, true);
+        assertThat(limit.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 20; i++) {
+            sample(NO_LOAD, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldKeepTheLimit_WhenLittleOfItIsUsed() {
+        limit.release(1, NO_LOAD, false);
+        limit.release(1, NO_LOAD, false);
+        limit.release(4, 10 * NO_LOAD, false);
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void constructor_ShouldRejectInconsistentLimits() {
+        assertThatThrownBy(() -> new ConcurrencyLimit(10, 0, 20)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConcurrencyLimit(10, 20, 40)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConcurrencyLimit(10, 2, 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
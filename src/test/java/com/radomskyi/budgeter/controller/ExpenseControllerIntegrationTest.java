@@ -11,6 +11,7 @@ import com.radomskyi.budgeter.dto.ExpenseRequest;
 import com.radomskyi.budgeter.dto.ExpenseResponse;
 import com.radomskyi.budgeter.repository.ExpenseRepository;
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.Arrays;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -362,6 +363,67 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(0));
     }
 
+    @Test
+    void getMonthlySummary_ShouldReflectCreateUpdateAndDelete() throws Exception {
+        // Given
+        createTestExpense("Groceries", new BigDecimal("40.00"), ExpenseCategory.NEEDS);
+        createTestExpense("Pharmacy", new BigDecimal("10.00"), ExpenseCategory.NEEDS);
+        createTestExpense("Cinema", new BigDecimal("15.00"), ExpenseCategory.WANTS);
+        String month = YearMonth.now().toString();
+
+        // When & Then
+        mockMvc.perform(get("/api/expense/stats/summary").param("from", month).param("to", month))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[?(@.category == 'NEEDS' && @.tag == null)].total")
+                        .value(50.00))
+                .andExpect(jsonPath("$[?(@.category == 'NEEDS' && @.tag == null)].count")
+                        .value(2))
+                .andExpect(jsonPath("$[?(@.category == 'NEEDS' && @.tag == 'OTHER')].total")
+                        .value(50.00))
+                .andExpect(jsonPath("$[?(@.category == 'WANTS' && @.tag == null)].total")
+                        .value(15.00));
+
+        // Moving an expense to another category moves its amount in the summary
+        Long cinemaId = expenseRepository
+                .findByDescriptionContainingIgnoreCase("Cinema")
+                .get(0)
+                .getId();
+        ExpenseRequest updateRequest = ExpenseRequest.builder()
+                .amount(new BigDecimal("20.00"))
+                .name("Cinema")
+                .category(ExpenseCategory.NEEDS)
+                .build();
+        mockMvc.perform(put("/api/expense/" + cinemaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        Long pharmacyId = expenseRepository
+                .findByDescriptionContainingIgnoreCase("Pharmacy")
+                .get(0)
+                .getId();
+        mockMvc.perform(delete("/api/expense/" + pharmacyId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/expense/stats/summary").param("from", month).param("to", month))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.category == 'NEEDS' && @.tag == null)].total")
+                        .value(60.00))
+                .andExpect(jsonPath("$[?(@.category == 'NEEDS' && @.tag == null)].count")
+                        .value(2))
+                .andExpect(jsonPath("$[?(@.category == 'NEEDS' && @.tag == 'OTHER')].total")
+                        .value(40.00));
+    }
+
+    @Test
+    void getMonthlySummary_ShouldReturnBadRequest_WhenRangeIsReversed() throws Exception {
+        mockMvc.perform(get("/api/expense/stats/summary")
+                        .param("from", "2025-12")
+                        .param("to", "2025-01"))
+                .andExpect(status().isBadRequest());
+    }
+
     private void createTestExpense(String description, BigDecimal amount, ExpenseCategory category) throws Exception {
         ExpenseRequest request = ExpenseRequest.builder()
                 .amount(amount)
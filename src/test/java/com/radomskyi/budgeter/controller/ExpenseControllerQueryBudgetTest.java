@@ -0,0 +1,103 @@
+package com.radomskyi.budgeter.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radomskyi.budgeter.datasource.QueryBudget;
+import com.radomskyi.budgeter.datasource.SqlStatisticsFilter;
+import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.dto.ExpenseRequest;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+// Not transactional: entities must come from the database, not from the test's persistence context
+@SpringBootTest
+@ActiveProfiles("test")
+class ExpenseControllerQueryBudgetTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private SqlStatisticsFilter sqlStatisticsFilter;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+    private List<Expense> expenses;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(sqlStatisticsFilter)
+                .build();
+        expenses = expenseRepository.saveAll(IntStream.range(0, 15)
+                .mapToObj(i -> {
+                    Expense expense = new Expense(new BigDecimal("10.00"), ExpenseCategory.NEEDS, "Expense " + i);
+                    expense.setTags(new ArrayList<>(List.of(Tag.FOOD, Tag.TRANSPORT)));
+                    return expense;
+                })
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        expenseRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    void getAll_ShouldLoadTheTagsOfAPageInOneQuery() throws Exception {
+        mockMvc.perform(get("/api/expense").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[14].tags.length()").value(2))
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "2"))
+                .andExpect(header().string(SqlStatisticsFilter.ROWS_HEADER, "45"));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    void getById_ShouldStayWithinItsQueryBudget() throws Exception {
+        mockMvc.perform(get("/api/expense/{id}", expenses.get(0).getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 8)
+    void create_ShouldStayWithinItsQueryBudget() throws Exception {
+        ExpenseRequest request = ExpenseRequest.builder()
+                .name("Lunch")
+                .amount(new BigDecimal("25.50"))
+                .category(ExpenseCategory.WANTS)
+                .tags(List.of(Tag.FOOD))
+                .build();
+        mockMvc.perform(post("/api/expense")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}
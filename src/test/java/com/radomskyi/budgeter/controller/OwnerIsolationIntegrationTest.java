@@ -0,0 +1,157 @@
+package com.radomskyi.budgeter.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.domain.owner.OwnerFilter;
+import com.radomskyi.budgeter.dto.ExpenseRequest;
+import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+// Not @Transactional: a test transaction would pin every request to the session of the default owner
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class OwnerIsolationIntegrationTest {
+
+    private static final String ALICE = "2";
+    private static final String BOB = "3";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private OwnerFilter ownerFilter;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(ownerFilter)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OwnerContext.runAsSystem(() -> {
+            expenseRepository.deleteAll();
+            monthlyRollupRepository.deleteAll();
+        });
+    }
+
+    private ExpenseResponse createExpense(String owner, String amount) throws Exception {
+        ExpenseRequest request = ExpenseRequest.builder()
+                .amount(new BigDecimal(amount))
+                .name("Groceries")
+                .category(ExpenseCategory.NEEDS)
+                .tags(List.of(Tag.FOOD))
+                .build();
+
+        String body = mockMvc.perform(post("/api/expense")
+                        .header(OwnerFilter.OWNER_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(body, ExpenseResponse.class);
+    }
+
+    @Test
+    void create_ShouldStoreExpenseForTheOwnerOfTheRequest() throws Exception {
+        ExpenseResponse created = createExpense(ALICE, "12.00");
+
+        Expense stored = OwnerContext.callAsSystem(
+                () -> expenseRepository.findById(created.getId()).orElseThrow());
+        assertThat(stored.getOwnerId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getById_ShouldReturnNotFound_ForAnotherOwnersExpense() throws Exception {
+        ExpenseResponse alicesExpense = createExpense(ALICE, "12.00");
+
+        mockMvc.perform(get("/api/expense/{id}", alicesExpense.getId()).header(OwnerFilter.OWNER_HEADER, BOB))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/expense/{id}", alicesExpense.getId()).header(OwnerFilter.OWNER_HEADER, BOB))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/expense/{id}", alicesExpense.getId()).header(OwnerFilter.OWNER_HEADER, ALICE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(12.00));
+    }
+
+    @Test
+    void getAll_ShouldOnlyReturnExpensesOfTheOwner() throws Exception {
+        createExpense(ALICE, "12.00");
+        createExpense(BOB, "30.00");
+        createExpense(BOB, "5.00");
+
+        mockMvc.perform(get("/api/expense").header(OwnerFilter.OWNER_HEADER, ALICE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].amount").value(12.00));
+        mockMvc.perform(get("/api/expense").header(OwnerFilter.OWNER_HEADER, BOB))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void stats_ShouldOnlyAggregateExpensesOfTheOwner() throws Exception {
+        createExpense(ALICE, "12.00");
+        createExpense(BOB, "30.00");
+        String month = YearMonth.now().toString();
+
+        mockMvc.perform(get("/api/expense/stats/summary")
+                        .header(OwnerFilter.OWNER_HEADER, ALICE)
+                        .param("from", month)
+                        .param("to", month))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.tag == null)].total").value(12.00));
+        mockMvc.perform(get("/api/expense/stats/cube")
+                        .header(OwnerFilter.OWNER_HEADER, BOB)
+                        .param("from", month)
+                        .param("to", month))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].total").value(30.00))
+                .andExpect(jsonPath("$[0].count").value(1));
+    }
+
+    @Test
+    void request_ShouldReturnBadRequest_WhenOwnerHeaderIsInvalid() throws Exception {
+        mockMvc.perform(get("/api/expense").header(OwnerFilter.OWNER_HEADER, "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/expense").header(OwnerFilter.OWNER_HEADER, "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
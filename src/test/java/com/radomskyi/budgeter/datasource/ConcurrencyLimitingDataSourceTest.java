@@ -0,0 +1,68 @@
+package com.radomskyi.budgeter.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final ConcurrencyLimitingDataSource dataSource =
+            new ConcurrencyLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+    @Test
+    void getConnection_ShouldTimeOut_WhenAllConnectionsAreInUse() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getActive()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReleaseThePermitOnce() throws SQLException {
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getActive()).isEqualTo(2);
+        verify(physical, times(2)).close();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void getConnection_ShouldReleaseThePermit_WhenThePoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("Connection refused");
+
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    void connection_ShouldDelegateToThePhysicalConnection() throws SQLException {
+        Connection physical = mock(Connection.class);
+        when(physical.getAutoCommit()).thenReturn(true);
+        when(target.getConnection()).thenReturn(physical);
+
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection.getAutoCommit()).isTrue();
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(physical);
+    }
+}
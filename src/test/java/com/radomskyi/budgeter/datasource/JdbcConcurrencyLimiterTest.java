@@ -0,0 +1,49 @@
+package com.radomskyi.budgeter.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+class JdbcConcurrencyLimiterTest {
+
+    private final JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(10, Duration.ofSeconds(1));
+
+    @Test
+    void postProcessAfterInitialization_ShouldLimitThePool_ToItsSize() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(4);
+
+        Object limited = limiter.postProcessAfterInitialization(pool, "dataSource");
+
+        assertThat(limited).isInstanceOf(ConcurrencyLimitingDataSource.class);
+        assertThat(((ConcurrencyLimitingDataSource) limited).getMaxConcurrency())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void postProcessAfterInitialization_ShouldLeaveDataSourcesThatAreNoPool() {
+        DataSource lazy = new LazyConnectionDataSourceProxy(mock(DataSource.class));
+
+        assertThat(limiter.postProcessAfterInitialization(lazy, "dataSource")).isSameAs(lazy);
+    }
+
+    @Test
+    void limit_ShouldLeaveThePool_WhenDisabled() {
+        HikariDataSource pool = new HikariDataSource();
+
+        assertThat(new JdbcConcurrencyLimiter(0, Duration.ofSeconds(1)).limit(pool))
+                .isSameAs(pool);
+    }
+
+    @Test
+    void dataSourcePostProcessors_ShouldWrapTheLimitFirst_AndTheTracingLast() {
+        assertThat(new JdbcConcurrencyLimiter(10, Duration.ofSeconds(1)).getOrder())
+                .isLessThan(new StatementCounter().getOrder());
+        assertThat(new StatementCounter().getOrder()).isLessThan(new StatementObserver(null).getOrder());
+    }
+}
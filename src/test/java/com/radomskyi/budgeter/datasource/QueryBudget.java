@@ -0,0 +1,21 @@
+package com.radomskyi.budgeter.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails the test if its body (not its setup) runs more SQL statements than {@link #statements}, so
+ * an endpoint that starts loading an association row by row fails its test instead of production.
+ * Needs the application context's data source outside the production profile.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /** Statements the test may run at most */
+    int statements();
+}
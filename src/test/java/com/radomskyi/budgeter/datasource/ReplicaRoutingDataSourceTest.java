@@ -0,0 +1,122 @@
+package com.radomskyi.budgeter.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final AtomicLong clock = new AtomicLong();
+
+    private ReplicaRoutingDataSource routing(Duration stickyFor) {
+        return new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), stickyFor, clock::get);
+    }
+
+    // Fetches a connection in a read-write transaction of the owner
+    private static void connectAs(long ownerId, DataSource dataSource) {
+        OwnerContext.runAs(ownerId, () -> {
+            try {
+                dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void determineTarget_ShouldTakeReplicasInTurn() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+
+        assertThat(List.of(routing.determineTarget(), routing.determineTarget(), routing.determineTarget()))
+                .containsExactly(replica1, replica2, replica1);
+    }
+
+    @Test
+    void determineTarget_ShouldReturnPrimary_AfterAWriteOfTheOwnerWithinTheWindow() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+
+        OwnerContext.runAs(2L, routing::recordWrite);
+
+        assertThat(OwnerContext.callAs(2L, routing::determineTarget)).isSameAs(primary);
+        assertThat(OwnerContext.callAs(3L, routing::determineTarget)).isNotSameAs(primary);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(OwnerContext.callAs(2L, routing::determineTarget)).isNotSameAs(primary);
+    }
+
+    @Test
+    void recordingWrites_ShouldMakeTheOwnerSticky_OnlyOnceTheTransactionCommits() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            connectAs(2L, routing.recordingWrites());
+
+            assertThat(OwnerContext.callAs(2L, routing::determineTarget)).isNotSameAs(primary);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(OwnerContext.callAs(2L, routing::determineTarget)).isSameAs(primary);
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void recordingWrites_ShouldNotMakeTheOwnerSticky_WhenTheTransactionRollsBack() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            connectAs(2L, routing.recordingWrites());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertThat(OwnerContext.callAs(2L, routing::determineTarget)).isNotSameAs(primary);
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void close_ShouldCloseTheReplicaPools_BehindTheirConnectionLimits() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, List.of(new ConcurrencyLimitingDataSource(pool, 1, Duration.ofSeconds(1))), Duration.ZERO);
+
+        routing.close();
+
+        assertThat(pool.isClosed()).isTrue();
+    }
+
+    @Test
+    void determineTarget_ShouldNeverReturnPrimary_WhenReadYourWritesIsDisabled() {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+
+        routing.recordWrite();
+
+        assertThat(routing.determineTarget()).isNotSameAs(primary);
+    }
+
+    @Test
+    void determineTarget_ShouldNotBeSticky_InTheSystemContext() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+
+        OwnerContext.runAsSystem(routing::recordWrite);
+
+        assertThat(OwnerContext.callAsSystem(routing::determineTarget)).isNotSameAs(primary);
+        assertThat(routing.determineTarget()).isNotSameAs(primary);
+    }
+}
@@ -0,0 +1,182 @@
+package com.radomskyi.budgeter.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.dto.ExpenseRequest;
+import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import com.radomskyi.budgeter.service.ExpenseService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+// Two H2 databases that are never synchronized: whatever a read finds tells which one served it
+@SpringBootTest(
+        properties = {
+            "budgeter.datasource.replica-urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+            "budgeter.datasource.read-your-writes=0s"
+        })
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        // Stands in for replication of the schema: copies the tables Hibernate created on the primary,
+        // which the EntityManagerFactory dependency makes sure happened first
+        @Bean
+        InitializingBean replicaSchemaCopy(
+                HikariDataSource primaryDataSource, EntityManagerFactory entityManagerFactory) {
+            return () -> {
+                try (Connection primary = primaryDataSource.getConnection();
+                        ResultSet script = primary.createStatement().executeQuery("SCRIPT NODATA");
+                        Connection replica = replicaConnection();
+                        Statement statement = replica.createStatement()) {
+                    while (script.next()) {
+                        statement.execute(script.getString(1));
+                    }
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static Connection replicaConnection() throws SQLException {
+        return DriverManager.getConnection(REPLICA_URL, "sa", "password");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        expenseRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+        try (Connection replica = replicaConnection();
+                Statement statement = replica.createStatement()) {
+            statement.execute("DELETE FROM expense_tags");
+            statement.execute("DELETE FROM expense");
+        }
+    }
+
+    private ExpenseResponse createExpense() {
+        return expenseService.create(ExpenseRequest.builder()
+                .amount(new BigDecimal("12.00"))
+                .name("Groceries")
+                .category(ExpenseCategory.NEEDS)
+                .tags(List.of(Tag.FOOD))
+                .build());
+    }
+
+    @Test
+    void create_ShouldWriteToThePrimary() {
+        ExpenseResponse created = createExpense();
+
+        Long count = new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT count(*) FROM expense WHERE id = ?", Long.class, created.getId());
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldReadFromTheReplica() throws SQLException {
+        createExpense();
+
+        assertThat(expenseService.getAll(PageRequest.of(0, 10)).getTotalElements())
+                .isZero();
+
+        try (Connection replica = replicaConnection();
+                Statement statement = replica.createStatement()) {
+            statement.execute("INSERT INTO expense (owner_id, amount, name, created_at, category) "
+                    + "VALUES (1, 30.00, 'Replicated', CURRENT_TIMESTAMP, 'WANTS')");
+        }
+
+        assertThat(expenseService.getAll(PageRequest.of(0, 10)).getContent())
+                .extracting(ExpenseResponse::getName)
+                .containsExactly("Replicated");
+    }
+
+    @Test
+    void httpRequests_ShouldReadFromTheReplica_AndWriteToThePrimary() throws Exception {
+        MockMvc mockMvc =
+                MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        ExpenseRequest request = ExpenseRequest.builder()
+                .amount(new BigDecimal("12.00"))
+                .name("Groceries")
+                .category(ExpenseCategory.NEEDS)
+                .tags(List.of(Tag.FOOD))
+                .build();
+
+        mockMvc.perform(get("/api/expense"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(post("/api/expense")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/expense"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        Long onPrimary = new JdbcTemplate(primaryDataSource).queryForObject("SELECT count(*) FROM expense", Long.class);
+        assertThat(onPrimary).isEqualTo(1);
+    }
+
+    @Test
+    void readWriteTransactions_ShouldReadFromThePrimary() {
+        ExpenseResponse created = createExpense();
+
+        Boolean found = transactionTemplate.execute(
+                status -> expenseRepository.findById(created.getId()).isPresent());
+
+        assertThat(found).isTrue();
+    }
+}
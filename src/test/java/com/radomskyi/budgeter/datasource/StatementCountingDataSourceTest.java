@@ -0,0 +1,95 @@
+package com.radomskyi.budgeter.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementCountingDataSourceTest {
+
+    private StatementCountingDataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementCountingDataSource(h2);
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(20))");
+            statement.execute("INSERT INTO item VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE item");
+        }
+        connection.close();
+    }
+
+    @Test
+    void statements_ShouldBeCountedWithTheirRows() throws SQLException {
+        SqlStatistics statistics = SqlStatistics.start();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM item WHERE id <= ?")) {
+            statement.setInt(1, 2);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertThat(resultSet.getString(1)).isNotNull();
+                }
+            }
+        } finally {
+            statistics.stop();
+        }
+
+        assertThat(statistics.getStatements()).isEqualTo(1);
+        assertThat(statistics.getRows()).isEqualTo(2);
+        assertThat(statistics.getJdbcTime()).isPositive();
+    }
+
+    @Test
+    void repeatedStatements_ShouldGroupPlainStatementsByShape() throws SQLException {
+        SqlStatistics outer = SqlStatistics.start();
+        SqlStatistics inner = SqlStatistics.start();
+        try (Statement statement = connection.createStatement()) {
+            for (int id = 1; id <= 3; id++) {
+                statement
+                        .executeQuery("SELECT name FROM item WHERE id = " + id + " AND name <> 'x'")
+                        .close();
+            }
+            statement.executeQuery("SELECT count(*) FROM item").close();
+        } finally {
+            inner.stop();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        } finally {
+            outer.stop();
+        }
+
+        assertThat(inner.repeatedStatements(2))
+                .containsExactly(Map.entry("SELECT name FROM item WHERE id = ? AND name <> ?", 3));
+        assertThat(inner.getStatements()).isEqualTo(4);
+        assertThat(outer.getStatements()).isEqualTo(5);
+        assertThat(SqlStatistics.current()).isNull();
+    }
+
+    @Test
+    void statements_ShouldNotBeCounted_WithoutAScope() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+
+        assertThat(SqlStatistics.current()).isNull();
+    }
+}
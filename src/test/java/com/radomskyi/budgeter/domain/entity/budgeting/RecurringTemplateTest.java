@@ -0,0 +1,62 @@
+package com.radomskyi.budgeter.domain.entity.budgeting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class RecurringTemplateTest {
+
+    private static RecurringTemplate template(RecurrenceFrequency frequency, LocalDate start, LocalDate end) {
+        RecurringTemplate template = RecurringTemplate.builder()
+                .ledger(LedgerType.EXPENSE)
+                .name("Rent")
+                .amount(new BigDecimal("950.00"))
+                .build();
+        template.reschedule(frequency, start, end);
+        return template;
+    }
+
+    @Test
+    void advance_ShouldKeepDayOfMonthOfStartDate() {
+        RecurringTemplate template = template(RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 1, 31), null);
+
+        template.advance();
+        assertThat(template.getNextOccurrence()).isEqualTo(LocalDate.of(2025, 2, 28));
+        template.advance();
+        assertThat(template.getNextOccurrence()).isEqualTo(LocalDate.of(2025, 3, 31));
+    }
+
+    @Test
+    void advance_ShouldFinishTemplate_WhenNextOccurrenceIsAfterEndDate() {
+        RecurringTemplate template =
+                template(RecurrenceFrequency.QUARTERLY, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 6, 30));
+
+        template.advance();
+        assertThat(template.getNextOccurrence()).isEqualTo(LocalDate.of(2025, 4, 15));
+        template.advance();
+        assertThat(template.getNextOccurrence()).isNull();
+    }
+
+    @Test
+    void reschedule_ShouldSkipOccurrencesAlreadyGenerated() {
+        RecurringTemplate template = template(RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 1, 1), null);
+        template.advance();
+        template.advance();
+
+        // January and February are generated; a weekly schedule from January resumes after February 1st
+        template.reschedule(RecurrenceFrequency.WEEKLY, LocalDate.of(2025, 1, 1), null);
+
+        assertThat(template.getNextOccurrence()).isEqualTo(LocalDate.of(2025, 2, 5));
+    }
+
+    @Test
+    void getCategory_ShouldDependOnLedger() {
+        RecurringTemplate template = template(RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 1, 1), null);
+        assertThat(template.getCategory()).isEqualTo(ExpenseCategory.FIXED);
+
+        template.setLedger(LedgerType.INCOME);
+        assertThat(template.getCategory()).isEqualTo(IncomeCategory.SALARY);
+    }
+}
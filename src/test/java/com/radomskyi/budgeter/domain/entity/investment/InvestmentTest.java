@@ -471,4 +471,37 @@ class InvestmentTest {
         // Total realized: 40 + 45 = 85
         assertThat(investment.getRealizedGainLoss()).isEqualByComparingTo(new BigDecimal("85.00"));
     }
+
+    @Test
+    void testRealizedGainLoss_ShouldConvertFeesAndGainsWithTheExchangeRate() {
+        // 0.9 EUR per USD; fees are paid in EUR
+        InvestmentTransaction buyTransaction = InvestmentTransaction.builder()
+                .transactionType(InvestmentTransactionType.BUY)
+                .investment(investment)
+                .units(new BigDecimal("10"))
+                .pricePerUnit(new BigDecimal("100.00"))
+                .fees(new BigDecimal("9.00"))
+                .currency(Currency.USD)
+                .exchangeRate(new BigDecimal("0.9"))
+                .build();
+        investment.addTransaction(buyTransaction);
+
+        InvestmentTransaction sellTransaction = InvestmentTransaction.builder()
+                .transactionType(InvestmentTransactionType.SELL)
+                .investment(investment)
+                .units(new BigDecimal("5"))
+                .pricePerUnit(new BigDecimal("120.00"))
+                .fees(new BigDecimal("4.50"))
+                .currency(Currency.USD)
+                .exchangeRate(new BigDecimal("0.9"))
+                .build();
+        investment.addTransaction(sellTransaction);
+
+        // Buy: 10 * 100 + 9 EUR (10 USD) = 1010 USD, cost basis 101 USD
+        // Sell: 5 * 120 - 5 * 101 - 4.50 EUR (5 USD) = 90 USD, booked as 81 EUR
+        assertThat(investment.getTotalCost()).isEqualByComparingTo(new BigDecimal("505.00"));
+        assertThat(investment.getCostBasis()).isEqualByComparingTo(new BigDecimal("101.00000000"));
+        assertThat(sellTransaction.getRealizedGainLoss()).isEqualByComparingTo(new BigDecimal("90.00"));
+        assertThat(investment.getRealizedGainLoss()).isEqualByComparingTo(new BigDecimal("81.00"));
+    }
 }
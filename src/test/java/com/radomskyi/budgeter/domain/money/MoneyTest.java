@@ -0,0 +1,146 @@
+package com.radomskyi.budgeter.domain.money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.radomskyi.budgeter.domain.entity.investment.Asset;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.entity.investment.Investment;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransaction;
+import com.radomskyi.budgeter.domain.entity.investment.InvestmentTransactionType;
+import com.radomskyi.budgeter.dto.InvestmentTransactionResponse;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    private static Money eur(String amount) {
+        return Money.of(new BigDecimal(amount), Currency.EUR);
+    }
+
+    @Test
+    void testArithmeticMatchesBigDecimal() {
+        Money price = eur("153.83333333");
+        BigDecimal units = new BigDecimal("2.5");
+
+        Money result = price.times(units).plus(eur("1.50")).minus(eur("0.005"));
+
+        BigDecimal expected = new BigDecimal("153.83333333")
+                .multiply(units)
+                .add(new BigDecimal("1.50"))
+                .subtract(new BigDecimal("0.005"));
+        assertThat(result.toBigDecimal()).isEqualByComparingTo(expected);
+        assertThat(result.toBigDecimal().scale()).isEqualTo(expected.scale());
+    }
+
+    @Test
+    void testOverflowFallsBackToBigDecimal() {
+        Money large = Money.of(BigDecimal.valueOf(Long.MAX_VALUE, 2), Currency.EUR);
+
+        Money doubled = large.plus(large);
+        Money squared = large.times(BigDecimal.valueOf(Long.MAX_VALUE));
+
+        assertThat(doubled.toBigDecimal())
+                .isEqualByComparingTo(BigDecimal.valueOf(Long.MAX_VALUE, 2).multiply(BigDecimal.TWO));
+        assertThat(squared.toBigDecimal())
+                .isEqualByComparingTo(
+                        BigDecimal.valueOf(Long.MAX_VALUE, 2).multiply(BigDecimal.valueOf(Long.MAX_VALUE)));
+        assertThat(doubled.minus(large)).isEqualTo(large);
+    }
+
+    @Test
+    void testSumSkipsNullsAndAlignsScales() {
+        List<BigDecimal> amounts = Arrays.asList(new BigDecimal("10.5"), null, new BigDecimal("0.25"), BigDecimal.ONE);
+
+        Money sum = Money.sum(amounts, amount -> amount, Currency.EUR);
+
+        assertThat(sum).isEqualTo(eur("11.75"));
+        assertThat(Money.sum(List.<BigDecimal>of(), amount -> amount, Currency.EUR)
+                        .isZero())
+                .isTrue();
+    }
+
+    @Test
+    void testSumOverflow() {
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE);
+
+        Money sum = Money.sum(List.of(max, max, BigDecimal.ONE), amount -> amount, Currency.EUR);
+
+        assertThat(sum.toBigDecimal()).isEqualByComparingTo(max.add(max).add(BigDecimal.ONE));
+    }
+
+    @Test
+    void testMinorUnitsRoundHalfUp() {
+        assertThat(eur("12.345").toMinorUnits()).isEqualTo(1235);
+        assertThat(eur("-12.345").toMinorUnits()).isEqualTo(-1235);
+        assertThat(eur("7").toMinorUnits()).isEqualTo(700);
+        assertThat(Money.ofMinor(1999, Currency.EUR)).isEqualTo(eur("19.99"));
+    }
+
+    @Test
+    void testEqualityIsNumerical() {
+        assertThat(eur("1.5")).isEqualTo(eur("1.50"));
+        assertThat(eur("1.5")).hasSameHashCodeAs(eur("1.50"));
+        assertThat(eur("1.5")).isNotEqualTo(Money.of(new BigDecimal("1.5"), Currency.USD));
+        assertThat(eur("2.00")).isGreaterThan(eur("1.999"));
+    }
+
+    @Test
+    void testCurrencyMismatchIsRejected() {
+        Money usd = Money.of(BigDecimal.ONE, Currency.USD);
+
+        assertThatThrownBy(() -> eur("1").plus(usd)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(usd.exchange(new BigDecimal("0.9"), Currency.EUR)).isEqualTo(eur("0.9"));
+    }
+
+    @Test
+    void testJsonRoundTrip() throws Exception {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new SimpleModule()
+                        .addSerializer(Money.class, new MoneyJsonComponent.Serializer())
+                        .addDeserializer(Money.class, new MoneyJsonComponent.Deserializer()));
+
+        String json = mapper.writeValueAsString(Money.of(new BigDecimal("1234.10"), Currency.USD));
+
+        assertThat(json).isEqualTo("{\"amount\":1234.10,\"currency\":\"USD\"}");
+        assertThat(mapper.readValue(json, Money.class)).isEqualTo(Money.of(new BigDecimal("1234.1"), Currency.USD));
+        assertThat(mapper.readValue("0.1", Money.class).toBigDecimal()).isEqualTo(new BigDecimal("0.1"));
+    }
+
+    @Test
+    void testResponseWritesTheRealizedGainWithItsCurrency() throws Exception {
+        ObjectMapper mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .registerModule(new SimpleModule().addSerializer(Money.class, new MoneyJsonComponent.Serializer()));
+        Investment investment = Investment.createNew(
+                Asset.builder().ticker("AAPL").name("Apple Inc.").build(), Currency.USD, "Trading212");
+        InvestmentTransaction sell = InvestmentTransaction.builder()
+                .transactionType(InvestmentTransactionType.SELL)
+                .units(new BigDecimal("5"))
+                .pricePerUnit(new BigDecimal("120.00"))
+                .currency(Currency.USD)
+                .realizedGainLoss(new BigDecimal("90.00"))
+                .build();
+        investment.getTransactions().add(sell);
+        sell.setInvestment(investment);
+
+        JsonNode json = mapper.valueToTree(InvestmentTransactionResponse.fromTransaction(sell));
+
+        assertThat(json.get("realizedGainLoss").get("amount").decimalValue()).isEqualByComparingTo("90.00");
+        assertThat(json.get("realizedGainLoss").get("currency").asText()).isEqualTo("USD");
+    }
+
+    @Test
+    void testLedgerConverter() {
+        LedgerMoneyConverter converter = new LedgerMoneyConverter();
+
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("99.99"))).isEqualTo(eur("99.99"));
+        assertThat(converter.convertToDatabaseColumn(eur("99.99"))).isEqualTo(new BigDecimal("99.99"));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.radomskyi.budgeter.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/expense");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "failing-1");
+        request.setContent("{}".getBytes());
+        return request;
+    }
+
+    @Test
+    void waitingDuplicate_ShouldGetConflict_WhenTheFirstRequestFailsWithAServerError() throws Exception {
+        IdempotencyFilter filter =
+                new IdempotencyFilter(idempotencyStore, List.of("/api/expense"), DataSize.ofKilobytes(1));
+        when(idempotencyStore.claim(anyString(), anyString())).thenReturn(Optional.empty());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<MockHttpServletResponse> first = executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request(), response, (req, res) -> {
+                    running.countDown();
+                    try {
+                        fail.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    ((HttpServletResponse) res).setStatus(500);
+                });
+                return response;
+            });
+            running.await();
+
+            MockHttpServletResponse duplicate = new MockHttpServletResponse();
+            Thread waiter = Thread.ofVirtual().start(() -> {
+                try {
+                    filter.doFilter(request(), duplicate, (req, res) -> {
+                        throw new AssertionError("The duplicate must not run while the first one is in flight");
+                    });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            // Parked on the first request's response
+            while (waiter.getState() != Thread.State.WAITING) {
+                Thread.sleep(5);
+            }
+            fail.countDown();
+            waiter.join();
+
+            assertThat(first.get().getStatus()).isEqualTo(500);
+            assertThat(duplicate.getStatus()).isEqualTo(409);
+            assertThat(duplicate.getHeader("Retry-After")).isEqualTo("1");
+        }
+        verify(idempotencyStore).release("failing-1");
+        verify(idempotencyStore, never()).complete(anyString(), anyString(), anyInt(), any(), any());
+    }
+}
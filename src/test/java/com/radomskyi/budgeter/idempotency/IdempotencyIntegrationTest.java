@@ -0,0 +1,220 @@
+package com.radomskyi.budgeter.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.idempotency.IdempotencyRecord;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.domain.owner.OwnerFilter;
+import com.radomskyi.budgeter.dto.ExpenseRequest;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.IdempotencyRecordRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+// Not @Transactional: requests with the same key must see each other's committed rows
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    private static final String OWNER = "4";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private OwnerFilter ownerFilter;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(ownerFilter, idempotencyFilter)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OwnerContext.runAsSystem(() -> {
+            expenseRepository.deleteAll();
+            monthlyRollupRepository.deleteAll();
+            idempotencyRecordRepository.deleteAll();
+        });
+    }
+
+    private byte[] expenseJson(String amount) throws Exception {
+        ExpenseRequest request = ExpenseRequest.builder()
+                .amount(new BigDecimal(amount))
+                .name("Groceries")
+                .category(ExpenseCategory.NEEDS)
+                .tags(List.of(Tag.FOOD))
+                .build();
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    private MockHttpServletResponse createExpense(String owner, String key, String amount) throws Exception {
+        return mockMvc.perform(post("/api/expense")
+                        .header(OwnerFilter.OWNER_HEADER, owner)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(expenseJson(amount)))
+                .andReturn()
+                .getResponse();
+    }
+
+    // A claimed key whose request never finished
+    private void claim(String key, String requestHash, LocalDateTime createdAt) {
+        OwnerContext.runAs(
+                Long.parseLong(OWNER),
+                () -> idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .createdAt(createdAt)
+                        .build()));
+    }
+
+    private long expenseCount() {
+        return OwnerContext.callAsSystem(expenseRepository::count);
+    }
+
+    @Test
+    void retry_ShouldReplayTheFirstResponse_WithoutCreatingAnotherExpense() throws Exception {
+        MockHttpServletResponse first = createExpense(OWNER, "retry-1", "12.00");
+        MockHttpServletResponse retry = createExpense(OWNER, "retry-1", "12.00");
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(expenseCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicates_ShouldCreateOneExpense() throws Exception {
+        int duplicates = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < duplicates; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return createExpense(OWNER, "concurrent-1", "30.00");
+                }));
+            }
+            start.countDown();
+
+            String body = responses.get(0).get().getContentAsString();
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertThat(response.get().getStatus()).isEqualTo(201);
+                assertThat(response.get().getContentAsString()).isEqualTo(body);
+            }
+        }
+        assertThat(expenseCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reusedKey_ShouldBeRejected_ForADifferentRequest() throws Exception {
+        createExpense(OWNER, "reused-1", "12.00");
+
+        assertThat(createExpense(OWNER, "reused-1", "99.00").getStatus()).isEqualTo(422);
+        assertThat(expenseCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sameKey_ShouldCreateAnExpenseForEveryOwner() throws Exception {
+        createExpense(OWNER, "shared-1", "12.00");
+        createExpense("5", "shared-1", "12.00");
+
+        assertThat(expenseCount()).isEqualTo(2);
+    }
+
+    @Test
+    void unfinishedClaim_ShouldGetConflict_WithinTheLease_AndBeTakenOverAfterIt() throws Exception {
+        String requestHash = IdempotencyFilter.hash("POST", "/api/expense", expenseJson("12.00"));
+        claim("fresh-1", requestHash, LocalDateTime.now());
+        claim("stale-1", requestHash, LocalDateTime.now().minusMinutes(2));
+
+        assertThat(createExpense(OWNER, "fresh-1", "12.00").getStatus()).isEqualTo(409);
+        MockHttpServletResponse takenOver = createExpense(OWNER, "stale-1", "12.00");
+        MockHttpServletResponse retry = createExpense(OWNER, "stale-1", "12.00");
+
+        assertThat(takenOver.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(expenseCount()).isEqualTo(1);
+        // The lease starts over with the request that took the key over
+        assertThat(OwnerContext.callAs(Long.parseLong(OWNER), () -> idempotencyRecordRepository
+                        .findByIdempotencyKey("stale-1")
+                        .orElseThrow()
+                        .getCreatedAt()))
+                .isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void oversizedRequest_ShouldBeRejected_WithoutBufferingIt() throws Exception {
+        mockMvc.perform(post("/api/expense")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "large-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"" + "x".repeat(1024 * 1024) + "\"}"))
+                .andExpect(status().isPayloadTooLarge());
+        long records = OwnerContext.callAsSystem(idempotencyRecordRepository::count);
+        assertThat(records).isZero();
+    }
+
+    @Test
+    void invalidRequest_ShouldBeReplayedToo() throws Exception {
+        mockMvc.perform(post("/api/expense")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "invalid-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/expense")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "invalid-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.message").value("Validation failed"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.radomskyi.budgeter.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+class FlightRecordingEndpointTest {
+
+    private final FlightRecordingEndpoint endpoint =
+            new FlightRecordingEndpoint("default", Duration.ofMinutes(1), DataSize.ofMegabytes(20));
+
+    @AfterEach
+    void tearDown() throws Exception {
+        WebEndpointResponse<Resource> response = endpoint.stop();
+        if (response.getBody() != null) {
+            response.getBody().getInputStream().close();
+        }
+    }
+
+    @Test
+    void start_ShouldBoundTheDurationAndRejectASecondRecording() throws Exception {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(Duration.ofHours(1));
+
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody()).containsEntry("state", RecordingState.RUNNING);
+        assertThat(started.getBody()).containsEntry("duration", Duration.ofMinutes(1));
+        assertThat(endpoint.start(null).getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+    }
+
+    @Test
+    void stop_ShouldReturnTheRecordingWithTheApplicationEventsAndWithoutTheEnvironment() throws Exception {
+        endpoint.start(Duration.ofSeconds(30));
+
+        RowImportedEvent row = new RowImportedEvent();
+        row.begin();
+        row.setBroker("trading212");
+        row.setRow(1);
+        row.setTicker("AAPL");
+        row.setResult("imported");
+        row.commit();
+
+        WebEndpointResponse<Resource> response = endpoint.stop();
+        Path file = Files.createTempFile("recording-", ".jfr");
+        try (InputStream recording = response.getBody().getInputStream()) {
+            Files.copy(recording, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("budgeter.RowImported"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("ticker")).isEqualTo("AAPL");
+                    assertThat(event.getString("result")).isEqualTo("imported");
+                });
+        assertThat(events)
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+    }
+
+    @Test
+    void stop_ShouldReturnNotFound_WhenNothingWasRecorded() throws Exception {
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,343 @@
+package com.radomskyi.budgeter.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.owner.OwnerFilter;
+import com.radomskyi.budgeter.dto.ExpenseRequest;
+import com.radomskyi.budgeter.dto.IncomeRequest;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Mixed API load at a fixed arrival rate against the application on a random port and the local
+ * PostgreSQL: expense and income CRUD and paging, and small Trading212 imports. Fails when the p99
+ * latency of any operation exceeds its SLO or too many requests fail. Run with
+ * {@code mvn test -Pload-test}; rate, duration and SLOs are in application-load-test.properties.
+ */
+@org.junit.jupiter.api.Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load-test")
+class ApiLoadTest {
+
+    private static final int SEEDED_ENTRIES = 50;
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+
+    private static final String CSV_HEADER = "Action,Time,ISIN,Ticker,Name,ID,No. of shares,Price / share,"
+            + "Currency (Price / share),Exchange rate,Result,Currency (Result),Gross Total,Currency (Gross Total),"
+            + "Withholding tax,Currency (Withholding tax),Currency conversion fee,"
+            + "Currency (Currency conversion fee)";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${budgeter.load-test.rate}")
+    private double rate;
+
+    @Value("${budgeter.load-test.warmup}")
+    private Duration warmup;
+
+    @Value("${budgeter.load-test.duration}")
+    private Duration duration;
+
+    @Value("${budgeter.load-test.seed}")
+    private long seed;
+
+    @Value("${budgeter.load-test.owner-id}")
+    private long ownerId;
+
+    @Value("${budgeter.load-test.slo.p99.default}")
+    private Duration defaultSlo;
+
+    @Value("${budgeter.load-test.slo.max-error-rate}")
+    private double maxErrorRate;
+
+    private HttpClient client;
+
+    // Ids not in use by a request; taking one out keeps concurrent requests off the same entry
+    private final Deque<Long> expenseIds = new ConcurrentLinkedDeque<>();
+    private final Deque<Long> incomeIds = new ConcurrentLinkedDeque<>();
+    private final AtomicLong orderIds = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (int i = 0; i < SEEDED_ENTRIES; i++) {
+            createExpense();
+            createIncome();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Long id : expenseIds) {
+            send(request("/api/expense/" + id).DELETE());
+        }
+        for (Long id : incomeIds) {
+            send(request("/api/income/" + id).DELETE());
+        }
+        jdbcTemplate.update("DELETE FROM investment_transaction WHERE owner_id = ?", ownerId);
+        jdbcTemplate.update("DELETE FROM investment WHERE owner_id = ?", ownerId);
+        jdbcTemplate.update("DELETE FROM asset WHERE owner_id = ?", ownerId);
+        jdbcTemplate.update("DELETE FROM monthly_rollup WHERE owner_id = ?", ownerId);
+        client.close();
+    }
+
+    @Test
+    void api_ShouldMeetItsLatencySlos_AtTheConfiguredArrivalRate() throws IOException {
+        OpenLoopLoad load = new OpenLoopLoad(rate, operations());
+        load.run(warmup, seed);
+        OpenLoopLoad.Result result = load.run(duration, seed + 1);
+
+        Files.createDirectories(REPORT_DIRECTORY);
+        List<String> breaches = new ArrayList<>();
+        System.out.printf(
+                "%n%.0f requests/s for %ds%n%-16s %7s %6s %9s %9s %9s %9s %9s%n",
+                rate,
+                duration.toSeconds(),
+                "operation",
+                "count",
+                "errors",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "max ms",
+                "SLO ms");
+
+        result.latencies().forEach((name, histogram) -> {
+            long errors = result.errors().get(name);
+            Duration slo = environment.getProperty("budgeter.load-test.slo.p99." + name, Duration.class, defaultSlo);
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            System.out.printf(
+                    "%-16s %7d %6d %9.1f %9.1f %9.1f %9.1f %9d%n",
+                    name,
+                    histogram.getTotalCount(),
+                    errors,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    p99,
+                    millis(histogram.getMaxValue()),
+                    slo.toMillis());
+
+            if (p99 > slo.toMillis()) {
+                breaches.add("%s p99 %.1f ms > %d ms".formatted(name, p99, slo.toMillis()));
+            }
+            if (errors > maxErrorRate * histogram.getTotalCount()) {
+                breaches.add("%s %d of %d requests failed".formatted(name, errors, histogram.getTotalCount()));
+            }
+            writeDistribution(name, histogram);
+        });
+
+        assertThat(breaches).as("SLO breaches").isEmpty();
+    }
+
+    private List<OpenLoopLoad.Operation> operations() {
+        return List.of(
+                new OpenLoopLoad.Operation("expense.create", 15, this::createExpense),
+                new OpenLoopLoad.Operation(
+                        "expense.get",
+                        20,
+                        () -> withId(expenseIds, false, id -> request("/api/expense/" + id)
+                                .GET())),
+                new OpenLoopLoad.Operation(
+                        "expense.update",
+                        10,
+                        () -> withId(expenseIds, false, id -> json("/api/expense/" + id)
+                                .PUT(body(expense())))),
+                new OpenLoopLoad.Operation(
+                        "expense.delete",
+                        5,
+                        () -> withId(expenseIds, true, id -> request("/api/expense/" + id)
+                                .DELETE())),
+                new OpenLoopLoad.Operation(
+                        "expense.list",
+                        15,
+                        () -> send(request("/api/expense?size=20&page="
+                                        + ThreadLocalRandom.current().nextInt(5))
+                                .GET())),
+                new OpenLoopLoad.Operation("income.create", 10, this::createIncome),
+                new OpenLoopLoad.Operation(
+                        "income.get",
+                        5,
+                        () -> withId(incomeIds, false, id -> request("/api/income/" + id)
+                                .GET())),
+                new OpenLoopLoad.Operation(
+                        "income.update",
+                        5,
+                        () -> withId(incomeIds, false, id -> json("/api/income/" + id)
+                                .PUT(body(income())))),
+                new OpenLoopLoad.Operation(
+                        "income.delete",
+                        3,
+                        () -> withId(incomeIds, true, id -> request("/api/income/" + id)
+                                .DELETE())),
+                new OpenLoopLoad.Operation(
+                        "income.list",
+                        10,
+                        () -> send(request("/api/income?size=20&page="
+                                        + ThreadLocalRandom.current().nextInt(5))
+                                .GET())),
+                new OpenLoopLoad.Operation("import", 2, this::importOrders));
+    }
+
+    private boolean createExpense() throws Exception {
+        return create(json("/api/expense").POST(body(expense())), expenseIds);
+    }
+
+    private boolean createIncome() throws Exception {
+        return create(json("/api/income").POST(body(income())), incomeIds);
+    }
+
+    private boolean create(HttpRequest.Builder request, Deque<Long> ids) throws Exception {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            return false;
+        }
+        ids.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean withId(Deque<Long> ids, boolean removes, IdRequest request) throws Exception {
+        Long id = ids.pollFirst();
+        if (id == null) {
+            return false;
+        }
+        try {
+            return send(request.build(id));
+        } finally {
+            if (!removes) {
+                ids.addLast(id);
+            }
+        }
+    }
+
+    // Three orders with unique ids, re-using the same three assets
+    private boolean importOrders() throws Exception {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        String[][] assets = {
+            {"US0378331005", "AAPL", "Apple Inc."},
+            {"US5949181045", "MSFT", "Microsoft Corporation"},
+            {"DE0007164600", "SAP", "SAP SE"}
+        };
+        for (String[] asset : assets) {
+            csv.append(
+                    "Market buy,2025-06-10 07:04:05.631,%s,%s,%s,LOAD%011d,1.5000000000,150.2500000000,EUR,1.00000000,,EUR,225.38,EUR,,,,\n"
+                            .formatted(asset[0], asset[1], asset[2], orderIds.incrementAndGet()));
+        }
+
+        String boundary = "load-test-" + System.nanoTime();
+        String multipart = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"orders.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv
+                + "\r\n--" + boundary + "--\r\n";
+        return send(request("/api/import/import-trading212-orders-csv")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(multipart, StandardCharsets.UTF_8)));
+    }
+
+    private boolean send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() / 100 == 2;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(OwnerFilter.OWNER_HEADER, Long.toString(ownerId));
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ExpenseRequest expense() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return ExpenseRequest.builder()
+                .name("Lunch")
+                .amount(BigDecimal.valueOf(random.nextLong(100, 10_000), 2))
+                .category(ExpenseCategory.values()[random.nextInt(ExpenseCategory.values().length)])
+                .description("Load test")
+                .tags(List.of(Tag.FOOD, Tag.BARS_AND_RESTAURANTS))
+                .build();
+    }
+
+    private static IncomeRequest income() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return IncomeRequest.builder()
+                .name("Invoice")
+                .amount(BigDecimal.valueOf(random.nextLong(10_000, 500_000), 2))
+                .category(IncomeCategory.values()[random.nextInt(IncomeCategory.values().length)])
+                .description("Load test")
+                .build();
+    }
+
+    private static void writeDistribution(String name, Histogram histogram) {
+        try (PrintStream out = new PrintStream(
+                Files.newOutputStream(REPORT_DIRECTORY.resolve(name + ".hgrm")), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, (double) TimeUnit.MILLISECONDS.toNanos(1));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @FunctionalInterface
+    private interface IdRequest {
+        HttpRequest.Builder build(long id);
+    }
+}
@@ -0,0 +1,102 @@
+package com.radomskyi.budgeter.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-loop load: starts an operation every {@code 1 / rate} seconds on its own virtual thread, whether
+ * or not the earlier ones have completed, picking it by weight from a seeded random sequence. Latency
+ * is measured from the moment the operation was scheduled to start rather than from when it was sent,
+ * so a stalled server shows up as latency instead of as fewer requests (coordinated omission).
+ */
+final class OpenLoopLoad {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    /** One kind of request and its share of the mix */
+    record Operation(String name, int weight, Request request) {}
+
+    /** Sends one request, returning whether it succeeded */
+    @FunctionalInterface
+    interface Request {
+        boolean send() throws Exception;
+    }
+
+    /** Latencies in nanoseconds and failed requests, per operation name */
+    record Result(Map<String, Histogram> latencies, Map<String, Long> errors) {}
+
+    private final double rate;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    OpenLoopLoad(double rate, List<Operation> operations) {
+        this.rate = rate;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    Result run(Duration duration, long seed) {
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            latencies.put(operation.name(), new ConcurrentHistogram(HIGHEST_LATENCY, 3));
+            errors.put(operation.name(), new LongAdder());
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long count = duration.toNanos() / interval;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = pick(random);
+                executor.execute(() -> {
+                    boolean succeeded;
+                    try {
+                        succeeded = operation.request().send();
+                    } catch (Exception e) {
+                        succeeded = false;
+                    }
+                    latencies
+                            .get(operation.name())
+                            .recordValue(Math.min(System.nanoTime() - scheduled, HIGHEST_LATENCY));
+                    if (!succeeded) {
+                        errors.get(operation.name()).increment();
+                    }
+                });
+            }
+        }
+
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        errors.forEach((name, adder) -> errorCounts.put(name, adder.sum()));
+        return new Result(latencies, errorCounts);
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operation for the ticket");
+    }
+}
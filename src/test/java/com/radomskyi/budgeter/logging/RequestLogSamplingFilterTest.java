@@ -0,0 +1,81 @@
+package com.radomskyi.budgeter.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLogSamplingFilterTest {
+
+    private final SampledOutTurboFilter turboFilter = new SampledOutTurboFilter();
+
+    private boolean sampledOutDuring(RequestLogSamplingFilter filter, String method, String path) throws Exception {
+        AtomicBoolean sampledOut = new AtomicBoolean();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                sampledOut.set(LogSampling.isSampledOut());
+            }
+        };
+        filter.doFilter(new MockHttpServletRequest(method, path), new MockHttpServletResponse(), chain);
+        return sampledOut.get();
+    }
+
+    @Test
+    void rateOf_ShouldUseTheFirstMatchingRule() {
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(
+                0.5, List.of("GET /api/expense/**=0.05", "/api/expense/**=0.2", "/api/income=0"));
+
+        assertThat(filter.rateOf("GET", "/api/expense/12")).isEqualTo(0.05);
+        assertThat(filter.rateOf("POST", "/api/expense")).isEqualTo(0.2);
+        assertThat(filter.rateOf("get", "/api/income")).isZero();
+        assertThat(filter.rateOf("GET", "/api/budget-limit")).isEqualTo(0.5);
+    }
+
+    @Test
+    void doFilter_ShouldSampleOutTheRequest_WhenItsRateIsZero() throws Exception {
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(1.0, List.of("GET /api/expense/**=0"));
+
+        assertThat(sampledOutDuring(filter, "GET", "/api/expense")).isTrue();
+        assertThat(sampledOutDuring(filter, "POST", "/api/expense")).isFalse();
+        assertThat(LogSampling.isSampledOut()).isFalse();
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidRules() {
+        assertThatThrownBy(() -> new RequestLogSamplingFilter(1.0, List.of("/api/expense")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RequestLogSamplingFilter(1.0, List.of("/api/expense=2")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RequestLogSamplingFilter(-0.1, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void turboFilter_ShouldOnlyDenyInfoAndBelow_WhileSampledOut() {
+        ch.qos.logback.classic.Logger logger = new LoggerContext().getLogger("test");
+        Boolean previous = LogSampling.enter(true);
+        try {
+            assertThat(turboFilter.decide(null, logger, Level.INFO, "{}", null, null))
+                    .isEqualTo(FilterReply.DENY);
+            assertThat(turboFilter.decide(null, logger, Level.DEBUG, "{}", null, null))
+                    .isEqualTo(FilterReply.DENY);
+            assertThat(turboFilter.decide(null, logger, Level.WARN, "{}", null, null))
+                    .isEqualTo(FilterReply.NEUTRAL);
+        } finally {
+            LogSampling.restore(previous);
+        }
+        assertThat(turboFilter.decide(null, logger, Level.INFO, "{}", null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+}
@@ -0,0 +1,83 @@
+package com.radomskyi.budgeter.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+
+class InvocationObservationAspectTest {
+
+    @Service
+    static class GreetingService {
+
+        public String greet(String name) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("No name");
+            }
+            return "Hello " + name;
+        }
+    }
+
+    @Repository
+    static class GreetingRepository {
+
+        public String find() {
+            return "Hello";
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    InvocationObservationAspectTest() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new InvocationObservationAspect(observationRegistry));
+        return factory.getProxy();
+    }
+
+    private Timer timer(String name, String method, String outcome, String exception) {
+        return meterRegistry
+                .find(name)
+                .tags("method", method, "outcome", outcome, "exception", exception)
+                .timer();
+    }
+
+    @Test
+    void services_ShouldBeTimedByMethodAndOutcome() {
+        GreetingService service = proxy(new GreetingService());
+
+        service.greet("Ann");
+        service.greet("Bob");
+        assertThatThrownBy(() -> service.greet("")).isInstanceOf(IllegalArgumentException.class);
+
+        Timer success = timer(InvocationObservationAspect.SERVICE_TIMER, "greet", "SUCCESS", "none");
+        assertThat(success.count()).isEqualTo(2);
+        assertThat(success.getId().getTag("class")).isEqualTo("GreetingService");
+        assertThat(timer(InvocationObservationAspect.SERVICE_TIMER, "greet", "ERROR", "IllegalArgumentException")
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void repositories_ShouldBeTimedSeparately() {
+        proxy(new GreetingRepository()).find();
+
+        assertThat(timer(InvocationObservationAspect.REPOSITORY_TIMER, "find", "SUCCESS", "none")
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find(InvocationObservationAspect.SERVICE_TIMER).timers())
+                .isEmpty();
+    }
+}
@@ -345,4 +345,18 @@ class InvestmentTransactionRepositoryTest {
         assertThat(appleTransactions.getTotalElements()).isEqualTo(3);
         assertThat(appleTransactions.getTotalPages()).isEqualTo(2);
     }
+
+    @Test
+    void changedTransaction_ShouldBeWrittenWithItsRecalculatedAmount() {
+        // When: only units change, amount is recalculated by @PreUpdate
+        appleBuy1.setUnits(new BigDecimal("20.0"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then: (20 * 150 * 0.85) + 1.50 = 2551.50
+        InvestmentTransaction reloaded = entityManager.find(InvestmentTransaction.class, appleBuy1.getId());
+        assertThat(reloaded.getUnits()).isEqualByComparingTo("20.0");
+        assertThat(reloaded.getAmount()).isEqualByComparingTo("2551.50");
+        assertThat(reloaded.getDescription()).isEqualTo("Initial purchase");
+    }
 }
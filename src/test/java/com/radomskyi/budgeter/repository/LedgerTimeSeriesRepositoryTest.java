@@ -0,0 +1,152 @@
+package com.radomskyi.budgeter.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(LedgerTimeSeriesRepository.class)
+class LedgerTimeSeriesRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LedgerTimeSeriesRepository ledgerTimeSeriesRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 2025-01-06 is a Monday
+        persist("10.00", ExpenseCategory.NEEDS, LocalDateTime.of(2025, 1, 6, 9, 0), Tag.FOOD);
+        persist("20.00", ExpenseCategory.WANTS, LocalDateTime.of(2025, 1, 12, 23, 59), Tag.FOOD, Tag.TRAVEL);
+        persist("30.00", ExpenseCategory.NEEDS, LocalDateTime.of(2025, 1, 13, 0, 0), Tag.TRANSPORT);
+        persist("40.00", ExpenseCategory.WANTS, LocalDateTime.of(2025, 2, 1, 12, 0));
+        persist("50.00", ExpenseCategory.FIXED, LocalDateTime.of(2026, 1, 1, 0, 0), Tag.HOUSING);
+        entityManager.flush();
+    }
+
+    private void persist(String amount, ExpenseCategory category, LocalDateTime createdAt, Tag... tags) {
+        Expense expense = Expense.builder()
+                .amount(new BigDecimal(amount))
+                .name("Expense")
+                .category(category)
+                .tags(Arrays.asList(tags))
+                .build();
+        entityManager.persist(expense);
+        // createdAt is set by auditing and not updatable through the entity
+        entityManager
+                .getEntityManager()
+                .createNativeQuery("UPDATE expense SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", expense.getId())
+                .executeUpdate();
+    }
+
+    @Test
+    void findTimeSeries_ShouldSumPerMonth() {
+        List<TimeSeriesPointResponse> result = ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.DEFAULT_OWNER_ID,
+                LedgerType.EXPENSE,
+                TimeBucket.MONTH,
+                TimeSeriesGrouping.NONE,
+                LocalDate.of(2025, 1, 20),
+                LocalDate.of(2025, 12, 31));
+
+        assertThat(result)
+                .extracting(TimeSeriesPointResponse::getBucketStart)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+        assertThat(result.get(0).getTotal()).isEqualByComparingTo("60.00");
+        assertThat(result.get(0).getCount()).isEqualTo(3);
+        assertThat(result.get(0).getGroup()).isNull();
+        assertThat(result.get(1).getTotal()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void findTimeSeries_ShouldStartWeeksOnMondayAndCoverWholeBuckets() {
+        List<TimeSeriesPointResponse> result = ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.DEFAULT_OWNER_ID,
+                LedgerType.EXPENSE,
+                TimeBucket.WEEK,
+                TimeSeriesGrouping.NONE,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 31));
+
+        assertThat(result)
+                .extracting(TimeSeriesPointResponse::getBucketStart)
+                .containsExactly(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 27));
+        assertThat(result.get(0).getTotal()).isEqualByComparingTo("30.00");
+        assertThat(result.get(1).getTotal()).isEqualByComparingTo("30.00");
+        // the week of 2025-01-31 runs into February
+        assertThat(result.get(2).getTotal()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void findTimeSeries_ShouldSplitBucketsByCategory() {
+        List<TimeSeriesPointResponse> result = ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.DEFAULT_OWNER_ID,
+                LedgerType.EXPENSE,
+                TimeBucket.YEAR,
+                TimeSeriesGrouping.CATEGORY,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 1, 1));
+
+        assertThat(result)
+                .extracting(TimeSeriesPointResponse::getBucketStart, TimeSeriesPointResponse::getGroup)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 1, 1), "NEEDS"),
+                        tuple(LocalDate.of(2025, 1, 1), "WANTS"),
+                        tuple(LocalDate.of(2026, 1, 1), "FIXED"));
+        assertThat(result.get(0).getTotal()).isEqualByComparingTo("40.00");
+        assertThat(result.get(1).getTotal()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void findTimeSeries_ShouldCountMultiTagEntriesUnderEachTag() {
+        List<TimeSeriesPointResponse> result = ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.DEFAULT_OWNER_ID,
+                LedgerType.EXPENSE,
+                TimeBucket.MONTH,
+                TimeSeriesGrouping.TAG,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 31));
+
+        assertThat(result).extracting(TimeSeriesPointResponse::getGroup).containsExactly("FOOD", "TRANSPORT", "TRAVEL");
+        assertThat(result.get(0).getTotal()).isEqualByComparingTo("30.00");
+        assertThat(result.get(0).getCount()).isEqualTo(2);
+        assertThat(result.get(2).getTotal()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void findTimeSeries_ShouldReturnEmptyListForIncomeWithoutEntries() {
+        List<TimeSeriesPointResponse> result = ledgerTimeSeriesRepository.findTimeSeries(
+                OwnerContext.DEFAULT_OWNER_ID,
+                LedgerType.INCOME,
+                TimeBucket.DAY,
+                TimeSeriesGrouping.NONE,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 31));
+
+        assertThat(result).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package com.radomskyi.budgeter.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollup;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollupId;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.money.Money;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.repository.MonthlyRollupWriteRepository.Change;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(MonthlyRollupWriteRepository.class)
+class MonthlyRollupWriteRepositoryTest {
+
+    private static final MonthlyRollupId FOOD = new MonthlyRollupId(
+            OwnerContext.DEFAULT_OWNER_ID, LedgerType.EXPENSE, LocalDate.of(2025, 1, 1), "WANTS", "FOOD");
+    private static final MonthlyRollupId TRAVEL = new MonthlyRollupId(
+            OwnerContext.DEFAULT_OWNER_ID, LedgerType.EXPENSE, LocalDate.of(2025, 1, 1), "WANTS", "TRAVEL");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MonthlyRollupWriteRepository monthlyRollupWriteRepository;
+
+    private Change change(MonthlyRollupId id, String total, long count) {
+        return new Change(id, Money.of(new BigDecimal(total), Currency.EUR), count);
+    }
+
+    private MonthlyRollup find(MonthlyRollupId id) {
+        entityManager.clear();
+        return entityManager.find(MonthlyRollup.class, id);
+    }
+
+    @Test
+    void addAll_ShouldCreateMissingRowsAndAddToExistingOnes() {
+        monthlyRollupWriteRepository.addAll(List.of(change(FOOD, "10.00", 1)));
+        monthlyRollupWriteRepository.addAll(List.of(change(FOOD, "2.50", 1), change(TRAVEL, "7.00", 2)));
+
+        assertThat(find(FOOD).getTotal()).isEqualTo(Money.of(new BigDecimal("12.50"), Currency.EUR));
+        assertThat(find(FOOD).getEntryCount()).isEqualTo(2);
+        assertThat(find(TRAVEL).getEntryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void addAll_ShouldDeleteRowsLeftWithoutEntries() {
+        monthlyRollupWriteRepository.addAll(List.of(change(FOOD, "10.00", 1), change(TRAVEL, "7.00", 2)));
+
+        monthlyRollupWriteRepository.addAll(List.of(change(FOOD, "-10.00", -1), change(TRAVEL, "-3.00", -1)));
+
+        assertThat(find(FOOD)).isNull();
+        assertThat(find(TRAVEL).getTotal()).isEqualTo(Money.of(new BigDecimal("4.00"), Currency.EUR));
+        assertThat(find(TRAVEL).getEntryCount()).isEqualTo(1);
+    }
+}
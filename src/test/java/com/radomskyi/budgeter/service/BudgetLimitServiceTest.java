@@ -0,0 +1,339 @@
+package com.radomskyi.budgeter.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.BudgetAlert;
+import com.radomskyi.budgeter.domain.entity.budgeting.BudgetLimit;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.BudgetThresholdCrossedEvent;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.BudgetLimitRequest;
+import com.radomskyi.budgeter.dto.BudgetLimitResponse;
+import com.radomskyi.budgeter.dto.BudgetStatusResponse;
+import com.radomskyi.budgeter.exception.BudgetLimitNotFoundException;
+import com.radomskyi.budgeter.repository.BudgetAlertRepository;
+import com.radomskyi.budgeter.repository.BudgetLimitRepository;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetLimitServiceTest {
+
+    private static final YearMonth THIS_MONTH = YearMonth.now();
+    private static final Long OWNER = OwnerContext.DEFAULT_OWNER_ID;
+
+    @Mock
+    private BudgetLimitRepository budgetLimitRepository;
+
+    @Mock
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BudgetLimitService budgetLimitService;
+
+    private final List<BudgetLimit> limits = new ArrayList<>();
+    private final List<Object[]> categorySums = new ArrayList<>();
+
+    private static LedgerEntry entry(YearMonth month, String amount, ExpenseCategory category, Tag... tags) {
+        return new LedgerEntry(OWNER, month.atDay(10).atTime(12, 0), category, List.of(tags), new BigDecimal(amount));
+    }
+
+    private static BudgetLimit limit(long id, ExpenseCategory category, Tag tag, String amount, Integer... thresholds) {
+        return BudgetLimit.builder()
+                .id(id)
+                .ownerId(OWNER)
+                .category(category)
+                .tag(tag)
+                .monthlyLimit(new BigDecimal(amount))
+                .thresholds(List.of(thresholds))
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        categorySums.add(new Object[] {
+            OWNER, THIS_MONTH.getYear(), THIS_MONTH.getMonthValue(), ExpenseCategory.NEEDS, new BigDecimal("70.00")
+        });
+        categorySums.add(new Object[] {OWNER, 2020, 1, ExpenseCategory.NEEDS, new BigDecimal("999.00")});
+        List<Object[]> tagSums = new ArrayList<>();
+        tagSums.add(
+                new Object[] {OWNER, THIS_MONTH.getYear(), THIS_MONTH.getMonthValue(), Tag.FOOD, new BigDecimal("20.00")
+                });
+        when(expenseRepository.sumByMonthAndCategorySince(any())).thenReturn(categorySums);
+        when(expenseRepository.sumByMonthAndTagSince(any())).thenReturn(tagSums);
+
+        limits.add(limit(1L, ExpenseCategory.NEEDS, null, "100.00", 80, 100));
+        limits.add(limit(2L, null, Tag.FOOD, "50.00", 50));
+        when(budgetLimitRepository.findAll()).thenReturn(limits);
+
+        budgetLimitService.afterSingletonsInstantiated();
+    }
+
+    private List<BudgetThresholdCrossedEvent> publishedCrossings() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(captor.capture());
+        return captor.getAllValues().stream()
+                .map(BudgetThresholdCrossedEvent.class::cast)
+                .toList();
+    }
+
+    @Test
+    void getStatus_ShouldReportLoadedSpendingOfTrackedMonth() {
+        List<BudgetStatusResponse> status = budgetLimitService.getStatus(THIS_MONTH);
+
+        assertThat(status)
+                .extracting(
+                        BudgetStatusResponse::getBudgetLimitId,
+                        BudgetStatusResponse::getSpent,
+                        BudgetStatusResponse::getPercentUsed)
+                .containsExactly(
+                        tuple(1L, new BigDecimal("70.00"), new BigDecimal("70.0")),
+                        tuple(2L, new BigDecimal("20.00"), new BigDecimal("40.0")));
+    }
+
+    @Test
+    void getStatus_ShouldThrowException_WhenMonthIsNotTracked() {
+        assertThatThrownBy(() -> budgetLimitService.getStatus(YearMonth.of(2020, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void advanceTrackedMonths_ShouldStopTrackingMonthsThatLeftTheWindow() {
+        ReflectionTestUtils.setField(budgetLimitService, "trackedMonths", 1);
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(
+                LedgerType.EXPENSE, entry(THIS_MONTH.minusMonths(1), "5.00", ExpenseCategory.NEEDS)));
+
+        budgetLimitService.advanceTrackedMonths();
+
+        assertThatThrownBy(() -> budgetLimitService.getStatus(THIS_MONTH.minusMonths(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(budgetLimitService.getStatus(THIS_MONTH))
+                .extracting(BudgetStatusResponse::getSpent)
+                .containsExactly(new BigDecimal("70.00"), new BigDecimal("20.00"));
+    }
+
+    @Test
+    void advanceTo_ShouldDropTheSpendingOfEarlierMonths() {
+        BudgetTracker tracker = new BudgetTracker(THIS_MONTH.minusMonths(2));
+        BudgetTracker.Limit needs = BudgetTracker.Limit.of(1L, ExpenseCategory.NEEDS, null, 10_000, List.of(80));
+        tracker.add(THIS_MONTH.minusMonths(2), ExpenseCategory.NEEDS, null, 500);
+        tracker.add(THIS_MONTH, ExpenseCategory.NEEDS, null, 700);
+
+        tracker.advanceTo(THIS_MONTH.minusMonths(1));
+        tracker.add(THIS_MONTH.minusMonths(2), ExpenseCategory.NEEDS, null, 500);
+
+        assertThat(tracker.getTrackedFrom()).isEqualTo(THIS_MONTH.minusMonths(1));
+        assertThat(tracker.getSpent(THIS_MONTH.minusMonths(2), needs)).isZero();
+        assertThat(tracker.getSpent(THIS_MONTH, needs)).isEqualTo(700);
+    }
+
+    @Test
+    void onLedgerEntryChanged_ShouldPublishEachThresholdOnce_WhenSpendingCrossesIt() {
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(
+                LedgerType.EXPENSE, entry(THIS_MONTH, "15.00", ExpenseCategory.NEEDS, Tag.FOOD)));
+        budgetLimitService.onLedgerEntryChanged(
+                LedgerEntryChangedEvent.created(LedgerType.EXPENSE, entry(THIS_MONTH, "1.00", ExpenseCategory.NEEDS)));
+        budgetLimitService.onLedgerEntryChanged(
+                LedgerEntryChangedEvent.created(LedgerType.EXPENSE, entry(THIS_MONTH, "20.00", ExpenseCategory.NEEDS)));
+
+        assertThat(publishedCrossings())
+                .extracting(
+                        BudgetThresholdCrossedEvent::budgetLimitId,
+                        BudgetThresholdCrossedEvent::thresholdPercent,
+                        BudgetThresholdCrossedEvent::spent)
+                .containsExactly(
+                        tuple(1L, 80, new BigDecimal("85.00")),
+                        tuple(2L, 50, new BigDecimal("35.00")),
+                        tuple(1L, 100, new BigDecimal("106.00")));
+    }
+
+    @Test
+    void onLedgerEntryChanged_ShouldNotCountUpdatedEntryTwice() {
+        LedgerEntry previous = entry(THIS_MONTH, "5.00", ExpenseCategory.NEEDS);
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(LedgerType.EXPENSE, previous));
+
+        // Growing the entry by 4.00 stays below 80.00; re-adding its full amount would cross
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.updated(
+                LedgerType.EXPENSE, previous, entry(THIS_MONTH, "9.00", ExpenseCategory.NEEDS)));
+
+        assertThat(publishedCrossings()).isEmpty();
+        assertThat(budgetLimitService.getStatus(THIS_MONTH).get(0).getSpent()).isEqualByComparingTo("79.00");
+    }
+
+    @Test
+    void onLedgerEntryChanged_ShouldRaiseAgain_WhenSpendingDropsAndCrossesAgain() {
+        LedgerEntry entry = entry(THIS_MONTH, "10.00", ExpenseCategory.NEEDS);
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(LedgerType.EXPENSE, entry));
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.deleted(LedgerType.EXPENSE, entry));
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(LedgerType.EXPENSE, entry));
+
+        assertThat(publishedCrossings())
+                .extracting(BudgetThresholdCrossedEvent::thresholdPercent)
+                .containsExactly(80, 80);
+    }
+
+    @Test
+    void onLedgerEntryChanged_ShouldIgnoreIncomesAndUntrackedMonths() {
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(
+                LedgerType.INCOME,
+                new LedgerEntry(
+                        OwnerContext.DEFAULT_OWNER_ID,
+                        THIS_MONTH.atDay(1).atStartOfDay(),
+                        IncomeCategory.SALARY,
+                        List.of(),
+                        new BigDecimal("500"))));
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(
+                LedgerType.EXPENSE, entry(YearMonth.of(2020, 1), "500.00", ExpenseCategory.NEEDS)));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onLedgerEntryChanged_ShouldOnlyApplyLimitsOfTheEntryOwner() {
+        LedgerEntry otherOwnersEntry = new LedgerEntry(
+                2L, THIS_MONTH.atDay(10).atTime(12, 0), ExpenseCategory.NEEDS, List.of(), new BigDecimal("50.00"));
+
+        budgetLimitService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(LedgerType.EXPENSE, otherOwnersEntry));
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(budgetLimitService.getStatus(THIS_MONTH))
+                .extracting(BudgetStatusResponse::getSpent)
+                .containsExactly(new BigDecimal("70.00"), new BigDecimal("20.00"));
+    }
+
+    @Test
+    void reconcile_ShouldTakeInWritesOfOtherInstances_AndPublishTheThresholdsTheyCrossed() {
+        categorySums.set(0, new Object[] {
+            OWNER, THIS_MONTH.getYear(), THIS_MONTH.getMonthValue(), ExpenseCategory.NEEDS, new BigDecimal("85.00")
+        });
+
+        budgetLimitService.reconcile();
+
+        assertThat(publishedCrossings())
+                .extracting(BudgetThresholdCrossedEvent::budgetLimitId, BudgetThresholdCrossedEvent::thresholdPercent)
+                .containsExactly(tuple(1L, 80));
+        assertThat(budgetLimitService.getStatus(THIS_MONTH))
+                .extracting(BudgetStatusResponse::getSpent)
+                .containsExactly(new BigDecimal("85.00"), new BigDecimal("20.00"));
+    }
+
+    @Test
+    void reconcile_ShouldTakeInLimitsChangedOnOtherInstances_WithoutPublishing_WhenSpendingIsUnchanged() {
+        limits.remove(1);
+
+        budgetLimitService.reconcile();
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(budgetLimitService.getStatus(THIS_MONTH))
+                .extracting(BudgetStatusResponse::getBudgetLimitId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void onThresholdCrossed_ShouldStoreAlert() {
+        budgetLimitService.onThresholdCrossed(new BudgetThresholdCrossedEvent(
+                OwnerContext.DEFAULT_OWNER_ID,
+                1L,
+                ExpenseCategory.NEEDS,
+                null,
+                THIS_MONTH,
+                80,
+                new BigDecimal("100.00"),
+                new BigDecimal("85.00")));
+
+        ArgumentCaptor<BudgetAlert> captor = ArgumentCaptor.forClass(BudgetAlert.class);
+        verify(budgetAlertRepository).save(captor.capture());
+        assertThat(captor.getValue().getMonth()).isEqualTo(THIS_MONTH.atDay(1));
+        assertThat(captor.getValue().getThresholdPercent()).isEqualTo(80);
+        assertThat(captor.getValue().getSpent()).isEqualByComparingTo("85.00");
+    }
+
+    @Test
+    void create_ShouldApplyDefaultThresholdsAndTrackNewLimit() {
+        BudgetLimitRequest request = BudgetLimitRequest.builder()
+                .category(ExpenseCategory.WANTS)
+                .monthlyLimit(new BigDecimal("10.00"))
+                .build();
+        when(budgetLimitRepository.existsByCategoryAndIdNot(ExpenseCategory.WANTS, -1L))
+                .thenReturn(false);
+        when(budgetLimitRepository.save(any(BudgetLimit.class))).thenAnswer(invocation -> {
+            BudgetLimit saved = invocation.getArgument(0);
+            saved.setId(3L);
+            saved.setOwnerId(OWNER);
+            limits.add(saved);
+            return saved;
+        });
+        when(budgetLimitRepository.findByOwnerId(OWNER)).thenReturn(limits);
+
+        BudgetLimitResponse response = budgetLimitService.create(request);
+        budgetLimitService.onLedgerEntryChanged(
+                LedgerEntryChangedEvent.created(LedgerType.EXPENSE, entry(THIS_MONTH, "12.00", ExpenseCategory.WANTS)));
+
+        assertThat(response.getThresholds()).containsExactly(80, 100);
+        assertThat(publishedCrossings())
+                .extracting(BudgetThresholdCrossedEvent::budgetLimitId, BudgetThresholdCrossedEvent::thresholdPercent)
+                .containsExactly(tuple(3L, 80), tuple(3L, 100));
+    }
+
+    @Test
+    void create_ShouldThrowException_WhenCategoryAlreadyHasLimit() {
+        BudgetLimitRequest request = BudgetLimitRequest.builder()
+                .category(ExpenseCategory.NEEDS)
+                .monthlyLimit(new BigDecimal("10.00"))
+                .build();
+        when(budgetLimitRepository.existsByCategoryAndIdNot(ExpenseCategory.NEEDS, -1L))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> budgetLimitService.create(request)).isInstanceOf(IllegalArgumentException.class);
+        verify(budgetLimitRepository, never()).save(any());
+    }
+
+    @Test
+    void update_ShouldThrowException_WhenLimitNotFound() {
+        when(budgetLimitRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> budgetLimitService.update(
+                        99L,
+                        BudgetLimitRequest.builder()
+                                .tag(Tag.FOOD)
+                                .monthlyLimit(BigDecimal.ONE)
+                                .build()))
+                .isInstanceOf(BudgetLimitNotFoundException.class);
+    }
+}
@@ -3,26 +3,39 @@ package com.radomskyi.budgeter.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
 import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
 import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
 import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.ExpenseRequest;
 import com.radomskyi.budgeter.dto.ExpenseResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
 import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.LedgerTimeSeriesRepository;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +47,18 @@ class ExpenseServiceTest {
     @Mock
     private ExpenseRepository expenseRepository;
 
+    @Mock
+    private LedgerTimeSeriesRepository ledgerTimeSeriesRepository;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private LedgerCubeService ledgerCubeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -44,6 +69,7 @@ class ExpenseServiceTest {
     void setUp() {
         testExpense = Expense.builder()
                 .id(1L)
+                .ownerId(OwnerContext.DEFAULT_OWNER_ID)
                 .amount(new BigDecimal("25.50"))
                 .name("Test Expense")
                 .category(ExpenseCategory.WANTS)
@@ -149,6 +175,7 @@ class ExpenseServiceTest {
 
         Expense updatedExpense = Expense.builder()
                 .id(1L)
+                .ownerId(OwnerContext.DEFAULT_OWNER_ID)
                 .amount(new BigDecimal("30.00"))
                 .name("Updated Expense")
                 .category(ExpenseCategory.NEEDS)
@@ -194,27 +221,165 @@ class ExpenseServiceTest {
     @Test
     void delete_ShouldDeleteExpense_WhenExpenseExists() {
         // Given
-        when(expenseRepository.existsById(1L)).thenReturn(true);
+        when(expenseRepository.findById(1L)).thenReturn(Optional.of(testExpense));
 
         // When
         expenseService.delete(1L);
 
         // Then
-        verify(expenseRepository).existsById(1L);
-        verify(expenseRepository).deleteById(1L);
+        verify(expenseRepository).findById(1L);
+        verify(expenseRepository).delete(testExpense);
     }
 
     @Test
     void delete_ShouldThrowException_WhenExpenseNotFound() {
         // Given
-        when(expenseRepository.existsById(999L)).thenReturn(false);
+        when(expenseRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> expenseService.delete(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Expense not found with id: 999");
 
-        verify(expenseRepository).existsById(999L);
-        verify(expenseRepository, never()).deleteById(anyLong());
+        verify(expenseRepository).findById(999L);
+        verify(expenseRepository, never()).delete(any(Expense.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void create_ShouldPublishLedgerEntryChangedEvent() {
+        // Given
+        when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+
+        // When
+        expenseService.create(testExpenseRequest);
+
+        // Then
+        ArgumentCaptor<LedgerEntryChangedEvent> captor = ArgumentCaptor.forClass(LedgerEntryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        LedgerEntryChangedEvent event = captor.getValue();
+        assertThat(event.ledger()).isEqualTo(LedgerType.EXPENSE);
+        assertThat(event.previous()).isNull();
+        assertThat(event.current().amount()).isEqualTo(testExpense.getAmount());
+        assertThat(event.current().category()).isEqualTo(testExpense.getCategory());
+        assertThat(event.current().tags()).isEqualTo(testExpense.getTags());
+    }
+
+    @Test
+    void update_ShouldPublishPreviousAndCurrentState() {
+        // Given
+        BigDecimal originalAmount = testExpense.getAmount();
+        ExpenseRequest updateRequest = ExpenseRequest.builder()
+                .amount(originalAmount.add(BigDecimal.TEN))
+                .name(testExpense.getName())
+                .category(testExpense.getCategory())
+                .tags(Arrays.asList(Tag.OTHER))
+                .build();
+        when(expenseRepository.findById(1L)).thenReturn(Optional.of(testExpense));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        expenseService.update(1L, updateRequest);
+
+        // Then
+        ArgumentCaptor<LedgerEntryChangedEvent> captor = ArgumentCaptor.forClass(LedgerEntryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        LedgerEntryChangedEvent event = captor.getValue();
+        assertThat(event.previous().amount()).isEqualTo(originalAmount);
+        assertThat(event.current().amount()).isEqualTo(originalAmount.add(BigDecimal.TEN));
+        assertThat(event.current().tags()).containsExactly(Tag.OTHER);
+    }
+
+    @Test
+    void delete_ShouldPublishDeletedEntry() {
+        // Given
+        when(expenseRepository.findById(1L)).thenReturn(Optional.of(testExpense));
+
+        // When
+        expenseService.delete(1L);
+
+        // Then
+        ArgumentCaptor<LedgerEntryChangedEvent> captor = ArgumentCaptor.forClass(LedgerEntryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().previous().amount()).isEqualTo(testExpense.getAmount());
+        assertThat(captor.getValue().current()).isNull();
+    }
+
+    @Test
+    void getMonthlySummary_ShouldDelegateToRollupService() {
+        // Given
+        YearMonth from = YearMonth.of(2025, 1);
+        YearMonth to = YearMonth.of(2025, 12);
+        List<MonthlyRollupResponse> summary = List.of(MonthlyRollupResponse.builder()
+                .month(from)
+                .category(testExpense.getCategory().name())
+                .total(testExpense.getAmount())
+                .count(1)
+                .build());
+        when(monthlyRollupService.getSummary(LedgerType.EXPENSE, from, to)).thenReturn(summary);
+
+        // When
+        List<MonthlyRollupResponse> result = expenseService.getMonthlySummary(from, to);
+
+        // Then
+        assertThat(result).isEqualTo(summary);
+    }
+
+    @Test
+    void getCube_ShouldDelegateToCubeService() {
+        // Given
+        YearMonth from = YearMonth.of(2025, 1);
+        YearMonth to = YearMonth.of(2025, 3);
+        List<CubeCellResponse> cells = List.of(CubeCellResponse.builder()
+                .month(from)
+                .total(testExpense.getAmount())
+                .count(1)
+                .build());
+        when(ledgerCubeService.query(
+                        LedgerType.EXPENSE, from, to, ExpenseCategory.WANTS, Tag.FOOD, CubeDimension.MONTH))
+                .thenReturn(cells);
+
+        // When
+        List<CubeCellResponse> result =
+                expenseService.getCube(from, to, ExpenseCategory.WANTS, Tag.FOOD, CubeDimension.MONTH);
+
+        // Then
+        assertThat(result).isEqualTo(cells);
+    }
+
+    @Test
+    void getTimeSeries_ShouldDelegateToTimeSeriesRepository() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        List<TimeSeriesPointResponse> series = List.of(TimeSeriesPointResponse.builder()
+                .bucketStart(from)
+                .total(testExpense.getAmount())
+                .count(1)
+                .build());
+        when(ledgerTimeSeriesRepository.findTimeSeries(
+                        OwnerContext.DEFAULT_OWNER_ID,
+                        LedgerType.EXPENSE,
+                        TimeBucket.MONTH,
+                        TimeSeriesGrouping.NONE,
+                        from,
+                        to))
+                .thenReturn(series);
+
+        // When
+        List<TimeSeriesPointResponse> result =
+                expenseService.getTimeSeries(TimeBucket.MONTH, TimeSeriesGrouping.NONE, from, to);
+
+        // Then
+        assertThat(result).isEqualTo(series);
+    }
+
+    @Test
+    void getTimeSeries_ShouldRejectReversedRange() {
+        assertThatThrownBy(() -> expenseService.getTimeSeries(
+                        TimeBucket.DAY, TimeSeriesGrouping.NONE, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(ledgerTimeSeriesRepository);
     }
 }
@@ -3,26 +3,39 @@ package com.radomskyi.budgeter.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
 import com.radomskyi.budgeter.domain.entity.budgeting.Income;
 import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
 import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeBucket;
+import com.radomskyi.budgeter.domain.entity.budgeting.TimeSeriesGrouping;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
 import com.radomskyi.budgeter.dto.IncomeRequest;
 import com.radomskyi.budgeter.dto.IncomeResponse;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.TimeSeriesPointResponse;
 import com.radomskyi.budgeter.repository.IncomeRepository;
+import com.radomskyi.budgeter.repository.LedgerTimeSeriesRepository;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -35,6 +48,18 @@ class IncomeServiceTest {
     @Mock
     private IncomeRepository incomeRepository;
 
+    @Mock
+    private LedgerTimeSeriesRepository ledgerTimeSeriesRepository;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private LedgerCubeService ledgerCubeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IncomeService incomeService;
 
@@ -46,6 +71,7 @@ class IncomeServiceTest {
     void setUp() {
         testIncome = Income.builder()
                 .id(1L)
+                .ownerId(OwnerContext.DEFAULT_OWNER_ID)
                 .amount(new BigDecimal("3500.00"))
                 .name("Monthly Salary")
                 .category(IncomeCategory.SALARY)
@@ -57,6 +83,7 @@ class IncomeServiceTest {
 
         testIncome2 = Income.builder()
                 .id(2L)
+                .ownerId(OwnerContext.DEFAULT_OWNER_ID)
                 .amount(new BigDecimal("1500.00"))
                 .name("Freelance Project")
                 .category(IncomeCategory.FREELANCE)
@@ -150,6 +177,7 @@ class IncomeServiceTest {
         // Given
         Income updatedIncome = Income.builder()
                 .id(1L)
+                .ownerId(OwnerContext.DEFAULT_OWNER_ID)
                 .amount(new BigDecimal("4000.00"))
                 .name("Updated Salary")
                 .category(IncomeCategory.SALARY)
@@ -200,29 +228,30 @@ class IncomeServiceTest {
     @Test
     void delete_WhenIncomeExists_ShouldDeleteSuccessfully() {
         // Given
-        when(incomeRepository.existsById(1L)).thenReturn(true);
+        when(incomeRepository.findById(1L)).thenReturn(Optional.of(testIncome));
 
         // When
         incomeService.delete(1L);
 
         // Then
-        verify(incomeRepository).existsById(1L);
-        verify(incomeRepository).deleteById(1L);
+        verify(incomeRepository).findById(1L);
+        verify(incomeRepository).delete(testIncome);
         // fixme check that the testIncome object is actually deleted
     }
 
     @Test
     void delete_WhenIncomeDoesNotExist_ShouldThrowException() {
         // Given
-        when(incomeRepository.existsById(999L)).thenReturn(false);
+        when(incomeRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> incomeService.delete(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Income not found with id: 999");
 
-        verify(incomeRepository).existsById(999L);
-        verify(incomeRepository, never()).deleteById(anyLong());
+        verify(incomeRepository).findById(999L);
+        verify(incomeRepository, never()).delete(any(Income.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -249,15 +278,14 @@ class IncomeServiceTest {
     @Test
     void delete_ShouldActuallyRemoveIncome() {
         // Given
-        when(incomeRepository.existsById(1L)).thenReturn(true);
         when(incomeRepository.findById(1L)).thenReturn(Optional.of(testIncome));
 
         // When
         incomeService.delete(1L);
 
         // Then
-        verify(incomeRepository).existsById(1L);
-        verify(incomeRepository).deleteById(1L);
+        verify(incomeRepository).findById(1L);
+        verify(incomeRepository).delete(testIncome);
 
         // Verify the income is actually gone by checking findById returns empty
         when(incomeRepository.findById(1L)).thenReturn(Optional.empty());
@@ -265,4 +293,141 @@ class IncomeServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Income not found with id: 1");
     }
+
+    @Test
+    void create_ShouldPublishLedgerEntryChangedEvent() {
+        // Given
+        when(incomeRepository.save(any(Income.class))).thenReturn(testIncome);
+
+        // When
+        incomeService.create(testIncomeRequest);
+
+        // Then
+        ArgumentCaptor<LedgerEntryChangedEvent> captor = ArgumentCaptor.forClass(LedgerEntryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        LedgerEntryChangedEvent event = captor.getValue();
+        assertThat(event.ledger()).isEqualTo(LedgerType.INCOME);
+        assertThat(event.previous()).isNull();
+        assertThat(event.current().amount()).isEqualTo(testIncome.getAmount());
+        assertThat(event.current().category()).isEqualTo(testIncome.getCategory());
+        assertThat(event.current().tags()).isEqualTo(testIncome.getTags());
+    }
+
+    @Test
+    void update_ShouldPublishPreviousAndCurrentState() {
+        // Given
+        BigDecimal originalAmount = testIncome.getAmount();
+        IncomeRequest updateRequest = IncomeRequest.builder()
+                .amount(originalAmount.add(BigDecimal.TEN))
+                .name(testIncome.getName())
+                .category(testIncome.getCategory())
+                .tags(Arrays.asList(Tag.OTHER))
+                .build();
+        when(incomeRepository.findById(1L)).thenReturn(Optional.of(testIncome));
+        when(incomeRepository.save(any(Income.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        incomeService.update(1L, updateRequest);
+
+        // Then
+        ArgumentCaptor<LedgerEntryChangedEvent> captor = ArgumentCaptor.forClass(LedgerEntryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        LedgerEntryChangedEvent event = captor.getValue();
+        assertThat(event.previous().amount()).isEqualTo(originalAmount);
+        assertThat(event.current().amount()).isEqualTo(originalAmount.add(BigDecimal.TEN));
+        assertThat(event.current().tags()).containsExactly(Tag.OTHER);
+    }
+
+    @Test
+    void delete_ShouldPublishDeletedEntry() {
+        // Given
+        when(incomeRepository.findById(1L)).thenReturn(Optional.of(testIncome));
+
+        // When
+        incomeService.delete(1L);
+
+        // Then
+        ArgumentCaptor<LedgerEntryChangedEvent> captor = ArgumentCaptor.forClass(LedgerEntryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().previous().amount()).isEqualTo(testIncome.getAmount());
+        assertThat(captor.getValue().current()).isNull();
+    }
+
+    @Test
+    void getMonthlySummary_ShouldDelegateToRollupService() {
+        // Given
+        YearMonth from = YearMonth.of(2025, 1);
+        YearMonth to = YearMonth.of(2025, 12);
+        List<MonthlyRollupResponse> summary = List.of(MonthlyRollupResponse.builder()
+                .month(from)
+                .category(testIncome.getCategory().name())
+                .total(testIncome.getAmount())
+                .count(1)
+                .build());
+        when(monthlyRollupService.getSummary(LedgerType.INCOME, from, to)).thenReturn(summary);
+
+        // When
+        List<MonthlyRollupResponse> result = incomeService.getMonthlySummary(from, to);
+
+        // Then
+        assertThat(result).isEqualTo(summary);
+    }
+
+    @Test
+    void getCube_ShouldDelegateToCubeService() {
+        // Given
+        YearMonth from = YearMonth.of(2025, 1);
+        YearMonth to = YearMonth.of(2025, 3);
+        List<CubeCellResponse> cells = List.of(CubeCellResponse.builder()
+                .month(from)
+                .total(testIncome.getAmount())
+                .count(1)
+                .build());
+        when(ledgerCubeService.query(
+                        LedgerType.INCOME, from, to, IncomeCategory.SALARY, Tag.OTHER, CubeDimension.MONTH))
+                .thenReturn(cells);
+
+        // When
+        List<CubeCellResponse> result =
+                incomeService.getCube(from, to, IncomeCategory.SALARY, Tag.OTHER, CubeDimension.MONTH);
+
+        // Then
+        assertThat(result).isEqualTo(cells);
+    }
+
+    @Test
+    void getTimeSeries_ShouldDelegateToTimeSeriesRepository() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        List<TimeSeriesPointResponse> series = List.of(TimeSeriesPointResponse.builder()
+                .bucketStart(from)
+                .total(testIncome.getAmount())
+                .count(1)
+                .build());
+        when(ledgerTimeSeriesRepository.findTimeSeries(
+                        OwnerContext.DEFAULT_OWNER_ID,
+                        LedgerType.INCOME,
+                        TimeBucket.MONTH,
+                        TimeSeriesGrouping.NONE,
+                        from,
+                        to))
+                .thenReturn(series);
+
+        // When
+        List<TimeSeriesPointResponse> result =
+                incomeService.getTimeSeries(TimeBucket.MONTH, TimeSeriesGrouping.NONE, from, to);
+
+        // Then
+        assertThat(result).isEqualTo(series);
+    }
+
+    @Test
+    void getTimeSeries_ShouldRejectReversedRange() {
+        assertThatThrownBy(() -> incomeService.getTimeSeries(
+                        TimeBucket.DAY, TimeSeriesGrouping.NONE, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(ledgerTimeSeriesRepository);
+    }
 }
@@ -12,6 +12,9 @@ import com.radomskyi.budgeter.exception.InvestmentTransactionNotFoundException;
 import com.radomskyi.budgeter.repository.AssetRepository;
 import com.radomskyi.budgeter.repository.InvestmentRepository;
 import com.radomskyi.budgeter.repository.InvestmentTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -22,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -40,6 +44,12 @@ class InvestmentServiceTest {
     @Mock
     private AssetRepository assetRepository;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
     @InjectMocks
     private InvestmentService investmentService;
 
@@ -158,6 +168,10 @@ class InvestmentServiceTest {
 
         verify(assetRepository).findByIsin("US0378331005");
         verify(assetRepository).findByTicker("AAPL");
+        assertThat(meterRegistry
+                        .counter(InvestmentService.ASSETS_CREATED_COUNTER, "brokerage", "none")
+                        .count())
+                .isEqualTo(1);
         verify(assetRepository).save(any(Asset.class));
         verify(investmentRepository, atLeastOnce()).save(any(Investment.class));
     }
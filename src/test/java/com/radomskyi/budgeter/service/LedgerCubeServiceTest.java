@@ -0,0 +1,197 @@
+package com.radomskyi.budgeter.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.CubeDimension;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.CubeCellResponse;
+import com.radomskyi.budgeter.repository.LedgerEntryStreamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerCubeServiceTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Mock
+    private LedgerEntryStreamRepository ledgerEntryStreamRepository;
+
+    @InjectMocks
+    private LedgerCubeService ledgerCubeService;
+
+    private static LedgerEntry entry(YearMonth month, String amount, Enum<?> category, Tag... tags) {
+        return new LedgerEntry(
+                OwnerContext.DEFAULT_OWNER_ID,
+                month.atDay(10).atTime(12, 0),
+                category,
+                List.of(tags),
+                new BigDecimal(amount));
+    }
+
+    @BeforeEach
+    void setUp() {
+        stream(
+                LedgerType.EXPENSE,
+                entry(JANUARY, "10.25", ExpenseCategory.NEEDS, Tag.FOOD),
+                entry(JANUARY, "20.00", ExpenseCategory.WANTS, Tag.FOOD, Tag.TRAVEL),
+                entry(MARCH, "5.50", ExpenseCategory.WANTS));
+        stream(LedgerType.INCOME, entry(MARCH, "3000.00", IncomeCategory.SALARY));
+
+        ledgerCubeService.afterSingletonsInstantiated();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stream(LedgerType ledger, LedgerEntry... entries) {
+        doAnswer(invocation -> {
+                    Consumer<LedgerEntry> consumer = invocation.getArgument(1);
+                    for (LedgerEntry entry : entries) {
+                        consumer.accept(entry);
+                    }
+                    return null;
+                })
+                .when(ledgerEntryStreamRepository)
+                .forEachEntry(eq(ledger), any(Consumer.class));
+    }
+
+    private CubeCellResponse rollUp(LedgerType ledger) {
+        return ledgerCubeService
+                .query(ledger, JANUARY, MARCH, null, null, CubeDimension.NONE)
+                .get(0);
+    }
+
+    @Test
+    void query_ShouldRollUpLoadedEntriesOncePerEntry() {
+        CubeCellResponse expenses = rollUp(LedgerType.EXPENSE);
+        CubeCellResponse incomes = rollUp(LedgerType.INCOME);
+
+        assertThat(expenses.getTotal()).isEqualByComparingTo("35.75");
+        assertThat(expenses.getCount()).isEqualTo(3);
+        assertThat(incomes.getTotal()).isEqualByComparingTo("3000.00");
+        assertThat(incomes.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void query_ShouldDrillDownByMonthSkippingEmptyMonths() {
+        List<CubeCellResponse> result =
+                ledgerCubeService.query(LedgerType.EXPENSE, JANUARY, MARCH, null, null, CubeDimension.MONTH);
+
+        assertThat(result)
+                .extracting(CubeCellResponse::getMonth, CubeCellResponse::getTotal, CubeCellResponse::getCount)
+                .containsExactly(tuple(JANUARY, new BigDecimal("30.25"), 2L), tuple(MARCH, new BigDecimal("5.50"), 1L));
+    }
+
+    @Test
+    void query_ShouldDrillDownByTagWithinCategory() {
+        List<CubeCellResponse> result = ledgerCubeService.query(
+                LedgerType.EXPENSE, JANUARY, MARCH, ExpenseCategory.WANTS, null, CubeDimension.TAG);
+
+        assertThat(result)
+                .extracting(CubeCellResponse::getTag, CubeCellResponse::getTotal)
+                .containsExactly(tuple(Tag.FOOD, new BigDecimal("20.00")), tuple(Tag.TRAVEL, new BigDecimal("20.00")));
+    }
+
+    @Test
+    void query_ShouldDrillDownByCategoryFilteredByTag() {
+        List<CubeCellResponse> result =
+                ledgerCubeService.query(LedgerType.EXPENSE, JANUARY, JANUARY, null, Tag.FOOD, CubeDimension.CATEGORY);
+
+        assertThat(result)
+                .extracting(CubeCellResponse::getCategory, CubeCellResponse::getTotal)
+                .containsExactly(tuple("NEEDS", new BigDecimal("10.25")), tuple("WANTS", new BigDecimal("20.00")));
+    }
+
+    @Test
+    void query_ShouldReturnZeroCellOutsideLoadedMonths() {
+        List<CubeCellResponse> result = ledgerCubeService.query(
+                LedgerType.EXPENSE, YearMonth.of(2030, 1), YearMonth.of(2030, 12), null, null, CubeDimension.NONE);
+
+        assertThat(result).singleElement().satisfies(cell -> {
+            assertThat(cell.getTotal()).isEqualByComparingTo("0");
+            assertThat(cell.getCount()).isZero();
+        });
+    }
+
+    @Test
+    void rebuild_ShouldReplaceTheCubes_WithTheEntriesInTheDatabase() {
+        // Written on another instance: one expense left, and the only income deleted
+        stream(LedgerType.EXPENSE, entry(MARCH, "7.00", ExpenseCategory.NEEDS));
+        stream(LedgerType.INCOME);
+
+        ledgerCubeService.rebuild();
+
+        assertThat(rollUp(LedgerType.EXPENSE).getTotal()).isEqualByComparingTo("7.00");
+        assertThat(ledgerCubeService.query(LedgerType.INCOME, JANUARY, MARCH, null, null, CubeDimension.NONE))
+                .isEmpty();
+    }
+
+    @Test
+    void query_ShouldRejectReversedRange() {
+        assertThatThrownBy(() ->
+                        ledgerCubeService.query(LedgerType.EXPENSE, MARCH, JANUARY, null, null, CubeDimension.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onLedgerEntryChanged_ShouldApplyCreateUpdateAndDelete() {
+        LedgerEntry created = entry(YearMonth.of(2024, 11), "100.00", ExpenseCategory.FIXED, Tag.HOUSING);
+        LedgerEntry updated = entry(YearMonth.of(2024, 11), "120.00", ExpenseCategory.FIXED, Tag.UTILITIES);
+
+        ledgerCubeService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(LedgerType.EXPENSE, created));
+        ledgerCubeService.onLedgerEntryChanged(LedgerEntryChangedEvent.updated(LedgerType.EXPENSE, created, updated));
+
+        List<CubeCellResponse> byTag = ledgerCubeService.query(
+                LedgerType.EXPENSE, YearMonth.of(2024, 11), YearMonth.of(2024, 11), null, null, CubeDimension.TAG);
+        assertThat(byTag)
+                .extracting(CubeCellResponse::getTag, CubeCellResponse::getTotal)
+                .containsExactly(tuple(Tag.UTILITIES, new BigDecimal("120.00")));
+
+        ledgerCubeService.onLedgerEntryChanged(LedgerEntryChangedEvent.deleted(LedgerType.EXPENSE, updated));
+
+        CubeCellResponse total = ledgerCubeService
+                .query(LedgerType.EXPENSE, YearMonth.of(2024, 1), MARCH, null, null, CubeDimension.NONE)
+                .get(0);
+        assertThat(total.getTotal()).isEqualByComparingTo("35.75");
+        assertThat(total.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void bindTo_ShouldReportCubeMemory() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        ledgerCubeService.bindTo(registry);
+
+        double expenseBytes = registry.get("budgeter.cube.memory")
+                .tag("ledger", "EXPENSE")
+                .gauge()
+                .value();
+        // 12 months x 3 categories x 23 tag slots x (8 + 4) bytes
+        assertThat(expenseBytes).isEqualTo(12 * 3 * 23 * 12);
+        assertThat(registry.get("budgeter.cube.months")
+                        .tag("ledger", "INCOME")
+                        .gauge()
+                        .value())
+                .isEqualTo(12);
+    }
+}
@@ -0,0 +1,162 @@
+package com.radomskyi.budgeter.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.radomskyi.budgeter.repository.LedgerPartitionRepository;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerPartitionSchedulerTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+
+    @Mock
+    private LedgerPartitionRepository ledgerPartitionRepository;
+
+    @InjectMocks
+    private LedgerPartitionScheduler ledgerPartitionScheduler;
+
+    @Test
+    void ensurePartitions_ShouldCreateCurrentAndNextMonthsOfEveryTable() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        when(ledgerPartitionRepository.createMonthlyPartition(anyString(), any()))
+                .thenReturn(true);
+
+        int created = ledgerPartitionScheduler.ensurePartitions(JANUARY);
+
+        assertThat(created).isEqualTo(12);
+        for (String table : List.of("expense", "income", "investment_transaction")) {
+            verify(ledgerPartitionRepository).createMonthlyPartition(table, JANUARY);
+            verify(ledgerPartitionRepository).createMonthlyPartition(table, YearMonth.of(2025, 4));
+        }
+        verify(ledgerPartitionRepository, never()).createMonthlyPartition(anyString(), eq(YearMonth.of(2025, 5)));
+    }
+
+    @Test
+    void ensurePartitions_ShouldCreatePartitionsOfMonthsInTheDefaultPartition() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        when(ledgerPartitionRepository.findMonthsInDefaultPartition("expense"))
+                .thenReturn(List.of(YearMonth.of(2014, 6)));
+        when(ledgerPartitionRepository.createMonthlyPartition(anyString(), any()))
+                .thenReturn(false);
+        when(ledgerPartitionRepository.createMonthlyPartition("expense", YearMonth.of(2014, 6)))
+                .thenReturn(true);
+
+        int created = ledgerPartitionScheduler.ensurePartitions(JANUARY);
+
+        assertThat(created).isEqualTo(1);
+        verify(ledgerPartitionRepository).createMonthlyPartition("income", JANUARY);
+    }
+
+    @Test
+    void onApplicationReady_ShouldStillArchive_WhenCreatingAPartitionFails() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        when(ledgerPartitionRepository.createMonthlyPartition(anyString(), any()))
+                .thenThrow(new DataIntegrityViolationException("relation \"expense_y2025m01\" already exists"));
+
+        ledgerPartitionScheduler.onApplicationReady();
+
+        verify(ledgerPartitionRepository).findHotMonths("expense");
+    }
+
+    @Test
+    void ensurePartitions_ShouldDoNothing_WhenTablesAreNotPartitioned() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(false);
+
+        int created = ledgerPartitionScheduler.ensurePartitions(JANUARY);
+
+        assertThat(created).isZero();
+        verify(ledgerPartitionRepository, never()).createMonthlyPartition(anyString(), any());
+    }
+
+    @Test
+    void archivePartitions_ShouldArchiveMonthsOlderThanTheRetention() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        when(ledgerPartitionRepository.findHotMonths(anyString()))
+                .thenReturn(List.of(YearMonth.of(2022, 12), YearMonth.of(2023, 1), YearMonth.of(2023, 2)));
+        when(ledgerPartitionRepository.archiveMonthlyPartition(anyString(), any(), any()))
+                .thenReturn(true);
+
+        int archived = ledgerPartitionScheduler.archivePartitions(JANUARY);
+
+        // 24 months before January 2025 is January 2023, the first month kept hot
+        assertThat(archived).isEqualTo(3);
+        verify(ledgerPartitionRepository)
+                .archiveMonthlyPartition("expense", YearMonth.of(2022, 12), Duration.ofMillis(500));
+        verify(ledgerPartitionRepository, never())
+                .archiveMonthlyPartition(anyString(), eq(YearMonth.of(2023, 1)), any());
+    }
+
+    @Test
+    void archivePartitions_ShouldStopAtTheMonthsPerRun() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        List<YearMonth> months = IntStream.range(0, 20)
+                .mapToObj(i -> YearMonth.of(2020, 1).plusMonths(i))
+                .toList();
+        when(ledgerPartitionRepository.findHotMonths("expense")).thenReturn(months);
+        when(ledgerPartitionRepository.archiveMonthlyPartition(anyString(), any(), any()))
+                .thenReturn(true);
+
+        int archived = ledgerPartitionScheduler.archivePartitions(JANUARY);
+
+        assertThat(archived).isEqualTo(12);
+        verify(ledgerPartitionRepository).archiveMonthlyPartition(eq("expense"), eq(YearMonth.of(2020, 12)), any());
+        verify(ledgerPartitionRepository, never()).findHotMonths("income");
+    }
+
+    @Test
+    void archivePartitions_ShouldSkipMonthsThatCannotBeLocked() {
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        when(ledgerPartitionRepository.findHotMonths(anyString()))
+                .thenReturn(List.of(YearMonth.of(2022, 1), YearMonth.of(2022, 2)));
+        when(ledgerPartitionRepository.archiveMonthlyPartition(anyString(), any(), any()))
+                .thenReturn(true);
+        when(ledgerPartitionRepository.archiveMonthlyPartition(eq("expense"), eq(YearMonth.of(2022, 1)), any()))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        int archived = ledgerPartitionScheduler.archivePartitions(JANUARY);
+
+        assertThat(archived).isEqualTo(5);
+    }
+
+    @Test
+    void detachPartitions_ShouldDetachArchivedMonthsOlderThanTheRetention() {
+        ReflectionTestUtils.setField(ledgerPartitionScheduler, "detachAfterMonths", 60);
+        when(ledgerPartitionRepository.isPartitioned()).thenReturn(true);
+        when(ledgerPartitionRepository.findArchivedMonths(anyString()))
+                .thenReturn(List.of(YearMonth.of(2019, 12), YearMonth.of(2020, 1)));
+        when(ledgerPartitionRepository.detachMonthlyPartition(anyString(), any(), any()))
+                .thenReturn(true);
+
+        int detached = ledgerPartitionScheduler.detachPartitions(JANUARY);
+
+        // 60 months before January 2025 is January 2020, the first month kept attached
+        assertThat(detached).isEqualTo(3);
+        verify(ledgerPartitionRepository)
+                .detachMonthlyPartition("income", YearMonth.of(2019, 12), Duration.ofMillis(500));
+        verify(ledgerPartitionRepository, never())
+                .detachMonthlyPartition(anyString(), eq(YearMonth.of(2020, 1)), any());
+    }
+
+    @Test
+    void detachPartitions_ShouldDoNothing_ByDefault() {
+        int detached = ledgerPartitionScheduler.detachPartitions(JANUARY);
+
+        assertThat(detached).isZero();
+        verifyNoInteractions(ledgerPartitionRepository);
+    }
+}
@@ -0,0 +1,173 @@
+package com.radomskyi.budgeter.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollup;
+import com.radomskyi.budgeter.domain.entity.budgeting.MonthlyRollupId;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.entity.investment.Currency;
+import com.radomskyi.budgeter.domain.event.LedgerEntry;
+import com.radomskyi.budgeter.domain.event.LedgerEntryChangedEvent;
+import com.radomskyi.budgeter.domain.money.Money;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupWriteRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupWriteRepository.Change;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private MonthlyRollupWriteRepository monthlyRollupWriteRepository;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    private LedgerEntry entry(String amount, ExpenseCategory category, Tag... tags) {
+        return new LedgerEntry(
+                OwnerContext.DEFAULT_OWNER_ID,
+                LocalDateTime.of(2025, 1, 15, 12, 0),
+                category,
+                List.of(tags),
+                new BigDecimal(amount));
+    }
+
+    private Money eur(String amount) {
+        return Money.of(new BigDecimal(amount), Currency.EUR);
+    }
+
+    private MonthlyRollupId id(ExpenseCategory category, String tag) {
+        return new MonthlyRollupId(OwnerContext.DEFAULT_OWNER_ID, LedgerType.EXPENSE, JANUARY, category.name(), tag);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Change> writtenChanges() {
+        ArgumentCaptor<List<Change>> captor = ArgumentCaptor.forClass(List.class);
+        verify(monthlyRollupWriteRepository).addAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void onCreated_ShouldAddToCategoryTotalAndOneRowPerTag() {
+        // When
+        monthlyRollupService.onLedgerEntryChanged(LedgerEntryChangedEvent.created(
+                LedgerType.EXPENSE, entry("25.50", ExpenseCategory.WANTS, Tag.TRAVEL, Tag.FOOD)));
+
+        // Then
+        assertThat(writtenChanges())
+                .containsExactly(
+                        new Change(id(ExpenseCategory.WANTS, MonthlyRollupId.ALL_TAGS), eur("25.50"), 1),
+                        new Change(id(ExpenseCategory.WANTS, "FOOD"), eur("25.50"), 1),
+                        new Change(id(ExpenseCategory.WANTS, "TRAVEL"), eur("25.50"), 1));
+    }
+
+    @Test
+    void onUpdated_ShouldMoveAmountBetweenCategories_InKeyOrder() {
+        // When
+        monthlyRollupService.onLedgerEntryChanged(LedgerEntryChangedEvent.updated(
+                LedgerType.EXPENSE, entry("25.00", ExpenseCategory.WANTS), entry("30.00", ExpenseCategory.NEEDS)));
+
+        // Then
+        assertThat(writtenChanges())
+                .containsExactly(
+                        new Change(id(ExpenseCategory.NEEDS, MonthlyRollupId.ALL_TAGS), eur("30.00"), 1),
+                        new Change(id(ExpenseCategory.WANTS, MonthlyRollupId.ALL_TAGS), eur("-25.00"), -1));
+    }
+
+    @Test
+    void onUpdated_ShouldNetPreviousAndCurrentState_AndSkipUnchangedRows() {
+        // When
+        monthlyRollupService.onLedgerEntryChanged(LedgerEntryChangedEvent.updated(
+                LedgerType.EXPENSE,
+                entry("25.00", ExpenseCategory.WANTS, Tag.FOOD),
+                entry("30.00", ExpenseCategory.WANTS, Tag.FOOD, Tag.TRAVEL)));
+
+        // Then
+        assertThat(writtenChanges())
+                .containsExactly(
+                        new Change(id(ExpenseCategory.WANTS, MonthlyRollupId.ALL_TAGS), eur("5.00"), 0),
+                        new Change(id(ExpenseCategory.WANTS, "FOOD"), eur("5.00"), 0),
+                        new Change(id(ExpenseCategory.WANTS, "TRAVEL"), eur("30.00"), 1));
+    }
+
+    @Test
+    void onUpdated_ShouldWriteNothing_WhenAmountCategoryAndTagsAreUnchanged() {
+        // When
+        monthlyRollupService.onLedgerEntryChanged(LedgerEntryChangedEvent.updated(
+                LedgerType.EXPENSE,
+                entry("25.00", ExpenseCategory.WANTS, Tag.FOOD),
+                entry("25.00", ExpenseCategory.WANTS, Tag.FOOD)));
+
+        // Then
+        assertThat(writtenChanges()).isEmpty();
+    }
+
+    @Test
+    void onDeleted_ShouldSubtractTheEntry() {
+        // When
+        monthlyRollupService.onLedgerEntryChanged(
+                LedgerEntryChangedEvent.deleted(LedgerType.EXPENSE, entry("25.00", ExpenseCategory.WANTS)));
+
+        // Then
+        assertThat(writtenChanges())
+                .containsExactly(new Change(id(ExpenseCategory.WANTS, MonthlyRollupId.ALL_TAGS), eur("-25.00"), -1));
+    }
+
+    @Test
+    void getSummary_ShouldMapRowsToResponses() {
+        // Given
+        MonthlyRollup total = MonthlyRollup.builder()
+                .id(id(ExpenseCategory.WANTS, MonthlyRollupId.ALL_TAGS))
+                .total(eur("40.00"))
+                .entryCount(2)
+                .build();
+        MonthlyRollup food = MonthlyRollup.builder()
+                .id(id(ExpenseCategory.WANTS, "FOOD"))
+                .total(eur("15.00"))
+                .entryCount(1)
+                .build();
+        when(monthlyRollupRepository.findByLedgerAndMonthRange(
+                        OwnerContext.DEFAULT_OWNER_ID, LedgerType.EXPENSE, JANUARY, LocalDate.of(2025, 3, 1)))
+                .thenReturn(List.of(total, food));
+
+        // When
+        List<MonthlyRollupResponse> result =
+                monthlyRollupService.getSummary(LedgerType.EXPENSE, YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getMonth()).isEqualTo(YearMonth.of(2025, 1));
+        assertThat(result.get(0).getTag()).isNull();
+        assertThat(result.get(0).getCount()).isEqualTo(2);
+        assertThat(result.get(1).getTag()).isEqualTo(Tag.FOOD);
+        assertThat(result.get(1).getTotal()).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    void getSummary_ShouldRejectReversedRange() {
+        assertThatThrownBy(() -> monthlyRollupService.getSummary(
+                        LedgerType.EXPENSE, YearMonth.of(2025, 3), YearMonth.of(2025, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
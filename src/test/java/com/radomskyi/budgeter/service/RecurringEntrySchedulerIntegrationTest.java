@@ -0,0 +1,190 @@
+package com.radomskyi.budgeter.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.radomskyi.budgeter.domain.entity.budgeting.Expense;
+import com.radomskyi.budgeter.domain.entity.budgeting.ExpenseCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.Income;
+import com.radomskyi.budgeter.domain.entity.budgeting.IncomeCategory;
+import com.radomskyi.budgeter.domain.entity.budgeting.LedgerType;
+import com.radomskyi.budgeter.domain.entity.budgeting.RecurrenceFrequency;
+import com.radomskyi.budgeter.domain.entity.budgeting.Tag;
+import com.radomskyi.budgeter.domain.owner.OwnerContext;
+import com.radomskyi.budgeter.dto.MonthlyRollupResponse;
+import com.radomskyi.budgeter.dto.RecurringTemplateRequest;
+import com.radomskyi.budgeter.dto.RecurringTemplateResponse;
+import com.radomskyi.budgeter.repository.ExpenseRepository;
+import com.radomskyi.budgeter.repository.IncomeRepository;
+import com.radomskyi.budgeter.repository.MonthlyRollupRepository;
+import com.radomskyi.budgeter.repository.RecurringTemplateRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Not @Transactional: every partition commits in its own transaction
+@SpringBootTest(properties = "budgeter.recurring.partition-size=3")
+@ActiveProfiles("test")
+class RecurringEntrySchedulerIntegrationTest {
+
+    @Autowired
+    private RecurringEntryScheduler recurringEntryScheduler;
+
+    @Autowired
+    private RecurringTemplateService recurringTemplateService;
+
+    @Autowired
+    private RecurringTemplateRepository recurringTemplateRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        OwnerContext.runAsSystem(() -> {
+            recurringTemplateRepository.deleteAll();
+            expenseRepository.deleteAll();
+            incomeRepository.deleteAll();
+            monthlyRollupRepository.deleteAll();
+        });
+    }
+
+    private RecurringTemplateResponse createTemplate(
+            LedgerType ledger, String amount, RecurrenceFrequency frequency, LocalDate start, Tag... tags) {
+        return recurringTemplateService.create(RecurringTemplateRequest.builder()
+                .ledger(ledger)
+                .name("Recurring")
+                .amount(new BigDecimal(amount))
+                .frequency(frequency)
+                .startDate(start)
+                .tags(List.of(tags))
+                .build());
+    }
+
+    @Test
+    void generateDue_ShouldCatchUpMissedOccurrencesWithTheirOwnDates() {
+        createTemplate(
+                LedgerType.EXPENSE, "950.00", RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 1, 31), Tag.HOUSING);
+
+        int generated = recurringEntryScheduler.generateDue(LocalDate.of(2025, 4, 15));
+
+        assertThat(generated).isEqualTo(3);
+        List<Expense> expenses = transactionTemplate.execute(status -> {
+            List<Expense> all = expenseRepository.findAll();
+            all.forEach(expense -> expense.getTags().size());
+            return all;
+        });
+        assertThat(expenses)
+                .extracting(expense -> expense.getCreatedAt().toLocalDate())
+                .containsExactlyInAnyOrder(
+                        LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31));
+        assertThat(expenses).allSatisfy(expense -> {
+            assertThat(expense.getCategory()).isEqualTo(ExpenseCategory.FIXED);
+            assertThat(expense.getTags()).containsExactly(Tag.HOUSING);
+            assertThat(expense.getAmount()).isEqualByComparingTo("950.00");
+        });
+        assertThat(recurringTemplateRepository.findAll().get(0).getNextOccurrence())
+                .isEqualTo(LocalDate.of(2025, 4, 30));
+    }
+
+    @Test
+    void generateDue_ShouldWriteEntriesForTheOwnerOfTheTemplate() {
+        createTemplate(LedgerType.EXPENSE, "40.00", RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 3, 1));
+        OwnerContext.runAs(
+                2L,
+                () -> createTemplate(
+                        LedgerType.EXPENSE, "60.00", RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 3, 1)));
+
+        recurringEntryScheduler.generateDue(LocalDate.of(2025, 3, 31));
+
+        assertThat(expenseRepository.findAll()).extracting(Expense::getAmount).containsExactly(new BigDecimal("40.00"));
+        assertThat(OwnerContext.callAs(2L, () -> expenseRepository.findAll()))
+                .extracting(Expense::getOwnerId, Expense::getAmount)
+                .containsExactly(tuple(2L, new BigDecimal("60.00")));
+        assertThat(OwnerContext.callAs(
+                        2L,
+                        () -> monthlyRollupService.getSummary(
+                                LedgerType.EXPENSE, YearMonth.of(2025, 3), YearMonth.of(2025, 3))))
+                .extracting(MonthlyRollupResponse::getTotal)
+                .containsExactly(new BigDecimal("60.00"));
+    }
+
+    @Test
+    void generateDue_ShouldGenerateEveryOccurrenceOnce_WhenRunAgain() {
+        createTemplate(LedgerType.INCOME, "3000.00", RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 1, 25));
+
+        recurringEntryScheduler.generateDue(LocalDate.of(2025, 2, 28));
+        int generatedAgain = recurringEntryScheduler.generateDue(LocalDate.of(2025, 2, 28));
+
+        assertThat(generatedAgain).isZero();
+        List<Income> incomes = incomeRepository.findAll();
+        assertThat(incomes).hasSize(2);
+        assertThat(incomes)
+                .allSatisfy(income -> assertThat(income.getCategory()).isEqualTo(IncomeCategory.SALARY));
+    }
+
+    @Test
+    void generateDue_ShouldGenerateAllPartitionsAndUpdateRollups() {
+        // 10 templates in partitions of 3
+        for (int i = 0; i < 10; i++) {
+            createTemplate(
+                    i % 2 == 0 ? LedgerType.EXPENSE : LedgerType.INCOME,
+                    "100.00",
+                    RecurrenceFrequency.WEEKLY,
+                    LocalDate.of(2025, 3, 3),
+                    Tag.BANKING_AND_TAXES);
+        }
+
+        int generated = recurringEntryScheduler.generateDue(LocalDate.of(2025, 3, 16));
+
+        assertThat(generated).isEqualTo(20);
+        assertThat(expenseRepository.count()).isEqualTo(10);
+        assertThat(incomeRepository.count()).isEqualTo(10);
+
+        List<MonthlyRollupResponse> expenseSummary =
+                monthlyRollupService.getSummary(LedgerType.EXPENSE, YearMonth.of(2025, 3), YearMonth.of(2025, 3));
+        assertThat(expenseSummary)
+                .extracting(
+                        MonthlyRollupResponse::getTag, MonthlyRollupResponse::getTotal, MonthlyRollupResponse::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(null, new BigDecimal("1000.00"), 10L),
+                        tuple(Tag.BANKING_AND_TAXES, new BigDecimal("1000.00"), 10L));
+    }
+
+    @Test
+    void generateDue_ShouldNotGenerateAfterEndDate() {
+        recurringTemplateService.create(RecurringTemplateRequest.builder()
+                .ledger(LedgerType.EXPENSE)
+                .name("Gym")
+                .amount(new BigDecimal("30.00"))
+                .frequency(RecurrenceFrequency.MONTHLY)
+                .startDate(LocalDate.of(2025, 1, 1))
+                .endDate(LocalDate.of(2025, 2, 15))
+                .build());
+
+        int generated = recurringEntryScheduler.generateDue(LocalDate.of(2025, 6, 1));
+
+        assertThat(generated).isEqualTo(2);
+        assertThat(recurringTemplateRepository.findAll().get(0).getNextOccurrence())
+                .isNull();
+    }
+}
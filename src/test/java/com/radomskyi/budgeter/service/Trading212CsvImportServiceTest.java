@@ -7,6 +7,10 @@ import static org.mockito.Mockito.*;
 
 import com.opencsv.exceptions.CsvException;
 import com.radomskyi.budgeter.domain.entity.investment.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
@@ -24,6 +29,15 @@ class Trading212CsvImportServiceTest {
     @Mock
     private InvestmentService investmentService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private Trading212CsvImportService csvImportService;
 
@@ -64,6 +78,12 @@ class Trading212CsvImportServiceTest {
                 .build();
     }
 
+    private double rows(String result) {
+        return meterRegistry
+                .counter(Trading212CsvImportService.ROWS_COUNTER, "broker", "trading212", "result", result)
+                .count();
+    }
+
     @Test
     void importCsvFile_ShouldImportValidCsvFile_WhenFileContainsValidData() throws IOException, CsvException {
         // Given
@@ -119,6 +139,9 @@ class Trading212CsvImportServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).hasSize(2); // Only valid rows should be processed
         verify(investmentService, times(2)).create(any());
+        assertThat(rows("imported")).isEqualTo(2);
+        assertThat(rows("skipped")).isEqualTo(1);
+        assertThat(rows("failed")).isZero();
     }
 
     @Test
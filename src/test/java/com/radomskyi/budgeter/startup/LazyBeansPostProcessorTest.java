@@ -0,0 +1,78 @@
+package com.radomskyi.budgeter.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.env.MockEnvironment;
+
+class LazyBeansPostProcessorTest {
+
+    private static final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    void createsListedBeansOnFirstUse() {
+        try (AnnotationConfigApplicationContext context =
+                context("com.radomskyi.budgeter.startup.LazyBeansPostProcessorTest$Documentation")) {
+            assertThat(context.getBeanDefinition("openApi").isLazyInit()).isTrue();
+            assertThat(context.getBeanDefinition("health").isLazyInit()).isFalse();
+            assertThat(created).hasValue(1);
+
+            context.getBean("openApi");
+            assertThat(created).hasValue(2);
+        }
+    }
+
+    @Test
+    void matchesPackagesAndClassesButNotNamePrefixes() {
+        try (AnnotationConfigApplicationContext context =
+                context("com.radomskyi.budgeter.startup.LazyBeansPostProcessorTest$Doc")) {
+            assertThat(context.getBeanDefinition("openApi").isLazyInit()).isFalse();
+        }
+        try (AnnotationConfigApplicationContext context = context("com.radomskyi.budgeter.startup")) {
+            assertThat(context.getBeanDefinition("openApi").isLazyInit()).isTrue();
+            assertThat(context.getBeanDefinition("health").isLazyInit()).isTrue();
+        }
+    }
+
+    @Test
+    void leavesEverythingEagerByDefault() {
+        try (AnnotationConfigApplicationContext context = context("")) {
+            assertThat(context.getBeanDefinition("openApi").isLazyInit()).isFalse();
+            assertThat(created).hasValue(2);
+        }
+    }
+
+    private static AnnotationConfigApplicationContext context(String lazyBeans) {
+        created.set(0);
+        MockEnvironment environment = new MockEnvironment().withProperty("budgeter.startup.lazy-beans", lazyBeans);
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.setEnvironment(environment);
+        context.register(LazyBeansPostProcessor.class, Documentation.class, Monitoring.class);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration
+    static class Documentation {
+
+        @Bean
+        Object openApi() {
+            created.incrementAndGet();
+            return new Object();
+        }
+    }
+
+    @Configuration
+    static class Monitoring {
+
+        @Bean
+        Object health() {
+            created.incrementAndGet();
+            return new Object();
+        }
+    }
+}
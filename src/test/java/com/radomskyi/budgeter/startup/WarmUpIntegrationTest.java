@@ -0,0 +1,43 @@
+package com.radomskyi.budgeter.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "budgeter.warmup.rounds=2")
+@ActiveProfiles("test")
+class WarmUpIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void warmsUpBeforeAcceptingTraffic() {
+        Timer warmUp = meterRegistry
+                .find("budgeter.startup.warmup")
+                .tag("outcome", "completed")
+                .timer();
+        assertThat(warmUp).isNotNull();
+        assertThat(warmUp.count()).isEqualTo(1);
+
+        Timer listing = meterRegistry
+                .find("http.server.requests")
+                .tag("uri", "/api/expense")
+                .tag("status", "200")
+                .timer();
+        assertThat(listing).isNotNull();
+        assertThat(listing.count()).isEqualTo(2);
+
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}
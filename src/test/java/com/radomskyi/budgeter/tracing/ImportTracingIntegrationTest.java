@@ -0,0 +1,132 @@
+package com.radomskyi.budgeter.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radomskyi.budgeter.repository.AssetRepository;
+import com.radomskyi.budgeter.repository.InvestmentRepository;
+import com.radomskyi.budgeter.repository.InvestmentTransactionRepository;
+import com.radomskyi.budgeter.service.Trading212CsvImportService;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+        properties = {
+            "budgeter.tracing.exporter=otlp-json",
+            "budgeter.tracing.file=" + ImportTracingIntegrationTest.TRACES_FILE
+        })
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class ImportTracingIntegrationTest {
+
+    static final String TRACES_FILE = "target/import-traces.jsonl";
+
+    @TestConfiguration
+    static class CollectingExporter {
+
+        @Bean
+        SpanCollector spanCollector() {
+            return new SpanCollector();
+        }
+    }
+
+    static class SpanCollector implements SpanExporter {
+
+        private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    @Autowired
+    private Trading212CsvImportService csvImportService;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private SpanCollector spanCollector;
+
+    @Autowired
+    private List<SpanExporter> spanExporters;
+
+    @Autowired
+    private InvestmentTransactionRepository investmentTransactionRepository;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @AfterEach
+    void tearDown() {
+        investmentTransactionRepository.deleteAll();
+        investmentRepository.deleteAll();
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void importCsvFile_ShouldTraceItsStagesServiceCallsAndStatementsInOneTrace() throws Exception {
+        // Span names are the observations' contextual names, which Micrometer lower-hyphenates
+        String csvContent =
+                "Action,Time,ISIN,Ticker,Name,ID,No. of shares,Price / share,Currency (Price / share),Exchange rate,Result,Currency (Result),Gross Total,Currency (Gross Total),Withholding tax,Currency (Withholding tax),Currency conversion fee,Currency (Currency conversion fee)\n"
+                        + "Market buy,2025-06-10 07:04:05.631,US0378331005,AAPL,Apple Inc.,EOF33912703811,10.0000000000,150.2500000000,EUR,1.00000000,,EUR,1502.50,EUR,,,,,,\n"
+                        + "Market sell,2025-06-11 11:41:39.98,US0378331005,AAPL,Apple Inc.,EOF34000698236,5.0000000000,155.0000000000,EUR,1.00000000,,EUR,775.00,EUR,,,,,,";
+
+        csvImportService.importCsvFile(
+                new MockMultipartFile("file", "trading212.csv", "text/csv", csvContent.getBytes()));
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        SpanData root = spanCollector.spans.stream()
+                .filter(span -> span.getName().equals("trading212-csv-import-service#import-csv-file"))
+                .findFirst()
+                .orElseThrow();
+        Map<String, Long> spansByName = spanCollector.spans.stream()
+                .filter(span -> span.getTraceId().equals(root.getTraceId()))
+                .collect(Collectors.groupingBy(SpanData::getName, Collectors.counting()));
+
+        assertThat(spansByName)
+                .containsEntry("import parse", 1L)
+                .containsEntry("import row", 2L)
+                .containsEntry("import flush", 1L)
+                .containsEntry("investment-service#create", 2L)
+                .containsEntry("investment find-or-create-asset", 2L)
+                .containsEntry("investment add-transaction", 2L)
+                .containsKeys("jdbc select", "jdbc insert");
+        assertThat(spanExporters)
+                .hasAtLeastOneElementOfType(io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter.class);
+        assertThat(Files.readString(Path.of(TRACES_FILE))).contains(root.getTraceId());
+    }
+}